@@ -138,6 +138,8 @@ public interface ConfigFacade {
 
 	int getStepSizeForCsvExport();
 
+	int getImportParallelism();
+
 	long getDocumentUploadSizeLimitMb();
 
 	long getImportFileSizeLimitMb();
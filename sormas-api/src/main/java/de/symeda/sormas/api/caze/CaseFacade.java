@@ -34,11 +34,14 @@ import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.Language;
 import de.symeda.sormas.api.common.Page;
 import de.symeda.sormas.api.contact.ContactReferenceDto;
+import de.symeda.sormas.api.dashboard.MapCaseDisplayMode;
+import de.symeda.sormas.api.dashboard.MapClusterDto;
 import de.symeda.sormas.api.event.EventParticipantReferenceDto;
 import de.symeda.sormas.api.externaldata.ExternalDataDto;
 import de.symeda.sormas.api.externaldata.ExternalDataUpdateException;
 import de.symeda.sormas.api.externalsurveillancetool.ExternalSurveillanceToolException;
 import de.symeda.sormas.api.followup.FollowUpPeriodDto;
+import de.symeda.sormas.api.geo.GeoLatLon;
 import de.symeda.sormas.api.importexport.ExportConfigurationDto;
 import de.symeda.sormas.api.infrastructure.district.DistrictDto;
 import de.symeda.sormas.api.infrastructure.district.DistrictReferenceDto;
@@ -59,6 +62,13 @@ public interface CaseFacade {
 	 */
 	List<CaseDataDto> getAllActiveCasesAfter(Date date, boolean includeExtendedChangeDateFilters);
 
+	/**
+	 * Keyset paginated variant of {@link #getAllActiveCasesAfter(Date)}. Returns at most {@code batchSize} cases ordered by change date
+	 * and uuid that come after the cursor defined by {@code lastChangeDate} and {@code lastUuid} (both taken from the last case of the
+	 * previous batch, or {@code null} for the first batch).
+	 */
+	List<CaseDataDto> getAllActiveCasesAfter(Date date, Integer batchSize, Date lastChangeDate, String lastUuid);
+
 	long count(CaseCriteria caseCriteria);
 
 	long count(CaseCriteria caseCriteria, boolean ignoreUserFilter);
@@ -86,6 +96,21 @@ public interface CaseFacade {
 		ExportConfigurationDto exportConfiguration,
 		Language userLanguage);
 
+	/**
+	 * Keyset paginated variant of {@link #getExportList(CaseCriteria, Collection, CaseExportType, int, int, ExportConfigurationDto, Language)}:
+	 * Returns the next {@code max} cases after the case with {@code lastReportDate} and {@code lastId}, or the first ones if
+	 * {@code lastId} is {@code null}. Both values have to be taken from the last {@link CaseExportDto} of the previous call.
+	 */
+	List<CaseExportDto> getExportListAfter(
+		CaseCriteria caseCriteria,
+		Collection<String> selectedRows,
+		CaseExportType exportType,
+		Date lastReportDate,
+		Long lastId,
+		int max,
+		ExportConfigurationDto exportConfiguration,
+		Language userLanguage);
+
 	CaseDataDto getCaseDataByUuid(String uuid);
 
 	CaseDataDto saveCase(@Valid CaseDataDto dto) throws ValidationRuntimeException;
@@ -124,6 +149,18 @@ public interface CaseFacade {
 		Date to,
 		NewCaseDateType dateType);
 
+	List<MapClusterDto<CaseClassification>> getCaseClustersForMap(
+		RegionReferenceDto regionRef,
+		DistrictReferenceDto districtRef,
+		Disease disease,
+		Date from,
+		Date to,
+		NewCaseDateType dateType,
+		MapCaseDisplayMode displayMode,
+		int zoom,
+		GeoLatLon southWest,
+		GeoLatLon northEast);
+
 	List<Pair<DistrictDto, BigDecimal>> getCaseMeasurePerDistrict(Date onsetFromDate, Date onsetToDate, Disease disease, CaseMeasure caseMeasure);
 
 	List<CaseDataDto> getAllCasesOfPerson(String personUuid);
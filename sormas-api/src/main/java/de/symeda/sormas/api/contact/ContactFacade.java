@@ -29,9 +29,11 @@ import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.Language;
 import de.symeda.sormas.api.common.Page;
 import de.symeda.sormas.api.dashboard.DashboardContactDto;
+import de.symeda.sormas.api.dashboard.MapClusterDto;
 import de.symeda.sormas.api.externaldata.ExternalDataDto;
 import de.symeda.sormas.api.externaldata.ExternalDataUpdateException;
 import de.symeda.sormas.api.followup.FollowUpPeriodDto;
+import de.symeda.sormas.api.geo.GeoLatLon;
 import de.symeda.sormas.api.importexport.ExportConfigurationDto;
 import de.symeda.sormas.api.infrastructure.district.DistrictReferenceDto;
 import de.symeda.sormas.api.infrastructure.region.RegionReferenceDto;
@@ -43,6 +45,12 @@ public interface ContactFacade {
 
 	List<ContactDto> getAllActiveContactsAfter(Date date);
 
+	/**
+	 * Keyset paginated variant of {@link #getAllActiveContactsAfter(Date)}, see
+	 * {@link de.symeda.sormas.api.caze.CaseFacade#getAllActiveCasesAfter(Date, Integer, Date, String)}.
+	 */
+	List<ContactDto> getAllActiveContactsAfter(Date date, Integer batchSize, Date lastChangeDate, String lastUuid);
+
 	ContactDto getContactByUuid(String uuid);
 
 	Boolean isValidContactUuid(String uuid);
@@ -63,6 +71,16 @@ public interface ContactFacade {
 
 	List<MapContactDto> getContactsForMap(RegionReferenceDto regionRef, DistrictReferenceDto districtRef, Disease disease, Date from, Date to);
 
+	List<MapClusterDto<ContactClassification>> getContactClustersForMap(
+		RegionReferenceDto regionRef,
+		DistrictReferenceDto districtRef,
+		Disease disease,
+		Date from,
+		Date to,
+		int zoom,
+		GeoLatLon southWest,
+		GeoLatLon northEast);
+
 	void deleteContact(String contactUuid);
 
 	List<String> deleteContacts(List<String> contactUuids);
@@ -87,6 +105,21 @@ public interface ContactFacade {
 		ExportConfigurationDto exportConfiguration,
 		Language userLanguage);
 
+	/**
+	 * Keyset paginated variant of
+	 * {@link #getExportList(ContactCriteria, Collection, int, int, ExportConfigurationDto, Language)}:
+	 * Returns the next {@code max} contacts after the contact with {@code lastReportDate} and {@code lastId}, or the first ones if
+	 * {@code lastId} is {@code null}. Both values have to be taken from the last {@link ContactExportDto} of the previous call.
+	 */
+	List<ContactExportDto> getExportListAfter(
+		ContactCriteria contactCriteria,
+		Collection<String> selectedRows,
+		Date lastReportDate,
+		Long lastId,
+		int max,
+		ExportConfigurationDto exportConfiguration,
+		Language userLanguage);
+
 	List<VisitSummaryExportDto> getVisitSummaryExportList(
 		ContactCriteria contactCriteria,
 		Collection<String> selectedRows,
@@ -94,6 +127,18 @@ public interface ContactFacade {
 		int max,
 		Language userLanguage);
 
+	/**
+	 * Keyset paginated variant of {@link #getVisitSummaryExportList(ContactCriteria, Collection, int, int, Language)}:
+	 * Returns the next {@code max} contacts after the contact with {@code lastContactId}, or the first ones if
+	 * {@code lastContactId} is {@code null}.
+	 */
+	List<VisitSummaryExportDto> getVisitSummaryExportListAfter(
+		ContactCriteria contactCriteria,
+		Collection<String> selectedRows,
+		Long lastContactId,
+		int max,
+		Language userLanguage);
+
 	long countMaximumFollowUpDays(ContactCriteria contactCriteria);
 
 	List<DashboardContactDto> getContactsForDashboard(
@@ -0,0 +1,101 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.api.dashboard;
+
+import java.io.Serializable;
+
+/**
+ * The case figures shown on the dashboards, counted by the database for the period of the {@link DashboardCriteria}
+ * and, where a comparison is shown, for the previous period.
+ */
+public class DashboardCaseStatisticDto implements Serializable {
+
+	private static final long serialVersionUID = -5705128377788552247L;
+
+	private long caseCount;
+	private long fatalCaseCount;
+	private long previousFatalCaseCount;
+	private long casesInQuarantineCount;
+	private long casesPlacedInQuarantineCount;
+	private long caseWithReferenceDefinitionFulfilledCount;
+
+	public DashboardCaseStatisticDto(
+		long caseCount,
+		long fatalCaseCount,
+		long previousFatalCaseCount,
+		long casesInQuarantineCount,
+		long casesPlacedInQuarantineCount,
+		long caseWithReferenceDefinitionFulfilledCount) {
+
+		this.caseCount = caseCount;
+		this.fatalCaseCount = fatalCaseCount;
+		this.previousFatalCaseCount = previousFatalCaseCount;
+		this.casesInQuarantineCount = casesInQuarantineCount;
+		this.casesPlacedInQuarantineCount = casesPlacedInQuarantineCount;
+		this.caseWithReferenceDefinitionFulfilledCount = caseWithReferenceDefinitionFulfilledCount;
+	}
+
+	public long getCaseCount() {
+		return caseCount;
+	}
+
+	public void setCaseCount(long caseCount) {
+		this.caseCount = caseCount;
+	}
+
+	/**
+	 * @return The number of cases whose person died of the disease of the case.
+	 */
+	public long getFatalCaseCount() {
+		return fatalCaseCount;
+	}
+
+	public void setFatalCaseCount(long fatalCaseCount) {
+		this.fatalCaseCount = fatalCaseCount;
+	}
+
+	public long getPreviousFatalCaseCount() {
+		return previousFatalCaseCount;
+	}
+
+	public void setPreviousFatalCaseCount(long previousFatalCaseCount) {
+		this.previousFatalCaseCount = previousFatalCaseCount;
+	}
+
+	public long getCasesInQuarantineCount() {
+		return casesInQuarantineCount;
+	}
+
+	public void setCasesInQuarantineCount(long casesInQuarantineCount) {
+		this.casesInQuarantineCount = casesInQuarantineCount;
+	}
+
+	public long getCasesPlacedInQuarantineCount() {
+		return casesPlacedInQuarantineCount;
+	}
+
+	public void setCasesPlacedInQuarantineCount(long casesPlacedInQuarantineCount) {
+		this.casesPlacedInQuarantineCount = casesPlacedInQuarantineCount;
+	}
+
+	public long getCaseWithReferenceDefinitionFulfilledCount() {
+		return caseWithReferenceDefinitionFulfilledCount;
+	}
+
+	public void setCaseWithReferenceDefinitionFulfilledCount(long caseWithReferenceDefinitionFulfilledCount) {
+		this.caseWithReferenceDefinitionFulfilledCount = caseWithReferenceDefinitionFulfilledCount;
+	}
+}
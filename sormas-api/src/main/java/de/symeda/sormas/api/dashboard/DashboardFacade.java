@@ -24,7 +24,14 @@ public interface DashboardFacade {
 
 	String getLastReportedDistrictName(DashboardCriteria dashboardCriteria);
 
-	Map<PathogenTestResultType, Long> getTestResultCountByResultType(List<DashboardCaseDto> cases);
+	DashboardCaseStatisticDto getCaseStatistic(DashboardCriteria dashboardCriteria, Date previousFromDate, Date previousToDate);
+
+	/**
+	 * @return The number of contacts that resulted in one of the cases matching the criteria.
+	 */
+	long countContactsResultingInCases(DashboardCriteria dashboardCriteria);
+
+	Map<PathogenTestResultType, Long> getTestResultCountByResultType(DashboardCriteria dashboardCriteria);
 
 	long countCasesConvertedFromContacts(DashboardCriteria dashboardCriteria);
 
@@ -0,0 +1,116 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.api.dashboard;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import de.symeda.sormas.api.utils.PersonalData;
+import de.symeda.sormas.api.utils.SensitiveData;
+import de.symeda.sormas.api.utils.pseudonymization.Pseudonymizer;
+import de.symeda.sormas.api.utils.pseudonymization.valuepseudonymizers.LatitudePseudonymizer;
+import de.symeda.sormas.api.utils.pseudonymization.valuepseudonymizers.LongitudePseudonymizer;
+
+/**
+ * All entities of one cell of the grid the dashboard map is divided into for the current zoom level, placed at the
+ * average position of the entities.
+ *
+ * @param <T>
+ *            The classification the entities are counted by, e.g. the case classification.
+ */
+public class MapClusterDto<T> implements Serializable {
+
+	private static final long serialVersionUID = 2862467427045416431L;
+
+	@PersonalData
+	@SensitiveData
+	@Pseudonymizer(LatitudePseudonymizer.class)
+	private Double latitude;
+	@PersonalData
+	@SensitiveData
+	@Pseudonymizer(LongitudePseudonymizer.class)
+	private Double longitude;
+	private long count;
+	private HashMap<T, Long> classificationCounts = new HashMap<>();
+	private String uuid;
+	private boolean inJurisdiction;
+
+	public MapClusterDto(Double latitude, Double longitude, long count, String uuid, boolean inJurisdiction) {
+
+		this.latitude = latitude;
+		this.longitude = longitude;
+		this.count = count;
+		this.uuid = uuid;
+		this.inJurisdiction = inJurisdiction;
+	}
+
+	public Double getLatitude() {
+		return latitude;
+	}
+
+	public void setLatitude(Double latitude) {
+		this.latitude = latitude;
+	}
+
+	public Double getLongitude() {
+		return longitude;
+	}
+
+	public void setLongitude(Double longitude) {
+		this.longitude = longitude;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public void setCount(long count) {
+		this.count = count;
+	}
+
+	public Map<T, Long> getClassificationCounts() {
+		return classificationCounts;
+	}
+
+	public long getClassificationCount(T classification) {
+		Long classificationCount = classificationCounts.get(classification);
+		return classificationCount != null ? classificationCount : 0L;
+	}
+
+	public void addClassificationCount(T classification, long count) {
+		classificationCounts.merge(classification, count, Long::sum);
+	}
+
+	/**
+	 * @return The uuid of the entity if the cluster contains only one, so that it can be opened from the map.
+	 */
+	public String getUuid() {
+		return uuid;
+	}
+
+	public void setUuid(String uuid) {
+		this.uuid = uuid;
+	}
+
+	public boolean isInJurisdiction() {
+		return inJurisdiction;
+	}
+
+	public void setInJurisdiction(boolean inJurisdiction) {
+		this.inJurisdiction = inJurisdiction;
+	}
+}
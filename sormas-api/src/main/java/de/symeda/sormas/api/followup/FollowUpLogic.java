@@ -72,22 +72,38 @@ public final class FollowUpLogic {
 		Date overwriteUntilDate,
 		List<VisitDto> visits,
 		int followUpDuration) {
-		Date standardUntilDate = DateHelper.addDays(followUpPeriod.getFollowUpStartDate(), followUpDuration);
-		Date untilDate = overwriteUntilDate != null ? overwriteUntilDate : standardUntilDate;
 
 		Date lastVisitDate = null;
-		boolean additionalVisitNeeded = true;
+		Date lastCooperativeVisitDate = null;
 		for (VisitDto visit : visits) {
 			if (lastVisitDate == null || DateHelper.getStartOfDay(visit.getVisitDateTime()).after(DateHelper.getStartOfDay(lastVisitDate))) {
 				lastVisitDate = visit.getVisitDateTime();
 			}
-			if (additionalVisitNeeded
-				&& !DateHelper.getStartOfDay(visit.getVisitDateTime()).before(DateHelper.getStartOfDay(untilDate))
-				&& visit.getVisitStatus() == VisitStatus.COOPERATIVE) {
-				additionalVisitNeeded = false;
+			if (visit.getVisitStatus() == VisitStatus.COOPERATIVE
+				&& (lastCooperativeVisitDate == null || visit.getVisitDateTime().after(lastCooperativeVisitDate))) {
+				lastCooperativeVisitDate = visit.getVisitDateTime();
 			}
 		}
 
+		return calculateFollowUpUntilDate(followUpPeriod, overwriteUntilDate, lastVisitDate, lastCooperativeVisitDate, followUpDuration);
+	}
+
+	/**
+	 * Like {@link #calculateFollowUpUntilDate(FollowUpPeriodDto, Date, List, int)}, but only needs the dates of the last visit and
+	 * the last cooperative visit instead of all visits.
+	 */
+	public static FollowUpPeriodDto calculateFollowUpUntilDate(
+		FollowUpPeriodDto followUpPeriod,
+		Date overwriteUntilDate,
+		Date lastVisitDate,
+		Date lastCooperativeVisitDate,
+		int followUpDuration) {
+		Date standardUntilDate = DateHelper.addDays(followUpPeriod.getFollowUpStartDate(), followUpDuration);
+		Date untilDate = overwriteUntilDate != null ? overwriteUntilDate : standardUntilDate;
+
+		boolean additionalVisitNeeded = lastCooperativeVisitDate == null
+			|| DateHelper.getStartOfDay(lastCooperativeVisitDate).before(DateHelper.getStartOfDay(untilDate));
+
 		// Follow-up until needs to be extended to the date after the last visit if there is no cooperative visit after the follow-up until date
 		if (additionalVisitNeeded && lastVisitDate != null && untilDate.before(DateHelper.addDays(lastVisitDate, 1))) {
 			untilDate = DateHelper.addDays(lastVisitDate, 1);
@@ -1272,7 +1272,6 @@ public interface Strings {
 	String unsavedChanges_warningTitle = "unsavedChanges.warningTitle";
 	String until = "until";
 	String uuidOf = "uuidOf";
-	String warningDashboardMapTooManyMarkers = "warningDashboardMapTooManyMarkers";
 	String warningNetworkDiagramTooManyContacts = "warningNetworkDiagramTooManyContacts";
 	String week = "week";
 	String weekShort = "weekShort";
@@ -15,6 +15,22 @@ public interface ExternalLabResultsFacade {
 	 */
 	ExternalMessageResult<List<LabMessageDto>> getExternalLabMessages(Date since);
 
+	/**
+	 * Paged variant of {@link #getExternalLabMessages(Date)}, so that a large backlog of messages can be fetched and saved
+	 * in chunks. The synchronization date of the result has to be the one to continue with for the next page; a page
+	 * with less than {@code maxResults} messages is the last one.
+	 * <p>
+	 * Adapters that can not page their messages may keep the default, which returns all messages at once.
+	 *
+	 * @param since
+	 * @param maxResults
+	 *            maximum number of messages to return
+	 * @return LabMessages that are new or have changed since, ordered by the date they were received
+	 */
+	default ExternalMessageResult<List<LabMessageDto>> getExternalLabMessages(Date since, int maxResults) {
+		return getExternalLabMessages(since);
+	}
+
 	/**
 	 * 
 	 * @param message lab message to be converted
@@ -1,5 +1,6 @@
 package de.symeda.sormas.api.systemevents;
 
 public enum SystemEventType {
-	FETCH_LAB_MESSAGES
+	FETCH_LAB_MESSAGES,
+	UPDATE_CASE_CLASSIFICATIONS
 }
@@ -46,6 +46,10 @@ import de.symeda.sormas.api.utils.fieldvisibility.checkers.CountryFieldVisibilit
 
 public class CsvStreamUtils {
 
+	/**
+	 * @param exportRowsSupplier
+	 *            Supplies the rows of one batch from the given offset with the given batch size
+	 */
 	public static <T> void writeCsvContentToStream(
 		Class<T> csvRowClass,
 		SupplierBiFunction<Integer, Integer, List<T>> exportRowsSupplier,
@@ -55,6 +59,33 @@ public class CsvStreamUtils {
 		ConfigFacade configFacade,
 		OutputStream out) {
 
+		writeKeysetPaginatedCsvContentToStream(
+			csvRowClass,
+			new OffsetPagination<>(exportRowsSupplier),
+			propertyIdCaptionSupplier,
+			exportConfiguration,
+			redMethodFilter,
+			configFacade,
+			out);
+	}
+
+	/**
+	 * Variant of {@link #writeCsvContentToStream(Class, SupplierBiFunction, SupplierBiFunction, ExportConfigurationDto, Predicate, ConfigFacade, OutputStream)}
+	 * for keyset pagination, which does not get slower with every batch like offset pagination does.
+	 *
+	 * @param exportRowsSupplier
+	 *            Supplies the rows of one batch following the given last row of the previous batch ({@code null} for the first batch)
+	 *            with the given batch size
+	 */
+	public static <T> void writeKeysetPaginatedCsvContentToStream(
+		Class<T> csvRowClass,
+		SupplierBiFunction<T, Integer, List<T>> exportRowsSupplier,
+		SupplierBiFunction<String, Class<?>, String> propertyIdCaptionSupplier,
+		ExportConfigurationDto exportConfiguration,
+		final Predicate redMethodFilter,
+		ConfigFacade configFacade,
+		OutputStream out) {
+
 		try (
 			CSVWriter writer = CSVUtils.createCSVWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8.name()), configFacade.getCsvSeparator())) {
 
@@ -129,10 +160,9 @@ public class CsvStreamUtils {
 			labels[0] = CSVCommentLineValidator.DEFAULT_COMMENT_LINE_PREFIX + labels[0];
 			writer.writeNext(labels, false);
 
-			int startIndex = 0;
 			int stepSize = configFacade.getStepSizeForCsvExport();
 
-			List<T> exportRows = exportRowsSupplier.apply(startIndex, stepSize);
+			List<T> exportRows = exportRowsSupplier.apply(null, stepSize);
 			while (!exportRows.isEmpty()) {
 				try {
 					for (T exportRow : exportRows) {
@@ -163,8 +193,7 @@ public class CsvStreamUtils {
 				}
 
 				writer.flush();
-				startIndex += stepSize;
-				exportRows = exportRowsSupplier.apply(startIndex, stepSize);
+				exportRows = exportRowsSupplier.apply(exportRows.get(exportRows.size() - 1), stepSize);
 			}
 		} catch (Exception e) {
 			throw new RuntimeException(e);
@@ -239,6 +268,26 @@ public class CsvStreamUtils {
 		R apply(T t, U u);
 	}
 
+	/**
+	 * Adapts a supplier for offset pagination to the keyset paginated export by counting the offset.
+	 */
+	private static class OffsetPagination<T> implements SupplierBiFunction<T, Integer, List<T>> {
+
+		private final SupplierBiFunction<Integer, Integer, List<T>> exportRowsSupplier;
+		private int startIndex;
+
+		private OffsetPagination(SupplierBiFunction<Integer, Integer, List<T>> exportRowsSupplier) {
+			this.exportRowsSupplier = exportRowsSupplier;
+		}
+
+		@Override
+		public List<T> apply(T lastRow, Integer stepSize) {
+			List<T> exportRows = exportRowsSupplier.apply(startIndex, stepSize);
+			startIndex += stepSize;
+			return exportRows;
+		}
+	}
+
 	private interface SubEntityProvider<T> {
 
 		String getName();
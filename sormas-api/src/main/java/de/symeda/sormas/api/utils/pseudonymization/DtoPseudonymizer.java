@@ -18,7 +18,10 @@ package de.symeda.sormas.api.utils.pseudonymization;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import de.symeda.sormas.api.user.UserRight;
 import de.symeda.sormas.api.utils.fieldaccess.FieldAccessChecker;
@@ -27,13 +30,31 @@ import de.symeda.sormas.api.utils.pseudonymization.valuepseudonymizers.DefaultVa
 
 public class DtoPseudonymizer {
 
+	/**
+	 * The fields of a class and all its super classes.
+	 * {@link Class#getDeclaredFields()} returns new copies on every call, so their annotations would be parsed again each time.
+	 */
+	private static final Map<Class<?>, List<Field>> CLASS_FIELDS = new ConcurrentHashMap<>();
+
+	/**
+	 * Value pseudonymizers referenced by {@link Pseudonymizer} annotations; they are stateless and can be shared.
+	 */
+	private static final Map<Class<? extends ValuePseudonymizer>, ValuePseudonymizer<?>> VALUE_PSEUDONYMIZERS = new ConcurrentHashMap<>();
+
 	protected FieldAccessCheckers inJurisdictionCheckers;
 	protected FieldAccessCheckers outsideJurisdictionCheckers;
 
-	private final String stringValuePlaceholder;
-
 	private final boolean pseudonymizeMandatoryFields;
 
+	private final ValuePseudonymizer<?> defaultValuePseudonymizer;
+
+	/**
+	 * Pseudonymizable and embedded fields per DTO class, as selected by the field access checkers.
+	 * Has to be cleared whenever a checker is added.
+	 */
+	private final Map<Class<?>, FieldPlan> inJurisdictionPlans = new ConcurrentHashMap<>();
+	private final Map<Class<?>, FieldPlan> outsideJurisdictionPlans = new ConcurrentHashMap<>();
+
 	protected DtoPseudonymizer(
 		FieldAccessCheckers inJurisdictionCheckers,
 		FieldAccessCheckers outsideJurisdictionCheckers,
@@ -42,13 +63,16 @@ public class DtoPseudonymizer {
 		this.inJurisdictionCheckers = inJurisdictionCheckers;
 		this.outsideJurisdictionCheckers = outsideJurisdictionCheckers;
 
-		this.stringValuePlaceholder = stringValuePlaceholder;
 		this.pseudonymizeMandatoryFields = pseudonymizeMandatoryFields;
+		this.defaultValuePseudonymizer = new DefaultValuePseudonymizer<>(stringValuePlaceholder);
 	}
 
 	public void addFieldAccessChecker(FieldAccessChecker inJurisdictionChecker, FieldAccessChecker outsideJurisdictionChecker) {
 		this.inJurisdictionCheckers.add(inJurisdictionChecker);
 		this.outsideJurisdictionCheckers.add(outsideJurisdictionChecker);
+
+		inJurisdictionPlans.clear();
+		outsideJurisdictionPlans.clear();
 	}
 
 	public <DTO> void pseudonymizeDtoCollection(
@@ -125,10 +149,7 @@ public class DtoPseudonymizer {
 			Class<?> fieldType = embeddedField.getType();
 
 			if (Pseudonymizable.class.isAssignableFrom(fieldType)) {
-				boolean isAccessible = embeddedField.isAccessible();
 				try {
-					embeddedField.setAccessible(true);
-
 					restorePseudonymizedValues(
 						(Class<Pseudonymizable>) fieldType,
 						(Pseudonymizable) embeddedField.get(dto),
@@ -136,8 +157,6 @@ public class DtoPseudonymizer {
 						isInJurisdiction);
 				} catch (IllegalAccessException e) {
 					throw new RuntimeException("Couldn't restore embedded field " + dto.getClass().getName() + "." + embeddedField.getName(), e);
-				} finally {
-					embeddedField.setAccessible(isAccessible);
 				}
 			}
 		}
@@ -186,10 +205,7 @@ public class DtoPseudonymizer {
 
 		if (!skipEmbeddedFields) {
 			for (Field embeddedField : embeddedFields) {
-				boolean accessible = embeddedField.isAccessible();
 				try {
-
-					embeddedField.setAccessible(true);
 					Pseudonymizer pseudonymizerAnnotation = embeddedField.getAnnotation(Pseudonymizer.class);
 					Class<? extends ValuePseudonymizer> psudonomyzerClass =
 						pseudonymizerAnnotation != null ? pseudonymizerAnnotation.value() : defaultPseudonymizerClass;
@@ -205,8 +221,6 @@ public class DtoPseudonymizer {
 					throw new RuntimeException(
 						"Failed to pseudonymize embedded field " + dto.getClass().getName() + "." + embeddedField.getName(),
 						e);
-				} finally {
-					embeddedField.setAccessible(accessible);
 				}
 			}
 		}
@@ -225,15 +239,11 @@ public class DtoPseudonymizer {
 	private <DTO> void pseudonymizeField(DTO dto, Field field, Class<? extends ValuePseudonymizer> pseudonymizerClass) {
 
 		try {
-			field.setAccessible(true);
-
 			ValuePseudonymizer<?> pseudonymizer = getPseudonymizer(field, pseudonymizerClass);
 			Object emptyValue = pseudonymizer.pseudonymize(field.get(dto));
 			field.set(dto, emptyValue);
 		} catch (IllegalAccessException | InstantiationException e) {
 			throw new RuntimeException(e);
-		} finally {
-			field.setAccessible(false);
 		}
 	}
 
@@ -243,66 +253,101 @@ public class DtoPseudonymizer {
 
 		if (pseudonymizerAnnotation == null) {
 			if (defaultPseudonymizerClass != null) {
-				return defaultPseudonymizerClass.newInstance();
+				return getValuePseudonymizer(defaultPseudonymizerClass);
 			}
 
-			return new DefaultValuePseudonymizer<>(stringValuePlaceholder);
+			return defaultValuePseudonymizer;
 		}
 
-		return pseudonymizerAnnotation.value().newInstance();
+		return getValuePseudonymizer(pseudonymizerAnnotation.value());
+	}
+
+	private static ValuePseudonymizer<?> getValuePseudonymizer(Class<? extends ValuePseudonymizer> pseudonymizerClass)
+		throws IllegalAccessException, InstantiationException {
+
+		ValuePseudonymizer<?> pseudonymizer = VALUE_PSEUDONYMIZERS.get(pseudonymizerClass);
+		if (pseudonymizer == null) {
+			pseudonymizer = pseudonymizerClass.newInstance();
+			VALUE_PSEUDONYMIZERS.put(pseudonymizerClass, pseudonymizer);
+		}
+
+		return pseudonymizer;
 	}
 
 	private <DTO extends Pseudonymizable> void restoreOriginalValue(DTO dto, Field field, DTO originalDto) {
 
 		try {
-			field.setAccessible(true);
 			Object originalValue = field.get(originalDto);
 			field.set(dto, originalValue);
 		} catch (IllegalAccessException e) {
 			throw new RuntimeException(e);
-		} finally {
-			field.setAccessible(false);
 		}
 	}
 
 	private List<Field> getPseudonymizableFields(Class<?> type, boolean inJurisdiction) {
-		final FieldAccessCheckers fieldAccessCheckers = getFieldAccessCheckers(inJurisdiction);
-
-		return filterFields(type, new FieldFilter() {
-
-			@Override
-			public boolean apply(Field field) {
-				return fieldAccessCheckers.isConfiguredForCheck(field, pseudonymizeMandatoryFields);
-			}
-		});
+		return getFieldPlan(type, inJurisdiction).pseudonymizableFields;
 	}
 
 	private List<Field> getEmbeddedFields(Class<?> type, boolean inJurisdiction) {
-		final FieldAccessCheckers fieldAccessCheckers = getFieldAccessCheckers(inJurisdiction);
+		return getFieldPlan(type, inJurisdiction).embeddedFields;
+	}
 
-		return filterFields(type, new FieldFilter() {
+	private FieldPlan getFieldPlan(Class<?> type, boolean inJurisdiction) {
 
-			@Override
-			public boolean apply(Field field) {
-				return fieldAccessCheckers.isEmbedded(field);
-			}
-		});
+		Map<Class<?>, FieldPlan> plans = inJurisdiction ? inJurisdictionPlans : outsideJurisdictionPlans;
+		FieldPlan plan = plans.get(type);
+		if (plan == null) {
+			final FieldAccessCheckers fieldAccessCheckers = getFieldAccessCheckers(inJurisdiction);
+
+			List<Field> pseudonymizableFields = filterFields(type, new FieldFilter() {
+
+				@Override
+				public boolean apply(Field field) {
+					return fieldAccessCheckers.isConfiguredForCheck(field, pseudonymizeMandatoryFields);
+				}
+			});
+			List<Field> embeddedFields = filterFields(type, new FieldFilter() {
+
+				@Override
+				public boolean apply(Field field) {
+					return fieldAccessCheckers.isEmbedded(field);
+				}
+			});
+
+			plan = new FieldPlan(pseudonymizableFields, embeddedFields);
+			plans.put(type, plan);
+		}
+
+		return plan;
 	}
 
-	private List<Field> filterFields(Class<?> type, FieldFilter filter) {
-		List<Field> declaredFields = new ArrayList<>();
+	private static List<Field> filterFields(Class<?> type, FieldFilter filter) {
+		List<Field> filteredFields = new ArrayList<>();
 
-		for (Field field : type.getDeclaredFields()) {
+		for (Field field : getClassFields(type)) {
 			if (filter.apply(field)) {
-				declaredFields.add(field);
+				field.setAccessible(true);
+				filteredFields.add(field);
 			}
 		}
 
-		if (type.getSuperclass() != null) {
-			declaredFields.addAll(filterFields(type.getSuperclass(), filter));
+		return Collections.unmodifiableList(filteredFields);
+	}
+
+	private static List<Field> getClassFields(Class<?> type) {
+
+		List<Field> fields = CLASS_FIELDS.get(type);
+		if (fields == null) {
+			fields = new ArrayList<>();
+			for (Class<?> currentType = type; currentType != null; currentType = currentType.getSuperclass()) {
+				Collections.addAll(fields, currentType.getDeclaredFields());
+			}
+
+			fields = Collections.unmodifiableList(fields);
+			CLASS_FIELDS.put(type, fields);
 		}
 
-		return declaredFields;
+		return fields;
 	}
 
 	protected FieldAccessCheckers getFieldAccessCheckers(boolean inJurisdiction) {
@@ -334,4 +379,15 @@ public class DtoPseudonymizer {
 		boolean apply(Field field);
 	}
 
+	private static final class FieldPlan {
+
+		private final List<Field> pseudonymizableFields;
+		private final List<Field> embeddedFields;
+
+		private FieldPlan(List<Field> pseudonymizableFields, List<Field> embeddedFields) {
+			this.pseudonymizableFields = pseudonymizableFields;
+			this.embeddedFields = embeddedFields;
+		}
+	}
+
 }
@@ -35,6 +35,12 @@ public interface VisitFacade {
 
 	List<VisitDto> getAllActiveVisitsAfter(Date date);
 
+	/**
+	 * Keyset paginated variant of {@link #getAllActiveVisitsAfter(Date)}, see
+	 * {@link de.symeda.sormas.api.caze.CaseFacade#getAllActiveCasesAfter(Date, Integer, Date, String)}.
+	 */
+	List<VisitDto> getAllActiveVisitsAfter(Date date, Integer batchSize, Date lastChangeDate, String lastUuid);
+
 	List<VisitDto> getVisitsByCase(CaseReferenceDto caseRef);
 
 	VisitDto getVisitByUuid(String uuid);
@@ -0,0 +1,134 @@
+package de.symeda.sormas.api.utils.pseudonymization;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.utils.EmbeddedPersonalData;
+import de.symeda.sormas.api.utils.PersonalData;
+import de.symeda.sormas.api.utils.SensitiveData;
+import de.symeda.sormas.api.utils.fieldaccess.FieldAccessCheckers;
+import de.symeda.sormas.api.utils.fieldaccess.checkers.PersonalDataFieldAccessChecker;
+import de.symeda.sormas.api.utils.fieldaccess.checkers.SensitiveDataFieldAccessChecker;
+import de.symeda.sormas.api.utils.pseudonymization.valuepseudonymizers.EmptyValuePseudonymizer;
+
+/**
+ * @see DtoPseudonymizer
+ */
+public class DtoPseudonymizerTest {
+
+	@Test
+	public void testPseudonymizeDto() {
+
+		DtoPseudonymizer pseudonymizer = createPseudonymizer(false);
+
+		// the field plan is built on the first call and reused afterwards
+		for (int i = 0; i < 2; i++) {
+			TestDto dto = createDto();
+			pseudonymizer.pseudonymizeDto(TestDto.class, dto, true, null);
+
+			assertThat(dto.isPseudonymized(), is(true));
+			assertThat(dto.name, equalTo("***"));
+			assertThat(dto.age, is(nullValue()));
+			assertThat(dto.postalCode, equalTo(""));
+			assertThat(dto.details, equalTo("details"));
+			assertThat(dto.superName, equalTo("***"));
+			assertThat(dto.embedded.name, equalTo("***"));
+			assertThat(dto.embedded.isPseudonymized(), is(true));
+		}
+
+		TestDto dto = createDto();
+		createPseudonymizer(true).pseudonymizeDto(TestDto.class, dto, true, null);
+		assertThat(dto.isPseudonymized(), is(false));
+		assertThat(dto.name, equalTo("name"));
+	}
+
+	@Test
+	public void testAddFieldAccessChecker() {
+
+		DtoPseudonymizer pseudonymizer = createPseudonymizer(true);
+		assertThat(pseudonymizer.isAccessible(TestDto.class, "name", true), is(true));
+
+		TestDto dto = createDto();
+		pseudonymizer.pseudonymizeDto(TestDto.class, dto, true, null);
+		assertThat(dto.details, equalTo("details"));
+
+		pseudonymizer.addFieldAccessChecker(SensitiveDataFieldAccessChecker.forcedNoAccess(), SensitiveDataFieldAccessChecker.forcedNoAccess());
+		assertThat(pseudonymizer.isAccessible(TestDto.class, "details", true), is(false));
+
+		pseudonymizer.pseudonymizeDto(TestDto.class, dto, true, null);
+		assertThat(dto.details, equalTo("***"));
+		assertThat(dto.name, equalTo("name"));
+	}
+
+	@Test
+	public void testRestorePseudonymizedValues() {
+
+		DtoPseudonymizer pseudonymizer = createPseudonymizer(false);
+
+		TestDto originalDto = createDto();
+		TestDto dto = createDto();
+		pseudonymizer.pseudonymizeDto(TestDto.class, dto, false, null);
+		pseudonymizer.restorePseudonymizedValues(TestDto.class, dto, originalDto, false);
+
+		assertThat(dto.name, equalTo("name"));
+		assertThat(dto.age, equalTo(42));
+		assertThat(dto.postalCode, equalTo("12345"));
+		assertThat(dto.superName, equalTo("super name"));
+		assertThat(dto.embedded.name, equalTo("embedded name"));
+	}
+
+	private static DtoPseudonymizer createPseudonymizer(boolean hasRight) {
+
+		FieldAccessCheckers inJurisdictionCheckers =
+			FieldAccessCheckers.withCheckers(PersonalDataFieldAccessChecker.inJurisdiction(userRight -> hasRight));
+		FieldAccessCheckers outsideJurisdictionCheckers =
+			FieldAccessCheckers.withCheckers(PersonalDataFieldAccessChecker.outsideJurisdiction(userRight -> hasRight));
+
+		return new DtoPseudonymizer(inJurisdictionCheckers, outsideJurisdictionCheckers, "***", true);
+	}
+
+	private static TestDto createDto() {
+
+		TestDto dto = new TestDto();
+		dto.name = "name";
+		dto.age = 42;
+		dto.postalCode = "12345";
+		dto.details = "details";
+		dto.superName = "super name";
+		dto.embedded = new EmbeddedDto();
+		dto.embedded.name = "embedded name";
+
+		return dto;
+	}
+
+	public static class SuperDto extends PseudonymizableDto {
+
+		@PersonalData
+		String superName;
+	}
+
+	public static class TestDto extends SuperDto {
+
+		@PersonalData
+		String name;
+		@PersonalData
+		Integer age;
+		@PersonalData
+		@Pseudonymizer(EmptyValuePseudonymizer.class)
+		String postalCode;
+		@SensitiveData
+		String details;
+		@EmbeddedPersonalData
+		EmbeddedDto embedded;
+	}
+
+	public static class EmbeddedDto extends PseudonymizableDto {
+
+		@PersonalData
+		String name;
+	}
+}
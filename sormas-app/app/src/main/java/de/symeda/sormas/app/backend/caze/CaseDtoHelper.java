@@ -77,7 +77,7 @@ public class CaseDtoHelper extends AdoDtoHelper<Case, CaseDataDto> {
 
 	@Override
 	protected Call<List<CaseDataDto>> pullAllSince(long since) throws NoConnectionException {
-		return RetroProvider.getCaseFacade().pullAllSince(since);
+		return RetroProvider.getCaseFacade().pullAllSince(since, PULL_BATCH_SIZE);
 	}
 
 	@Override
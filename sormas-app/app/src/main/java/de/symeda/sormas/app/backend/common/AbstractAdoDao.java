@@ -1205,6 +1205,28 @@ public abstract class AbstractAdoDao<ADO extends AbstractDomainObject> {
 		}
 	}
 
+	/**
+	 * @param onlyNew
+	 *            Only entities that have never been synchronized, otherwise all modified entities.
+	 * @return The next entities to push with an id greater than the given one, ordered by id.
+	 */
+	public List<ADO> queryForPush(boolean onlyNew, long afterId, long limit) {
+		try {
+			QueryBuilder builder = queryBuilder();
+			Where where = builder.where();
+			if (onlyNew) {
+				where.isNull(AbstractDomainObject.CHANGE_DATE);
+			} else {
+				where.eq(AbstractDomainObject.MODIFIED, true);
+			}
+			where.and().eq(AbstractDomainObject.SNAPSHOT, false).and().gt(AbstractDomainObject.ID, afterId);
+			return builder.orderBy(AbstractDomainObject.ID, true).limit(limit).query();
+		} catch (SQLException | IllegalArgumentException e) {
+			Log.e(getTableName(), "Could not perform queryForPush");
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#queryBuilder()
 	 */
@@ -42,6 +42,16 @@ public abstract class AdoDtoHelper<ADO extends AbstractDomainObject, DTO extends
 
 	private static final Logger logger = LoggerFactory.getLogger(AdoDtoHelper.class);
 
+	/**
+	 * Number of entities the server loads per batch when streaming the pull response of large entity types.
+	 */
+	protected static final int PULL_BATCH_SIZE = 1000;
+
+	/**
+	 * Default number of modified entities pushed in one request, see {@link #getPushChunkSize()}.
+	 */
+	protected static final int PUSH_CHUNK_SIZE = 100;
+
 	protected abstract Class<ADO> getAdoClass();
 
 	protected abstract Class<DTO> getDtoClass();
@@ -76,24 +86,49 @@ public abstract class AdoDtoHelper<ADO extends AbstractDomainObject, DTO extends
 
 	public void pullEntities(final boolean markAsRead)
 		throws DaoException, ServerCommunicationException, ServerConnectionException, NoConnectionException {
+		handlePullResponse(markAsRead, executePullRequest());
+	}
+
+	/**
+	 * Executes the request of {@link #pullEntities(boolean)} without writing anything to the database.
+	 * This allows executing the requests of independent entity types concurrently.
+	 *
+	 * @return null, if there is nothing to pull
+	 */
+	public Response<List<DTO>> executePullRequest() throws DaoException, ServerCommunicationException, NoConnectionException {
 		try {
 			final AbstractAdoDao<ADO> dao = DatabaseHelper.getAdoDao(getAdoClass());
 
 			Date maxModifiedDate = dao.getLatestChangeDate();
 			Call<List<DTO>> dtoCall = pullAllSince(maxModifiedDate != null ? maxModifiedDate.getTime() : 0);
 			if (dtoCall == null) {
-				return;
+				return null;
 			}
 
-			Response<List<DTO>> response;
 			try {
-				response = dtoCall.execute();
+				return dtoCall.execute();
 			} catch (IOException e) {
 				throw new ServerCommunicationException(e);
 			}
 
-			handlePullResponse(markAsRead, dao, response);
+		} catch (RuntimeException e) {
+			Log.e(getClass().getName(), "Exception thrown when trying to pull entities");
+			throw new DaoException(e);
+		}
+	}
+
+	/**
+	 * Writes the response of {@link #executePullRequest()} to the database.
+	 * Has to be called in the order of the entity dependencies (e.g. persons before cases).
+	 */
+	public void handlePullResponse(final boolean markAsRead, Response<List<DTO>> response)
+		throws DaoException, ServerCommunicationException, ServerConnectionException {
+		if (response == null) {
+			return;
+		}
 
+		try {
+			handlePullResponse(markAsRead, DatabaseHelper.getAdoDao(getAdoClass()), response);
 		} catch (RuntimeException e) {
 			Log.e(getClass().getName(), "Exception thrown when trying to pull entities");
 			throw new DaoException(e);
@@ -169,13 +204,55 @@ public abstract class AdoDtoHelper<ADO extends AbstractDomainObject, DTO extends
 	private int pushedTooOldCount, pushedErrorCount;
 
 	/**
+	 * Pushes the modified entities in chunks of {@link #getPushChunkSize()} entities. The results of a chunk are written to the
+	 * database before the next chunk is pushed, so when the connection fails, only the chunks not pushed yet are pushed again.
+	 *
 	 * @return true: another pull is needed, because data has been changed on the server
 	 */
 	public boolean pushEntities(boolean onlyNewEntities)
 		throws DaoException, ServerConnectionException, ServerCommunicationException, NoConnectionException {
 		final AbstractAdoDao<ADO> dao = DatabaseHelper.getAdoDao(getAdoClass());
 
-		final List<ADO> modifiedAdos = onlyNewEntities ? dao.queryForNull(ADO.CHANGE_DATE) : dao.queryForEq(ADO.MODIFIED, true);
+		pushedTooOldCount = 0;
+		pushedErrorCount = 0;
+		int pushedCount = 0;
+		long lastId = 0;
+		List<ADO> modifiedAdos;
+		do {
+			// entities that could not be pushed stay modified, so the next chunk starts after the last id
+			modifiedAdos = dao.queryForPush(onlyNewEntities, lastId, getPushChunkSize());
+			if (modifiedAdos.isEmpty()) {
+				break;
+			}
+
+			pushChunk(dao, modifiedAdos);
+			pushedCount += modifiedAdos.size();
+			lastId = modifiedAdos.get(modifiedAdos.size() - 1).getId();
+		} while (modifiedAdos.size() == getPushChunkSize());
+
+		if (pushedCount > 0) {
+			Log.d(dao.getTableName(), "Pushed: " + pushedCount + " Too old: " + pushedTooOldCount + " Erros: " + pushedErrorCount);
+		}
+
+		return pushedCount > 0;
+	}
+
+	/**
+	 * @return Whether there are modified entities that {@link #pushEntities(boolean)} would push
+	 */
+	public boolean isAnyModified() {
+		return DatabaseHelper.getAdoDao(getAdoClass()).isAnyModified();
+	}
+
+	/**
+	 * Number of modified entities that are pushed in one request.
+	 */
+	protected int getPushChunkSize() {
+		return PUSH_CHUNK_SIZE;
+	}
+
+	private void pushChunk(final AbstractAdoDao<ADO> dao, final List<ADO> modifiedAdos)
+		throws DaoException, ServerConnectionException, ServerCommunicationException, NoConnectionException {
 
 		List<DTO> modifiedDtos = new ArrayList<>(modifiedAdos.size());
 		for (ADO ado : modifiedAdos) {
@@ -183,10 +260,6 @@ public abstract class AdoDtoHelper<ADO extends AbstractDomainObject, DTO extends
 			modifiedDtos.add(dto);
 		}
 
-		if (modifiedDtos.isEmpty()) {
-			return false;
-		}
-
 		Call<List<PushResult>> call = pushAll(modifiedDtos);
 		Response<List<PushResult>> response;
 		try {
@@ -205,8 +278,6 @@ public abstract class AdoDtoHelper<ADO extends AbstractDomainObject, DTO extends
 				"Server responded with wrong count of received entities: " + pushResults.size() + " - expected: " + modifiedDtos.size());
 		}
 
-		pushedTooOldCount = 0;
-		pushedErrorCount = 0;
 		dao.callBatchTasks(new Callable<Void>() {
 
 			public Void call() throws Exception {
@@ -231,12 +302,6 @@ public abstract class AdoDtoHelper<ADO extends AbstractDomainObject, DTO extends
 				return null;
 			}
 		});
-
-		if (modifiedAdos.size() > 0) {
-			Log.d(dao.getTableName(), "Pushed: " + modifiedAdos.size() + " Too old: " + pushedTooOldCount + " Erros: " + pushedErrorCount);
-		}
-
-		return true;
 	}
 
 	public boolean isAnyMissing(List<String> uuids) {
@@ -63,7 +63,7 @@ public class ContactDtoHelper extends AdoDtoHelper<Contact, ContactDto> {
 
 	@Override
 	protected Call<List<ContactDto>> pullAllSince(long since) throws NoConnectionException {
-		return RetroProvider.getContactFacade().pullAllSince(since);
+		return RetroProvider.getContactFacade().pullAllSince(since, PULL_BATCH_SIZE);
 	}
 
 	@Override
@@ -48,7 +48,7 @@ public class VisitDtoHelper extends AdoDtoHelper<Visit, VisitDto> {
 
 	@Override
 	protected Call<List<VisitDto>> pullAllSince(long since) throws NoConnectionException {
-		return RetroProvider.getVisitFacade().pullAllSince(since);
+		return RetroProvider.getVisitFacade().pullAllSince(since, PULL_BATCH_SIZE);
 	}
 
 	@Override
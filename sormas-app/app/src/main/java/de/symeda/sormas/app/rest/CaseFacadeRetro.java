@@ -27,8 +27,8 @@ import retrofit2.http.Path;
 
 public interface CaseFacadeRetro {
 
-	@GET("cases/all/{since}")
-	Call<List<CaseDataDto>> pullAllSince(@Path("since") long since);
+	@GET("cases/all/{since}/{batchSize}")
+	Call<List<CaseDataDto>> pullAllSince(@Path("since") long since, @Path("batchSize") int batchSize);
 
 	@POST("cases/query")
 	Call<List<CaseDataDto>> pullByUuids(@Body List<String> uuids);
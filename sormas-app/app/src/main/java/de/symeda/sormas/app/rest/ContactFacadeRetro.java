@@ -30,8 +30,8 @@ import retrofit2.http.Path;
  */
 public interface ContactFacadeRetro {
 
-	@GET("contacts/all/{since}")
-	Call<List<ContactDto>> pullAllSince(@Path("since") long since);
+	@GET("contacts/all/{since}/{batchSize}")
+	Call<List<ContactDto>> pullAllSince(@Path("since") long since, @Path("batchSize") int batchSize);
 
 	@POST("contacts/query")
 	Call<List<ContactDto>> pullByUuids(@Body List<String> uuids);
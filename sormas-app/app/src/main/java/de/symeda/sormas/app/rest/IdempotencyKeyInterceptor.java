@@ -0,0 +1,55 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.app.rest;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.Buffer;
+
+/**
+ * Adds an idempotency key to push requests, so that the server can answer a chunk that is pushed again after its
+ * response got lost with the results of the first push instead of saving the entities again.
+ * <p>
+ * The key is the hash of the request body, because a chunk that is pushed again contains the same entities in the same
+ * state.
+ */
+public class IdempotencyKeyInterceptor implements Interceptor {
+
+	public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+	private static final String PUSH_PATH_SUFFIX = "/push";
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Request original = chain.request();
+
+		RequestBody body = original.body();
+		if (body == null || !"POST".equals(original.method()) || !original.url().encodedPath().endsWith(PUSH_PATH_SUFFIX)) {
+			return chain.proceed(original);
+		}
+
+		Buffer buffer = new Buffer();
+		body.writeTo(buffer);
+		String idempotencyKey = buffer.readByteString().sha256().hex();
+
+		Request request = original.newBuilder().header(IDEMPOTENCY_KEY_HEADER, idempotencyKey).build();
+		return chain.proceed(request);
+	}
+}
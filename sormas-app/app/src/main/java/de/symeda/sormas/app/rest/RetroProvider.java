@@ -157,6 +157,7 @@ public final class RetroProvider {
 
 		// adds "Accept-Encoding: gzip" by default
 		httpClient.addInterceptor(interceptor);
+		httpClient.addInterceptor(new IdempotencyKeyInterceptor());
 
 		// header for logging purposes
 		httpClient.addInterceptor(chain -> {
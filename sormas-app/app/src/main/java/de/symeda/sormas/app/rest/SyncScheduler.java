@@ -0,0 +1,199 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.app.rest;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import de.symeda.sormas.api.EntityDto;
+import de.symeda.sormas.app.backend.common.AdoDtoHelper;
+import de.symeda.sormas.app.backend.common.DaoException;
+import retrofit2.Response;
+
+/**
+ * Synchronizes entity types whose order reflects their dependencies (e.g. persons before cases).
+ * <p>
+ * The pull requests do not depend on each other and are executed concurrently on a bounded executor,
+ * with at most {@link #MAX_CONCURRENT_REQUESTS} requests started ahead of the entity type that is handled.
+ * Everything that writes to the local database (handling the pulled entities, pushing and accepting
+ * the modified entities) is done one entity type after the other on the calling thread, in the given order.
+ * This way, slow connections only add the latency of the slowest pull requests instead of the sum of all of them.
+ * <p>
+ * Saving pushed entities may change entities of other types on the server (e.g. tasks of a case). Because of this,
+ * the pull requests of the following entity types are only started once an entity type with modified entities
+ * has been pushed.
+ */
+public class SyncScheduler {
+
+	private static final int MAX_CONCURRENT_REQUESTS = 3;
+
+	private final ExecutorService requestExecutor = Executors.newFixedThreadPool(MAX_CONCURRENT_REQUESTS);
+
+	/**
+	 * Pulls and pushes the entities of all helpers, see {@link AdoDtoHelper#pullAndPushEntities()}.
+	 *
+	 * @return The helpers that need another pull, because data has been changed on the server.
+	 */
+	public Set<AdoDtoHelper<?, ?>> pullAndPushEntities(List<AdoDtoHelper<?, ?>> helpers)
+		throws DaoException, ServerConnectionException, ServerCommunicationException, NoConnectionException {
+
+		Set<AdoDtoHelper<?, ?>> helpersThatNeedPull = new LinkedHashSet<>();
+		PullWindow pullWindow = new PullWindow(helpers, true);
+		while (pullWindow.hasNext()) {
+			PullStep<?> pullStep = pullWindow.next();
+			pullStep.handleResponse(false);
+
+			long pushStart = SystemClock.elapsedRealtime();
+			if (pullStep.helper.pushEntities(false)) {
+				helpersThatNeedPull.add(pullStep.helper);
+			}
+			Log.i(getClass().getSimpleName(), pullStep.getEntityName() + " push: " + (SystemClock.elapsedRealtime() - pushStart) + " ms");
+			pullWindow.pushed(pullStep.helper);
+		}
+
+		return helpersThatNeedPull;
+	}
+
+	/**
+	 * Pulls the entities of all helpers, see {@link AdoDtoHelper#pullEntities(boolean)}.
+	 */
+	public void pullEntities(List<AdoDtoHelper<?, ?>> helpers, boolean markAsRead)
+		throws DaoException, ServerConnectionException, ServerCommunicationException, NoConnectionException {
+
+		PullWindow pullWindow = new PullWindow(helpers, false);
+		while (pullWindow.hasNext()) {
+			pullWindow.next().handleResponse(markAsRead);
+		}
+	}
+
+	/**
+	 * Cancels all pending requests. Has to be called when the scheduler is no longer needed.
+	 */
+	public void shutdown() {
+		requestExecutor.shutdownNow();
+	}
+
+	private <DTO extends EntityDto> PullStep<DTO> submitPullRequest(AdoDtoHelper<?, DTO> helper) {
+
+		final long submitted = SystemClock.elapsedRealtime();
+		Future<Response<List<DTO>>> response = requestExecutor.submit(() -> {
+			Response<List<DTO>> result = helper.executePullRequest();
+			Log.i(getClass().getSimpleName(), helper.getClass().getSimpleName() + " pull request: " + (SystemClock.elapsedRealtime() - submitted) + " ms");
+			return result;
+		});
+		return new PullStep<>(helper, response);
+	}
+
+	/**
+	 * Starts the pull requests of the helpers in their order, at most {@link #MAX_CONCURRENT_REQUESTS} ahead of the one
+	 * that is handled.
+	 */
+	private final class PullWindow {
+
+		private final List<AdoDtoHelper<?, ?>> helpers;
+		private final boolean waitForPush;
+		private final Deque<PullStep<?>> pullSteps = new ArrayDeque<>(MAX_CONCURRENT_REQUESTS);
+		private int nextHelperIndex;
+		/**
+		 * The helper with modified entities that has to be pushed before the following pull requests are started.
+		 */
+		private AdoDtoHelper<?, ?> pendingPushHelper;
+
+		private PullWindow(List<AdoDtoHelper<?, ?>> helpers, boolean waitForPush) {
+			this.helpers = helpers;
+			this.waitForPush = waitForPush;
+		}
+
+		private boolean hasNext() {
+			return !pullSteps.isEmpty() || nextHelperIndex < helpers.size();
+		}
+
+		private PullStep<?> next() {
+
+			while (pullSteps.size() < MAX_CONCURRENT_REQUESTS && nextHelperIndex < helpers.size() && pendingPushHelper == null) {
+				AdoDtoHelper<?, ?> helper = helpers.get(nextHelperIndex++);
+				pullSteps.add(submitPullRequest(helper));
+				if (waitForPush && helper.isAnyModified()) {
+					pendingPushHelper = helper;
+				}
+			}
+			return pullSteps.remove();
+		}
+
+		private void pushed(AdoDtoHelper<?, ?> helper) {
+			if (helper == pendingPushHelper) {
+				pendingPushHelper = null;
+			}
+		}
+	}
+
+	private static final class PullStep<DTO extends EntityDto> {
+
+		private final AdoDtoHelper<?, DTO> helper;
+		private final Future<Response<List<DTO>>> response;
+
+		private PullStep(AdoDtoHelper<?, DTO> helper, Future<Response<List<DTO>>> response) {
+			this.helper = helper;
+			this.response = response;
+		}
+
+		private void handleResponse(boolean markAsRead)
+			throws DaoException, ServerConnectionException, ServerCommunicationException, NoConnectionException {
+
+			Response<List<DTO>> pulledResponse = awaitResponse();
+
+			long handleStart = SystemClock.elapsedRealtime();
+			helper.handlePullResponse(markAsRead, pulledResponse);
+			Log.i(SyncScheduler.class.getSimpleName(), getEntityName() + " pull handling: " + (SystemClock.elapsedRealtime() - handleStart) + " ms");
+		}
+
+		private Response<List<DTO>> awaitResponse() throws DaoException, ServerCommunicationException, NoConnectionException {
+
+			try {
+				return response.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ServerCommunicationException(e);
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof DaoException) {
+					throw (DaoException) cause;
+				} else if (cause instanceof ServerCommunicationException) {
+					throw (ServerCommunicationException) cause;
+				} else if (cause instanceof NoConnectionException) {
+					throw (NoConnectionException) cause;
+				} else if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				throw new ServerCommunicationException(cause);
+			}
+		}
+
+		private String getEntityName() {
+			return helper.getClass().getSimpleName();
+		}
+	}
+}
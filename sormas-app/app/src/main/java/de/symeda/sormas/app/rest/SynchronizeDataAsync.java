@@ -25,8 +25,11 @@ import com.google.firebase.perf.metrics.Trace;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 
 import de.symeda.sormas.api.feature.FeatureType;
 import de.symeda.sormas.api.infrastructure.InfrastructureChangeDatesDto;
@@ -39,6 +42,7 @@ import de.symeda.sormas.app.backend.campaign.form.CampaignFormMetaDtoHelper;
 import de.symeda.sormas.app.backend.caze.CaseDtoHelper;
 import de.symeda.sormas.app.backend.classification.DiseaseClassificationDtoHelper;
 import de.symeda.sormas.app.backend.clinicalcourse.ClinicalVisitDtoHelper;
+import de.symeda.sormas.app.backend.common.AdoDtoHelper;
 import de.symeda.sormas.app.backend.common.DaoException;
 import de.symeda.sormas.app.backend.common.DatabaseHelper;
 import de.symeda.sormas.app.backend.config.ConfigProvider;
@@ -260,62 +264,46 @@ public class SynchronizeDataAsync extends AsyncTask<Void, Void, Void> {
 		ClinicalVisitDtoHelper clinicalVisitDtoHelper = new ClinicalVisitDtoHelper();
 
 		// order is important, due to dependencies (e.g. case & person)
+		List<AdoDtoHelper<?, ?>> helpers = Arrays.asList(
+			personDtoHelper,
+			caseDtoHelper,
+			immunizationDtoHelper,
+			eventDtoHelper,
+			eventParticipantDtoHelper,
+			sampleDtoHelper,
+			pathogenTestDtoHelper,
+			additionalTestDtoHelper,
+			contactDtoHelper,
+			visitDtoHelper,
+			taskDtoHelper,
+			weeklyReportDtoHelper,
+			aggregateReportDtoHelper,
+			prescriptionDtoHelper,
+			treatmentDtoHelper,
+			clinicalVisitDtoHelper);
+
+		SyncScheduler syncScheduler = new SyncScheduler();
+		try {
+			syncScheduler.pullEntities(
+				Arrays.asList(new OutbreakDtoHelper(), new DiseaseConfigurationDtoHelper(), new CustomizableEnumValueDtoHelper()),
+				false);
 
-		new OutbreakDtoHelper().pullEntities(false);
-		new DiseaseConfigurationDtoHelper().pullEntities(false);
-		new CustomizableEnumValueDtoHelper().pullEntities(false);
+			Set<AdoDtoHelper<?, ?>> helpersThatNeedPull = syncScheduler.pullAndPushEntities(helpers);
+
+			if (helpersThatNeedPull.contains(clinicalVisitDtoHelper)) {
+				helpersThatNeedPull.add(caseDtoHelper);
+			}
 
-		boolean personsNeedPull = personDtoHelper.pullAndPushEntities();
-		boolean casesNeedPull = caseDtoHelper.pullAndPushEntities();
-		boolean immunizationsNeedPull = immunizationDtoHelper.pullAndPushEntities();
-		boolean eventsNeedPull = eventDtoHelper.pullAndPushEntities();
-		boolean eventParticipantsNeedPull = eventParticipantDtoHelper.pullAndPushEntities();
-		boolean samplesNeedPull = sampleDtoHelper.pullAndPushEntities();
-		boolean sampleTestsNeedPull = pathogenTestDtoHelper.pullAndPushEntities();
-		boolean additionalTestsNeedPull = additionalTestDtoHelper.pullAndPushEntities();
-		boolean contactsNeedPull = contactDtoHelper.pullAndPushEntities();
-		boolean visitsNeedPull = visitDtoHelper.pullAndPushEntities();
-		boolean tasksNeedPull = taskDtoHelper.pullAndPushEntities();
-		boolean weeklyReportsNeedPull = weeklyReportDtoHelper.pullAndPushEntities();
-		boolean aggregateReportsNeedPull = aggregateReportDtoHelper.pullAndPushEntities();
-		boolean prescriptionsNeedPull = prescriptionDtoHelper.pullAndPushEntities();
-		boolean treatmentsNeedPull = treatmentDtoHelper.pullAndPushEntities();
-		boolean clinicalVisitsNeedPull = clinicalVisitDtoHelper.pullAndPushEntities();
-
-		casesNeedPull |= clinicalVisitsNeedPull;
-
-		if (personsNeedPull)
-			personDtoHelper.pullEntities(true);
-		if (casesNeedPull)
-			caseDtoHelper.pullEntities(true);
-		if (immunizationsNeedPull)
-			immunizationDtoHelper.pullEntities(true);
-		if (eventsNeedPull)
-			eventDtoHelper.pullEntities(true);
-		if (eventParticipantsNeedPull)
-			eventParticipantDtoHelper.pullEntities(true);
-		if (samplesNeedPull)
-			sampleDtoHelper.pullEntities(true);
-		if (sampleTestsNeedPull)
-			pathogenTestDtoHelper.pullEntities(true);
-		if (additionalTestsNeedPull)
-			additionalTestDtoHelper.pullEntities(true);
-		if (contactsNeedPull)
-			contactDtoHelper.pullEntities(true);
-		if (visitsNeedPull)
-			visitDtoHelper.pullEntities(true);
-		if (tasksNeedPull)
-			taskDtoHelper.pullEntities(true);
-		if (weeklyReportsNeedPull)
-			weeklyReportDtoHelper.pullEntities(true);
-		if (aggregateReportsNeedPull)
-			aggregateReportDtoHelper.pullEntities(true);
-		if (prescriptionsNeedPull)
-			prescriptionDtoHelper.pullEntities(true);
-		if (treatmentsNeedPull)
-			treatmentDtoHelper.pullEntities(true);
-		if (clinicalVisitsNeedPull)
-			clinicalVisitDtoHelper.pullEntities(true);
+			List<AdoDtoHelper<?, ?>> helpersToPullAgain = new ArrayList<>();
+			for (AdoDtoHelper<?, ?> helper : helpers) {
+				if (helpersThatNeedPull.contains(helper)) {
+					helpersToPullAgain.add(helper);
+				}
+			}
+			syncScheduler.pullEntities(helpersToPullAgain, true);
+		} finally {
+			syncScheduler.shutdown();
+		}
 
 		// Campaigns
 		if (!DatabaseHelper.getFeatureConfigurationDao().isFeatureDisabled(FeatureType.CAMPAIGNS)) {
@@ -27,8 +27,8 @@ import retrofit2.http.Path;
 
 public interface VisitFacadeRetro {
 
-	@GET("visits/all/{since}")
-	Call<List<VisitDto>> pullAllSince(@Path("since") long since);
+	@GET("visits/all/{since}/{batchSize}")
+	Call<List<VisitDto>> pullAllSince(@Path("since") long since, @Path("batchSize") int batchSize);
 
 	@POST("visits/query")
 	Call<List<VisitDto>> pullByUuids(@Body List<String> uuids);
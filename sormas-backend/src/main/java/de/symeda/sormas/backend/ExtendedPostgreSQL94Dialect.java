@@ -21,6 +21,7 @@ public class ExtendedPostgreSQL94Dialect extends PostgreSQL94Dialect {
 	public final static String WINDOW_FIRST_VALUE_DESC = "window_first_value_desc";
 	public final static String WINDOW_COUNT = "window_count";
 	public final static String GREATEST = "greatest";
+	public final static String BOOL_AND = "bool_and";
 
 	public ExtendedPostgreSQL94Dialect() {
 		super();
@@ -44,5 +45,6 @@ public class ExtendedPostgreSQL94Dialect extends PostgreSQL94Dialect {
 				StandardBasicTypes.LONG,
 				"COUNT(?1) OVER (PARTITION BY ?2 RANGE BETWEEN UNBOUNDED PRECEDING AND UNBOUNDED FOLLOWING)"));
 		registerFunction(GREATEST, new StandardSQLFunction(GREATEST));
+		registerFunction(BOOL_AND, new StandardSQLFunction(BOOL_AND, StandardBasicTypes.BOOLEAN));
 	}
 }
@@ -0,0 +1,105 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.campaign.data;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.ejb.LocalBean;
+import javax.ejb.Lock;
+import javax.ejb.LockType;
+import javax.ejb.Singleton;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+
+import de.symeda.sormas.api.ReferenceDto;
+import de.symeda.sormas.api.campaign.diagram.CampaignDiagramCriteria;
+import de.symeda.sormas.api.campaign.diagram.CampaignDiagramDataDto;
+import de.symeda.sormas.api.campaign.diagram.CampaignDiagramSeries;
+import de.symeda.sormas.backend.common.ChangedEntityType;
+import de.symeda.sormas.backend.common.EntityChangeEvent;
+import de.symeda.sormas.backend.util.TtlCache;
+
+/**
+ * Keeps the data of campaign diagrams for a short time, so that campaign dashboards opened by many users with the same
+ * campaign and jurisdiction filters do not evaluate the same form values again and again.
+ * <p>
+ * The data does not depend on the user. All entries are dropped once a transaction that saved or deleted campaign form
+ * data has been committed.
+ */
+@Singleton
+@LocalBean
+public class CampaignDiagramDataCache {
+
+	private static final long TIME_TO_LIVE_MILLIS = 5 * 60 * 1000L;
+	private static final int MAX_ENTRIES = 1000;
+
+	private final TtlCache<List<Object>, List<CampaignDiagramDataDto>> entries =
+		new TtlCache<>(TIME_TO_LIVE_MILLIS, MAX_ENTRIES, System::currentTimeMillis);
+
+	@Lock(LockType.READ)
+	public List<CampaignDiagramDataDto> get(
+		List<CampaignDiagramSeries> diagramSeries,
+		CampaignDiagramCriteria criteria,
+		Supplier<List<CampaignDiagramDataDto>> loader) {
+
+		List<Object> key = Arrays.asList(
+			diagramSeries.stream()
+				.map(s -> Arrays.asList(s.getFormId(), s.getFieldId(), s.getReferenceValue(), s.getStack()))
+				.collect(Collectors.toList()),
+			getUuid(criteria.getCampaign()),
+			getUuid(criteria.getArea()),
+			getUuid(criteria.getRegion()),
+			getUuid(criteria.getDistrict()),
+			criteria.getCampaignJurisdictionLevelGroupBy());
+
+		return copy(entries.get(key, k -> loader.get()));
+	}
+
+	@Lock(LockType.READ)
+	public void invalidate() {
+		entries.clear();
+	}
+
+	@Lock(LockType.READ)
+	public void onCampaignFormDataChange(
+		@Observes(during = TransactionPhase.AFTER_SUCCESS) @ChangedEntityType(CampaignFormData.class) EntityChangeEvent event) {
+		invalidate();
+	}
+
+	private static String getUuid(ReferenceDto reference) {
+		return reference != null ? reference.getUuid() : null;
+	}
+
+	private static List<CampaignDiagramDataDto> copy(List<CampaignDiagramDataDto> diagramData) {
+
+		return diagramData.stream().map(dto -> {
+			CampaignDiagramDataDto copy = new CampaignDiagramDataDto(
+				dto.getFormMetaUuid(),
+				dto.getFormId(),
+				dto.getFieldId(),
+				dto.getFieldCaption(),
+				dto.getValueSum(),
+				dto.getGroupingKey(),
+				dto.getGroupingCaption(),
+				dto.getStack());
+			copy.setHasAgeGroupData(dto.getHasAgeGroupData());
+			return copy;
+		}).collect(Collectors.toList());
+	}
+}
@@ -21,9 +21,12 @@
 package de.symeda.sormas.backend.campaign.data;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -45,7 +48,6 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
 import de.symeda.sormas.api.campaign.CampaignJurisdictionLevel;
-import de.symeda.sormas.api.campaign.CampaignReferenceDto;
 import de.symeda.sormas.api.campaign.data.CampaignFormDataCriteria;
 import de.symeda.sormas.api.campaign.data.CampaignFormDataDto;
 import de.symeda.sormas.api.campaign.data.CampaignFormDataEntry;
@@ -132,6 +134,9 @@ public class CampaignFormDataFacadeEjb implements CampaignFormDataFacade {
 	@EJB
 	private DistrictFacadeEjb.DistrictFacadeEjbLocal districtFacadeEjb;
 
+	@EJB
+	private CampaignDiagramDataCache campaignDiagramDataCache;
+
 	public CampaignFormData fromDto(@NotNull CampaignFormDataDto source, boolean checkChangeDate) {
 		CampaignFormData target =
 			DtoHelper.fillOrBuildEntity(source, campaignFormDataService.getByUuid(source.getUuid()), CampaignFormData::new, checkChangeDate);
@@ -500,235 +505,327 @@ public class CampaignFormDataFacadeEjb implements CampaignFormDataFacade {
 
 	@Override
 	public List<CampaignDiagramDataDto> getDiagramData(List<CampaignDiagramSeries> diagramSeries, CampaignDiagramCriteria campaignDiagramCriteria) {
+		return campaignDiagramDataCache.get(diagramSeries, campaignDiagramCriteria, () -> loadDiagramData(diagramSeries, campaignDiagramCriteria));
+	}
 
-		List<CampaignDiagramDataDto> resultData = new ArrayList<>();
-		final AreaReferenceDto area = campaignDiagramCriteria.getArea();
-		final RegionReferenceDto region = campaignDiagramCriteria.getRegion();
-		final DistrictReferenceDto district = campaignDiagramCriteria.getDistrict();
-		final CampaignReferenceDto campaign = campaignDiagramCriteria.getCampaign();
+	/**
+	 * Evaluates all series of a diagram with at most two grouped queries: One over the extracted
+	 * {@link CampaignFormDataValue}s for all series that refer to a field, and one counting the forms for all other series.
+	 */
+	private List<CampaignDiagramDataDto> loadDiagramData(List<CampaignDiagramSeries> diagramSeries, CampaignDiagramCriteria campaignDiagramCriteria) {
+
+		List<CampaignDiagramSeries> fieldSeries = diagramSeries.stream().filter(s -> s.getFieldId() != null).collect(Collectors.toList());
+		List<CampaignDiagramSeries> formSeries = diagramSeries.stream().filter(s -> s.getFieldId() == null).collect(Collectors.toList());
+
+		// one column with the number of values and one with their sum per field,
+		// one column with the number of values equal to the reference value per field and reference value
+		List<String> fieldIds = fieldSeries.stream().map(CampaignDiagramSeries::getFieldId).distinct().collect(Collectors.toList());
+		List<List<String>> referenceValues = fieldSeries.stream()
+			.map(s -> Arrays.asList(s.getFieldId(), String.valueOf(s.getReferenceValue())))
+			.distinct()
+			.collect(Collectors.toList());
+
+		List<Object[]> fieldResults =
+			fieldSeries.isEmpty() ? Collections.emptyList() : queryFieldValues(fieldSeries, fieldIds, referenceValues, campaignDiagramCriteria);
+		List<Object[]> formResults = formSeries.isEmpty() ? Collections.emptyList() : queryFormCounts(formSeries, campaignDiagramCriteria);
+
+		Map<String, Map<String, CampaignFormElement>> formElements = new HashMap<>();
+		if (!fieldResults.isEmpty()) {
+			List<String> formMetaUuids = fieldResults.stream().map(result -> (String) result[0]).distinct().collect(Collectors.toList());
+			for (CampaignFormMeta formMeta : campaignFormMetaService.getByUuids(formMetaUuids)) {
+				Map<String, CampaignFormElement> elements = new HashMap<>();
+				formMeta.getCampaignFormElementsList().forEach(element -> elements.putIfAbsent(element.getId(), element));
+				formElements.put(formMeta.getUuid(), elements);
+			}
+		}
 
+		List<CampaignDiagramDataDto> resultData = new ArrayList<>();
 		for (CampaignDiagramSeries series : diagramSeries) {
-			//@formatter:off
-
-				final String areaFilter = area != null ? " AND " + Area.TABLE_NAME + "." + Area.UUID + " = :areaUuid" : "";
-				final String regionFilter = region != null ? " AND " + CampaignFormData.REGION + "." + Region.UUID + " = :regionUuid" : "";
-				final String districtFilter = district != null ? " AND " + CampaignFormData.DISTRICT + "." + District.UUID + " = :districtUuid" : "";
-				final String campaignFilter = campaign != null ? " AND " + Campaign.TABLE_NAME + "." + Campaign.UUID + " = :campaignUuid" : "";
-				//@formatter:on
-
-			// SELECT
-			StringBuilder selectBuilder = new StringBuilder("SELECT ").append(CampaignFormMeta.TABLE_NAME)
-				.append(".")
-				.append(CampaignFormMeta.UUID)
-				.append(" as formUuid,")
-				.append(CampaignFormMeta.TABLE_NAME)
-				.append(".")
-				.append(CampaignFormMeta.FORM_ID)
-				.append(" as formId");
-
-			if (series.getFieldId() != null) {
-				selectBuilder.append(", jsonData->>'")
-					.append(CampaignFormDataEntry.ID)
-					.append("' as fieldId, jsonMeta->>'")
-					.append(CampaignFormElement.CAPTION)
-					.append("' as fieldCaption,")
-					.append("CASE WHEN ")
-					.append("((jsonMeta ->> '")
-					.append(CampaignFormElement.TYPE)
-					.append("') = '")
-					.append(CampaignFormElementType.NUMBER.toString()+"') OR")
-					
-					.append("((jsonMeta ->> '")
-					.append(CampaignFormElement.TYPE)
-					.append("') = '")
-					.append(CampaignFormElementType.DECIMAL.toString()+"') OR")
-					
-					.append("((jsonMeta ->> '")
-					.append(CampaignFormElement.TYPE)
-					.append("') = '")
-					.append(CampaignFormElementType.RANGE.toString()+"')")
-					
-					.append("THEN sum(cast_to_int(jsonData->>'")
-					.append(CampaignFormDataEntry.VALUE)
-					.append("', 0)) ELSE sum(CASE WHEN(jsonData->>'")
-					.append(CampaignFormDataEntry.VALUE)
-					.append("') = '")
-					.append(series.getReferenceValue())
-					.append("' THEN 1 ELSE 0 END) END as sumValue,");
-							} else {
-				selectBuilder.append(", null as fieldId, null as fieldCaption, count(formId) as sumValue,");
+			if (series.getFieldId() == null) {
+				formResults.stream()
+					.filter(result -> series.getFormId().equals(result[1]))
+					.map(
+						result -> new CampaignDiagramDataDto(
+							(String) result[0],
+							(String) result[1],
+							null,
+							null,
+							(Number) result[4],
+							(String) result[2],
+							(String) result[3],
+							series.getStack()))
+					.forEach(resultData::add);
+				continue;
 			}
 
-			final String jurisdictionGrouping;
-			switch (campaignDiagramCriteria.getCampaignJurisdictionLevelGroupBy()) {
-			case REGION:
-				appendInfrastructureSelection(selectBuilder, Region.TABLE_NAME, Region.NAME);
-				break;
-			case DISTRICT:
-				appendInfrastructureSelection(selectBuilder, District.TABLE_NAME, District.NAME);
-				break;
-			case COMMUNITY:
-				appendInfrastructureSelection(selectBuilder, Community.TABLE_NAME, Community.NAME);
-				break;
-			case AREA:
-			default:
-				appendInfrastructureSelection(selectBuilder, Area.TABLE_NAME, Area.NAME);
-			}
+			int fieldIndex = fieldIds.indexOf(series.getFieldId());
+			int countColumn = 4 + fieldIndex * 2;
+			int referenceValueColumn =
+				4 + fieldIds.size() * 2 + referenceValues.indexOf(Arrays.asList(series.getFieldId(), String.valueOf(series.getReferenceValue())));
 
-			// JOINS
-			StringBuilder joinBuilder = new StringBuilder(" LEFT JOIN ").append(CampaignFormMeta.TABLE_NAME)
-				.append(" ON ")
-				.append(CampaignFormData.CAMPAIGN_FORM_META)
-				.append("_id = ")
-				.append(CampaignFormMeta.TABLE_NAME)
-				.append(".")
-				.append(CampaignFormMeta.ID)
-				.append(" LEFT JOIN ")
-				.append(Region.TABLE_NAME)
-				.append(" ON ")
-				.append(CampaignFormData.REGION)
-				.append("_id =")
-				.append(Region.TABLE_NAME)
-				.append(".")
-				.append(Region.ID)
-				.append(" LEFT JOIN ")
-				.append(Area.TABLE_NAME)
-				.append(" ON ")
-				.append(Region.AREA)
-				.append("_id = ")
-				.append(Area.TABLE_NAME)
-				.append(".")
-				.append(Area.ID)
-				.append(" LEFT JOIN ")
-				.append(District.TABLE_NAME)
-				.append(" ON ")
-				.append(CampaignFormData.DISTRICT)
-				.append("_id = ")
-				.append(District.TABLE_NAME)
-				.append(".")
-				.append(District.ID)
-				.append(" LEFT JOIN ")
-				.append(Community.TABLE_NAME)
-				.append(" ON ")
-				.append(CampaignFormData.COMMUNITY)
-				.append("_id = ")
-				.append(Community.TABLE_NAME)
-				.append(".")
-				.append(Community.ID)
-				.append(" LEFT JOIN ")
-				.append(Campaign.TABLE_NAME)
-				.append(" ON ")
-				.append(CampaignFormData.CAMPAIGN)
-				.append("_id = ")
-				.append(Campaign.TABLE_NAME)
-				.append(".")
-				.append(Campaign.ID);
-
-			if (series.getFieldId() != null) {
-				joinBuilder.append(", json_array_elements(")
-					.append(CampaignFormData.FORM_VALUES)
-					.append(") as jsonData, json_array_elements(")
-					.append(CampaignFormMeta.CAMPAIGN_FORM_ELEMENTS)
-					.append(") as jsonMeta");
-			}
+			for (Object[] result : fieldResults) {
+				if (!series.getFormId().equals(result[1]) || ((Number) result[countColumn]).longValue() == 0) {
+					continue;
+				}
 
-			// WHERE
-			StringBuilder whereBuilder =
-				new StringBuilder(" WHERE ").append(CampaignFormMeta.TABLE_NAME).append(".").append(CampaignFormMeta.FORM_ID).append(" = :campaignFormMetaId");
-
-			if (series.getFieldId() != null) {
-				whereBuilder.append(" AND jsonData->>'")
-					.append(CampaignFormDataEntry.ID)
-					.append("' = :campaignFormDataId")
-					.append(" AND jsonData->>'")
-					.append(CampaignFormDataEntry.VALUE)
-					.append("' IS NOT NULL AND jsonData->>'")
-					.append(CampaignFormDataEntry.ID)
-					.append("' = jsonMeta->>'")
-					.append(CampaignFormElement.ID)
-					.append("'");
-			}
+				CampaignFormElement element = formElements.getOrDefault((String) result[0], Collections.emptyMap()).get(series.getFieldId());
+				if (element == null) {
+					continue;
+				}
 
-			whereBuilder.append(areaFilter).append(regionFilter).append(districtFilter).append(campaignFilter);
-
-			// GROUP BY
-			StringBuilder groupByBuilder = new StringBuilder(" GROUP BY ").append(CampaignFormMeta.TABLE_NAME)
-				.append(".")
-				.append(CampaignFormMeta.UUID)
-				.append(",")
-				.append(CampaignFormMeta.TABLE_NAME)
-				.append(".")
-				.append(CampaignFormMeta.FORM_ID);
-
-			if (series.getFieldId() != null) {
-				groupByBuilder.append(", jsonData->>'")
-					.append(CampaignFormDataEntry.ID)
-					.append("', jsonMeta->>'")
-					.append(CampaignFormElement.CAPTION)
-					.append("', jsonMeta->>'")
-					.append(CampaignFormElement.TYPE)
-					.append("'");
-			}
+				Number valueSum;
+				if (isNumericElement(element)) {
+					valueSum = result[countColumn + 1] != null ? (Number) result[countColumn + 1] : Long.valueOf(0);
+				} else {
+					valueSum = (Number) result[referenceValueColumn];
+				}
 
-			switch (campaignDiagramCriteria.getCampaignJurisdictionLevelGroupBy()) {
-			case REGION:
-				jurisdictionGrouping = ", " + Region.TABLE_NAME + "." + Region.UUID + ", " + Region.TABLE_NAME + "." + Region.NAME;
-				break;
-			case DISTRICT:
-				jurisdictionGrouping = ", " + District.TABLE_NAME + "." + District.UUID + ", " + District.TABLE_NAME + "." + District.NAME;
-				break;
-			case COMMUNITY:
-				jurisdictionGrouping = ", " + Community.TABLE_NAME + "." + Community.UUID + ", " + Community.TABLE_NAME + "." + Community.NAME;
-				break;
-			case AREA:
-			default:
-				jurisdictionGrouping = ", " + Area.TABLE_NAME + "." + Area.UUID + ", " + Area.TABLE_NAME + "." + Area.NAME;
+				resultData.add(
+					new CampaignDiagramDataDto(
+						(String) result[0],
+						(String) result[1],
+						series.getFieldId(),
+						element.getCaption(),
+						valueSum,
+						(String) result[2],
+						(String) result[3],
+						series.getStack()));
 			}
+		}
 
-			groupByBuilder.append(jurisdictionGrouping);
-			
-			//@formatter:off
-			Query seriesDataQuery = em.createNativeQuery(
-					selectBuilder.toString() + " FROM " + CampaignFormData.TABLE_NAME + joinBuilder + whereBuilder + groupByBuilder);
-			//@formatter:on
+		return resultData;
+	}
 
-			seriesDataQuery.setParameter("campaignFormMetaId", series.getFormId());
-			if (area != null) {
-				seriesDataQuery.setParameter("areaUuid", area.getUuid());
-			}
-			if (region != null) {
-				seriesDataQuery.setParameter("regionUuid", region.getUuid());
-			}
-			if (district != null) {
-				seriesDataQuery.setParameter("districtUuid", district.getUuid());
-			}
-			if (campaign != null) {
-				seriesDataQuery.setParameter("campaignUuid", campaign.getUuid());
-			}
+	private List<Object[]> queryFieldValues(
+		List<CampaignDiagramSeries> fieldSeries,
+		List<String> fieldIds,
+		List<List<String>> referenceValues,
+		CampaignDiagramCriteria campaignDiagramCriteria) {
 
-			if (series.getFieldId() != null) {
-				seriesDataQuery.setParameter("campaignFormDataId", series.getFieldId());
-			}
+		final String valueTable = CampaignFormDataValue.TABLE_NAME;
+
+		StringBuilder selectBuilder = new StringBuilder();
+		appendDiagramGroupingSelection(selectBuilder, campaignDiagramCriteria.getCampaignJurisdictionLevelGroupBy());
+		for (int i = 0; i < fieldIds.size(); i++) {
+			selectBuilder.append(", count(CASE WHEN ")
+				.append(valueTable)
+				.append(".fieldid = :fieldId")
+				.append(i)
+				.append(" THEN 1 END), sum(CASE WHEN ")
+				.append(valueTable)
+				.append(".fieldid = :fieldId")
+				.append(i)
+				.append(" THEN ")
+				.append(valueTable)
+				.append(".numericvalue END)");
+		}
+		for (int i = 0; i < referenceValues.size(); i++) {
+			selectBuilder.append(", sum(CASE WHEN ")
+				.append(valueTable)
+				.append(".fieldid = :fieldId")
+				.append(fieldIds.indexOf(referenceValues.get(i).get(0)))
+				.append(" AND ")
+				.append(valueTable)
+				.append(".stringvalue = :referenceValue")
+				.append(i)
+				.append(" THEN 1 ELSE 0 END)");
+		}
 
-			@SuppressWarnings("unchecked")
-			List<Object[]> resultList = seriesDataQuery.getResultList();
+		StringBuilder queryBuilder = new StringBuilder("SELECT ").append(selectBuilder)
+			.append(" FROM ")
+			.append(valueTable)
+			.append(" JOIN ")
+			.append(CampaignFormData.TABLE_NAME)
+			.append(" ON ")
+			.append(valueTable)
+			.append(".campaignformdata_id = ")
+			.append(CampaignFormData.TABLE_NAME)
+			.append(".")
+			.append(CampaignFormData.ID);
+		appendDiagramJoins(queryBuilder);
+		queryBuilder.append(" WHERE ")
+			.append(CampaignFormMeta.TABLE_NAME)
+			.append(".")
+			.append(CampaignFormMeta.FORM_ID)
+			.append(" IN (:formIds) AND ")
+			.append(valueTable)
+			.append(".fieldid IN (:fieldIds)");
+		appendDiagramFilters(queryBuilder, campaignDiagramCriteria);
+		queryBuilder.append(" GROUP BY ");
+		appendDiagramGroupingSelection(queryBuilder, campaignDiagramCriteria.getCampaignJurisdictionLevelGroupBy());
+
+		Query query = em.createNativeQuery(queryBuilder.toString());
+		query.setParameter("formIds", fieldSeries.stream().map(CampaignDiagramSeries::getFormId).distinct().collect(Collectors.toList()));
+		query.setParameter("fieldIds", fieldIds);
+		for (int i = 0; i < fieldIds.size(); i++) {
+			query.setParameter("fieldId" + i, fieldIds.get(i));
+		}
+		for (int i = 0; i < referenceValues.size(); i++) {
+			query.setParameter("referenceValue" + i, referenceValues.get(i).get(1));
+		}
+		setDiagramFilterParameters(query, campaignDiagramCriteria);
 
-			resultData.addAll(
-				resultList.stream()
-					.map(
-						(result) -> new CampaignDiagramDataDto(
-							(String) result[0],
-							(String) result[1],
-							(String) result[2],
-							(String) result[3],
-							(Number) result[4],
-							(String) result[5],
-							(String) result[6],
-							series.getStack()))
-					.collect(Collectors.toList()));
+		@SuppressWarnings("unchecked")
+		List<Object[]> resultList = query.getResultList();
+		return resultList;
+	}
+
+	private List<Object[]> queryFormCounts(List<CampaignDiagramSeries> formSeries, CampaignDiagramCriteria campaignDiagramCriteria) {
+
+		StringBuilder queryBuilder = new StringBuilder("SELECT ");
+		appendDiagramGroupingSelection(queryBuilder, campaignDiagramCriteria.getCampaignJurisdictionLevelGroupBy());
+		queryBuilder.append(", count(")
+			.append(CampaignFormData.TABLE_NAME)
+			.append(".")
+			.append(CampaignFormData.ID)
+			.append(") FROM ")
+			.append(CampaignFormData.TABLE_NAME);
+		appendDiagramJoins(queryBuilder);
+		queryBuilder.append(" WHERE ").append(CampaignFormMeta.TABLE_NAME).append(".").append(CampaignFormMeta.FORM_ID).append(" IN (:formIds)");
+		appendDiagramFilters(queryBuilder, campaignDiagramCriteria);
+		queryBuilder.append(" GROUP BY ");
+		appendDiagramGroupingSelection(queryBuilder, campaignDiagramCriteria.getCampaignJurisdictionLevelGroupBy());
+
+		Query query = em.createNativeQuery(queryBuilder.toString());
+		query.setParameter("formIds", formSeries.stream().map(CampaignDiagramSeries::getFormId).distinct().collect(Collectors.toList()));
+		setDiagramFilterParameters(query, campaignDiagramCriteria);
+
+		@SuppressWarnings("unchecked")
+		List<Object[]> resultList = query.getResultList();
+		return resultList;
+	}
+
+	private static boolean isNumericElement(CampaignFormElement element) {
+
+		return CampaignFormElementType.NUMBER.toString().equals(element.getType())
+			|| CampaignFormElementType.DECIMAL.toString().equals(element.getType())
+			|| CampaignFormElementType.RANGE.toString().equals(element.getType());
+	}
+
+	/**
+	 * Appends the form meta uuid, the form id and the uuid and name of the jurisdiction the data is grouped by.
+	 */
+	private void appendDiagramGroupingSelection(StringBuilder sb, CampaignJurisdictionLevel groupBy) {
+
+		sb.append(CampaignFormMeta.TABLE_NAME)
+			.append(".")
+			.append(CampaignFormMeta.UUID)
+			.append(", ")
+			.append(CampaignFormMeta.TABLE_NAME)
+			.append(".")
+			.append(CampaignFormMeta.FORM_ID)
+			.append(", ");
+
+		switch (groupBy) {
+		case REGION:
+			appendInfrastructureSelection(sb, Region.TABLE_NAME, Region.NAME);
+			break;
+		case DISTRICT:
+			appendInfrastructureSelection(sb, District.TABLE_NAME, District.NAME);
+			break;
+		case COMMUNITY:
+			appendInfrastructureSelection(sb, Community.TABLE_NAME, Community.NAME);
+			break;
+		case AREA:
+		default:
+			appendInfrastructureSelection(sb, Area.TABLE_NAME, Area.NAME);
 		}
+	}
 
-		return resultData;
+	private void appendDiagramJoins(StringBuilder sb) {
+
+		sb.append(" LEFT JOIN ")
+			.append(CampaignFormMeta.TABLE_NAME)
+			.append(" ON ")
+			.append(CampaignFormData.TABLE_NAME)
+			.append(".")
+			.append(CampaignFormData.CAMPAIGN_FORM_META)
+			.append("_id = ")
+			.append(CampaignFormMeta.TABLE_NAME)
+			.append(".")
+			.append(CampaignFormMeta.ID)
+			.append(" LEFT JOIN ")
+			.append(Region.TABLE_NAME)
+			.append(" ON ")
+			.append(CampaignFormData.TABLE_NAME)
+			.append(".")
+			.append(CampaignFormData.REGION)
+			.append("_id = ")
+			.append(Region.TABLE_NAME)
+			.append(".")
+			.append(Region.ID)
+			.append(" LEFT JOIN ")
+			.append(Area.TABLE_NAME)
+			.append(" ON ")
+			.append(Region.TABLE_NAME)
+			.append(".")
+			.append(Region.AREA)
+			.append("_id = ")
+			.append(Area.TABLE_NAME)
+			.append(".")
+			.append(Area.ID)
+			.append(" LEFT JOIN ")
+			.append(District.TABLE_NAME)
+			.append(" ON ")
+			.append(CampaignFormData.TABLE_NAME)
+			.append(".")
+			.append(CampaignFormData.DISTRICT)
+			.append("_id = ")
+			.append(District.TABLE_NAME)
+			.append(".")
+			.append(District.ID)
+			.append(" LEFT JOIN ")
+			.append(Community.TABLE_NAME)
+			.append(" ON ")
+			.append(CampaignFormData.TABLE_NAME)
+			.append(".")
+			.append(CampaignFormData.COMMUNITY)
+			.append("_id = ")
+			.append(Community.TABLE_NAME)
+			.append(".")
+			.append(Community.ID)
+			.append(" LEFT JOIN ")
+			.append(Campaign.TABLE_NAME)
+			.append(" ON ")
+			.append(CampaignFormData.TABLE_NAME)
+			.append(".")
+			.append(CampaignFormData.CAMPAIGN)
+			.append("_id = ")
+			.append(Campaign.TABLE_NAME)
+			.append(".")
+			.append(Campaign.ID);
+	}
+
+	private void appendDiagramFilters(StringBuilder sb, CampaignDiagramCriteria campaignDiagramCriteria) {
+
+		if (campaignDiagramCriteria.getArea() != null) {
+			sb.append(" AND ").append(Area.TABLE_NAME).append(".").append(Area.UUID).append(" = :areaUuid");
+		}
+		if (campaignDiagramCriteria.getRegion() != null) {
+			sb.append(" AND ").append(CampaignFormData.REGION).append(".").append(Region.UUID).append(" = :regionUuid");
+		}
+		if (campaignDiagramCriteria.getDistrict() != null) {
+			sb.append(" AND ").append(CampaignFormData.DISTRICT).append(".").append(District.UUID).append(" = :districtUuid");
+		}
+		if (campaignDiagramCriteria.getCampaign() != null) {
+			sb.append(" AND ").append(Campaign.TABLE_NAME).append(".").append(Campaign.UUID).append(" = :campaignUuid");
+		}
+	}
+
+	private void setDiagramFilterParameters(Query query, CampaignDiagramCriteria campaignDiagramCriteria) {
+
+		if (campaignDiagramCriteria.getArea() != null) {
+			query.setParameter("areaUuid", campaignDiagramCriteria.getArea().getUuid());
+		}
+		if (campaignDiagramCriteria.getRegion() != null) {
+			query.setParameter("regionUuid", campaignDiagramCriteria.getRegion().getUuid());
+		}
+		if (campaignDiagramCriteria.getDistrict() != null) {
+			query.setParameter("districtUuid", campaignDiagramCriteria.getDistrict().getUuid());
+		}
+		if (campaignDiagramCriteria.getCampaign() != null) {
+			query.setParameter("campaignUuid", campaignDiagramCriteria.getCampaign().getUuid());
+		}
 	}
 
 	private void appendInfrastructureSelection(StringBuilder sb, String tableNameField, String nameField) {
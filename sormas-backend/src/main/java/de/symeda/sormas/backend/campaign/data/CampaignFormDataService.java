@@ -25,7 +25,11 @@ import java.util.List;
 
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import javax.persistence.EntityExistsException;
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.From;
 import javax.persistence.criteria.Join;
@@ -33,14 +37,20 @@ import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import de.symeda.sormas.api.campaign.data.CampaignFormDataCriteria;
+import de.symeda.sormas.api.campaign.data.CampaignFormDataEntry;
 import de.symeda.sormas.api.user.JurisdictionLevel;
 import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.backend.campaign.Campaign;
 import de.symeda.sormas.backend.campaign.form.CampaignFormMeta;
 import de.symeda.sormas.backend.common.AbstractDomainObject;
 import de.symeda.sormas.backend.common.AdoServiceWithUserFilter;
+import de.symeda.sormas.backend.common.ChangedEntityType;
 import de.symeda.sormas.backend.common.CriteriaBuilderHelper;
+import de.symeda.sormas.backend.common.EntityChangeEvent;
 import de.symeda.sormas.backend.infrastructure.community.Community;
 import de.symeda.sormas.backend.infrastructure.district.District;
 import de.symeda.sormas.backend.infrastructure.region.Region;
@@ -50,10 +60,93 @@ import de.symeda.sormas.backend.user.User;
 @LocalBean
 public class CampaignFormDataService extends AdoServiceWithUserFilter<CampaignFormData> {
 
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	@Inject
+	@ChangedEntityType(CampaignFormData.class)
+	private Event<EntityChangeEvent> campaignFormDataChangeEvent;
+
 	public CampaignFormDataService() {
 		super(CampaignFormData.class);
 	}
 
+	@Override
+	public void ensurePersisted(CampaignFormData campaignFormData) throws EntityExistsException {
+		super.ensurePersisted(campaignFormData);
+		updateFormDataValues(campaignFormData);
+		campaignFormDataChangeEvent.fire(new EntityChangeEvent(campaignFormData));
+	}
+
+	@Override
+	public void delete(CampaignFormData campaignFormData) {
+		deleteFormDataValues(campaignFormData.getId());
+		super.delete(campaignFormData);
+		campaignFormDataChangeEvent.fire(new EntityChangeEvent(campaignFormData));
+	}
+
+	/**
+	 * Replaces the extracted {@link CampaignFormDataValue}s of the campaign form data with its current form values.
+	 */
+	private void updateFormDataValues(CampaignFormData campaignFormData) {
+
+		deleteFormDataValues(campaignFormData.getId());
+
+		if (campaignFormData.getFormValues() == null) {
+			return;
+		}
+
+		for (CampaignFormDataEntry entry : campaignFormData.getFormValues()) {
+			if (entry.getId() == null || entry.getValue() == null) {
+				continue;
+			}
+
+			CampaignFormDataValue value = new CampaignFormDataValue();
+			value.setCampaignFormDataId(campaignFormData.getId());
+			value.setFieldId(entry.getId());
+			value.setStringValue(toStringValue(entry.getValue()));
+			value.setNumericValue(toNumericValue(value.getStringValue()));
+			em.persist(value);
+		}
+		em.flush();
+	}
+
+	private void deleteFormDataValues(Long campaignFormDataId) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaDelete<CampaignFormDataValue> cd = cb.createCriteriaDelete(CampaignFormDataValue.class);
+		Root<CampaignFormDataValue> root = cd.from(CampaignFormDataValue.class);
+		cd.where(cb.equal(root.get(CampaignFormDataValue.CAMPAIGN_FORM_DATA_ID), campaignFormDataId));
+		em.createQuery(cd).executeUpdate();
+	}
+
+	/**
+	 * @return The value the way it is returned by the {@code ->>} operator for the stored JSON.
+	 */
+	static String toStringValue(Object value) {
+
+		if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+			return String.valueOf(value);
+		}
+
+		try {
+			return OBJECT_MAPPER.writeValueAsString(value);
+		} catch (JsonProcessingException e) {
+			return String.valueOf(value);
+		}
+	}
+
+	/**
+	 * @return The value as an integer, or {@code null} if it is not one; the same as {@code cast_to_int(value, null)}.
+	 */
+	static Integer toNumericValue(String stringValue) {
+
+		try {
+			return Integer.valueOf(stringValue.trim());
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
 	public Predicate createCriteriaFilter(CampaignFormDataCriteria criteria, CriteriaBuilder cb, Root<CampaignFormData> root) {
 		Join<CampaignFormData, Campaign> campaignJoin = root.join(CampaignFormData.CAMPAIGN, JoinType.LEFT);
 		Join<CampaignFormData, CampaignFormMeta> campaignFormJoin = root.join(CampaignFormData.CAMPAIGN_FORM_META, JoinType.LEFT);
@@ -0,0 +1,98 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.campaign.data;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+
+/**
+ * One non-empty value of the {@link CampaignFormData#getFormValues() form values} of a campaign form data, extracted
+ * from the JSON so that campaign diagrams can be evaluated without expanding the JSON of every form.
+ */
+@Entity(name = CampaignFormDataValue.TABLE_NAME)
+public class CampaignFormDataValue implements Serializable {
+
+	private static final long serialVersionUID = 2637010290364513742L;
+
+	public static final String TABLE_NAME = "campaignformdatavalue";
+
+	public static final String ID = "id";
+	public static final String CAMPAIGN_FORM_DATA_ID = "campaignFormDataId";
+	public static final String FIELD_ID = "fieldId";
+	public static final String NUMERIC_VALUE = "numericValue";
+	public static final String STRING_VALUE = "stringValue";
+
+	private Long id;
+	private Long campaignFormDataId;
+	private String fieldId;
+	private Integer numericValue;
+	private String stringValue;
+
+	@Id
+	@SequenceGenerator(name = "CAMPAIGNFORMDATAVALUE_SEQ_GEN", allocationSize = 1, sequenceName = "ENTITY_SEQ")
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "CAMPAIGNFORMDATAVALUE_SEQ_GEN")
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	@Column(name = "campaignformdata_id", nullable = false)
+	public Long getCampaignFormDataId() {
+		return campaignFormDataId;
+	}
+
+	public void setCampaignFormDataId(Long campaignFormDataId) {
+		this.campaignFormDataId = campaignFormDataId;
+	}
+
+	@Column(nullable = false, columnDefinition = "text")
+	public String getFieldId() {
+		return fieldId;
+	}
+
+	public void setFieldId(String fieldId) {
+		this.fieldId = fieldId;
+	}
+
+	/**
+	 * @return The value as an integer, or {@code null} if it can not be read as one.
+	 */
+	public Integer getNumericValue() {
+		return numericValue;
+	}
+
+	public void setNumericValue(Integer numericValue) {
+		this.numericValue = numericValue;
+	}
+
+	@Column(nullable = false, columnDefinition = "text")
+	public String getStringValue() {
+		return stringValue;
+	}
+
+	public void setStringValue(String stringValue) {
+		this.stringValue = stringValue;
+	}
+}
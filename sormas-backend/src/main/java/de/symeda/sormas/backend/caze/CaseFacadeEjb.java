@@ -34,6 +34,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -41,7 +42,9 @@ import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -65,6 +68,7 @@ import javax.persistence.criteria.ParameterExpression;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
 import javax.persistence.criteria.Subquery;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
@@ -108,6 +112,7 @@ import de.symeda.sormas.api.caze.InvestigationStatus;
 import de.symeda.sormas.api.caze.MapCaseDto;
 import de.symeda.sormas.api.caze.NewCaseDateType;
 import de.symeda.sormas.api.caze.PlagueType;
+import de.symeda.sormas.api.caze.classification.DiseaseClassificationCriteriaDto;
 import de.symeda.sormas.api.caze.maternalhistory.MaternalHistoryDto;
 import de.symeda.sormas.api.caze.porthealthinfo.PortHealthInfoDto;
 import de.symeda.sormas.api.caze.surveillancereport.SurveillanceReportDto;
@@ -120,6 +125,8 @@ import de.symeda.sormas.api.common.Page;
 import de.symeda.sormas.api.contact.ContactCriteria;
 import de.symeda.sormas.api.contact.ContactDto;
 import de.symeda.sormas.api.contact.ContactReferenceDto;
+import de.symeda.sormas.api.dashboard.MapCaseDisplayMode;
+import de.symeda.sormas.api.dashboard.MapClusterDto;
 import de.symeda.sormas.api.document.DocumentRelatedEntityType;
 import de.symeda.sormas.api.epidata.EpiDataDto;
 import de.symeda.sormas.api.epidata.EpiDataHelper;
@@ -132,6 +139,7 @@ import de.symeda.sormas.api.externalsurveillancetool.ExternalSurveillanceToolExc
 import de.symeda.sormas.api.feature.FeatureType;
 import de.symeda.sormas.api.followup.FollowUpDto;
 import de.symeda.sormas.api.followup.FollowUpPeriodDto;
+import de.symeda.sormas.api.geo.GeoLatLon;
 import de.symeda.sormas.api.hospitalization.PreviousHospitalizationDto;
 import de.symeda.sormas.api.i18n.Captions;
 import de.symeda.sormas.api.i18n.I18nProperties;
@@ -165,6 +173,9 @@ import de.symeda.sormas.api.sample.SampleDto;
 import de.symeda.sormas.api.sormastosormas.ShareTreeCriteria;
 import de.symeda.sormas.api.symptoms.SymptomsDto;
 import de.symeda.sormas.api.symptoms.SymptomsHelper;
+import de.symeda.sormas.api.systemevents.SystemEventDto;
+import de.symeda.sormas.api.systemevents.SystemEventStatus;
+import de.symeda.sormas.api.systemevents.SystemEventType;
 import de.symeda.sormas.api.task.TaskContext;
 import de.symeda.sormas.api.task.TaskCriteria;
 import de.symeda.sormas.api.task.TaskHelper;
@@ -208,6 +219,7 @@ import de.symeda.sormas.backend.clinicalcourse.ClinicalVisitFacadeEjb.ClinicalVi
 import de.symeda.sormas.backend.clinicalcourse.ClinicalVisitService;
 import de.symeda.sormas.backend.clinicalcourse.HealthConditions;
 import de.symeda.sormas.backend.common.AbstractDomainObject;
+import de.symeda.sormas.backend.common.AfterCommitService;
 import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
 import de.symeda.sormas.backend.common.CriteriaBuilderHelper;
 import de.symeda.sormas.backend.common.messaging.ManualMessageLogService;
@@ -291,6 +303,7 @@ import de.symeda.sormas.backend.sormastosormas.share.shareinfo.SormasToSormasSha
 import de.symeda.sormas.backend.symptoms.Symptoms;
 import de.symeda.sormas.backend.symptoms.SymptomsFacadeEjb;
 import de.symeda.sormas.backend.symptoms.SymptomsFacadeEjb.SymptomsFacadeEjbLocal;
+import de.symeda.sormas.backend.systemevent.SystemEventFacadeEjb.SystemEventFacadeEjbLocal;
 import de.symeda.sormas.backend.task.Task;
 import de.symeda.sormas.backend.task.TaskService;
 import de.symeda.sormas.backend.therapy.Prescription;
@@ -314,6 +327,7 @@ import de.symeda.sormas.backend.util.ModelConstants;
 import de.symeda.sormas.backend.util.PatchHelper;
 import de.symeda.sormas.backend.util.Pseudonymizer;
 import de.symeda.sormas.backend.util.QueryHelper;
+import de.symeda.sormas.backend.util.TrigramHelper;
 import de.symeda.sormas.backend.vaccination.Vaccination;
 import de.symeda.sormas.backend.visit.Visit;
 import de.symeda.sormas.backend.visit.VisitFacadeEjb;
@@ -325,7 +339,13 @@ import de.symeda.sormas.utils.CaseJoins;
 public class CaseFacadeEjb implements CaseFacade {
 
 	private static final int ARCHIVE_BATCH_SIZE = 1000;
+	private static final int CLASSIFICATION_BATCH_SIZE = 500;
+	private static final String CRITERIA_CHANGE_DATE = "Criteria change date: ";
+	private static final String CLASSIFICATION_INFO_SEPARATOR = "; ";
+	private static final int COMPLETENESS_BATCH_SIZE = 500;
 	private static final long SECONDS_30_DAYS = 30L * 24L * 60L * 60L;
+	private static final long DUPLICATE_MAX_REPORT_DATE_DISTANCE = SECONDS_30_DAYS * 1000;
+	private static final int DUPLICATE_MERGING_CHUNK_SIZE = 1000;
 
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -397,6 +417,8 @@ public class CaseFacadeEjb implements CaseFacade {
 	@EJB
 	private ConfigFacadeEjbLocal configFacade;
 	@EJB
+	private SystemEventFacadeEjbLocal systemEventFacade;
+	@EJB
 	private TherapyFacadeEjbLocal therapyFacade;
 	@EJB
 	private ClinicalCourseFacadeEjbLocal clinicalCourseFacade;
@@ -448,6 +470,8 @@ public class CaseFacadeEjb implements CaseFacade {
 	private SormasToSormasFacadeEjbLocal sormasToSormasFacade;
 	@EJB
 	private SormasToSormasCaseFacadeEjbLocal sormasToSormasCaseFacade;
+	@EJB
+	private AfterCommitService afterCommitService;
 	@Resource
 	private ManagedScheduledExecutorService executorService;
 
@@ -470,6 +494,20 @@ public class CaseFacadeEjb implements CaseFacade {
 			.collect(Collectors.toList());
 	}
 
+	@Override
+	public List<CaseDataDto> getAllActiveCasesAfter(Date date, Integer batchSize, Date lastChangeDate, String lastUuid) {
+
+		if (userService.getCurrentUser() == null) {
+			return Collections.emptyList();
+		}
+
+		Pseudonymizer pseudonymizer = Pseudonymizer.getDefault(userService::hasRight);
+		return caseService.getAllActiveCasesAfter(date, false, batchSize, lastChangeDate, lastUuid)
+			.stream()
+			.map(c -> convertToDto(c, pseudonymizer))
+			.collect(Collectors.toList());
+	}
+
 	@Override
 	public List<CaseDataDto> getByUuids(List<String> uuids) {
 		Pseudonymizer pseudonymizer = Pseudonymizer.getDefault(userService::hasRight);
@@ -648,6 +686,35 @@ public class CaseFacadeEjb implements CaseFacade {
 		ExportConfigurationDto exportConfiguration,
 		Language userLanguage) {
 
+		return getExportList(caseCriteria, selectedRows, exportType, null, null, first, max, exportConfiguration, userLanguage);
+	}
+
+	@Override
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public List<CaseExportDto> getExportListAfter(
+		CaseCriteria caseCriteria,
+		Collection<String> selectedRows,
+		CaseExportType exportType,
+		Date lastReportDate,
+		Long lastId,
+		int max,
+		ExportConfigurationDto exportConfiguration,
+		Language userLanguage) {
+
+		return getExportList(caseCriteria, selectedRows, exportType, lastReportDate, lastId, 0, max, exportConfiguration, userLanguage);
+	}
+
+	private List<CaseExportDto> getExportList(
+		CaseCriteria caseCriteria,
+		Collection<String> selectedRows,
+		CaseExportType exportType,
+		Date lastReportDate,
+		Long lastId,
+		int first,
+		int max,
+		ExportConfigurationDto exportConfiguration,
+		Language userLanguage) {
+
 		Boolean previousCaseManagementDataCriteria = caseCriteria.getMustHaveCaseManagementData();
 		if (CaseExportType.CASE_MANAGEMENT == exportType) {
 			caseCriteria.setMustHaveCaseManagementData(Boolean.TRUE);
@@ -763,6 +830,12 @@ public class CaseFacadeEjb implements CaseFacade {
 			filter = CriteriaBuilderHelper.and(cb, filter, criteriaFilter);
 		}
 		filter = CriteriaBuilderHelper.andInValues(selectedRows, filter, cb, caseRoot.get(Case.UUID));
+		if (lastId != null) {
+			filter = CriteriaBuilderHelper.and(
+				cb,
+				filter,
+				CriteriaBuilderHelper.afterInDescendingOrder(cb, caseRoot.get(Case.REPORT_DATE), caseRoot.get(Case.ID), lastReportDate, lastId));
+		}
 
 		if (filter != null) {
 			cq.where(filter);
@@ -1232,6 +1305,31 @@ public class CaseFacadeEjb implements CaseFacade {
 		return cases;
 	}
 
+	@Override
+	public List<MapClusterDto<CaseClassification>> getCaseClustersForMap(
+		RegionReferenceDto regionRef,
+		DistrictReferenceDto districtRef,
+		Disease disease,
+		Date from,
+		Date to,
+		NewCaseDateType dateType,
+		MapCaseDisplayMode displayMode,
+		int zoom,
+		GeoLatLon southWest,
+		GeoLatLon northEast) {
+
+		Region region = regionService.getByReferenceDto(regionRef);
+		District district = districtService.getByReferenceDto(districtRef);
+
+		List<MapClusterDto<CaseClassification>> clusters =
+			caseService.getCaseClustersForMap(region, district, disease, from, to, dateType, displayMode, zoom, southWest, northEast);
+
+		Pseudonymizer pseudonymizer = Pseudonymizer.getDefault(userService::hasRight);
+		clusters.forEach(c -> pseudonymizer.pseudonymizeDto(MapClusterDto.class, c, c.isInJurisdiction(), null));
+
+		return clusters;
+	}
+
 	@Override
 	public List<CaseDataDto> getAllCasesOfPerson(String personUuid) {
 
@@ -1324,130 +1422,93 @@ public class CaseFacadeEjb implements CaseFacade {
 	public List<CaseIndexDto[]> getCasesForDuplicateMerging(CaseCriteria criteria, boolean ignoreRegion) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
-		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
-		Root<Case> root = cq.from(Case.class);
-		final CaseQueryContext caseQueryContext = new CaseQueryContext(cb, cq, root);
-		final CaseJoins<Case> joins = (CaseJoins<Case>) caseQueryContext.getJoins();
-
-		Root<Case> root2 = cq.from(Case.class);
-		Join<Case, Person> person = joins.getPerson();
-		Join<Case, Person> person2 = root2.join(Case.PERSON, JoinType.LEFT);
-		Join<Case, Region> responsibleRegion = joins.getResponsibleRegion();
-		Join<Case, Region> responsibleRegion2 = root2.join(Case.RESPONSIBLE_REGION, JoinType.LEFT);
-		Join<Case, Region> region = joins.getRegion();
-		Join<Case, Region> region2 = root2.join(Case.REGION, JoinType.LEFT);
-		Join<Case, Symptoms> symptoms = joins.getSymptoms();
-		Join<Case, Symptoms> symptoms2 = root2.join(Case.SYMPTOMS, JoinType.LEFT);
-
-		cq.distinct(true);
 
 		// similarity:
-		// * first & last name concatenated with whitespace. Similarity function with default threshold of 0.65D
-		// uses postgres pg_trgm: https://www.postgresql.org/docs/9.6/pgtrgm.html
+		// * first & last name concatenated with whitespace. Trigram similarity like pg_trgm with default threshold of 0.65D
 		// * same disease
 		// * same region (optional)
 		// * report date within 30 days of each other
 		// * same sex or same birth date (when defined)
 		// * same birth date (when fully defined)
 		// * onset date within 30 days of each other (when defined)
+		//
+		// Instead of joining all cases with each other and calculating the name similarity in the database, the cases
+		// matching the criteria are loaded and grouped by disease (and responsible region). For each group, the cases
+		// reported around the same time are compared to the candidates of that group and report date range, which
+		// are indexed by the trigrams of their names and sorted by report date. So each case is only compared to the
+		// cases reported within 30 days of it that share at least one name trigram. Cases without a shared trigram
+		// have a name similarity of 0 and can never match.
+		// Like the second case of the former self-join, the candidates are not restricted by the user filter.
 
-		Predicate userFilter = caseService.createUserFilter(cb, cq, root);
-		Predicate criteriaFilter = criteria != null ? caseService.createCriteriaFilter(criteria, caseQueryContext) : null;
-		Expression<String> nameSimilarityExpr = cb.concat(person.get(Person.FIRST_NAME), " ");
-		nameSimilarityExpr = cb.concat(nameSimilarityExpr, person.get(Person.LAST_NAME));
-		Expression<String> nameSimilarityExpr2 = cb.concat(person2.get(Person.FIRST_NAME), " ");
-		nameSimilarityExpr2 = cb.concat(nameSimilarityExpr2, person2.get(Person.LAST_NAME));
-		Predicate nameSimilarityFilter =
-			cb.gt(cb.function("similarity", double.class, nameSimilarityExpr, nameSimilarityExpr2), configFacade.getNameSimilarityThreshold());
-		Predicate diseaseFilter = cb.equal(root.get(Case.DISEASE), root2.get(Case.DISEASE));
-		Predicate regionFilter = cb.and(
-			cb.equal(responsibleRegion.get(Region.ID), responsibleRegion2.get(Region.ID)),
-			cb.or(cb.and(cb.isNull(region)), cb.equal(region.get(Region.ID), region2.get(Region.ID))));
-		Predicate reportDateFilter = cb.lessThanOrEqualTo(
-			cb.abs(
-				cb.diff(
-					cb.function("date_part", Long.class, cb.parameter(String.class, "date_type"), root.get(Case.REPORT_DATE)),
-					cb.function("date_part", Long.class, cb.parameter(String.class, "date_type"), root2.get(Case.REPORT_DATE)))),
-			SECONDS_30_DAYS);
-
-		// // todo this should use PersonService.buildSimilarityCriteriaFilter
-		// Sex filter: only when sex is filled in for both cases
-		Predicate sexFilter = cb.or(
-			cb.or(cb.isNull(person.get(Person.SEX)), cb.isNull(person2.get(Person.SEX))),
-			cb.or(cb.equal(person.get(Person.SEX), Sex.UNKNOWN), cb.equal(person2.get(Person.SEX), Sex.UNKNOWN)),
-			cb.equal(person.get(Person.SEX), person2.get(Person.SEX)));
-		// Birth date filter: only when birth date is filled in for both cases
-		Predicate birthDateFilter = cb.or(
-			cb.or(
-				cb.isNull(person.get(Person.BIRTHDATE_DD)),
-				cb.isNull(person.get(Person.BIRTHDATE_MM)),
-				cb.isNull(person.get(Person.BIRTHDATE_YYYY)),
-				cb.isNull(person2.get(Person.BIRTHDATE_DD)),
-				cb.isNull(person2.get(Person.BIRTHDATE_MM)),
-				cb.isNull(person2.get(Person.BIRTHDATE_YYYY))),
-			cb.and(
-				cb.equal(person.get(Person.BIRTHDATE_DD), person2.get(Person.BIRTHDATE_DD)),
-				cb.equal(person.get(Person.BIRTHDATE_MM), person2.get(Person.BIRTHDATE_MM)),
-				cb.equal(person.get(Person.BIRTHDATE_YYYY), person2.get(Person.BIRTHDATE_YYYY))));
-		// Onset date filter: only when onset date is filled in for both cases
-		Predicate onsetDateFilter = cb.or(
-			cb.or(cb.isNull(symptoms.get(Symptoms.ONSET_DATE)), cb.isNull(symptoms2.get(Symptoms.ONSET_DATE))),
-			cb.lessThanOrEqualTo(
-				cb.abs(
-					cb.diff(
-						cb.function("date_part", Long.class, cb.parameter(String.class, "date_type"), symptoms.get(Symptoms.ONSET_DATE)),
-						cb.function("date_part", Long.class, cb.parameter(String.class, "date_type"), symptoms2.get(Symptoms.ONSET_DATE)))),
-				SECONDS_30_DAYS));
-
-		Predicate creationDateFilter = cb.or(
-			cb.lessThan(root.get(Case.CREATION_DATE), root2.get(Case.CREATION_DATE)),
-			cb.or(
-				cb.lessThanOrEqualTo(root2.get(Case.CREATION_DATE), DateHelper.getStartOfDay(criteria.getCreationDateFrom())),
-				cb.greaterThanOrEqualTo(root2.get(Case.CREATION_DATE), DateHelper.getEndOfDay(criteria.getCreationDateTo()))));
-
-		Predicate filter = cb.and(caseService.createDefaultFilter(cb, root), caseService.createDefaultFilter(cb, root2));
-		if (userFilter != null) {
-			filter = cb.and(filter, userFilter);
-		}
-		if (filter != null) {
-			filter = cb.and(filter, criteriaFilter);
-		} else {
-			filter = criteriaFilter;
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<Case> root = cq.from(Case.class);
+		final CaseQueryContext caseQueryContext = new CaseQueryContext(cb, cq, root);
+		final CaseJoins<Case> joins = (CaseJoins<Case>) caseQueryContext.getJoins();
+
+		Predicate filter = caseService.createDefaultFilter(cb, root);
+		filter = CriteriaBuilderHelper.and(cb, filter, caseService.createUserFilter(cb, cq, root));
+		if (criteria != null) {
+			filter = CriteriaBuilderHelper.and(cb, filter, caseService.createCriteriaFilter(criteria, caseQueryContext));
 		}
-		if (filter != null) {
-			filter = cb.and(filter, nameSimilarityFilter);
-		} else {
-			filter = nameSimilarityFilter;
+		cq.where(filter);
+		cq.multiselect(
+			getDuplicateCandidateSelections(root, joins.getResponsibleRegion(), joins.getRegion(), joins.getPerson(), joins.getSymptoms()));
+		cq.orderBy(cb.desc(root.get(Case.CREATION_DATE)));
+
+		List<DuplicateCandidate> cases =
+			em.createQuery(cq).getResultList().stream().map(DuplicateCandidate::new).filter(c -> c.hasName()).collect(Collectors.toList());
+		if (cases.isEmpty()) {
+			return new ArrayList<>();
 		}
-		filter = cb.and(filter, diseaseFilter);
 
-		if (!ignoreRegion) {
-			filter = cb.and(filter, regionFilter);
+		// The candidates are loaded per disease (and responsible region) for chunks of cases reported within 30 days of
+		// each other, so that at most the cases of one block reported within 90 days are held in memory at once
+		Map<List<Object>, List<DuplicateCandidate>> casesByBlock = new HashMap<>();
+		for (DuplicateCandidate caze : cases) {
+			if (ignoreRegion || caze.responsibleRegionId != null) {
+				casesByBlock.computeIfAbsent(caze.getBlockingKey(ignoreRegion), k -> new ArrayList<>()).add(caze);
+			}
 		}
 
-		filter = cb.and(filter, reportDateFilter);
-		filter = cb.and(filter, cb.and(sexFilter, birthDateFilter));
-		filter = cb.and(filter, onsetDateFilter);
-		filter = cb.and(filter, creationDateFilter);
-		filter = cb.and(filter, cb.notEqual(root.get(Case.ID), root2.get(Case.ID)));
+		Map<Long, List<DuplicateCandidate>> duplicatesByCase = new HashMap<>();
+		for (List<DuplicateCandidate> blockCases : casesByBlock.values()) {
+			blockCases.sort(Comparator.comparingLong(c -> c.reportDate));
+			int chunkStart = 0;
+			while (chunkStart < blockCases.size()) {
+				long chunkReportDate = blockCases.get(chunkStart).reportDate;
+				int chunkEnd = chunkStart + 1;
+				while (chunkEnd < blockCases.size()
+					&& chunkEnd - chunkStart < DUPLICATE_MERGING_CHUNK_SIZE
+					&& blockCases.get(chunkEnd).reportDate - chunkReportDate <= DUPLICATE_MAX_REPORT_DATE_DISTANCE) {
+					chunkEnd++;
+				}
 
-		cq.where(filter);
-		cq.multiselect(root.get(Case.ID), root2.get(Case.ID), root.get(Case.CREATION_DATE));
-		cq.orderBy(cb.desc(root.get(Case.CREATION_DATE)));
+				duplicatesByCase.putAll(findDuplicates(blockCases.subList(chunkStart, chunkEnd), criteria, ignoreRegion));
+				chunkStart = chunkEnd;
+			}
+		}
+
+		List<Long[]> foundIds = new ArrayList<>();
+		for (DuplicateCandidate caze : cases) {
+			for (DuplicateCandidate duplicate : duplicatesByCase.getOrDefault(caze.id, Collections.emptyList())) {
+				foundIds.add(
+					new Long[] {
+						caze.id,
+						duplicate.id });
+			}
+		}
 
-		List<Object[]> foundIds = em.createQuery(cq).setParameter("date_type", "epoch").getResultList();
 		List<CaseIndexDto[]> resultList = new ArrayList<>();
 
 		if (!foundIds.isEmpty()) {
 			CriteriaQuery<CaseIndexDto> indexCasesCq = cb.createQuery(CaseIndexDto.class);
 			Root<Case> indexRoot = indexCasesCq.from(Case.class);
 			selectIndexDtoFields(new CaseQueryContext(cb, indexCasesCq, indexRoot));
-			indexCasesCq.where(
-				indexRoot.get(Case.ID).in(foundIds.stream().map(a -> Arrays.copyOf(a, 2)).flatMap(Arrays::stream).collect(Collectors.toSet())));
+			indexCasesCq.where(indexRoot.get(Case.ID).in(foundIds.stream().flatMap(Arrays::stream).collect(Collectors.toSet())));
 			Map<Long, CaseIndexDto> indexCases =
 				em.createQuery(indexCasesCq).getResultStream().collect(Collectors.toMap(c -> c.getId(), Function.identity()));
 
-			for (Object[] idPair : foundIds) {
+			for (Long[] idPair : foundIds) {
 				try {
 					// Cloning is necessary here to allow us to add the same CaseIndexDto to the grid multiple times
 					CaseIndexDto parent = (CaseIndexDto) indexCases.get(idPair[0]).clone();
@@ -1475,6 +1536,212 @@ public class CaseFacadeEjb implements CaseFacade {
 		return resultList;
 	}
 
+	/**
+	 * Finds the duplicates of cases that have the same disease (and responsible region unless that is ignored) and were
+	 * reported within 30 days of each other.
+	 *
+	 * @param cases
+	 *            The cases sorted by report date.
+	 * @return The duplicates of each case by case id, sorted by report date and id.
+	 */
+	private Map<Long, List<DuplicateCandidate>> findDuplicates(List<DuplicateCandidate> cases, CaseCriteria criteria, boolean ignoreRegion) {
+
+		DuplicateCandidate firstCase = cases.get(0);
+		List<DuplicateCandidate> candidates = getDuplicateCandidates(
+			firstCase.disease,
+			ignoreRegion ? null : firstCase.responsibleRegionId,
+			new Date(firstCase.reportDate - DUPLICATE_MAX_REPORT_DATE_DISTANCE),
+			new Date(cases.get(cases.size() - 1).reportDate + DUPLICATE_MAX_REPORT_DATE_DISTANCE));
+
+		Map<String, List<DuplicateCandidate>> candidatesByTrigram = new HashMap<>();
+		for (DuplicateCandidate candidate : candidates) {
+			for (String trigram : candidate.nameTrigrams) {
+				candidatesByTrigram.computeIfAbsent(trigram, k -> new ArrayList<>()).add(candidate);
+			}
+		}
+
+		long creationDateFrom = DateHelper.getStartOfDay(criteria.getCreationDateFrom()).getTime();
+		long creationDateTo = DateHelper.getEndOfDay(criteria.getCreationDateTo()).getTime();
+		double nameSimilarityThreshold = configFacade.getNameSimilarityThreshold();
+
+		Map<Long, List<DuplicateCandidate>> duplicatesByCase = new HashMap<>();
+		for (DuplicateCandidate caze : cases) {
+			Set<Long> comparedIds = new HashSet<>();
+			List<DuplicateCandidate> duplicates = new ArrayList<>();
+			for (String trigram : caze.nameTrigrams) {
+				List<DuplicateCandidate> block = candidatesByTrigram.getOrDefault(trigram, Collections.emptyList());
+				for (int i = findFirstReportedSince(block, caze.reportDate - DUPLICATE_MAX_REPORT_DATE_DISTANCE); i < block.size()
+					&& block.get(i).reportDate <= caze.reportDate + DUPLICATE_MAX_REPORT_DATE_DISTANCE; i++) {
+					DuplicateCandidate candidate = block.get(i);
+					if (candidate.id != caze.id
+						&& comparedIds.add(candidate.id)
+						&& (caze.creationDate < candidate.creationDate
+							|| candidate.creationDate <= creationDateFrom
+							|| candidate.creationDate >= creationDateTo)
+						&& caze.isPossibleDuplicate(candidate, ignoreRegion)
+						&& TrigramHelper.getSimilarity(caze.nameTrigrams, candidate.nameTrigrams) > nameSimilarityThreshold) {
+						duplicates.add(candidate);
+					}
+				}
+			}
+
+			if (!duplicates.isEmpty()) {
+				duplicates.sort(Comparator.<DuplicateCandidate> comparingLong(c -> c.reportDate).thenComparingLong(c -> c.id));
+				duplicatesByCase.put(caze.id, duplicates);
+			}
+		}
+
+		return duplicatesByCase;
+	}
+
+	/**
+	 * @return The named cases of the disease (and responsible region, if given) reported in the given period, sorted by
+	 *         report date.
+	 */
+	private List<DuplicateCandidate> getDuplicateCandidates(Disease disease, Long responsibleRegionId, Date reportDateFrom, Date reportDateTo) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<Case> caze = cq.from(Case.class);
+		Join<Case, Region> responsibleRegion = caze.join(Case.RESPONSIBLE_REGION, JoinType.LEFT);
+
+		Predicate filter = CriteriaBuilderHelper.and(
+			cb,
+			caseService.createDefaultFilter(cb, caze),
+			cb.equal(caze.get(Case.DISEASE), disease),
+			cb.between(caze.get(Case.REPORT_DATE), reportDateFrom, reportDateTo));
+		if (responsibleRegionId != null) {
+			filter = CriteriaBuilderHelper.and(cb, filter, cb.equal(responsibleRegion.get(Region.ID), responsibleRegionId));
+		}
+		cq.where(filter);
+		cq.multiselect(
+			getDuplicateCandidateSelections(
+				caze,
+				responsibleRegion,
+				caze.join(Case.REGION, JoinType.LEFT),
+				caze.join(Case.PERSON, JoinType.LEFT),
+				caze.join(Case.SYMPTOMS, JoinType.LEFT)));
+		cq.orderBy(cb.asc(caze.get(Case.REPORT_DATE)));
+
+		return em.createQuery(cq).getResultList().stream().map(DuplicateCandidate::new).filter(c -> c.hasName()).collect(Collectors.toList());
+	}
+
+	private static Selection<?>[] getDuplicateCandidateSelections(
+		Root<Case> caze,
+		Join<Case, Region> responsibleRegion,
+		Join<Case, Region> region,
+		Join<Case, Person> person,
+		Join<Case, Symptoms> symptoms) {
+
+		return new Selection<?>[] {
+			caze.get(Case.ID),
+			caze.get(Case.DISEASE),
+			responsibleRegion.get(Region.ID),
+			region.get(Region.ID),
+			caze.get(Case.REPORT_DATE),
+			caze.get(Case.CREATION_DATE),
+			person.get(Person.FIRST_NAME),
+			person.get(Person.LAST_NAME),
+			person.get(Person.SEX),
+			person.get(Person.BIRTHDATE_DD),
+			person.get(Person.BIRTHDATE_MM),
+			person.get(Person.BIRTHDATE_YYYY),
+			symptoms.get(Symptoms.ONSET_DATE) };
+	}
+
+	/**
+	 * @return The index of the first candidate reported at or after the given time in the candidates sorted by report date.
+	 */
+	private static int findFirstReportedSince(List<DuplicateCandidate> candidates, long reportDate) {
+
+		int low = 0;
+		int high = candidates.size();
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (candidates.get(middle).reportDate < reportDate) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * The data of a case needed to decide whether it is a potential duplicate of another case.
+	 */
+	private static final class DuplicateCandidate {
+
+		private final long id;
+		private final Disease disease;
+		private final Long responsibleRegionId;
+		private final Long regionId;
+		private final long reportDate;
+		private final long creationDate;
+		private final Set<String> nameTrigrams;
+		private final Sex sex;
+		private final Integer birthdateDD;
+		private final Integer birthdateMM;
+		private final Integer birthdateYYYY;
+		private final Date onsetDate;
+
+		private DuplicateCandidate(Object[] row) {
+
+			id = (Long) row[0];
+			disease = (Disease) row[1];
+			responsibleRegionId = (Long) row[2];
+			regionId = (Long) row[3];
+			reportDate = ((Date) row[4]).getTime();
+			creationDate = ((Date) row[5]).getTime();
+			// like the concatenation in postgres, there is no name to compare if first or last name is missing
+			nameTrigrams = row[6] != null && row[7] != null ? TrigramHelper.getTrigrams(row[6] + " " + row[7]) : null;
+			sex = (Sex) row[8];
+			birthdateDD = (Integer) row[9];
+			birthdateMM = (Integer) row[10];
+			birthdateYYYY = (Integer) row[11];
+			onsetDate = (Date) row[12];
+		}
+
+		private boolean hasName() {
+			return nameTrigrams != null;
+		}
+
+		private List<Object> getBlockingKey(boolean ignoreRegion) {
+			return ignoreRegion ? Collections.singletonList(disease) : Arrays.asList(disease, responsibleRegionId);
+		}
+
+		/**
+		 * Checks everything but the disease, report date, creation date and name, which are handled by the caller.
+		 */
+		private boolean isPossibleDuplicate(DuplicateCandidate other, boolean ignoreRegion) {
+
+			if (!ignoreRegion && (responsibleRegionId == null || regionId != null && !regionId.equals(other.regionId))) {
+				return false;
+			}
+
+			// Sex: only when sex is filled in for both cases
+			if (sex != null && other.sex != null && sex != Sex.UNKNOWN && other.sex != Sex.UNKNOWN && sex != other.sex) {
+				return false;
+			}
+
+			// Birth date: only when birth date is filled in for both cases
+			if (birthdateDD != null
+				&& birthdateMM != null
+				&& birthdateYYYY != null
+				&& other.birthdateDD != null
+				&& other.birthdateMM != null
+				&& other.birthdateYYYY != null
+				&& !(birthdateDD.equals(other.birthdateDD) && birthdateMM.equals(other.birthdateMM) && birthdateYYYY.equals(other.birthdateYYYY))) {
+				return false;
+			}
+
+			// Onset date: only when onset date is filled in for both cases
+			return onsetDate == null
+				|| other.onsetDate == null
+				|| Math.abs(onsetDate.getTime() - other.onsetDate.getTime()) <= SECONDS_30_DAYS * 1000;
+		}
+	}
+
 	public void updateCompleteness(String caseUuid) {
 		caseService.updateCompleteness(caseUuid);
 	}
@@ -1513,9 +1780,12 @@ public class CaseFacadeEjb implements CaseFacade {
 		boolean surveillanceOfficerChange)
 		throws ValidationRuntimeException {
 
+		List<Case> cases = new ArrayList<>(caseUuidList.size());
+		Map<String, CaseClassification> previousClassifications = new HashMap<>();
 		for (String caseUuid : caseUuidList) {
 			Case caze = caseService.getByUuid(caseUuid);
 			CaseDataDto existingCaseDto = toDto(caze);
+			previousClassifications.put(caze.getUuid(), existingCaseDto.getCaseClassification());
 
 			updateCaseWithBulkData(
 				updatedCaseBulkEditData,
@@ -1525,8 +1795,12 @@ public class CaseFacadeEjb implements CaseFacade {
 				investigationStatusChange,
 				outcomeChange,
 				surveillanceOfficerChange);
-			doSave(caze, true, existingCaseDto, true);
+			doSave(caze, true, existingCaseDto, false, false);
+			cases.add(caze);
 		}
+
+		classifyCases(cases, previousClassifications, true);
+		syncBulkEditedSharesAsync(cases);
 	}
 
 	public void saveBulkEditWithFacilities(
@@ -1547,9 +1821,12 @@ public class CaseFacadeEjb implements CaseFacade {
 			newCommunity = communityService.getByUuid(updatedCaseBulkEditData.getCommunity().getUuid());
 		}
 
+		List<Case> cases = new ArrayList<>(caseUuidList.size());
+		Map<String, CaseClassification> previousClassifications = new HashMap<>();
 		for (String caseUuid : caseUuidList) {
 			Case caze = caseService.getByUuid(caseUuid);
 			CaseDataDto existingCaseDto = toDto(caze);
+			previousClassifications.put(caze.getUuid(), existingCaseDto.getCaseClassification());
 
 			updateCaseWithBulkData(
 				updatedCaseBulkEditData,
@@ -1567,7 +1844,22 @@ public class CaseFacadeEjb implements CaseFacade {
 			caze.setHealthFacility(facilityService.getByUuid(updatedCaseBulkEditData.getHealthFacility().getUuid()));
 			caze.setHealthFacilityDetails(updatedCaseBulkEditData.getHealthFacilityDetails());
 			CaseLogic.handleHospitalization(toDto(caze), existingCaseDto, doTransfer);
-			doSave(caze, true, existingCaseDto, true);
+			doSave(caze, true, existingCaseDto, false, false);
+			cases.add(caze);
+		}
+
+		classifyCases(cases, previousClassifications, true);
+		syncBulkEditedSharesAsync(cases);
+	}
+
+	/**
+	 * The shares of bulk edited cases are synchronized after the batch classification, so that they get the new
+	 * classification.
+	 */
+	private void syncBulkEditedSharesAsync(List<Case> cases) {
+
+		if (sormasToSormasFacade.isFeatureConfigured()) {
+			cases.forEach(caze -> syncSharesAsync(new ShareTreeCriteria(caze.getUuid())));
 		}
 	}
 
@@ -1658,19 +1950,30 @@ public class CaseFacadeEjb implements CaseFacade {
 		return convertToDto(existingCaze, Pseudonymizer.getDefault(userService::hasRight));
 	}
 
+	/**
+	 * Syncs the shares a few seconds after the current transaction has been committed.
+	 */
 	public void syncSharesAsync(ShareTreeCriteria criteria) {
-		executorService.schedule(() -> {
+		afterCommitService.execute(() -> executorService.schedule(() -> {
 			sormasToSormasCaseFacade.syncShares(criteria);
-		}, 5, TimeUnit.SECONDS);
+		}, 5, TimeUnit.SECONDS));
 	}
 
 	private void doSave(Case caze, boolean handleChanges, CaseDataDto existingCaseDto, boolean syncShares) {
+		doSave(caze, handleChanges, existingCaseDto, syncShares, true);
+	}
+
+	/**
+	 * @param classify
+	 *            {@code false} if the caller classifies the case afterwards with {@link #classifyCases(List, Map, boolean)}
+	 */
+	private void doSave(Case caze, boolean handleChanges, CaseDataDto existingCaseDto, boolean syncShares, boolean classify) {
 		caseService.ensurePersisted(caze);
 		if (handleChanges) {
 			updateCaseVisitAssociations(existingCaseDto, caze);
 			caseService.updateFollowUpDetails(caze, existingCaseDto != null && caze.getFollowUpStatus() != existingCaseDto.getFollowUpStatus());
 
-			onCaseChanged(existingCaseDto, caze, syncShares);
+			onCaseChanged(existingCaseDto, caze, syncShares, classify);
 		}
 	}
 
@@ -1881,18 +2184,7 @@ public class CaseFacadeEjb implements CaseFacade {
 				CaseDataDto newCaseDto = toDto(associatedCase);
 
 				CaseClassification classification = caseClassificationFacade.getClassification(newCaseDto);
-
-				// only update when classification by system changes - user may overwrite this
-				if (classification != associatedCase.getSystemCaseClassification()) {
-					associatedCase.setSystemCaseClassification(classification);
-
-					// really a change? (user may have already set it)
-					if (classification != associatedCase.getCaseClassification()) {
-						associatedCase.setCaseClassification(classification);
-						associatedCase.setClassificationUser(null);
-						associatedCase.setClassificationDate(new Date());
-					}
-				}
+				caseService.updateSystemClassification(associatedCase, classification);
 			}
 		}
 	}
@@ -1906,6 +2198,10 @@ public class CaseFacadeEjb implements CaseFacade {
 	}
 
 	public void onCaseChanged(CaseDataDto existingCase, Case newCase, boolean syncShares) {
+		onCaseChanged(existingCase, newCase, syncShares, true);
+	}
+
+	private void onCaseChanged(CaseDataDto existingCase, Case newCase, boolean syncShares, boolean classify) {
 
 		// If its a new case and the case is new and the geo coordinates of the case's
 		// health facility are null, set its coordinates to the case's report
@@ -1995,33 +2291,23 @@ public class CaseFacadeEjb implements CaseFacade {
 
 		updateTasksOnCaseChanged(newCase, existingCase);
 
-		// Update case classification if the feature is enabled
-		CaseClassification classification = null;
-		if (configFacade.isFeatureAutomaticCaseClassification()) {
-			if (newCase.getCaseClassification() != CaseClassification.NO_CASE) {
-				// calculate classification
-				CaseDataDto newCaseDto = toDto(newCase);
+		if (classify) {
+			// Update case classification if the feature is enabled
+			CaseClassification classification = null;
+			if (configFacade.isFeatureAutomaticCaseClassification()) {
+				if (newCase.getCaseClassification() != CaseClassification.NO_CASE) {
+					// calculate classification
+					CaseDataDto newCaseDto = toDto(newCase);
 
-				classification = caseClassificationFacade.getClassification(newCaseDto);
-
-				// only update when classification by system changes - user may overwrite this
-				if (classification != newCase.getSystemCaseClassification()) {
-					newCase.setSystemCaseClassification(classification);
-
-					// really a change? (user may have already set it)
-					if (classification != newCase.getCaseClassification()) {
-						newCase.setCaseClassification(classification);
-						newCase.setClassificationUser(null);
-						newCase.setClassificationDate(new Date());
-					}
+					classification = caseClassificationFacade.getClassification(newCaseDto);
+					caseService.updateSystemClassification(newCase, classification);
 				}
 			}
-		}
 
-		// calculate reference definition for cases
-		if (configFacade.isConfiguredCountry(CountryHelper.COUNTRY_CODE_GERMANY)) {
-			boolean fulfilled = evaluateFulfilledCondition(toDto(newCase), classification);
-			newCase.setCaseReferenceDefinition(fulfilled ? CaseReferenceDefinition.FULFILLED : CaseReferenceDefinition.NOT_FULFILLED);
+			// calculate reference definition for cases
+			if (configFacade.isConfiguredCountry(CountryHelper.COUNTRY_CODE_GERMANY)) {
+				updateCaseReferenceDefinition(newCase, classification);
+			}
 		}
 
 		// Set Yes/No/Unknown fields associated with embedded lists to Yes if the lists
@@ -2039,68 +2325,24 @@ public class CaseFacadeEjb implements CaseFacade {
 
 		// Send an email to all responsible supervisors when the case classification has
 		// changed
-		if (existingCase != null && existingCase.getCaseClassification() != newCase.getCaseClassification()) {
-
-			try {
-				messagingService.sendMessages(() -> {
-					List<User> messageRecipients = userService.getAllByRegionsAndUserRoles(
-						JurisdictionHelper.getCaseRegions(newCase),
-						UserRole.SURVEILLANCE_SUPERVISOR,
-						UserRole.ADMIN_SUPERVISOR,
-						UserRole.CASE_SUPERVISOR,
-						UserRole.CONTACT_SUPERVISOR);
-					final Map<User, String> mapToReturn = new HashMap<>();
-					messageRecipients.forEach(
-						user -> mapToReturn.put(
-							user,
-							String.format(
-								I18nProperties.getString(MessageContents.CONTENT_CASE_CLASSIFICATION_CHANGED),
-								DataHelper.getShortUuid(newCase.getUuid()),
-								newCase.getCaseClassification().toString())));
-					return mapToReturn;
-				}, MessageSubject.CASE_CLASSIFICATION_CHANGED, MessageType.EMAIL, MessageType.SMS);
-			} catch (NotificationDeliveryFailedException e) {
-				logger.error(
-					String
-						.format("NotificationDeliveryFailedException when trying to notify supervisors about the change of a case classification. "));
-			}
+		if (classify && existingCase != null && existingCase.getCaseClassification() != newCase.getCaseClassification()) {
+			afterCommit(newCase, this::sendCaseClassificationChangedMessages);
 		}
 
 		// Send an email to all responsible supervisors when the disease of an
 		// Unspecified VHF case has changed
 		if (existingCase != null && existingCase.getDisease() == Disease.UNSPECIFIED_VHF && existingCase.getDisease() != newCase.getDisease()) {
-
-			try {
-				messagingService.sendMessages(() -> {
-					List<User> messageRecipients = userService.getAllByRegionsAndUserRoles(
-						JurisdictionHelper.getCaseRegions(newCase),
-						UserRole.SURVEILLANCE_SUPERVISOR,
-						UserRole.ADMIN_SUPERVISOR,
-						UserRole.CASE_SUPERVISOR,
-						UserRole.CONTACT_SUPERVISOR);
-					final Map<User, String> mapToReturn = new HashMap<>();
-					messageRecipients.forEach(
-						user -> mapToReturn.put(
-							user,
-							String.format(
-								I18nProperties.getString(MessageContents.CONTENT_DISEASE_CHANGED),
-								DataHelper.getShortUuid(newCase.getUuid()),
-								existingCase.getDisease().toString(),
-								newCase.getDisease().toString())));
-					return mapToReturn;
-				}, MessageSubject.DISEASE_CHANGED, MessageType.EMAIL, MessageType.SMS);
-			} catch (NotificationDeliveryFailedException e) {
-				logger.error(
-					String.format("NotificationDeliveryFailedException when trying to notify supervisors about the change of a case disease."));
-			}
+			Disease previousDisease = existingCase.getDisease();
+			afterCommit(newCase, caze -> sendDiseaseChangedMessages(caze, previousDisease));
 		}
 
 		// If the case is a newly created case or if it was not in a CONFIRMED status
 		// and now the case is in a CONFIRMED status, notify related surveillance officers
 		Set<CaseClassification> confirmedClassifications = CaseClassification.getConfirmedClassifications();
-		if ((existingCase == null || !confirmedClassifications.contains(existingCase.getCaseClassification()))
+		if (classify
+			&& (existingCase == null || !confirmedClassifications.contains(existingCase.getCaseClassification()))
 			&& confirmedClassifications.contains(newCase.getCaseClassification())) {
-			sendConfirmedCaseNotificationsForEvents(newCase);
+			afterCommit(newCase, this::sendConfirmedCaseNotificationsForEvents);
 		}
 
 		if (existingCase != null && syncShares && sormasToSormasFacade.isFeatureConfigured()) {
@@ -2108,6 +2350,117 @@ public class CaseFacadeEjb implements CaseFacade {
 		}
 	}
 
+	/**
+	 * Calculates the system classification of the given cases in one batch and handles the consequences of the
+	 * resulting classification changes like {@link #onCaseChanged(CaseDataDto, Case, boolean)} does for a single case.
+	 *
+	 * @param previousClassifications
+	 *            The classifications by case uuid the changes are detected against, e.g. the ones before a bulk edit
+	 * @param updateAllReferenceDefinitions
+	 *            {@code true} to recalculate the reference definition of all given cases, otherwise only of the cases
+	 *            whose classification has changed
+	 */
+	public void classifyCases(List<Case> cases, Map<String, CaseClassification> previousClassifications, boolean updateAllReferenceDefinitions) {
+
+		Map<String, CaseClassification> classifications = Collections.emptyMap();
+		if (configFacade.isFeatureAutomaticCaseClassification()) {
+			List<Case> classifiableCases =
+				cases.stream().filter(caze -> caze.getCaseClassification() != CaseClassification.NO_CASE).collect(Collectors.toList());
+			classifications = caseClassificationFacade.getClassifications(classifiableCases.stream().map(CaseFacadeEjb::toDto).collect(Collectors.toList()));
+			for (Case caze : classifiableCases) {
+				caseService.updateSystemClassification(caze, classifications.get(caze.getUuid()));
+			}
+		}
+
+		boolean germany = configFacade.isConfiguredCountry(CountryHelper.COUNTRY_CODE_GERMANY);
+		Set<CaseClassification> confirmedClassifications = CaseClassification.getConfirmedClassifications();
+		for (Case caze : cases) {
+			CaseClassification previousClassification = previousClassifications.get(caze.getUuid());
+			boolean classificationChanged = previousClassification != caze.getCaseClassification();
+
+			if (germany && (classificationChanged || updateAllReferenceDefinitions)) {
+				updateCaseReferenceDefinition(caze, classifications.get(caze.getUuid()));
+			}
+
+			if (classificationChanged) {
+				afterCommit(caze, this::sendCaseClassificationChangedMessages);
+
+				if (!confirmedClassifications.contains(previousClassification) && confirmedClassifications.contains(caze.getCaseClassification())) {
+					afterCommit(caze, this::sendConfirmedCaseNotificationsForEvents);
+				}
+			}
+		}
+	}
+
+	private void updateCaseReferenceDefinition(Case caze, CaseClassification classification) {
+
+		boolean fulfilled = evaluateFulfilledCondition(toDto(caze), classification);
+		caze.setCaseReferenceDefinition(fulfilled ? CaseReferenceDefinition.FULFILLED : CaseReferenceDefinition.NOT_FULFILLED);
+	}
+
+	/**
+	 * Runs the action with the case as it has been committed, see {@link AfterCommitService}.
+	 */
+	private void afterCommit(Case caze, Consumer<Case> action) {
+
+		String caseUuid = caze.getUuid();
+		afterCommitService.execute(() -> action.accept(caseService.getByUuid(caseUuid)));
+	}
+
+	private void sendDiseaseChangedMessages(Case newCase, Disease previousDisease) {
+
+		try {
+			messagingService.sendMessages(() -> {
+				List<User> messageRecipients = userService.getAllByRegionsAndUserRoles(
+					JurisdictionHelper.getCaseRegions(newCase),
+					UserRole.SURVEILLANCE_SUPERVISOR,
+					UserRole.ADMIN_SUPERVISOR,
+					UserRole.CASE_SUPERVISOR,
+					UserRole.CONTACT_SUPERVISOR);
+				final Map<User, String> mapToReturn = new HashMap<>();
+				messageRecipients.forEach(
+					user -> mapToReturn.put(
+						user,
+						String.format(
+							I18nProperties.getString(MessageContents.CONTENT_DISEASE_CHANGED),
+							DataHelper.getShortUuid(newCase.getUuid()),
+							previousDisease.toString(),
+							newCase.getDisease().toString())));
+				return mapToReturn;
+			}, MessageSubject.DISEASE_CHANGED, MessageType.EMAIL, MessageType.SMS);
+		} catch (NotificationDeliveryFailedException e) {
+			logger.error(
+				String.format("NotificationDeliveryFailedException when trying to notify supervisors about the change of a case disease."));
+		}
+	}
+
+	private void sendCaseClassificationChangedMessages(Case newCase) {
+
+		try {
+			messagingService.sendMessages(() -> {
+				List<User> messageRecipients = userService.getAllByRegionsAndUserRoles(
+					JurisdictionHelper.getCaseRegions(newCase),
+					UserRole.SURVEILLANCE_SUPERVISOR,
+					UserRole.ADMIN_SUPERVISOR,
+					UserRole.CASE_SUPERVISOR,
+					UserRole.CONTACT_SUPERVISOR);
+				final Map<User, String> mapToReturn = new HashMap<>();
+				messageRecipients.forEach(
+					user -> mapToReturn.put(
+						user,
+						String.format(
+							I18nProperties.getString(MessageContents.CONTENT_CASE_CLASSIFICATION_CHANGED),
+							DataHelper.getShortUuid(newCase.getUuid()),
+							newCase.getCaseClassification().toString())));
+				return mapToReturn;
+			}, MessageSubject.CASE_CLASSIFICATION_CHANGED, MessageType.EMAIL, MessageType.SMS);
+		} catch (NotificationDeliveryFailedException e) {
+			logger.error(
+				String
+					.format("NotificationDeliveryFailedException when trying to notify supervisors about the change of a case classification. "));
+		}
+	}
+
 	public boolean evaluateFulfilledCondition(CaseDataDto newCase, CaseClassification caseClassification) {
 
 		if (newCase.getCaseClassification() != CaseClassification.NO_CASE) {
@@ -2219,22 +2572,128 @@ public class CaseFacadeEjb implements CaseFacade {
 
 	@Override
 	public int updateCompleteness() {
-		List<String> getCompletenessCheckCaseList = getCompletenessCheckNeededCaseList();
+		List<Long> completenessCheckCaseIds = getCompletenessCheckNeededCaseList();
+
+		long timeStart = DateHelper.startTime();
+		AtomicInteger casesUpdated = new AtomicInteger();
+		IterableHelper.executeBatched(completenessCheckCaseIds, COMPLETENESS_BATCH_SIZE, caseCompletionBatch -> {
+			caseService.updateCompleteness(caseCompletionBatch);
+
+			int updated = casesUpdated.addAndGet(caseCompletionBatch.size());
+			logger.debug(
+				"updateCompleteness: {}/{} cases, {} cases/s",
+				updated,
+				completenessCheckCaseIds.size(),
+				updated * 1000L / Math.max(DateHelper.durationMillies(timeStart), 1L));
+		});
 
-		IterableHelper.executeBatched(getCompletenessCheckCaseList, 10, caseCompletionBatch -> caseService.updateCompleteness(caseCompletionBatch));
+		return completenessCheckCaseIds.size();
+	}
+
+	/**
+	 * Reclassifies the cases of all diseases whose classification criteria have changed since the last run, e.g. with a
+	 * deployment. The change date of the newest criteria is stored with the system event of each run, so the first run
+	 * reclassifies the cases of all diseases. Called nightly by the {@link de.symeda.sormas.backend.common.CronService}.
+	 *
+	 * @return The number of cases whose classification has been recalculated
+	 */
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+	public int updateChangedCaseClassifications() {
+
+		if (!configFacade.isFeatureAutomaticCaseClassification()) {
+			return 0;
+		}
+
+		Date criteriaChangeDate = findLastCriteriaChangeDate();
+		List<DiseaseClassificationCriteriaDto> changedCriteria = caseClassificationFacade.getAllSince(criteriaChangeDate);
+
+		SystemEventDto systemEvent = SystemEventDto.build();
+		systemEvent.setType(SystemEventType.UPDATE_CASE_CLASSIFICATIONS);
+		systemEvent.setStatus(SystemEventStatus.STARTED);
+		systemEvent.setStartDate(new Date());
+		systemEventFacade.saveSystemEvent(systemEvent);
 
-		return getCompletenessCheckCaseList.size();
+		int caseCount = 0;
+		try {
+			for (DiseaseClassificationCriteriaDto criteria : changedCriteria) {
+				caseCount += updateCaseClassifications(criteria.getDisease());
+				if (criteria.getChangeDate().after(criteriaChangeDate)) {
+					criteriaChangeDate = criteria.getChangeDate();
+				}
+			}
+		} catch (RuntimeException e) {
+			systemEventFacade.reportError(systemEvent, e.getMessage(), new Date());
+			throw e;
+		}
+
+		// also recorded when nothing changed, so that the latest success is not removed by deleteAllDeletableSystemEvents
+		systemEventFacade.reportSuccess(
+			systemEvent,
+			CRITERIA_CHANGE_DATE + criteriaChangeDate.getTime() + CLASSIFICATION_INFO_SEPARATOR + caseCount + " cases reclassified",
+			new Date());
+
+		return caseCount;
 	}
 
-	private List<String> getCompletenessCheckNeededCaseList() {
+	private Date findLastCriteriaChangeDate() {
+
+		SystemEventDto latestSuccess = systemEventFacade.getLatestSuccessByType(SystemEventType.UPDATE_CASE_CLASSIFICATIONS);
+		if (latestSuccess == null) {
+			return new Date(0);
+		}
+
+		try {
+			return new Date(
+				Long.parseLong(StringUtils.substringBetween(latestSuccess.getAdditionalInfo(), CRITERIA_CHANGE_DATE, CLASSIFICATION_INFO_SEPARATOR)));
+		} catch (NumberFormatException e) {
+			logger.error("Criteria change date could not be parsed for the last case classification update. All cases are reclassified.");
+			return new Date(0);
+		}
+	}
+
+	/**
+	 * Recalculates the system classification of all cases with the given disease in batches. Cases classified as no case
+	 * are skipped like in the automatic classification on save.
+	 *
+	 * @return The number of cases whose classification has been recalculated
+	 */
+	public int updateCaseClassifications(Disease disease) {
+
+		if (!configFacade.isFeatureAutomaticCaseClassification()) {
+			return 0;
+		}
+
+		List<String> caseUuids = getClassificationCandidateCaseList(disease);
+		IterableHelper.executeBatched(caseUuids, CLASSIFICATION_BATCH_SIZE, caseClassificationBatch -> caseService.updateClassifications(caseClassificationBatch));
+
+		return caseUuids.size();
+	}
+
+	private List<String> getClassificationCandidateCaseList(Disease disease) {
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<String> cq = cb.createQuery(String.class);
 		Root<Case> caze = cq.from(Case.class);
 
+		cq.where(
+			cb.equal(caze.get(Case.DISEASE), disease),
+			cb.isFalse(caze.get(Case.DELETED)),
+			cb.notEqual(caze.get(Case.CASE_CLASSIFICATION), CaseClassification.NO_CASE));
+
+		cq.orderBy(cb.asc(caze.get(Case.ID)));
+		cq.select(caze.get(Case.UUID));
+
+		return em.createQuery(cq).getResultList();
+	}
+
+	private List<Long> getCompletenessCheckNeededCaseList() {
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+		Root<Case> caze = cq.from(Case.class);
+
 		cq.where(cb.isNull(caze.get(Case.COMPLETENESS)));
 
 		cq.orderBy(cb.desc(caze.get(Case.CHANGE_DATE)));
-		cq.select(caze.get(Case.UUID));
+		cq.select(caze.get(Case.ID));
 
 		return em.createQuery(cq).getResultList();
 	}
@@ -2913,7 +3372,7 @@ public class CaseFacadeEjb implements CaseFacade {
 				}
 
 				if (caseStatusSetToDone) {
-					sendInvestigationDoneNotifications(caze);
+					afterCommit(caze, this::sendInvestigationDoneNotifications);
 				}
 			}
 
@@ -2964,7 +3423,7 @@ public class CaseFacadeEjb implements CaseFacade {
 				case DONE:
 					caze.setInvestigationStatus(InvestigationStatus.DONE);
 					caze.setInvestigatedDate(youngestTask.getStatusChangeDate());
-					sendInvestigationDoneNotifications(caze);
+					afterCommit(caze, this::sendInvestigationDoneNotifications);
 					break;
 				case REMOVED:
 					caze.setInvestigationStatus(InvestigationStatus.DISCARDED);
@@ -3500,33 +3959,35 @@ public class CaseFacadeEjb implements CaseFacade {
 	 *            defines the amount of days
 	 */
 	@Override
-	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
 	public void archiveAllArchivableCases(int daysAfterCaseGetsArchived) {
 
 		archiveAllArchivableCases(daysAfterCaseGetsArchived, LocalDate.now());
 	}
 
+	/**
+	 * Walks through the archivable cases in chunks of ascending id and archives each chunk in its own transaction.
+	 * Archived cases are not archivable anymore, so an interrupted run is simply continued by the next one.
+	 */
 	void archiveAllArchivableCases(int daysAfterCaseGetsArchived, LocalDate referenceDate) {
 
 		long startTime = DateHelper.startTime();
 
 		LocalDate notChangedSince = referenceDate.minusDays(daysAfterCaseGetsArchived);
-
-		CriteriaBuilder cb = em.getCriteriaBuilder();
-		CriteriaQuery<String> cq = cb.createQuery(String.class);
-		Root<Case> from = cq.from(Case.class);
-
 		Timestamp notChangedTimestamp = Timestamp.valueOf(notChangedSince.atStartOfDay());
-		cq.where(cb.equal(from.get(Case.ARCHIVED), false), cb.not(caseService.createChangeDateFilter(cb, from, notChangedTimestamp, true)));
-		cq.select(from.get(Case.UUID));
-		List<String> caseUuids = em.createQuery(cq).getResultList();
 
-		IterableHelper.executeBatched(caseUuids, ARCHIVE_BATCH_SIZE, batchedCaseUuids -> caseService.updateArchived(batchedCaseUuids, true));
+		int caseCount = IterableHelper.executeChunked(
+			ARCHIVE_BATCH_SIZE,
+			(afterId, limit) -> caseService.getArchivableIds(notChangedTimestamp, afterId, limit),
+			caseService::archive);
+
+		long duration = DateHelper.durationMillies(startTime);
 		logger.debug(
-			"archiveAllArchivableCases() finished. caseCount = {}, daysAfterCaseGetsArchived = {}, {}ms",
-			caseUuids.size(),
+			"archiveAllArchivableCases() finished. caseCount = {}, daysAfterCaseGetsArchived = {}, {}ms, {} cases/s",
+			caseCount,
 			daysAfterCaseGetsArchived,
-			DateHelper.durationMillies(startTime));
+			duration,
+			caseCount * 1000L / Math.max(duration, 1L));
 	}
 
 	@Override
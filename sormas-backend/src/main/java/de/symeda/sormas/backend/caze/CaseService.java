@@ -22,9 +22,14 @@ import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.ejb.EJB;
@@ -32,6 +37,8 @@ import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import javax.persistence.EntityExistsException;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
@@ -42,6 +49,7 @@ import javax.persistence.criteria.From;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import javax.persistence.criteria.Subquery;
@@ -68,10 +76,15 @@ import de.symeda.sormas.api.clinicalcourse.ClinicalCourseReferenceDto;
 import de.symeda.sormas.api.clinicalcourse.ClinicalVisitCriteria;
 import de.symeda.sormas.api.contact.ContactCriteria;
 import de.symeda.sormas.api.contact.FollowUpStatus;
+import de.symeda.sormas.api.dashboard.MapCaseDisplayMode;
+import de.symeda.sormas.api.dashboard.MapClusterDto;
 import de.symeda.sormas.api.externaldata.ExternalDataDto;
 import de.symeda.sormas.api.externaldata.ExternalDataUpdateException;
 import de.symeda.sormas.api.feature.FeatureType;
 import de.symeda.sormas.api.followup.FollowUpLogic;
+import de.symeda.sormas.api.geo.GeoLatLon;
+import de.symeda.sormas.api.infrastructure.facility.FacilityDto;
+import de.symeda.sormas.api.person.Sex;
 import de.symeda.sormas.api.sample.PathogenTestResultType;
 import de.symeda.sormas.api.task.TaskCriteria;
 import de.symeda.sormas.api.therapy.PrescriptionCriteria;
@@ -90,11 +103,14 @@ import de.symeda.sormas.backend.clinicalcourse.ClinicalVisitService;
 import de.symeda.sormas.backend.common.AbstractCoreAdoService;
 import de.symeda.sormas.backend.common.AbstractDomainObject;
 import de.symeda.sormas.backend.common.ChangeDateFilterBuilder;
+import de.symeda.sormas.backend.common.ChangedEntityType;
 import de.symeda.sormas.backend.common.CoreAdo;
 import de.symeda.sormas.backend.common.CriteriaBuilderHelper;
+import de.symeda.sormas.backend.common.EntityChangeEvent;
 import de.symeda.sormas.backend.contact.Contact;
 import de.symeda.sormas.backend.contact.ContactQueryContext;
 import de.symeda.sormas.backend.contact.ContactService;
+import de.symeda.sormas.backend.dashboard.MapClusterHelper;
 import de.symeda.sormas.backend.disease.DiseaseConfigurationFacadeEjb;
 import de.symeda.sormas.backend.epidata.EpiDataService;
 import de.symeda.sormas.backend.event.Event;
@@ -174,10 +190,20 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 	@EJB
 	private ExternalJournalService externalJournalService;
 
+	@Inject
+	@ChangedEntityType(Case.class)
+	private javax.enterprise.event.Event<EntityChangeEvent> caseChangeEvent;
+
 	public CaseService() {
 		super(Case.class);
 	}
 
+	@Override
+	public void ensurePersisted(Case caze) throws EntityExistsException {
+		super.ensurePersisted(caze);
+		caseChangeEvent.fire(new EntityChangeEvent(caze));
+	}
+
 	/**
 	 * Returns all cases that match the specified {@code caseCriteria} and that the current user has access to.
 	 * This should be the preferred method of retrieving cases from the database if there is no special logic required
@@ -204,6 +230,15 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 	}
 
 	public List<Case> getAllActiveCasesAfter(Date date, boolean includeExtendedChangeDateFilters) {
+		return getAllActiveCasesAfter(date, includeExtendedChangeDateFilters, null, null, null);
+	}
+
+	public List<Case> getAllActiveCasesAfter(
+		Date date,
+		boolean includeExtendedChangeDateFilters,
+		Integer batchSize,
+		Date lastChangeDate,
+		String lastUuid) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<Case> cq = cb.createQuery(getElementClass());
@@ -217,27 +252,35 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 		from.fetch(Case.PORT_HEALTH_INFO);
 		from.fetch(Case.MATERNAL_HISTORY);
 
-		Predicate filter = createActiveCasesFilter(cb, from);
+		// a subquery instead of a distinct selection, because the sync order is not part of the selection
+		Subquery<Long> idSubquery = cq.subquery(Long.class);
+		Root<Case> idRoot = idSubquery.from(Case.class);
+
+		Predicate filter = createActiveCasesFilter(cb, idRoot);
 
 		if (getCurrentUser() != null) {
-			Predicate userFilter = createUserFilter(cb, cq, from);
+			Predicate userFilter = createUserFilter(cb, cq, idRoot);
 			if (userFilter != null) {
 				filter = cb.and(filter, userFilter);
 			}
 		}
 
 		if (date != null) {
-			Predicate dateFilter = createChangeDateFilter(cb, from, DateHelper.toTimestampUpper(date), includeExtendedChangeDateFilters);
+			Predicate dateFilter = createChangeDateFilter(cb, idRoot, DateHelper.toTimestampUpper(date), includeExtendedChangeDateFilters);
 			if (dateFilter != null) {
 				filter = cb.and(filter, dateFilter);
 			}
 		}
 
-		cq.where(filter);
-		cq.orderBy(cb.desc(from.get(Case.CHANGE_DATE)));
-		cq.distinct(true);
+		idSubquery.select(idRoot.get(Case.ID));
+		idSubquery.where(filter);
 
-		return em.createQuery(cq).getResultList();
+		cq.where(
+			CriteriaBuilderHelper
+				.and(cb, from.get(Case.ID).in(idSubquery), createSyncCursorFilter(cb, from, lastChangeDate, lastUuid)));
+		cq.orderBy(createSyncOrder(cb, from, batchSize));
+
+		return createBatchedQuery(cq, batchSize).getResultList();
 	}
 
 	public List<String> getAllActiveUuids() {
@@ -317,6 +360,85 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 		return result;
 	}
 
+	public List<MapClusterDto<CaseClassification>> getCaseClustersForMap(
+		Region region,
+		District district,
+		Disease disease,
+		Date from,
+		Date to,
+		NewCaseDateType dateType,
+		MapCaseDisplayMode displayMode,
+		int zoom,
+		GeoLatLon southWest,
+		GeoLatLon northEast) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<Case> caze = cq.from(getElementClass());
+
+		CaseQueryContext caseQueryContext = new CaseQueryContext(cb, cq, caze);
+		CaseJoins<Case> joins = (CaseJoins<Case>) caseQueryContext.getJoins();
+
+		Predicate filter = createMapCasesFilter(cb, cq, caze, joins, region, district, disease, from, to, dateType);
+		if (filter == null) {
+			return Collections.emptyList();
+		}
+
+		// cases in the "none" and "other" facility are placed like cases without a facility
+		Join<Case, Facility> facility = caze.join(Case.HEALTH_FACILITY, JoinType.LEFT);
+		facility.on(cb.not(facility.get(Facility.UUID).in(FacilityDto.NONE_FACILITY_UUID, FacilityDto.OTHER_FACILITY_UUID)));
+		Join<Person, Location> address = joins.getPersonAddress();
+
+		Predicate facilityLatLonNotNull = cb.and(cb.isNotNull(facility.get(Facility.LATITUDE)), cb.isNotNull(facility.get(Facility.LONGITUDE)));
+		Predicate addressLatLonNotNull = cb.and(cb.isNotNull(address.get(Location.LATITUDE)), cb.isNotNull(address.get(Location.LONGITUDE)));
+		Predicate reportLatLonNotNull = cb.and(cb.isNotNull(caze.get(Case.REPORT_LAT)), cb.isNotNull(caze.get(Case.REPORT_LON)));
+
+		Expression<Double> caseLatitude =
+			cb.<Double> selectCase().when(addressLatLonNotNull, address.get(Location.LATITUDE)).otherwise(caze.get(Case.REPORT_LAT));
+		Expression<Double> caseLongitude =
+			cb.<Double> selectCase().when(addressLatLonNotNull, address.get(Location.LONGITUDE)).otherwise(caze.get(Case.REPORT_LON));
+
+		Expression<Double> latitude;
+		Expression<Double> longitude;
+		switch (displayMode) {
+		case CASE_ADDRESS:
+			filter = cb.and(filter, cb.or(addressLatLonNotNull, reportLatLonNotNull));
+			latitude = caseLatitude;
+			longitude = caseLongitude;
+			break;
+		case FACILITY:
+			filter = cb.and(filter, facilityLatLonNotNull);
+			latitude = facility.get(Facility.LATITUDE);
+			longitude = facility.get(Facility.LONGITUDE);
+			break;
+		case FACILITY_OR_CASE_ADDRESS:
+			filter = cb.and(filter, cb.or(facilityLatLonNotNull, addressLatLonNotNull, reportLatLonNotNull));
+			latitude = cb.<Double> selectCase().when(facilityLatLonNotNull, facility.get(Facility.LATITUDE)).otherwise(caseLatitude);
+			longitude = cb.<Double> selectCase().when(facilityLatLonNotNull, facility.get(Facility.LONGITUDE)).otherwise(caseLongitude);
+			break;
+		default:
+			throw new IllegalArgumentException(displayMode.toString());
+		}
+
+		filter = CriteriaBuilderHelper.and(cb, filter, MapClusterHelper.createBoundingBoxFilter(cb, latitude, longitude, southWest, northEast));
+
+		int cellSize = MapClusterHelper.getCellSize(zoom);
+		Expression<CaseClassification> classification = caze.get(Case.CASE_CLASSIFICATION);
+		cq.multiselect(
+			MapClusterHelper.getClusterSelections(
+				cb,
+				latitude,
+				longitude,
+				cellSize,
+				classification,
+				caze.get(Case.UUID),
+				JurisdictionHelper.booleanSelector(cb, inJurisdictionOrOwned(caseQueryContext))));
+		cq.where(filter);
+		cq.groupBy(MapClusterHelper.getClusterGrouping(cb, latitude, longitude, cellSize, classification));
+
+		return MapClusterHelper.toClusters(em.createQuery(cq).getResultList());
+	}
+
 	private Predicate createMapCasesFilter(
 		CriteriaBuilder cb,
 		CriteriaQuery<?> cq,
@@ -907,6 +1029,7 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 
 		// Mark the case as deleted
 		super.delete(caze);
+		caseChangeEvent.fire(new EntityChangeEvent(caze));
 	}
 
 	@Override
@@ -914,6 +1037,11 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 		return createChangeDateFilter(cb, casePath, date, false);
 	}
 
+	@Override
+	protected Predicate createArchivableChangeDateFilter(CriteriaBuilder cb, From<?, Case> casePath, Timestamp date) {
+		return createChangeDateFilter(cb, casePath, date, true);
+	}
+
 	/**
 	 * @param cb
 	 * @param casePath
@@ -1350,10 +1478,117 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 		updateCompleteness(getByUuid(caseUuid));
 	}
 
+	/**
+	 * Calculates the completeness of the given cases from a projection of the needed values instead of loading the
+	 * cases, and sets it with one update per distinct completeness value.
+	 */
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public void updateCompleteness(List<Long> caseIds) {
+
+		if (caseIds.isEmpty()) {
+			return;
+		}
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<Case> caze = cq.from(Case.class);
+		Join<Case, Symptoms> symptoms = caze.join(Case.SYMPTOMS, JoinType.LEFT);
+		Join<Case, Person> person = caze.join(Case.PERSON, JoinType.LEFT);
+
+		cq.multiselect(
+			caze.get(Case.ID),
+			caze.get(Case.INVESTIGATION_STATUS),
+			caze.get(Case.CASE_CLASSIFICATION),
+			caze.get(Case.OUTCOME),
+			symptoms.get(Symptoms.SYMPTOMATIC),
+			symptoms.get(Symptoms.ONSET_DATE),
+			person.get(Person.BIRTHDATE_YYYY),
+			person.get(Person.APPROXIMATE_AGE),
+			person.get(Person.SEX));
+		cq.where(caze.get(Case.ID).in(caseIds));
+
+		List<Object[]> rows = em.createQuery(cq).getResultList();
+		Set<Long> caseIdsWithSamples = getCaseIdsWithSamples(caseIds);
+		Set<Long> caseIdsWithContacts = getCaseIdsWithContacts(caseIds);
+
+		Map<Float, List<Long>> caseIdsByCompleteness = new HashMap<>();
+		for (Object[] row : rows) {
+			Long caseId = (Long) row[0];
+			float completeness = calculateCompleteness(
+				(InvestigationStatus) row[1],
+				(CaseClassification) row[2],
+				caseIdsWithSamples.contains(caseId),
+				(Boolean) row[4],
+				caseIdsWithContacts.contains(caseId),
+				(CaseOutcome) row[3],
+				(Integer) row[6],
+				(Integer) row[7],
+				(Sex) row[8],
+				(Date) row[5]);
+			caseIdsByCompleteness.computeIfAbsent(completeness, c -> new ArrayList<>()).add(caseId);
+		}
+
+		// See updateCompleteness(Case) on why the change date is not updated
+		caseIdsByCompleteness.forEach((completeness, ids) -> {
+			CriteriaUpdate<Case> cu = cb.createCriteriaUpdate(Case.class);
+			Root<Case> root = cu.from(Case.class);
+			cu.set(root.get(Case.COMPLETENESS), completeness);
+			cu.where(root.get(Case.ID).in(ids));
+			em.createQuery(cu).executeUpdate();
+		});
+	}
+
+	private Set<Long> getCaseIdsWithSamples(List<Long> caseIds) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+		Root<Sample> sample = cq.from(Sample.class);
+		Path<Long> caseId = sample.get(Sample.ASSOCIATED_CASE).get(Case.ID);
+
+		cq.select(caseId).distinct(true);
+		cq.where(sampleService.createDefaultFilter(cb, sample), caseId.in(caseIds));
+
+		return new HashSet<>(em.createQuery(cq).getResultList());
+	}
+
+	private Set<Long> getCaseIdsWithContacts(List<Long> caseIds) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+		Root<Contact> contact = cq.from(Contact.class);
+		Path<Long> caseId = contact.get(Contact.CAZE).get(Case.ID);
+
+		cq.select(caseId).distinct(true);
+		cq.where(contactService.createDefaultFilter(cb, contact), caseId.in(caseIds));
+
+		return new HashSet<>(em.createQuery(cq).getResultList());
+	}
+
 	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
-	public void updateCompleteness(List<String> caseUuids) {
+	public void updateClassifications(List<String> caseUuids) {
 		List<Case> casesForUpdate = getByUuids(caseUuids);
-		casesForUpdate.forEach(this::updateCompleteness);
+		Map<String, CaseClassification> previousClassifications = new HashMap<>();
+		casesForUpdate.forEach(caze -> previousClassifications.put(caze.getUuid(), caze.getCaseClassification()));
+		caseFacade.classifyCases(casesForUpdate, previousClassifications, false);
+	}
+
+	/**
+	 * Applies the classification calculated by the system. The case classification itself is only changed
+	 * if the system classification changes, because users may overwrite it.
+	 */
+	public void updateSystemClassification(Case caze, CaseClassification classification) {
+
+		// only update when classification by system changes - user may overwrite this
+		if (classification != caze.getSystemCaseClassification()) {
+			caze.setSystemCaseClassification(classification);
+
+			// really a change? (user may have already set it)
+			if (classification != caze.getCaseClassification()) {
+				caze.setCaseClassification(classification);
+				caze.setClassificationUser(null);
+				caze.setClassificationDate(new Date());
+			}
+		}
 	}
 
 	public void updateCompleteness(Case caze) {
@@ -1421,34 +1656,59 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 
 	private float calculateCompleteness(Case caze) {
 
+		return calculateCompleteness(
+			caze.getInvestigationStatus(),
+			caze.getCaseClassification(),
+			sampleService
+				.exists((cb, root) -> cb.and(sampleService.createDefaultFilter(cb, root), cb.equal(root.get(Sample.ASSOCIATED_CASE), caze))),
+			caze.getSymptoms().getSymptomatic(),
+			contactService.exists((cb, root) -> cb.and(contactService.createDefaultFilter(cb, root), cb.equal(root.get(Contact.CAZE), caze))),
+			caze.getOutcome(),
+			caze.getPerson().getBirthdateYYYY(),
+			caze.getPerson().getApproximateAge(),
+			caze.getPerson().getSex(),
+			caze.getSymptoms().getOnsetDate());
+	}
+
+	private static float calculateCompleteness(
+		InvestigationStatus investigationStatus,
+		CaseClassification caseClassification,
+		boolean hasSamples,
+		Boolean symptomatic,
+		boolean hasContacts,
+		CaseOutcome outcome,
+		Integer birthdateYYYY,
+		Integer approximateAge,
+		Sex sex,
+		Date onsetDate) {
+
 		float completeness = 0f;
 
-		if (InvestigationStatus.DONE.equals(caze.getInvestigationStatus())) {
+		if (InvestigationStatus.DONE.equals(investigationStatus)) {
 			completeness += 0.2f;
 		}
-		if (!CaseClassification.NOT_CLASSIFIED.equals(caze.getCaseClassification())) {
+		if (!CaseClassification.NOT_CLASSIFIED.equals(caseClassification)) {
 			completeness += 0.2f;
 		}
-		if (sampleService
-			.exists((cb, root) -> cb.and(sampleService.createDefaultFilter(cb, root), cb.equal(root.get(Sample.ASSOCIATED_CASE), caze)))) {
+		if (hasSamples) {
 			completeness += 0.15f;
 		}
-		if (Boolean.TRUE.equals(caze.getSymptoms().getSymptomatic())) {
+		if (Boolean.TRUE.equals(symptomatic)) {
 			completeness += 0.15f;
 		}
-		if (contactService.exists((cb, root) -> cb.and(contactService.createDefaultFilter(cb, root), cb.equal(root.get(Contact.CAZE), caze)))) {
+		if (hasContacts) {
 			completeness += 0.10f;
 		}
-		if (!CaseOutcome.NO_OUTCOME.equals(caze.getOutcome())) {
+		if (!CaseOutcome.NO_OUTCOME.equals(outcome)) {
 			completeness += 0.05f;
 		}
-		if (caze.getPerson().getBirthdateYYYY() != null || caze.getPerson().getApproximateAge() != null) {
+		if (birthdateYYYY != null || approximateAge != null) {
 			completeness += 0.05f;
 		}
-		if (caze.getPerson().getSex() != null) {
+		if (sex != null) {
 			completeness += 0.05f;
 		}
-		if (caze.getSymptoms().getOnsetDate() != null) {
+		if (onsetDate != null) {
 			completeness += 0.05f;
 		}
 
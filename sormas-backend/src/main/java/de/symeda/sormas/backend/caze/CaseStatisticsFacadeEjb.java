@@ -53,6 +53,7 @@ import de.symeda.sormas.api.statistics.StatisticsCaseSubAttribute;
 import de.symeda.sormas.api.statistics.StatisticsGroupingKey;
 import de.symeda.sormas.api.statistics.StatisticsHelper;
 import de.symeda.sormas.api.user.UserDto;
+import de.symeda.sormas.backend.caze.statistics.CaseStatisticsCell;
 import de.symeda.sormas.backend.infrastructure.facility.Facility;
 import de.symeda.sormas.backend.infrastructure.facility.FacilityFacadeEjb.FacilityFacadeEjbLocal;
 import de.symeda.sormas.backend.infrastructure.facility.FacilityService;
@@ -76,6 +77,9 @@ import de.symeda.sormas.backend.util.QueryHelper;
 @Stateless(name = "CaseStatisticsFacade")
 public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 
+	private static final String GROUP_A_ALIAS = "groupA";
+	private static final String GROUP_B_ALIAS = "groupB";
+
 	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
 	private EntityManager em;
 
@@ -110,8 +114,12 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		Integer populationReferenceYear) {
 
 		// case counts
-		Pair<String, List<Object>> caseCountQueryAndParams =
-			buildCaseCountQuery(caseCriteria, rowGrouping, rowSubGrouping, columnGrouping, columnSubGrouping);
+		Pair<String, List<Object>> caseCountQueryAndParams;
+		if (isCoveredByCube(caseCriteria, rowGrouping, rowSubGrouping, columnGrouping, columnSubGrouping)) {
+			caseCountQueryAndParams = buildCubeCaseCountQuery(caseCriteria, rowGrouping, rowSubGrouping, columnGrouping, columnSubGrouping);
+		} else {
+			caseCountQueryAndParams = buildCaseCountQuery(caseCriteria, rowGrouping, rowSubGrouping, columnGrouping, columnSubGrouping);
+		}
 
 		Query caseCountQuery = em.createNativeQuery(caseCountQueryAndParams.getKey().toString());
 		for (int i = 0; i < caseCountQueryAndParams.getValue().size(); i++) {
@@ -407,78 +415,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		caseFilterBuilder.append(")");
 		List<Object> filterBuilderParameters = new ArrayList<Object>();
 
-		if (CollectionUtils.isNotEmpty(caseCriteria.getOnsetYears())) {
-			extendFilterBuilderWithDateElement(
-				caseFilterBuilder,
-				filterBuilderParameters,
-				"YEAR",
-				Symptoms.TABLE_NAME,
-				Symptoms.ONSET_DATE,
-				caseCriteria.getOnsetYears(),
-				dateValue -> (dateValue.getValue()));
-		}
-
-		if (CollectionUtils.isNotEmpty(caseCriteria.getOnsetQuarters())) {
-			extendFilterBuilderWithDateElement(
-				caseFilterBuilder,
-				filterBuilderParameters,
-				"QUARTER",
-				Symptoms.TABLE_NAME,
-				Symptoms.ONSET_DATE,
-				caseCriteria.getOnsetQuarters(),
-				dateValue -> (dateValue.getValue()));
-		}
-
-		if (CollectionUtils.isNotEmpty(caseCriteria.getOnsetMonths())) {
-			extendFilterBuilderWithDateElement(
-				caseFilterBuilder,
-				filterBuilderParameters,
-				"MONTH",
-				Symptoms.TABLE_NAME,
-				Symptoms.ONSET_DATE,
-				caseCriteria.getOnsetMonths(),
-				dateValue -> (dateValue.ordinal() + 1));
-		}
-
-		if (CollectionUtils.isNotEmpty(caseCriteria.getOnsetEpiWeeks())) {
-			extendFilterBuilderWithEpiWeek(
-				caseFilterBuilder,
-				filterBuilderParameters,
-				Symptoms.TABLE_NAME,
-				Symptoms.ONSET_DATE,
-				caseCriteria.getOnsetEpiWeeks(),
-				value -> value.getWeek());
-		}
-
-		if (CollectionUtils.isNotEmpty(caseCriteria.getOnsetQuartersOfYear())) {
-			extendFilterBuilderWithQuarterOfYear(
-				caseFilterBuilder,
-				filterBuilderParameters,
-				Symptoms.TABLE_NAME,
-				Symptoms.ONSET_DATE,
-				caseCriteria.getOnsetQuartersOfYear(),
-				value -> value.getYear().getValue() * 10 + value.getQuarter().getValue());
-		}
-
-		if (CollectionUtils.isNotEmpty(caseCriteria.getOnsetMonthsOfYear())) {
-			extendFilterBuilderWithMonthOfYear(
-				caseFilterBuilder,
-				filterBuilderParameters,
-				Symptoms.TABLE_NAME,
-				Symptoms.ONSET_DATE,
-				caseCriteria.getOnsetMonthsOfYear(),
-				value -> value.getYear().getValue() * 100 + (value.getMonth().ordinal() + 1));
-		}
-
-		if (CollectionUtils.isNotEmpty(caseCriteria.getOnsetEpiWeeksOfYear())) {
-			extendFilterBuilderWithEpiWeekOfYear(
-				caseFilterBuilder,
-				filterBuilderParameters,
-				Symptoms.TABLE_NAME,
-				Symptoms.ONSET_DATE,
-				caseCriteria.getOnsetEpiWeeksOfYear(),
-				value -> value.getYear() * 100 + value.getWeek());
-		}
+		extendFilterBuilderWithOnsetTime(caseFilterBuilder, filterBuilderParameters, caseCriteria, Symptoms.TABLE_NAME, Symptoms.ONSET_DATE);
 
 		if (caseCriteria.getOnsetDateFrom() != null || caseCriteria.getOnsetDateTo() != null) {
 			extendFilterBuilderWithDate(
@@ -693,90 +630,9 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			extendFilterBuilderWithLike(caseFilterBuilder, Location.TABLE_NAME, Location.POSTAL_CODE, caseCriteria.getPersonPostcode());
 		}
 
-		if (CollectionUtils.isNotEmpty(caseCriteria.getSexes()) || caseCriteria.isSexUnknown() != null) {
-			if (caseFilterBuilder.length() > 0) {
-				caseFilterBuilder.append(" AND ");
-			}
-
-			caseFilterBuilder.append("(");
-			StringBuilder subFilterBuilder = new StringBuilder();
-
-			if (CollectionUtils.isNotEmpty(caseCriteria.getSexes())) {
-				extendFilterBuilderWithSimpleValue(
-					subFilterBuilder,
-					filterBuilderParameters,
-					Person.TABLE_NAME,
-					Person.SEX,
-					caseCriteria.getSexes(),
-					entry -> entry.name());
-			}
-
-			if (caseCriteria.isSexUnknown() != null) {
-				if (subFilterBuilder.length() > 0) {
-					subFilterBuilder.append(" OR ");
-				}
-				subFilterBuilder.append(Person.TABLE_NAME)
-					.append(".")
-					.append(Person.SEX)
-					.append(" IS ")
-					.append(caseCriteria.isSexUnknown() == true ? "NULL" : "NOT NULL");
-			}
-
-			caseFilterBuilder.append(subFilterBuilder);
-			caseFilterBuilder.append(")");
-		}
-
-		if (CollectionUtils.isNotEmpty(caseCriteria.getAgeIntervals())) {
-			if (caseFilterBuilder.length() > 0) {
-				caseFilterBuilder.append(" AND ");
-			}
-
-			caseFilterBuilder.append("(");
-			StringBuilder subFilterBuilder = new StringBuilder();
-
-			Integer upperRangeBoundary = null;
-			boolean appendUnknown = false;
-			List<Integer> agesList = new ArrayList<Integer>();
-			for (IntegerRange range : caseCriteria.getAgeIntervals()) {
-				if (range.getTo() == null) {
-					if (range.getFrom() == null) {
-						appendUnknown = true;
-					} else {
-						upperRangeBoundary = range.getFrom();
-					}
-				} else {
-					agesList.addAll(IntStream.rangeClosed(range.getFrom(), range.getTo()).boxed().collect(Collectors.toList()));
-				}
-			}
-
-			if (agesList.size() > 0) {
-				extendFilterBuilderWithSimpleValue(
-					subFilterBuilder,
-					filterBuilderParameters,
-					Case.TABLE_NAME,
-					Case.CASE_AGE,
-					agesList,
-					value -> value);
-			}
-
-			if (upperRangeBoundary != null) {
-				if (subFilterBuilder.length() > 0) {
-					subFilterBuilder.append(" OR ");
-				}
-				subFilterBuilder.append(Case.TABLE_NAME).append(".").append(Case.CASE_AGE).append(" >= ?").append(filterBuilderParameters.size() + 1);
-				filterBuilderParameters.add(upperRangeBoundary);
-			}
-
-			if (appendUnknown) {
-				if (subFilterBuilder.length() > 0) {
-					subFilterBuilder.append(" OR ");
-				}
-				subFilterBuilder.append(Case.TABLE_NAME).append(".").append(Case.CASE_AGE).append(" IS NULL");
-			}
+		extendFilterBuilderWithSex(caseFilterBuilder, filterBuilderParameters, caseCriteria, Person.TABLE_NAME, Person.SEX);
 
-			caseFilterBuilder.append(subFilterBuilder);
-			caseFilterBuilder.append(")");
-		}
+		extendFilterBuilderWithAgeIntervals(caseFilterBuilder, filterBuilderParameters, caseCriteria.getAgeIntervals(), Case.TABLE_NAME, Case.CASE_AGE);
 
 		if (CollectionUtils.isNotEmpty(caseCriteria.getDiseases())) {
 			extendFilterBuilderWithSimpleValue(
@@ -863,68 +719,324 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		}
 
 		//////////////
-		// 3. Add selected groupings
+		// 3. Add selected groupings and order results
 		/////////////
 
-		String groupingSelectQueryA = null, groupingSelectQueryB = null;
-		StringBuilder caseGroupByBuilder = new StringBuilder();
-		StringBuilder orderByBuilder = new StringBuilder();
-		String groupAAlias = "groupA";
-		String groupBAlias = "groupB";
+		String groupingSelectQueryA = groupingA != null ? buildCaseGroupingSelectQuery(groupingA, subGroupingA, GROUP_A_ALIAS) : null;
+		String groupingSelectQueryB = groupingB != null ? buildCaseGroupingSelectQuery(groupingB, subGroupingB, GROUP_B_ALIAS) : null;
 
-		if (groupingA != null || groupingB != null) {
-			caseGroupByBuilder.append(" GROUP BY ");
+		String query = buildGroupedCountQuery(
+			"COUNT(*)",
+			groupingSelectQueryA,
+			groupingSelectQueryB,
+			" FROM " + Case.TABLE_NAME + caseJoinBuilder + caseFilterBuilder);
 
-			if (groupingA != null) {
-				groupingSelectQueryA = buildCaseGroupingSelectQuery(groupingA, subGroupingA, groupAAlias);
-				caseGroupByBuilder.append(groupAAlias);
-			}
-			if (groupingB != null) {
-				groupingSelectQueryB = buildCaseGroupingSelectQuery(groupingB, subGroupingB, groupBAlias);
-				if (groupingA != null) {
-					caseGroupByBuilder.append(",");
-				}
-				caseGroupByBuilder.append(groupBAlias);
-			}
+		return new ImmutablePair<String, List<Object>>(query, filterBuilderParameters);
+	}
+
+	/**
+	 * Whether the case count can be taken from the case statistics cube ({@link CaseStatisticsCell}),
+	 * i.e. all filters and groupings only refer to dimensions of the cube.
+	 * The onset date range filter is not covered, because the cube only knows the month and epi week of the onset.
+	 * Grouping by single years of age and age filters that split an age group of the cube are not covered either.
+	 * The cube is updated by the CronService every 5 minutes, so its counts may not yet include the latest changes.
+	 */
+	public boolean isCoveredByCube(
+		StatisticsCaseCriteria caseCriteria,
+		StatisticsCaseAttribute groupingA,
+		StatisticsCaseSubAttribute subGroupingA,
+		StatisticsCaseAttribute groupingB,
+		StatisticsCaseSubAttribute subGroupingB) {
+
+		if (!isCoveredByCube(groupingA, subGroupingA) || !isCoveredByCube(groupingB, subGroupingB)) {
+			return false;
+		}
+
+		return caseCriteria.getOnsetDateFrom() == null
+			&& caseCriteria.getOnsetDateTo() == null
+			&& isCoveredByCube(caseCriteria.getAgeIntervals())
+			&& CollectionUtils.isEmpty(caseCriteria.getReportYears())
+			&& CollectionUtils.isEmpty(caseCriteria.getReportQuarters())
+			&& CollectionUtils.isEmpty(caseCriteria.getReportMonths())
+			&& CollectionUtils.isEmpty(caseCriteria.getReportEpiWeeks())
+			&& CollectionUtils.isEmpty(caseCriteria.getReportQuartersOfYear())
+			&& CollectionUtils.isEmpty(caseCriteria.getReportMonthsOfYear())
+			&& CollectionUtils.isEmpty(caseCriteria.getReportEpiWeeksOfYear())
+			&& caseCriteria.getReportDateFrom() == null
+			&& caseCriteria.getReportDateTo() == null
+			&& CollectionUtils.isEmpty(caseCriteria.getOutcomeYears())
+			&& CollectionUtils.isEmpty(caseCriteria.getOutcomeQuarters())
+			&& CollectionUtils.isEmpty(caseCriteria.getOutcomeMonths())
+			&& CollectionUtils.isEmpty(caseCriteria.getOutcomeEpiWeeks())
+			&& CollectionUtils.isEmpty(caseCriteria.getOutcomeQuartersOfYear())
+			&& CollectionUtils.isEmpty(caseCriteria.getOutcomeMonthsOfYear())
+			&& CollectionUtils.isEmpty(caseCriteria.getOutcomeEpiWeeksOfYear())
+			&& caseCriteria.getOutcomeDateFrom() == null
+			&& caseCriteria.getOutcomeDateTo() == null
+			&& CollectionUtils.isEmpty(caseCriteria.getCommunities())
+			&& CollectionUtils.isEmpty(caseCriteria.getHealthFacilities())
+			&& CollectionUtils.isEmpty(caseCriteria.getPersonRegions())
+			&& CollectionUtils.isEmpty(caseCriteria.getPersonDistricts())
+			&& CollectionUtils.isEmpty(caseCriteria.getPersonCommunities())
+			&& StringUtils.isEmpty(caseCriteria.getPersonCity())
+			&& StringUtils.isEmpty(caseCriteria.getPersonPostcode())
+			&& CollectionUtils.isEmpty(caseCriteria.getReportingUserRoles());
+	}
+
+	private boolean isCoveredByCube(StatisticsCaseAttribute grouping, StatisticsCaseSubAttribute subGrouping) {
+
+		if (grouping == null) {
+			return true;
 		}
 
-		//////////////
-		// 4. Order results
-		/////////////
+		switch (grouping) {
+		case JURISDICTION:
+			return subGrouping == StatisticsCaseSubAttribute.REGION || subGrouping == StatisticsCaseSubAttribute.DISTRICT;
+		case DISEASE:
+		case CLASSIFICATION:
+		case OUTCOME:
+		case SEX:
+		case ONSET_TIME:
+		case AGE_INTERVAL_5_YEARS:
+		case AGE_INTERVAL_CHILDREN_COARSE:
+		case AGE_INTERVAL_CHILDREN_FINE:
+		case AGE_INTERVAL_CHILDREN_MEDIUM:
+		case AGE_INTERVAL_BASIC:
+			return true;
+		default:
+			return false;
+		}
+	}
 
-		orderByBuilder.append(" ORDER BY ");
-		if (groupingA != null) {
-			orderByBuilder.append(groupAAlias).append(" NULLS LAST");
+	private boolean isCoveredByCube(List<IntegerRange> ageIntervals) {
+
+		if (ageIntervals == null) {
+			return true;
 		}
-		if (groupingB != null) {
-			if (groupingA != null) {
-				orderByBuilder.append(",");
+
+		return ageIntervals.stream()
+			.allMatch(
+				range -> (range.getFrom() == null || range.getFrom().equals(CaseStatisticsCell.getAgeGroupStart(range.getFrom())))
+					&& (range.getTo() == null || Integer.valueOf(range.getTo() + 1).equals(CaseStatisticsCell.getAgeGroupStart(range.getTo() + 1))));
+	}
+
+	/**
+	 * Builds SQL query string and list of parameters (for filters) that sums up the matching cells of the case statistics cube.
+	 * Only applicable when {@link #isCoveredByCube} is true.
+	 */
+	public Pair<String, List<Object>> buildCubeCaseCountQuery(
+		StatisticsCaseCriteria caseCriteria,
+		StatisticsCaseAttribute groupingA,
+		StatisticsCaseSubAttribute subGroupingA,
+		StatisticsCaseAttribute groupingB,
+		StatisticsCaseSubAttribute subGroupingB) {
+
+		StringBuilder cellFilterBuilder = new StringBuilder();
+		List<Object> filterBuilderParameters = new ArrayList<Object>();
+
+		extendFilterBuilderWithOnsetTime(
+			cellFilterBuilder,
+			filterBuilderParameters,
+			caseCriteria,
+			CaseStatisticsCell.TABLE_NAME,
+			CaseStatisticsCell.ONSET_MONTH,
+			CaseStatisticsCell.ONSET_WEEK);
+		extendFilterBuilderWithSex(cellFilterBuilder, filterBuilderParameters, caseCriteria, CaseStatisticsCell.TABLE_NAME, CaseStatisticsCell.SEX);
+		extendFilterBuilderWithAgeIntervals(
+			cellFilterBuilder,
+			filterBuilderParameters,
+			caseCriteria.getAgeIntervals(),
+			CaseStatisticsCell.TABLE_NAME,
+			CaseStatisticsCell.AGE_GROUP_START);
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getDiseases())) {
+			extendFilterBuilderWithSimpleValue(
+				cellFilterBuilder,
+				filterBuilderParameters,
+				CaseStatisticsCell.TABLE_NAME,
+				CaseStatisticsCell.DISEASE,
+				caseCriteria.getDiseases(),
+				entry -> entry.name());
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getClassifications())) {
+			extendFilterBuilderWithSimpleValue(
+				cellFilterBuilder,
+				filterBuilderParameters,
+				CaseStatisticsCell.TABLE_NAME,
+				CaseStatisticsCell.CASE_CLASSIFICATION,
+				caseCriteria.getClassifications(),
+				entry -> entry.name());
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getOutcomes())) {
+			extendFilterBuilderWithSimpleValue(
+				cellFilterBuilder,
+				filterBuilderParameters,
+				CaseStatisticsCell.TABLE_NAME,
+				CaseStatisticsCell.OUTCOME,
+				caseCriteria.getOutcomes(),
+				entry -> entry.name());
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getRegions())) {
+			List<Long> regionIds = regionService.getIdsByReferenceDtos(caseCriteria.getRegions());
+			extendFilterBuilderWithSimpleValue(
+				cellFilterBuilder,
+				filterBuilderParameters,
+				CaseStatisticsCell.TABLE_NAME,
+				CaseStatisticsCell.RESPONSIBLE_REGION + "_id",
+				regionIds,
+				entry -> entry);
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getDistricts())) {
+			List<Long> districtIds = districtService.getIdsByReferenceDtos(caseCriteria.getDistricts());
+			extendFilterBuilderWithSimpleValue(
+				cellFilterBuilder,
+				filterBuilderParameters,
+				CaseStatisticsCell.TABLE_NAME,
+				CaseStatisticsCell.RESPONSIBLE_DISTRICT + "_id",
+				districtIds,
+				entry -> entry);
+		}
+
+		if (cellFilterBuilder.length() > 0) {
+			cellFilterBuilder.insert(0, " WHERE ");
+		}
+
+		String query = buildGroupedCountQuery(
+			"COALESCE(SUM(" + CaseStatisticsCell.TABLE_NAME + "." + CaseStatisticsCell.CASE_COUNT + "), 0)",
+			groupingA != null ? buildCubeGroupingSelectQuery(groupingA, subGroupingA, GROUP_A_ALIAS) : null,
+			groupingB != null ? buildCubeGroupingSelectQuery(groupingB, subGroupingB, GROUP_B_ALIAS) : null,
+			" FROM " + CaseStatisticsCell.TABLE_NAME + cellFilterBuilder);
+
+		return new ImmutablePair<String, List<Object>>(query, filterBuilderParameters);
+	}
+
+	private String buildCubeGroupingSelectQuery(StatisticsCaseAttribute grouping, StatisticsCaseSubAttribute subGrouping, String groupAlias) {
+
+		StringBuilder groupingSelectPartBuilder = new StringBuilder();
+		switch (grouping) {
+		case SEX:
+			groupingSelectPartBuilder.append(CaseStatisticsCell.TABLE_NAME).append(".").append(CaseStatisticsCell.SEX).append(" AS ").append(groupAlias);
+			break;
+		case DISEASE:
+			groupingSelectPartBuilder.append(CaseStatisticsCell.TABLE_NAME)
+				.append(".")
+				.append(CaseStatisticsCell.DISEASE)
+				.append(" AS ")
+				.append(groupAlias);
+			break;
+		case CLASSIFICATION:
+			groupingSelectPartBuilder.append(CaseStatisticsCell.TABLE_NAME)
+				.append(".")
+				.append(CaseStatisticsCell.CASE_CLASSIFICATION)
+				.append(" AS ")
+				.append(groupAlias);
+			break;
+		case OUTCOME:
+			groupingSelectPartBuilder.append(CaseStatisticsCell.TABLE_NAME)
+				.append(".")
+				.append(CaseStatisticsCell.OUTCOME)
+				.append(" AS ")
+				.append(groupAlias);
+			break;
+		case JURISDICTION: {
+			switch (subGrouping) {
+			case REGION:
+				groupingSelectPartBuilder.append(CaseStatisticsCell.TABLE_NAME)
+					.append(".")
+					.append(CaseStatisticsCell.RESPONSIBLE_REGION)
+					.append("_id AS ")
+					.append(groupAlias);
+				break;
+			case DISTRICT:
+				groupingSelectPartBuilder.append(CaseStatisticsCell.TABLE_NAME)
+					.append(".")
+					.append(CaseStatisticsCell.RESPONSIBLE_DISTRICT)
+					.append("_id AS ")
+					.append(groupAlias);
+				break;
+			default:
+				throw new IllegalArgumentException(subGrouping.toString());
+			}
+			break;
+		}
+		case AGE_INTERVAL_1_YEAR:
+		case AGE_INTERVAL_5_YEARS:
+		case AGE_INTERVAL_CHILDREN_COARSE:
+		case AGE_INTERVAL_CHILDREN_FINE:
+		case AGE_INTERVAL_CHILDREN_MEDIUM:
+		case AGE_INTERVAL_BASIC:
+			extendGroupingBuilderWithAgeInterval(
+				groupingSelectPartBuilder,
+				grouping,
+				CaseStatisticsCell.TABLE_NAME,
+				CaseStatisticsCell.AGE_GROUP_START,
+				groupAlias);
+			break;
+		case ONSET_TIME:
+			extendGroupingBuilderWithTime(
+				groupingSelectPartBuilder,
+				subGrouping,
+				CaseStatisticsCell.TABLE_NAME,
+				subGrouping == StatisticsCaseSubAttribute.EPI_WEEK || subGrouping == StatisticsCaseSubAttribute.EPI_WEEK_OF_YEAR
+					? CaseStatisticsCell.ONSET_WEEK
+					: CaseStatisticsCell.ONSET_MONTH,
+				groupAlias);
+			break;
+		default:
+			throw new IllegalArgumentException(grouping.toString());
+		}
+		return groupingSelectPartBuilder.toString();
+	}
+
+	/**
+	 * Selects the count as "casecount" together with the groupings as "groupA" and "groupB" (null when not grouped),
+	 * grouped and ordered by the groupings.
+	 */
+	private String buildGroupedCountQuery(String countSelect, String groupingSelectQueryA, String groupingSelectQueryB, String fromAndFilter) {
+
+		StringBuilder groupByBuilder = new StringBuilder();
+		StringBuilder orderByBuilder = new StringBuilder();
+
+		if (groupingSelectQueryA != null || groupingSelectQueryB != null) {
+			groupByBuilder.append(" GROUP BY ");
+			orderByBuilder.append(" ORDER BY ");
+
+			if (groupingSelectQueryA != null) {
+				groupByBuilder.append(GROUP_A_ALIAS);
+				orderByBuilder.append(GROUP_A_ALIAS).append(" NULLS LAST");
+			}
+			if (groupingSelectQueryB != null) {
+				if (groupingSelectQueryA != null) {
+					groupByBuilder.append(",");
+					orderByBuilder.append(",");
+				}
+				groupByBuilder.append(GROUP_B_ALIAS);
+				orderByBuilder.append(GROUP_B_ALIAS).append(" NULLS LAST");
 			}
-			orderByBuilder.append(groupBAlias).append(" NULLS LAST");
 		}
 
 		StringBuilder queryBuilder = new StringBuilder();
 
-		queryBuilder.append("SELECT COUNT(*) AS casecount ");
+		queryBuilder.append("SELECT ").append(countSelect).append(" AS casecount ");
 
 		if (groupingSelectQueryA != null) {
 			queryBuilder.append(", ").append(groupingSelectQueryA);
 		} else {
-			queryBuilder.append(", null\\:\\:text AS ").append(groupAAlias);
+			queryBuilder.append(", null\\:\\:text AS ").append(GROUP_A_ALIAS);
 		}
 		if (groupingSelectQueryB != null) {
 			queryBuilder.append(", ").append(groupingSelectQueryB);
 		} else {
-			queryBuilder.append(", null\\:\\:text AS ").append(groupBAlias);
+			queryBuilder.append(", null\\:\\:text AS ").append(GROUP_B_ALIAS);
 		}
 
-		queryBuilder.append(" FROM ").append(Case.TABLE_NAME).append(caseJoinBuilder).append(caseFilterBuilder).append(caseGroupByBuilder);
-
-		if (groupingA != null || groupingB != null) {
-			queryBuilder.append(orderByBuilder);
-		}
+		queryBuilder.append(fromAndFilter).append(groupByBuilder).append(orderByBuilder);
 
-		return new ImmutablePair<String, List<Object>>(queryBuilder.toString(), filterBuilderParameters);
+		return queryBuilder.toString();
 	}
 
 	/**
@@ -1211,6 +1323,202 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		return null;
 	}
 
+	private void extendFilterBuilderWithOnsetTime(
+		StringBuilder filterBuilder,
+		List<Object> filterBuilderParameters,
+		StatisticsCaseCriteria caseCriteria,
+		String tableName,
+		String fieldName) {
+		extendFilterBuilderWithOnsetTime(filterBuilder, filterBuilderParameters, caseCriteria, tableName, fieldName, fieldName);
+	}
+
+	/**
+	 * @param epiWeekFieldName
+	 *            The field the epi weeks are filtered by, which may differ from the one of the other date elements
+	 */
+	private void extendFilterBuilderWithOnsetTime(
+		StringBuilder filterBuilder,
+		List<Object> filterBuilderParameters,
+		StatisticsCaseCriteria caseCriteria,
+		String tableName,
+		String fieldName,
+		String epiWeekFieldName) {
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getOnsetYears())) {
+			extendFilterBuilderWithDateElement(
+				filterBuilder,
+				filterBuilderParameters,
+				"YEAR",
+				tableName,
+				fieldName,
+				caseCriteria.getOnsetYears(),
+				dateValue -> (dateValue.getValue()));
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getOnsetQuarters())) {
+			extendFilterBuilderWithDateElement(
+				filterBuilder,
+				filterBuilderParameters,
+				"QUARTER",
+				tableName,
+				fieldName,
+				caseCriteria.getOnsetQuarters(),
+				dateValue -> (dateValue.getValue()));
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getOnsetMonths())) {
+			extendFilterBuilderWithDateElement(
+				filterBuilder,
+				filterBuilderParameters,
+				"MONTH",
+				tableName,
+				fieldName,
+				caseCriteria.getOnsetMonths(),
+				dateValue -> (dateValue.ordinal() + 1));
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getOnsetEpiWeeks())) {
+			extendFilterBuilderWithEpiWeek(
+				filterBuilder,
+				filterBuilderParameters,
+				tableName,
+				epiWeekFieldName,
+				caseCriteria.getOnsetEpiWeeks(),
+				value -> value.getWeek());
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getOnsetQuartersOfYear())) {
+			extendFilterBuilderWithQuarterOfYear(
+				filterBuilder,
+				filterBuilderParameters,
+				tableName,
+				fieldName,
+				caseCriteria.getOnsetQuartersOfYear(),
+				value -> value.getYear().getValue() * 10 + value.getQuarter().getValue());
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getOnsetMonthsOfYear())) {
+			extendFilterBuilderWithMonthOfYear(
+				filterBuilder,
+				filterBuilderParameters,
+				tableName,
+				fieldName,
+				caseCriteria.getOnsetMonthsOfYear(),
+				value -> value.getYear().getValue() * 100 + (value.getMonth().ordinal() + 1));
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getOnsetEpiWeeksOfYear())) {
+			extendFilterBuilderWithEpiWeekOfYear(
+				filterBuilder,
+				filterBuilderParameters,
+				tableName,
+				epiWeekFieldName,
+				caseCriteria.getOnsetEpiWeeksOfYear(),
+				value -> value.getYear() * 100 + value.getWeek());
+		}
+	}
+
+	private void extendFilterBuilderWithSex(
+		StringBuilder filterBuilder,
+		List<Object> filterBuilderParameters,
+		StatisticsCaseCriteria caseCriteria,
+		String tableName,
+		String fieldName) {
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getSexes()) || caseCriteria.isSexUnknown() != null) {
+			if (filterBuilder.length() > 0) {
+				filterBuilder.append(" AND ");
+			}
+
+			filterBuilder.append("(");
+			StringBuilder subFilterBuilder = new StringBuilder();
+
+			if (CollectionUtils.isNotEmpty(caseCriteria.getSexes())) {
+				extendFilterBuilderWithSimpleValue(
+					subFilterBuilder,
+					filterBuilderParameters,
+					tableName,
+					fieldName,
+					caseCriteria.getSexes(),
+					entry -> entry.name());
+			}
+
+			if (caseCriteria.isSexUnknown() != null) {
+				if (subFilterBuilder.length() > 0) {
+					subFilterBuilder.append(" OR ");
+				}
+				subFilterBuilder.append(tableName)
+					.append(".")
+					.append(fieldName)
+					.append(" IS ")
+					.append(caseCriteria.isSexUnknown() == true ? "NULL" : "NOT NULL");
+			}
+
+			filterBuilder.append(subFilterBuilder);
+			filterBuilder.append(")");
+		}
+	}
+
+	private void extendFilterBuilderWithAgeIntervals(
+		StringBuilder filterBuilder,
+		List<Object> filterBuilderParameters,
+		List<IntegerRange> ageIntervals,
+		String tableName,
+		String fieldName) {
+
+		if (CollectionUtils.isNotEmpty(ageIntervals)) {
+			if (filterBuilder.length() > 0) {
+				filterBuilder.append(" AND ");
+			}
+
+			filterBuilder.append("(");
+			StringBuilder subFilterBuilder = new StringBuilder();
+
+			Integer upperRangeBoundary = null;
+			boolean appendUnknown = false;
+			List<Integer> agesList = new ArrayList<Integer>();
+			for (IntegerRange range : ageIntervals) {
+				if (range.getTo() == null) {
+					if (range.getFrom() == null) {
+						appendUnknown = true;
+					} else {
+						upperRangeBoundary = range.getFrom();
+					}
+				} else {
+					agesList.addAll(IntStream.rangeClosed(range.getFrom(), range.getTo()).boxed().collect(Collectors.toList()));
+				}
+			}
+
+			if (agesList.size() > 0) {
+				extendFilterBuilderWithSimpleValue(
+					subFilterBuilder,
+					filterBuilderParameters,
+					tableName,
+					fieldName,
+					agesList,
+					value -> value);
+			}
+
+			if (upperRangeBoundary != null) {
+				if (subFilterBuilder.length() > 0) {
+					subFilterBuilder.append(" OR ");
+				}
+				subFilterBuilder.append(tableName).append(".").append(fieldName).append(" >= ?").append(filterBuilderParameters.size() + 1);
+				filterBuilderParameters.add(upperRangeBoundary);
+			}
+
+			if (appendUnknown) {
+				if (subFilterBuilder.length() > 0) {
+					subFilterBuilder.append(" OR ");
+				}
+				subFilterBuilder.append(tableName).append(".").append(fieldName).append(" IS NULL");
+			}
+
+			filterBuilder.append(subFilterBuilder);
+			filterBuilder.append(")");
+		}
+	}
+
 	private void extendFilterBuilderWithLike(StringBuilder filterBuilder, String tableName, String fieldName, String filterValue) {
 
 		if (filterBuilder.length() > 0) {
@@ -1424,88 +1732,16 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		case AGE_INTERVAL_CHILDREN_FINE:
 		case AGE_INTERVAL_CHILDREN_MEDIUM:
 		case AGE_INTERVAL_BASIC:
-			extendGroupingBuilderWithAgeInterval(groupingSelectPartBuilder, grouping, groupAlias);
+			extendGroupingBuilderWithAgeInterval(groupingSelectPartBuilder, grouping, Case.TABLE_NAME, Case.CASE_AGE, groupAlias);
 			break;
 		case ONSET_TIME:
-			switch (subGrouping) {
-			case YEAR:
-				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "YEAR", Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
-				break;
-			case QUARTER:
-				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "QUARTER", Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
-				break;
-			case MONTH:
-				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "MONTH", Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
-				break;
-			case EPI_WEEK:
-				extendGroupingBuilderWithEpiWeek(groupingSelectPartBuilder, Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
-				break;
-			case QUARTER_OF_YEAR:
-				extendGroupingBuilderWithQuarterOfYear(groupingSelectPartBuilder, Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
-				break;
-			case MONTH_OF_YEAR:
-				extendGroupingBuilderWithMonthOfYear(groupingSelectPartBuilder, Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
-				break;
-			case EPI_WEEK_OF_YEAR:
-				extendGroupingBuilderWithEpiWeekOfYear(groupingSelectPartBuilder, Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
-				break;
-			default:
-				throw new IllegalArgumentException(subGrouping.toString());
-			}
+			extendGroupingBuilderWithTime(groupingSelectPartBuilder, subGrouping, Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
 			break;
 		case REPORT_TIME:
-			switch (subGrouping) {
-			case YEAR:
-				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "YEAR", Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
-				break;
-			case QUARTER:
-				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "QUARTER", Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
-				break;
-			case MONTH:
-				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "MONTH", Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
-				break;
-			case EPI_WEEK:
-				extendGroupingBuilderWithEpiWeek(groupingSelectPartBuilder, Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
-				break;
-			case QUARTER_OF_YEAR:
-				extendGroupingBuilderWithQuarterOfYear(groupingSelectPartBuilder, Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
-				break;
-			case MONTH_OF_YEAR:
-				extendGroupingBuilderWithMonthOfYear(groupingSelectPartBuilder, Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
-				break;
-			case EPI_WEEK_OF_YEAR:
-				extendGroupingBuilderWithEpiWeekOfYear(groupingSelectPartBuilder, Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
-				break;
-			default:
-				throw new IllegalArgumentException(subGrouping.toString());
-			}
+			extendGroupingBuilderWithTime(groupingSelectPartBuilder, subGrouping, Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
 			break;
 		case OUTCOME_TIME:
-			switch (subGrouping) {
-			case YEAR:
-				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "YEAR", Case.TABLE_NAME, Case.OUTCOME_DATE, groupAlias);
-				break;
-			case QUARTER:
-				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "QUARTER", Case.TABLE_NAME, Case.OUTCOME_DATE, groupAlias);
-				break;
-			case MONTH:
-				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "MONTH", Case.TABLE_NAME, Case.OUTCOME_DATE, groupAlias);
-				break;
-			case EPI_WEEK:
-				extendGroupingBuilderWithEpiWeek(groupingSelectPartBuilder, Case.TABLE_NAME, Case.OUTCOME_DATE, groupAlias);
-				break;
-			case QUARTER_OF_YEAR:
-				extendGroupingBuilderWithQuarterOfYear(groupingSelectPartBuilder, Case.TABLE_NAME, Case.OUTCOME_DATE, groupAlias);
-				break;
-			case MONTH_OF_YEAR:
-				extendGroupingBuilderWithMonthOfYear(groupingSelectPartBuilder, Case.TABLE_NAME, Case.OUTCOME_DATE, groupAlias);
-				break;
-			case EPI_WEEK_OF_YEAR:
-				extendGroupingBuilderWithEpiWeekOfYear(groupingSelectPartBuilder, Case.TABLE_NAME, Case.OUTCOME_DATE, groupAlias);
-				break;
-			default:
-				throw new IllegalArgumentException(subGrouping.toString());
-			}
+			extendGroupingBuilderWithTime(groupingSelectPartBuilder, subGrouping, Case.TABLE_NAME, Case.OUTCOME_DATE, groupAlias);
 			break;
 		case REPORTING_USER_ROLE:
 			groupingSelectPartBuilder.append(User.TABLE_NAME_USERROLES)
@@ -1520,6 +1756,40 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		return groupingSelectPartBuilder.toString();
 	}
 
+	private void extendGroupingBuilderWithTime(
+		StringBuilder groupingBuilder,
+		StatisticsCaseSubAttribute subGrouping,
+		String tableName,
+		String fieldName,
+		String groupAlias) {
+
+		switch (subGrouping) {
+		case YEAR:
+			extendGroupingBuilderWithDate(groupingBuilder, "YEAR", tableName, fieldName, groupAlias);
+			break;
+		case QUARTER:
+			extendGroupingBuilderWithDate(groupingBuilder, "QUARTER", tableName, fieldName, groupAlias);
+			break;
+		case MONTH:
+			extendGroupingBuilderWithDate(groupingBuilder, "MONTH", tableName, fieldName, groupAlias);
+			break;
+		case EPI_WEEK:
+			extendGroupingBuilderWithEpiWeek(groupingBuilder, tableName, fieldName, groupAlias);
+			break;
+		case QUARTER_OF_YEAR:
+			extendGroupingBuilderWithQuarterOfYear(groupingBuilder, tableName, fieldName, groupAlias);
+			break;
+		case MONTH_OF_YEAR:
+			extendGroupingBuilderWithMonthOfYear(groupingBuilder, tableName, fieldName, groupAlias);
+			break;
+		case EPI_WEEK_OF_YEAR:
+			extendGroupingBuilderWithEpiWeekOfYear(groupingBuilder, tableName, fieldName, groupAlias);
+			break;
+		default:
+			throw new IllegalArgumentException(subGrouping.toString());
+		}
+	}
+
 	private void extendGroupingBuilderWithDate(
 		StringBuilder groupingBuilder,
 		String dateToExtract,
@@ -1584,16 +1854,21 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			.append(groupAlias);
 	}
 
-	private void extendGroupingBuilderWithAgeInterval(StringBuilder groupingBuilder, StatisticsCaseAttribute grouping, String groupAlias) {
+	private void extendGroupingBuilderWithAgeInterval(
+		StringBuilder groupingBuilder,
+		StatisticsCaseAttribute grouping,
+		String tableName,
+		String fieldName,
+		String groupAlias) {
 
 		groupingBuilder.append("CASE ");
 		switch (grouping) {
 		case AGE_INTERVAL_1_YEAR:
 			for (int i = 0; i < 80; i++) {
 				groupingBuilder.append("WHEN ")
-					.append(Case.TABLE_NAME)
+					.append(tableName)
 					.append(".")
-					.append(Case.CASE_AGE)
+					.append(fieldName)
 					.append(" = ")
 					.append(i < 10 ? "0" + i : i)
 					.append(" THEN ")
@@ -1604,24 +1879,24 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			break;
 		case AGE_INTERVAL_5_YEARS:
 			for (AgeGroup ageGroup : AgeGroup.values()) {
-				addAgeGroupToStringBuilder(groupingBuilder, ageGroup);
+				addAgeGroupToStringBuilder(groupingBuilder, tableName, fieldName, ageGroup);
 			}
 			break;
 		case AGE_INTERVAL_CHILDREN_COARSE:
-			addAgeIntervalToStringBuilder(groupingBuilder, 0, 14);
+			addAgeIntervalToStringBuilder(groupingBuilder, tableName, fieldName, 0, 14);
 			for (int i = 15; i < 30; i += 5) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 4);
+				addAgeIntervalToStringBuilder(groupingBuilder, tableName, fieldName, i, 4);
 			}
 			for (int i = 30; i < 80; i += 10) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 9);
+				addAgeIntervalToStringBuilder(groupingBuilder, tableName, fieldName, i, 9);
 			}
 			break;
 		case AGE_INTERVAL_CHILDREN_FINE:
 			for (int i = 0; i < 5; i++) {
 				groupingBuilder.append("WHEN ")
-					.append(Case.TABLE_NAME)
+					.append(tableName)
 					.append(".")
-					.append(Case.CASE_AGE)
+					.append(fieldName)
 					.append(" = ")
 					.append(i)
 					.append(" THEN ")
@@ -1632,44 +1907,44 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 					.append("' ");
 			}
 			for (int i = 5; i < 30; i += 5) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 4);
+				addAgeIntervalToStringBuilder(groupingBuilder, tableName, fieldName, i, 4);
 			}
 			for (int i = 30; i < 80; i += 10) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 9);
+				addAgeIntervalToStringBuilder(groupingBuilder, tableName, fieldName, i, 9);
 			}
 			break;
 		case AGE_INTERVAL_CHILDREN_MEDIUM:
 			for (int i = 0; i < 30; i += 5) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 4);
+				addAgeIntervalToStringBuilder(groupingBuilder, tableName, fieldName, i, 4);
 			}
 			for (int i = 30; i < 80; i += 10) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 9);
+				addAgeIntervalToStringBuilder(groupingBuilder, tableName, fieldName, i, 9);
 			}
 			break;
 		case AGE_INTERVAL_BASIC:
-			addAgeIntervalToStringBuilder(groupingBuilder, 0, 0);
-			addAgeIntervalToStringBuilder(groupingBuilder, 1, 3);
-			addAgeIntervalToStringBuilder(groupingBuilder, 5, 9);
-			groupingBuilder.append("WHEN ").append(Case.TABLE_NAME).append(".").append(Case.CASE_AGE).append(" >= 15 THEN '15+' ");
+			addAgeIntervalToStringBuilder(groupingBuilder, tableName, fieldName, 0, 0);
+			addAgeIntervalToStringBuilder(groupingBuilder, tableName, fieldName, 1, 3);
+			addAgeIntervalToStringBuilder(groupingBuilder, tableName, fieldName, 5, 9);
+			groupingBuilder.append("WHEN ").append(tableName).append(".").append(fieldName).append(" >= 15 THEN '15+' ");
 			break;
 		default:
 			throw new IllegalArgumentException(grouping.toString());
 		}
 
 		if (grouping != StatisticsCaseAttribute.AGE_INTERVAL_BASIC && grouping != StatisticsCaseAttribute.AGE_INTERVAL_5_YEARS) {
-			groupingBuilder.append("WHEN ").append(Case.TABLE_NAME).append(".").append(Case.CASE_AGE).append(" >= 80 THEN '80+' ");
+			groupingBuilder.append("WHEN ").append(tableName).append(".").append(fieldName).append(" >= 80 THEN '80+' ");
 		}
 		groupingBuilder.append("ELSE NULL END AS " + groupAlias);
 	}
 
-	private void addAgeIntervalToStringBuilder(StringBuilder groupingBuilder, int number, int increase) {
+	private void addAgeIntervalToStringBuilder(StringBuilder groupingBuilder, String tableName, String fieldName, int number, int increase) {
 
 		String lowerNumberString = number < 10 ? "0" + number : String.valueOf(number);
 		String higherNumberString = number + increase < 10 ? "0" + (number + increase) : String.valueOf(number + increase);
 		groupingBuilder.append("WHEN ")
-			.append(Case.TABLE_NAME)
+			.append(tableName)
 			.append(".")
-			.append(Case.CASE_AGE)
+			.append(fieldName)
 			.append(" BETWEEN ")
 			.append(number)
 			.append(" AND ")
@@ -1681,10 +1956,10 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			.append("' ");
 	}
 
-	private void addAgeGroupToStringBuilder(StringBuilder groupingBuilder, AgeGroup ageGroup) {
+	private void addAgeGroupToStringBuilder(StringBuilder groupingBuilder, String tableName, String fieldName, AgeGroup ageGroup) {
 
 		IntegerRange ageRange = ageGroup.toIntegerRange();
-		groupingBuilder.append("WHEN ").append(Case.TABLE_NAME).append(".").append(Case.CASE_AGE);
+		groupingBuilder.append("WHEN ").append(tableName).append(".").append(fieldName);
 		if (ageRange.getTo() == null) {
 			groupingBuilder.append(" >= ").append(ageRange.getFrom());
 		} else {
@@ -19,6 +19,7 @@ package de.symeda.sormas.backend.caze.classification;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -72,12 +73,18 @@ import de.symeda.sormas.api.symptoms.SymptomsDto;
 import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.api.utils.YesNoUnknown;
 import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
+import de.symeda.sormas.backend.event.Event;
 import de.symeda.sormas.backend.event.EventFacadeEjb;
 import de.symeda.sormas.backend.event.EventService;
 import de.symeda.sormas.backend.immunization.ImmunizationService;
+import de.symeda.sormas.backend.person.PersonFacadeEjb;
 import de.symeda.sormas.backend.person.PersonFacadeEjb.PersonFacadeEjbLocal;
+import de.symeda.sormas.backend.person.PersonService;
+import de.symeda.sormas.backend.sample.PathogenTest;
 import de.symeda.sormas.backend.sample.PathogenTestFacadeEjb;
 import de.symeda.sormas.backend.sample.PathogenTestService;
+import de.symeda.sormas.backend.util.IterableHelper;
+import de.symeda.sormas.backend.util.ModelConstants;
 
 /**
  * Stateless instead of Singleton. It's ok to have multiple instances with an
@@ -91,6 +98,8 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 	@EJB
 	private PersonFacadeEjbLocal personFacade;
 	@EJB
+	private PersonService personService;
+	@EJB
 	private PathogenTestService pathogenTestService;
 	@EJB
 	private ConfigFacadeEjbLocal configFacade;
@@ -101,26 +110,77 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 
 	/** local cache */
 	private final Map<Disease, DiseaseClassificationCriteriaDto> criteriaMap = new HashMap<>();
+	/** The country locale the cached criteria have been built for; some criteria depend on it */
+	private String criteriaCountryLocale;
 
 	@Override
 	public CaseClassification getClassification(CaseDataDto caze) {
 
-		if (criteriaMap.isEmpty()) {
-			buildCriteria();
-		}
-
 		PersonDto person = personFacade.getPersonByUuid(caze.getPerson().getUuid());
 		List<PathogenTestDto> pathogenTests = pathogenTestService.getAllByCase(caze.getUuid())
 			.stream()
 			.map(PathogenTestFacadeEjb.PathogenTestFacadeEjbLocal::toDto)
 			.collect(Collectors.toList());
 		List<EventDto> caseEvents = eventService.getAllByCase(caze.getUuid()).stream().map(EventFacadeEjb::toDto).collect(Collectors.toList());
+
+		return classify(caze, person, pathogenTests, caseEvents, configFacade.isConfiguredCountry(CountryHelper.COUNTRY_CODE_GERMANY));
+	}
+
+	/**
+	 * Classifies several cases at once. Persons, pathogen tests and events of all cases are loaded with
+	 * a fixed number of queries instead of three queries per case.
+	 * Persons are not pseudonymized, so that this also works without a current user, e.g. when called by the CronService.
+	 * 
+	 * @return The classification of each case by case uuid
+	 */
+	public Map<String, CaseClassification> getClassifications(List<CaseDataDto> cases) {
+
+		if (cases.isEmpty()) {
+			return Collections.emptyMap();
+		}
+
+		List<String> caseUuids = cases.stream().map(CaseDataDto::getUuid).collect(Collectors.toList());
+		List<String> personUuids = cases.stream().map(c -> c.getPerson().getUuid()).distinct().collect(Collectors.toList());
+
+		Map<String, PersonDto> persons = new HashMap<>();
+		IterableHelper.executeBatched(
+			personUuids,
+			ModelConstants.PARAMETER_LIMIT,
+			batchedPersonUuids -> personService.getByUuids(batchedPersonUuids)
+				.forEach(p -> persons.put(p.getUuid(), PersonFacadeEjb.toDto(p))));
+		Map<String, List<PathogenTest>> pathogenTestsByCase = pathogenTestService.getAllByCases(caseUuids);
+		Map<String, List<Event>> eventsByCase = eventService.getAllByCases(caseUuids);
+		boolean germanServer = configFacade.isConfiguredCountry(CountryHelper.COUNTRY_CODE_GERMANY);
+
+		Map<String, CaseClassification> classifications = new HashMap<>(cases.size());
+		for (CaseDataDto caze : cases) {
+			List<PathogenTestDto> pathogenTests = pathogenTestsByCase.getOrDefault(caze.getUuid(), Collections.emptyList())
+				.stream()
+				.map(PathogenTestFacadeEjb.PathogenTestFacadeEjbLocal::toDto)
+				.collect(Collectors.toList());
+			List<EventDto> caseEvents =
+				eventsByCase.getOrDefault(caze.getUuid(), Collections.emptyList()).stream().map(EventFacadeEjb::toDto).collect(Collectors.toList());
+
+			classifications
+				.put(caze.getUuid(), classify(caze, persons.get(caze.getPerson().getUuid()), pathogenTests, caseEvents, germanServer));
+		}
+
+		return classifications;
+	}
+
+	private CaseClassification classify(
+		CaseDataDto caze,
+		PersonDto person,
+		List<PathogenTestDto> pathogenTests,
+		List<EventDto> caseEvents,
+		boolean germanServer) {
+
 		Date lastVaccinationDate = null;
 		if (caze.getDisease() == Disease.YELLOW_FEVER && caze.getVaccinationStatus() == VaccinationStatus.VACCINATED) {
 			lastVaccinationDate = immunizationService.getLastVaccinationDateBefore(person.getUuid(), caze.getDisease(), CaseLogic.getStartDate(caze));
 		}
 
-		DiseaseClassificationCriteriaDto criteria = criteriaMap.get(caze.getDisease());
+		DiseaseClassificationCriteriaDto criteria = getCriteriaMap().get(caze.getDisease());
 
 		if (criteria != null) {
 			if (criteria.getConfirmedCriteria() != null
@@ -135,7 +195,7 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 			} else if (criteria.getSuspectCriteria() != null
 				&& criteria.getSuspectCriteria().eval(caze, person, pathogenTests, caseEvents, lastVaccinationDate)) {
 				return CaseClassification.SUSPECT;
-			} else if (configFacade.isConfiguredCountry(CountryHelper.COUNTRY_CODE_GERMANY)) {
+			} else if (germanServer) {
 				if (criteria.getConfirmedNoSymptomsCriteria() != null
 					&& criteria.getConfirmedNoSymptomsCriteria().eval(caze, person, pathogenTests, caseEvents, lastVaccinationDate)) {
 					return CaseClassification.CONFIRMED_NO_SYMPTOMS;
@@ -148,15 +208,26 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 		return CaseClassification.NOT_CLASSIFIED;
 	}
 
-	@Override
-	public List<DiseaseClassificationCriteriaDto> getAllSince(Date changeDate) {
+	/**
+	 * The criteria are built once per instance and rebuilt when the country locale they depend on has changed.
+	 */
+	private Map<Disease, DiseaseClassificationCriteriaDto> getCriteriaMap() {
 
-		if (criteriaMap.isEmpty()) {
+		String countryLocale = configFacade.getCountryLocale();
+		if (criteriaMap.isEmpty() || !countryLocale.equals(criteriaCountryLocale)) {
+			criteriaMap.clear();
 			buildCriteria();
+			criteriaCountryLocale = countryLocale;
 		}
 
+		return criteriaMap;
+	}
+
+	@Override
+	public List<DiseaseClassificationCriteriaDto> getAllSince(Date changeDate) {
+
 		List<DiseaseClassificationCriteriaDto> results = new ArrayList<>();
-		for (DiseaseClassificationCriteriaDto criteria : criteriaMap.values()) {
+		for (DiseaseClassificationCriteriaDto criteria : getCriteriaMap().values()) {
 			if (criteria.getChangeDate().after(changeDate)) {
 				results.add(criteria);
 			}
@@ -168,11 +239,7 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 	@Override
 	public DiseaseClassificationCriteriaDto getByDisease(Disease disease) {
 
-		if (criteriaMap.isEmpty()) {
-			buildCriteria();
-		}
-
-		return criteriaMap.getOrDefault(disease, null);
+		return getCriteriaMap().getOrDefault(disease, null);
 	}
 
 	private void buildCriteria() {
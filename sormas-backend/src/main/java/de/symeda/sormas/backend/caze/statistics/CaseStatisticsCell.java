@@ -0,0 +1,240 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.caze.statistics;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.persistence.Transient;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.caze.CaseOutcome;
+import de.symeda.sormas.api.person.Sex;
+import de.symeda.sormas.backend.infrastructure.district.District;
+import de.symeda.sormas.backend.infrastructure.region.Region;
+
+/**
+ * One cell of the case statistics cube: The number of (not deleted) cases that share the same values for all dimensions.
+ * The onset date is only kept as the start of its month and of its epi week, and the age as the start of its age group
+ * (see {@link #getAgeGroupStart(Integer)}), which is all the statistics can be grouped or filtered by. This keeps the
+ * number of cells far below the number of cases.
+ */
+@Entity(name = CaseStatisticsCell.TABLE_NAME)
+public class CaseStatisticsCell implements Serializable {
+
+	private static final long serialVersionUID = -2459226417412843620L;
+
+	public static final String TABLE_NAME = "casestatisticscell";
+
+	public static final String ID = "id";
+	public static final String DISEASE = "disease";
+	public static final String CASE_CLASSIFICATION = "caseClassification";
+	public static final String OUTCOME = "outcome";
+	public static final String RESPONSIBLE_REGION = "responsibleRegion";
+	public static final String RESPONSIBLE_DISTRICT = "responsibleDistrict";
+	public static final String ONSET_MONTH = "onsetMonth";
+	public static final String ONSET_WEEK = "onsetWeek";
+	public static final String SEX = "sex";
+	public static final String AGE_GROUP_START = "ageGroupStart";
+	public static final String CASE_COUNT = "caseCount";
+
+	private Long id;
+	private Disease disease;
+	private CaseClassification caseClassification;
+	private CaseOutcome outcome;
+	private Region responsibleRegion;
+	private District responsibleDistrict;
+	private Date onsetMonth;
+	private Date onsetWeek;
+	private Sex sex;
+	private Integer ageGroupStart;
+	private int caseCount;
+
+	@Id
+	@SequenceGenerator(name = "CASESTATISTICSCELL_SEQ_GEN", allocationSize = 1, sequenceName = "ENTITY_SEQ")
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "CASESTATISTICSCELL_SEQ_GEN")
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	@Enumerated(EnumType.STRING)
+	public Disease getDisease() {
+		return disease;
+	}
+
+	public void setDisease(Disease disease) {
+		this.disease = disease;
+	}
+
+	@Enumerated(EnumType.STRING)
+	public CaseClassification getCaseClassification() {
+		return caseClassification;
+	}
+
+	public void setCaseClassification(CaseClassification caseClassification) {
+		this.caseClassification = caseClassification;
+	}
+
+	@Enumerated(EnumType.STRING)
+	public CaseOutcome getOutcome() {
+		return outcome;
+	}
+
+	public void setOutcome(CaseOutcome outcome) {
+		this.outcome = outcome;
+	}
+
+	@ManyToOne(cascade = {})
+	public Region getResponsibleRegion() {
+		return responsibleRegion;
+	}
+
+	public void setResponsibleRegion(Region responsibleRegion) {
+		this.responsibleRegion = responsibleRegion;
+	}
+
+	@ManyToOne(cascade = {})
+	public District getResponsibleDistrict() {
+		return responsibleDistrict;
+	}
+
+	public void setResponsibleDistrict(District responsibleDistrict) {
+		this.responsibleDistrict = responsibleDistrict;
+	}
+
+	/**
+	 * @return The first day of the month of the onset date.
+	 */
+	@Temporal(TemporalType.TIMESTAMP)
+	public Date getOnsetMonth() {
+		return onsetMonth;
+	}
+
+	public void setOnsetMonth(Date onsetMonth) {
+		this.onsetMonth = onsetMonth;
+	}
+
+	/**
+	 * @return The first day (Monday) of the epi week of the onset date.
+	 */
+	@Temporal(TemporalType.TIMESTAMP)
+	public Date getOnsetWeek() {
+		return onsetWeek;
+	}
+
+	public void setOnsetWeek(Date onsetWeek) {
+		this.onsetWeek = onsetWeek;
+	}
+
+	@Enumerated(EnumType.STRING)
+	public Sex getSex() {
+		return sex;
+	}
+
+	public void setSex(Sex sex) {
+		this.sex = sex;
+	}
+
+	public Integer getAgeGroupStart() {
+		return ageGroupStart;
+	}
+
+	public void setAgeGroupStart(Integer ageGroupStart) {
+		this.ageGroupStart = ageGroupStart;
+	}
+
+	@Column(nullable = false)
+	public int getCaseCount() {
+		return caseCount;
+	}
+
+	public void setCaseCount(int caseCount) {
+		this.caseCount = caseCount;
+	}
+
+	/**
+	 * @return The values of all dimensions, usable as a key to identify the cell.
+	 */
+	@Transient
+	public List<Object> getDimensionKey() {
+		return buildDimensionKey(
+			disease,
+			caseClassification,
+			outcome,
+			responsibleRegion != null ? responsibleRegion.getId() : null,
+			responsibleDistrict != null ? responsibleDistrict.getId() : null,
+			onsetMonth,
+			onsetWeek,
+			sex,
+			ageGroupStart);
+	}
+
+	public static List<Object> buildDimensionKey(
+		Disease disease,
+		CaseClassification caseClassification,
+		CaseOutcome outcome,
+		Long responsibleRegionId,
+		Long responsibleDistrictId,
+		Date onsetMonth,
+		Date onsetWeek,
+		Sex sex,
+		Integer ageGroupStart) {
+
+		// dates are compared by their time, because java.sql.Timestamp is not equal to an equivalent java.util.Date
+		return Arrays.asList(
+			disease,
+			caseClassification,
+			outcome,
+			responsibleRegionId,
+			responsibleDistrictId,
+			onsetMonth != null ? onsetMonth.getTime() : null,
+			onsetWeek != null ? onsetWeek.getTime() : null,
+			sex,
+			ageGroupStart);
+	}
+
+	/**
+	 * The age groups are the finest ones all age groupings of the statistics are made of: Each year up to 4, then
+	 * {@link de.symeda.sormas.api.AgeGroup}s of 5 years up to 80+.
+	 *
+	 * @return The first age of the age group of the age.
+	 */
+	public static Integer getAgeGroupStart(Integer age) {
+
+		if (age == null || age < 5) {
+			return age;
+		}
+		return age >= 80 ? 80 : age - age % 5;
+	}
+}
@@ -0,0 +1,337 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.caze.statistics;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.ejb.LocalBean;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.caze.CaseOutcome;
+import de.symeda.sormas.api.person.Sex;
+import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.caze.Case;
+import de.symeda.sormas.backend.common.AbstractDomainObject;
+import de.symeda.sormas.backend.infrastructure.district.District;
+import de.symeda.sormas.backend.infrastructure.region.Region;
+import de.symeda.sormas.backend.person.Person;
+import de.symeda.sormas.backend.symptoms.Symptoms;
+import de.symeda.sormas.backend.util.IterableHelper;
+import de.symeda.sormas.backend.util.ModelConstants;
+
+/**
+ * Maintains the case statistics cube ({@link CaseStatisticsCell}) incrementally: Only cases that have been changed since the
+ * last update are moved from the cell they are counted in to the cell matching their current values.
+ * <p>
+ * Updates are serialized by the singleton lock and committed in their own transaction before the lock is released,
+ * so each update builds on the complete result of the previous one.
+ */
+@Singleton(name = "CaseStatisticsCubeService")
+@LocalBean
+public class CaseStatisticsCubeService {
+
+	/**
+	 * Cases changed within this period before the latest processed change are checked again,
+	 * to also cover changes of transactions that have been committed late.
+	 */
+	private static final int UPDATE_OVERLAP_SECONDS = 10 * 60;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
+	private EntityManager em;
+
+	/**
+	 * Applies all changes of cases, their symptoms and their persons to the cube that have not been applied yet.
+	 */
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public void updateCube() {
+
+		long startTime = System.currentTimeMillis();
+
+		Date latestChangeDate = getLatestProcessedChangeDate();
+		Date since = latestChangeDate != null ? DateHelper.addSeconds(latestChangeDate, -UPDATE_OVERLAP_SECONDS) : null;
+		List<Object[]> changedCases = getChangedCases(since);
+		if (changedCases.isEmpty()) {
+			return;
+		}
+
+		Map<Long, CaseStatisticsEntry> entries = getEntries(changedCases.stream().map(c -> (Long) c[0]).collect(Collectors.toList()));
+		Map<List<Object>, CaseStatisticsCell> cells = new HashMap<>();
+		int movedCases = 0;
+
+		for (Object[] changedCase : changedCases) {
+			Long caseId = (Long) changedCase[0];
+			boolean deleted = Boolean.TRUE.equals(changedCase[9]);
+			Date changeDate = getLatestDate((Date) changedCase[10], (Date) changedCase[11], (Date) changedCase[12]);
+
+			CaseStatisticsEntry entry = entries.get(caseId);
+			if (deleted) {
+				if (entry != null) {
+					decrementCell(cells, entry.getCell());
+					em.remove(entry);
+					movedCases++;
+				}
+				continue;
+			}
+
+			Date onsetDate = (Date) changedCase[6];
+			Date onsetMonth = onsetDate != null ? DateHelper.getStartOfMonth(onsetDate) : null;
+			Date onsetWeek = onsetDate != null ? DateHelper.getStartOfWeek(onsetDate) : null;
+			Integer ageGroupStart = CaseStatisticsCell.getAgeGroupStart((Integer) changedCase[8]);
+			List<Object> dimensionKey = CaseStatisticsCell.buildDimensionKey(
+				(Disease) changedCase[1],
+				(CaseClassification) changedCase[2],
+				(CaseOutcome) changedCase[3],
+				(Long) changedCase[4],
+				(Long) changedCase[5],
+				onsetMonth,
+				onsetWeek,
+				(Sex) changedCase[7],
+				ageGroupStart);
+
+			if (entry == null) {
+				entry = new CaseStatisticsEntry();
+				entry.setCaseId(caseId);
+				entry.setCell(getOrCreateCell(cells, dimensionKey, changedCase, onsetMonth, onsetWeek, ageGroupStart));
+				entry.getCell().setCaseCount(entry.getCell().getCaseCount() + 1);
+				em.persist(entry);
+				movedCases++;
+			} else if (!entry.getCell().getDimensionKey().equals(dimensionKey)) {
+				decrementCell(cells, entry.getCell());
+				entry.setCell(getOrCreateCell(cells, dimensionKey, changedCase, onsetMonth, onsetWeek, ageGroupStart));
+				entry.getCell().setCaseCount(entry.getCell().getCaseCount() + 1);
+				movedCases++;
+			}
+
+			if (entry.getChangeDate() == null || changeDate.after(entry.getChangeDate())) {
+				entry.setChangeDate(changeDate);
+			}
+		}
+
+		em.flush();
+
+		logger.debug(
+			"updateCube(): checked {} changed cases, moved {} cases in {} ms",
+			changedCases.size(),
+			movedCases,
+			System.currentTimeMillis() - startTime);
+	}
+
+	private Date getLatestProcessedChangeDate() {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Date> cq = cb.createQuery(Date.class);
+		Root<CaseStatisticsEntry> from = cq.from(CaseStatisticsEntry.class);
+		cq.select(cb.greatest(from.<Date> get(CaseStatisticsEntry.CHANGE_DATE)));
+		return em.createQuery(cq).getSingleResult();
+	}
+
+	/**
+	 * @return The values of {@link #getCaseValues(List)} of all cases changed after {@code since}. The cases changed by
+	 *         their own, their symptoms' or their person's change date are looked up separately and merged, so that each
+	 *         lookup can use the change date index of its table instead of scanning all cases for the disjunction.
+	 */
+	private List<Object[]> getChangedCases(Date since) {
+
+		if (since == null) {
+			// initial filling: deleted cases are not counted anyway
+			return getCaseValues(null);
+		}
+
+		Set<Long> changedCaseIds = new LinkedHashSet<>();
+		changedCaseIds.addAll(getCaseIdsChangedAfter(since, caze -> caze.<Date> get(AbstractDomainObject.CHANGE_DATE)));
+		changedCaseIds.addAll(getCaseIdsChangedAfter(since, caze -> caze.join(Case.SYMPTOMS).<Date> get(AbstractDomainObject.CHANGE_DATE)));
+		changedCaseIds.addAll(getCaseIdsChangedAfter(since, caze -> caze.join(Case.PERSON).<Date> get(AbstractDomainObject.CHANGE_DATE)));
+
+		List<Object[]> changedCases = new ArrayList<>(changedCaseIds.size());
+		IterableHelper.executeBatched(
+			new ArrayList<>(changedCaseIds),
+			ModelConstants.PARAMETER_LIMIT,
+			batchedCaseIds -> changedCases.addAll(getCaseValues(batchedCaseIds)));
+		return changedCases;
+	}
+
+	private List<Long> getCaseIdsChangedAfter(Date since, Function<Root<Case>, Path<Date>> changeDate) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+		Root<Case> caze = cq.from(Case.class);
+		cq.select(caze.get(AbstractDomainObject.ID));
+		cq.where(cb.greaterThan(changeDate.apply(caze), since));
+		return em.createQuery(cq).getResultList();
+	}
+
+	/**
+	 * @param caseIds
+	 *            The cases to get the values of, {@code null} for all cases that are not deleted
+	 * @return id, disease, classification, outcome, responsible region id, responsible district id, onset date, sex, age,
+	 *         deleted flag and the change dates of case, symptoms and person of each case
+	 */
+	private List<Object[]> getCaseValues(List<Long> caseIds) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<Case> caze = cq.from(Case.class);
+		Join<Case, Symptoms> symptoms = caze.join(Case.SYMPTOMS);
+		Join<Case, Person> person = caze.join(Case.PERSON);
+		Join<Case, Region> region = caze.join(Case.RESPONSIBLE_REGION, JoinType.LEFT);
+		Join<Case, District> district = caze.join(Case.RESPONSIBLE_DISTRICT, JoinType.LEFT);
+
+		cq.multiselect(
+			caze.get(AbstractDomainObject.ID),
+			caze.get(Case.DISEASE),
+			caze.get(Case.CASE_CLASSIFICATION),
+			caze.get(Case.OUTCOME),
+			region.get(AbstractDomainObject.ID),
+			district.get(AbstractDomainObject.ID),
+			symptoms.get(Symptoms.ONSET_DATE),
+			person.get(Person.SEX),
+			caze.get(Case.CASE_AGE),
+			caze.get(Case.DELETED),
+			caze.get(AbstractDomainObject.CHANGE_DATE),
+			symptoms.get(AbstractDomainObject.CHANGE_DATE),
+			person.get(AbstractDomainObject.CHANGE_DATE));
+
+		if (caseIds != null) {
+			cq.where(caze.get(AbstractDomainObject.ID).in(caseIds));
+		} else {
+			cq.where(cb.isFalse(caze.get(Case.DELETED)));
+		}
+
+		return em.createQuery(cq).getResultList();
+	}
+
+	private Map<Long, CaseStatisticsEntry> getEntries(List<Long> caseIds) {
+
+		Map<Long, CaseStatisticsEntry> entries = new HashMap<>();
+		IterableHelper.executeBatched(caseIds, ModelConstants.PARAMETER_LIMIT, batchedCaseIds -> {
+			CriteriaBuilder cb = em.getCriteriaBuilder();
+			CriteriaQuery<CaseStatisticsEntry> cq = cb.createQuery(CaseStatisticsEntry.class);
+			Root<CaseStatisticsEntry> from = cq.from(CaseStatisticsEntry.class);
+			from.fetch(CaseStatisticsEntry.CELL);
+			cq.where(from.get(CaseStatisticsEntry.CASE_ID).in(batchedCaseIds));
+			for (CaseStatisticsEntry entry : em.createQuery(cq).getResultList()) {
+				entries.put(entry.getCaseId(), entry);
+			}
+		});
+		return entries;
+	}
+
+	private CaseStatisticsCell getOrCreateCell(
+		Map<List<Object>, CaseStatisticsCell> cells,
+		List<Object> dimensionKey,
+		Object[] changedCase,
+		Date onsetMonth,
+		Date onsetWeek,
+		Integer ageGroupStart) {
+
+		CaseStatisticsCell cell = cells.get(dimensionKey);
+		if (cell != null) {
+			return cell;
+		}
+
+		CaseStatisticsCell newCell = new CaseStatisticsCell();
+		newCell.setDisease((Disease) changedCase[1]);
+		newCell.setCaseClassification((CaseClassification) changedCase[2]);
+		newCell.setOutcome((CaseOutcome) changedCase[3]);
+		newCell.setResponsibleRegion(changedCase[4] != null ? em.getReference(Region.class, changedCase[4]) : null);
+		newCell.setResponsibleDistrict(changedCase[5] != null ? em.getReference(District.class, changedCase[5]) : null);
+		newCell.setOnsetMonth(onsetMonth);
+		newCell.setOnsetWeek(onsetWeek);
+		newCell.setSex((Sex) changedCase[7]);
+		newCell.setAgeGroupStart(ageGroupStart);
+
+		cell = findCell(newCell);
+		if (cell == null) {
+			em.persist(newCell);
+			cell = newCell;
+		}
+		cells.put(dimensionKey, cell);
+		return cell;
+	}
+
+	private CaseStatisticsCell findCell(CaseStatisticsCell dimensions) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<CaseStatisticsCell> cq = cb.createQuery(CaseStatisticsCell.class);
+		Root<CaseStatisticsCell> from = cq.from(CaseStatisticsCell.class);
+
+		List<Predicate> filters = new ArrayList<>();
+		filters.add(equalOrNull(cb, from.get(CaseStatisticsCell.DISEASE), dimensions.getDisease()));
+		filters.add(equalOrNull(cb, from.get(CaseStatisticsCell.CASE_CLASSIFICATION), dimensions.getCaseClassification()));
+		filters.add(equalOrNull(cb, from.get(CaseStatisticsCell.OUTCOME), dimensions.getOutcome()));
+		filters.add(equalOrNull(cb, from.get(CaseStatisticsCell.RESPONSIBLE_REGION), dimensions.getResponsibleRegion()));
+		filters.add(equalOrNull(cb, from.get(CaseStatisticsCell.RESPONSIBLE_DISTRICT), dimensions.getResponsibleDistrict()));
+		filters.add(equalOrNull(cb, from.get(CaseStatisticsCell.ONSET_MONTH), dimensions.getOnsetMonth()));
+		filters.add(equalOrNull(cb, from.get(CaseStatisticsCell.ONSET_WEEK), dimensions.getOnsetWeek()));
+		filters.add(equalOrNull(cb, from.get(CaseStatisticsCell.SEX), dimensions.getSex()));
+		filters.add(equalOrNull(cb, from.get(CaseStatisticsCell.AGE_GROUP_START), dimensions.getAgeGroupStart()));
+		cq.where(filters.toArray(new Predicate[0]));
+
+		List<CaseStatisticsCell> resultList = em.createQuery(cq).setMaxResults(1).getResultList();
+		return resultList.isEmpty() ? null : resultList.get(0);
+	}
+
+	private static Predicate equalOrNull(CriteriaBuilder cb, Path<?> path, Object value) {
+		return value != null ? cb.equal(path, value) : cb.isNull(path);
+	}
+
+	private void decrementCell(Map<List<Object>, CaseStatisticsCell> cells, CaseStatisticsCell cell) {
+
+		cell.setCaseCount(cell.getCaseCount() - 1);
+		// the count equals the number of entries referencing the cell, so an empty cell is no longer needed
+		if (cell.getCaseCount() <= 0) {
+			cells.remove(cell.getDimensionKey());
+			em.remove(cell);
+		}
+	}
+
+	private static Date getLatestDate(Date... dates) {
+
+		Date latestDate = null;
+		for (Date date : dates) {
+			if (date != null && (latestDate == null || date.after(latestDate))) {
+				latestDate = date;
+			}
+		}
+		return latestDate;
+	}
+}
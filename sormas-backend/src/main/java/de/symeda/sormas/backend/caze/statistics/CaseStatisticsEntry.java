@@ -0,0 +1,79 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.caze.statistics;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+/**
+ * Remembers the {@link CaseStatisticsCell} a case is counted in, so that the case can be moved to another cell when it changes.
+ */
+@Entity(name = CaseStatisticsEntry.TABLE_NAME)
+public class CaseStatisticsEntry implements Serializable {
+
+	private static final long serialVersionUID = 6013532658471196455L;
+
+	public static final String TABLE_NAME = "casestatisticsentry";
+
+	public static final String CASE_ID = "caseId";
+	public static final String CELL = "cell";
+	public static final String CHANGE_DATE = "changeDate";
+
+	private Long caseId;
+	private CaseStatisticsCell cell;
+	private Date changeDate;
+
+	@Id
+	@Column(name = "case_id")
+	public Long getCaseId() {
+		return caseId;
+	}
+
+	public void setCaseId(Long caseId) {
+		this.caseId = caseId;
+	}
+
+	@ManyToOne(cascade = {}, optional = false)
+	@JoinColumn(nullable = false)
+	public CaseStatisticsCell getCell() {
+		return cell;
+	}
+
+	public void setCell(CaseStatisticsCell cell) {
+		this.cell = cell;
+	}
+
+	/**
+	 * @return The latest change date of the case, its symptoms and its person when the entry was last updated.
+	 */
+	@Temporal(TemporalType.TIMESTAMP)
+	@Column(nullable = false)
+	public Date getChangeDate() {
+		return changeDate;
+	}
+
+	public void setChangeDate(Date changeDate) {
+		this.changeDate = changeDate;
+	}
+}
@@ -1,14 +1,26 @@
 package de.symeda.sormas.backend.common;
 
 import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
 
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
 import javax.persistence.criteria.From;
 import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
 
 public abstract class AbstractCoreAdoService<ADO extends CoreAdo> extends AdoServiceWithUserFilter<ADO> {
 
+	/**
+	 * Name of the archived flag of the core entities that can be archived.
+	 */
+	private static final String ARCHIVED = "archived";
+
 	public AbstractCoreAdoService(Class<ADO> elementClass) {
 		super(elementClass);
 	}
@@ -28,4 +40,57 @@ public abstract class AbstractCoreAdoService<ADO extends CoreAdo> extends AdoSer
 		}
 		return CriteriaBuilderHelper.greaterThanAndNotNull(cb, parent.get(AbstractDomainObject.CHANGE_DATE), date);
 	}
+
+	/**
+	 * Only applicable to entities that can be archived.
+	 *
+	 * @return The ids of at most {@code limit} entities that are not archived and have not been changed since
+	 *         {@code notChangedSince}, ordered by id and starting after {@code afterId} (if not {@code null}).
+	 */
+	public List<Long> getArchivableIds(Timestamp notChangedSince, Long afterId, int limit) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+		Root<ADO> from = cq.from(getElementClass());
+
+		Predicate filter = cb.and(cb.isFalse(from.get(ARCHIVED)), cb.not(createArchivableChangeDateFilter(cb, from, notChangedSince)));
+		if (afterId != null) {
+			filter = cb.and(filter, cb.greaterThan(from.get(AbstractDomainObject.ID), afterId));
+		}
+
+		cq.select(from.get(AbstractDomainObject.ID));
+		cq.where(filter);
+		cq.distinct(true);
+		cq.orderBy(cb.asc(from.get(AbstractDomainObject.ID)));
+
+		return em.createQuery(cq).setMaxResults(limit).getResultList();
+	}
+
+	/**
+	 * Archives the entities in a new transaction. Only applicable to entities that can be archived.
+	 * The change date is updated as well, so that the archiving is picked up by the synchronization of the mobile app.
+	 */
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public void archive(List<Long> ids) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaUpdate<ADO> cu = cb.createCriteriaUpdate(getElementClass());
+		Root<ADO> root = cu.from(getElementClass());
+
+		cu.set(AbstractDomainObject.CHANGE_DATE, Timestamp.from(Instant.now()));
+		cu.set(root.get(ARCHIVED), true);
+
+		cu.where(root.get(AbstractDomainObject.ID).in(ids));
+
+		em.createQuery(cu).executeUpdate();
+	}
+
+	/**
+	 * Used to find the entities that can be archived. Defaults to {@link #createChangeDateFilter(CriteriaBuilder, From, Timestamp)}.
+	 *
+	 * @return A filter for the entities that have been changed after {@code date}.
+	 */
+	protected Predicate createArchivableChangeDateFilter(CriteriaBuilder cb, From<?, ADO> from, Timestamp date) {
+		return createChangeDateFilter(cb, from, date);
+	}
 }
@@ -0,0 +1,62 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.common;
+
+import javax.ejb.LocalBean;
+import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+
+/**
+ * Runs actions with effects outside of the database, like sending notifications or syncing shares with other SORMAS
+ * instances, once the current transaction has been committed. Actions of a transaction that is rolled back are dropped,
+ * so saving entities again after a rollback, e.g. a chunk of pushed DTOs that is split up, does not run them twice.
+ * <p>
+ * Each action runs in a new transaction, so entities it needs have to be loaded again.
+ */
+@Stateless
+@LocalBean
+public class AfterCommitService {
+
+	@Inject
+	private Event<AfterCommitAction> afterCommitEvent;
+
+	/**
+	 * Runs the action once the current transaction has been committed, or right away if there is none.
+	 */
+	public void execute(Runnable action) {
+		afterCommitEvent.fire(new AfterCommitAction(action));
+	}
+
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public void onAfterCommit(@Observes(during = TransactionPhase.AFTER_SUCCESS) AfterCommitAction action) {
+		// exceptions are logged by the container, they can not affect the committed transaction anymore
+		action.action.run();
+	}
+
+	public static final class AfterCommitAction {
+
+		private final Runnable action;
+
+		private AfterCommitAction(Runnable action) {
+			this.action = action;
+		}
+	}
+}
@@ -18,6 +18,8 @@
 package de.symeda.sormas.backend.common;
 
 import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.function.BiFunction;
@@ -34,6 +36,7 @@ import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.From;
+import javax.persistence.criteria.Order;
 import javax.persistence.criteria.ParameterExpression;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
@@ -178,6 +181,21 @@ public class BaseAdoService<ADO extends AbstractDomainObject> implements AdoServ
 		return em.createQuery(cq).getSingleResult();
 	}
 
+	/**
+	 * @return The number of entities and their latest change date; changes whenever an entity is created, updated or
+	 *         deleted.
+	 */
+	public List<Object> getChangeStamp() {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<ADO> root = cq.from(getElementClass());
+
+		cq.multiselect(cb.count(root), cb.greatest(root.<Date> get(AbstractDomainObject.CHANGE_DATE)));
+
+		return Arrays.asList(em.createQuery(cq).getSingleResult());
+	}
+
 	public List<ADO> getByUuids(List<String> uuids) {
 
 		if (uuids == null || uuids.isEmpty()) {
@@ -200,6 +218,71 @@ public class BaseAdoService<ADO extends AbstractDomainObject> implements AdoServ
 		return createChangeDateFilter(cb, from, DateHelper.toTimestampUpper(date));
 	}
 
+	/**
+	 * Restricts the result to the entities that come after the entity identified by {@code lastChangeDate} and {@code lastUuid}
+	 * in the order defined by {@link #createSyncCursorOrder(CriteriaBuilder, From)}.
+	 * The DTOs only transfer the change date on millisecond precision, so the exact change date and id of the cursor are
+	 * looked up by its uuid. When the cursor entity has been changed since, all entities changed since the millisecond of
+	 * the cursor are returned, which may return some entities twice but never skips one.
+	 * 
+	 * @return {@code null} if no cursor is given
+	 */
+	public Predicate createSyncCursorFilter(CriteriaBuilder cb, From<?, ADO> from, Date lastChangeDate, String lastUuid) {
+
+		if (lastChangeDate == null) {
+			return null;
+		}
+
+		if (lastUuid == null) {
+			return createChangeDateFilter(cb, from, lastChangeDate);
+		}
+
+		CriteriaQuery<Object[]> cursorQuery = cb.createQuery(Object[].class);
+		Root<ADO> cursorRoot = cursorQuery.from(getElementClass());
+		cursorQuery.multiselect(cursorRoot.get(AbstractDomainObject.CHANGE_DATE), cursorRoot.get(AbstractDomainObject.ID));
+		cursorQuery.where(cb.equal(cursorRoot.get(AbstractDomainObject.UUID), lastUuid));
+		Object[] cursor = QueryHelper.getFirstResult(em, cursorQuery);
+
+		if (cursor == null || ((Timestamp) cursor[0]).getTime() != lastChangeDate.getTime()) {
+			return cb.greaterThanOrEqualTo(from.get(AbstractDomainObject.CHANGE_DATE), new Timestamp(lastChangeDate.getTime()));
+		}
+
+		Timestamp cursorChangeDate = (Timestamp) cursor[0];
+		return cb.or(
+			cb.greaterThan(from.get(AbstractDomainObject.CHANGE_DATE), cursorChangeDate),
+			cb.and(
+				cb.equal(from.get(AbstractDomainObject.CHANGE_DATE), cursorChangeDate),
+				cb.greaterThan(from.get(AbstractDomainObject.ID), (Long) cursor[1])));
+	}
+
+	/**
+	 * Stable order used for keyset pagination: change date with the id as tie-break, matching the (changedate, id) index of
+	 * the synced tables.
+	 */
+	public List<Order> createSyncCursorOrder(CriteriaBuilder cb, From<?, ADO> from) {
+		return Arrays.asList(cb.asc(from.get(AbstractDomainObject.CHANGE_DATE)), cb.asc(from.get(AbstractDomainObject.ID)));
+	}
+
+	/**
+	 * The order of the getAll*After queries: the sync cursor order for the paginated sync, otherwise the latest changes first.
+	 */
+	protected List<Order> createSyncOrder(CriteriaBuilder cb, From<?, ADO> from, Integer batchSize) {
+
+		if (batchSize != null) {
+			return createSyncCursorOrder(cb, from);
+		}
+		return Collections.singletonList(cb.desc(from.get(AbstractDomainObject.CHANGE_DATE)));
+	}
+
+	protected <T> TypedQuery<T> createBatchedQuery(CriteriaQuery<T> cq, Integer batchSize) {
+
+		TypedQuery<T> query = em.createQuery(cq);
+		if (batchSize != null) {
+			query.setMaxResults(batchSize);
+		}
+		return query;
+	}
+
 	public Predicate recentDateFilter(CriteriaBuilder cb, Date date, Path<Date> datePath, int amountOfDays) {
 		return date != null ? cb.between(datePath, DateHelper.subtractDays(date, amountOfDays), DateHelper.addDays(date, amountOfDays)) : null;
 	}
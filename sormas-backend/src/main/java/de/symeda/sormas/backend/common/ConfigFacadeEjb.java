@@ -156,6 +156,8 @@ public class ConfigFacadeEjb implements ConfigFacade {
 	private static final String SKIP_DEFAULT_PASSWORD_CHECK = "skipDefaultPasswordCheck";
 
 	private static final String STEP_SIZE_FOR_CSV_EXPORT = "stepSizeForCsvExport";
+	private static final String DATABASE_EXPORT_PARALLELISM = "databaseExportParallelism";
+	private static final String IMPORT_PARALLELISM = "importParallelism";
 
 	private static final String UI_URL = "ui.url";
 
@@ -671,6 +673,15 @@ public class ConfigFacadeEjb implements ConfigFacade {
 		return getInt(STEP_SIZE_FOR_CSV_EXPORT, 5000);
 	}
 
+	public int getDatabaseExportParallelism() {
+		return getInt(DATABASE_EXPORT_PARALLELISM, 4);
+	}
+
+	@Override
+	public int getImportParallelism() {
+		return getInt(IMPORT_PARALLELISM, 4);
+	}
+
 	@Override
 	public boolean isSmsServiceSetUp() {
 		return !StringUtils.isAnyBlank(getProperty(SMS_AUTH_KEY, null), getProperty(SMS_AUTH_SECRET, null));
@@ -69,6 +69,15 @@ public class CriteriaBuilderHelper {
 		return cb.and(cb.greaterThan(path, date), cb.isNotNull(path));
 	}
 
+	/**
+	 * Keyset pagination for results ordered by {@code date DESC, id DESC}: Restricts the result to the rows that follow the row
+	 * with {@code lastDate} and {@code lastId}. The date has to be passed as it was loaded from the database, so it is not
+	 * truncated to a lower precision.
+	 */
+	public static Predicate afterInDescendingOrder(CriteriaBuilder cb, Expression<Date> datePath, Expression<Long> idPath, Date lastDate, Long lastId) {
+		return cb.or(cb.lessThan(datePath, lastDate), cb.and(cb.equal(datePath, lastDate), cb.lessThan(idPath, lastId)));
+	}
+
 	public static Predicate andEquals(
 		CriteriaBuilder cb,
 		From<?, ? extends AbstractDomainObject> entityFrom,
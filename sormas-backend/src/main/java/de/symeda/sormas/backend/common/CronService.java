@@ -34,6 +34,7 @@ import de.symeda.sormas.api.task.TaskType;
 import de.symeda.sormas.api.user.UserRole;
 import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.backend.caze.CaseFacadeEjb.CaseFacadeEjbLocal;
+import de.symeda.sormas.backend.caze.statistics.CaseStatisticsCubeService;
 import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
 import de.symeda.sormas.backend.contact.ContactFacadeEjb.ContactFacadeEjbLocal;
 import de.symeda.sormas.backend.document.DocumentFacadeEjb.DocumentFacadeEjbLocal;
@@ -66,6 +67,8 @@ public class CronService {
 	@EJB
 	private CaseFacadeEjbLocal caseFacade;
 	@EJB
+	private CaseStatisticsCubeService caseStatisticsCubeService;
+	@EJB
 	private EventFacadeEjbLocal eventFacade;
 	@EJB
 	private DocumentFacadeEjbLocal documentFacade;
@@ -88,6 +91,11 @@ public class CronService {
 		logger.debug("calculateCaseCompletion finished. {} cases, {} s", casesUpdated, DateHelper.durationSeconds(timeStart));
 	}
 
+	@Schedule(hour = "*", minute = "*/5", second = "30", persistent = false)
+	public void updateCaseStatisticsCube() {
+		caseStatisticsCubeService.updateCube();
+	}
+
 	@Schedule(hour = "1", minute = "0", second = "0", persistent = false)
 	public void deleteAllExpiredFeatureConfigurations() {
 
@@ -177,4 +185,11 @@ public class CronService {
 			immunizationFacade.updateImmunizationStatuses();
 		}
 	}
+
+	@Schedule(hour = "1", minute = "45", second = "0", persistent = false)
+	public void updateCaseClassifications() {
+		long timeStart = DateHelper.startTime();
+		int casesUpdated = caseFacade.updateChangedCaseClassifications();
+		logger.info("updateCaseClassifications finished. {} cases, {} s", casesUpdated, DateHelper.durationSeconds(timeStart));
+	}
 }
@@ -89,6 +89,7 @@ import de.symeda.sormas.api.contact.MapContactDto;
 import de.symeda.sormas.api.contact.MergeContactIndexDto;
 import de.symeda.sormas.api.contact.SimilarContactDto;
 import de.symeda.sormas.api.dashboard.DashboardContactDto;
+import de.symeda.sormas.api.dashboard.MapClusterDto;
 import de.symeda.sormas.api.document.DocumentRelatedEntityType;
 import de.symeda.sormas.api.epidata.EpiDataDto;
 import de.symeda.sormas.api.epidata.EpiDataHelper;
@@ -98,6 +99,7 @@ import de.symeda.sormas.api.externaldata.ExternalDataDto;
 import de.symeda.sormas.api.externaldata.ExternalDataUpdateException;
 import de.symeda.sormas.api.followup.FollowUpDto;
 import de.symeda.sormas.api.followup.FollowUpPeriodDto;
+import de.symeda.sormas.api.geo.GeoLatLon;
 import de.symeda.sormas.api.i18n.Captions;
 import de.symeda.sormas.api.i18n.I18nProperties;
 import de.symeda.sormas.api.i18n.Strings;
@@ -116,7 +118,6 @@ import de.symeda.sormas.api.symptoms.SymptomsHelper;
 import de.symeda.sormas.api.task.TaskContext;
 import de.symeda.sormas.api.task.TaskCriteria;
 import de.symeda.sormas.api.task.TaskPriority;
-import de.symeda.sormas.api.task.TaskStatus;
 import de.symeda.sormas.api.task.TaskType;
 import de.symeda.sormas.api.user.UserRight;
 import de.symeda.sormas.api.user.UserRole;
@@ -140,7 +141,9 @@ import de.symeda.sormas.backend.common.AbstractDomainObject;
 import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
 import de.symeda.sormas.backend.common.CriteriaBuilderHelper;
 import de.symeda.sormas.backend.common.TaskCreationException;
+import de.symeda.sormas.backend.disease.DiseaseConfigurationFacadeEjb;
 import de.symeda.sormas.backend.disease.DiseaseConfigurationFacadeEjb.DiseaseConfigurationFacadeEjbLocal;
+import de.symeda.sormas.backend.disease.DiseaseConfigurationService;
 import de.symeda.sormas.backend.document.Document;
 import de.symeda.sormas.backend.document.DocumentService;
 import de.symeda.sormas.backend.epidata.EpiData;
@@ -201,6 +204,7 @@ import de.symeda.sormas.backend.visit.VisitService;
 public class ContactFacadeEjb implements ContactFacade {
 
 	private static final long SECONDS_30_DAYS = TimeUnit.DAYS.toSeconds(30L);
+	private static final int FOLLOW_UP_BATCH_SIZE = 500;
 
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -252,6 +256,8 @@ public class ContactFacadeEjb implements ContactFacade {
 	@EJB
 	private DiseaseConfigurationFacadeEjbLocal diseaseConfigurationFacade;
 	@EJB
+	private DiseaseConfigurationService diseaseConfigurationService;
+	@EJB
 	private SampleFacadeEjbLocal sampleFacade;
 	@EJB
 	private DocumentService documentService;
@@ -287,6 +293,22 @@ public class ContactFacadeEjb implements ContactFacade {
 		return contactService.getAllActiveContactsAfter(date).stream().map(c -> convertToDto(c, pseudonymizer)).collect(Collectors.toList());
 	}
 
+	@Override
+	public List<ContactDto> getAllActiveContactsAfter(Date date, Integer batchSize, Date lastChangeDate, String lastUuid) {
+
+		User user = userService.getCurrentUser();
+
+		if (user == null) {
+			return Collections.emptyList();
+		}
+
+		Pseudonymizer pseudonymizer = Pseudonymizer.getDefault(userService::hasRight);
+		return contactService.getAllActiveContactsAfter(date, batchSize, lastChangeDate, lastUuid)
+			.stream()
+			.map(c -> convertToDto(c, pseudonymizer))
+			.collect(Collectors.toList());
+	}
+
 	@Override
 	public List<ContactDto> getByUuids(List<String> uuids) {
 		Pseudonymizer pseudonymizer = Pseudonymizer.getDefault(userService::hasRight);
@@ -476,6 +498,29 @@ public class ContactFacadeEjb implements ContactFacade {
 		return contactService.getContactsForMap(region, district, disease, from, to);
 	}
 
+	@Override
+	public List<MapClusterDto<ContactClassification>> getContactClustersForMap(
+		RegionReferenceDto regionRef,
+		DistrictReferenceDto districtRef,
+		Disease disease,
+		Date from,
+		Date to,
+		int zoom,
+		GeoLatLon southWest,
+		GeoLatLon northEast) {
+
+		Region region = regionService.getByReferenceDto(regionRef);
+		District district = districtService.getByReferenceDto(districtRef);
+
+		List<MapClusterDto<ContactClassification>> clusters =
+			contactService.getContactClustersForMap(region, district, disease, from, to, zoom, southWest, northEast);
+
+		Pseudonymizer pseudonymizer = Pseudonymizer.getDefault(userService::hasRight);
+		clusters.forEach(c -> pseudonymizer.pseudonymizeDto(MapClusterDto.class, c, c.isInJurisdiction(), null));
+
+		return clusters;
+	}
+
 	@Override
 	public Page<ContactIndexDto> getIndexPage(ContactCriteria contactCriteria, Integer offset, Integer size, List<SortProperty> sortProperties) {
 		List<ContactIndexDto> contactIndexList = getIndexList(contactCriteria, offset, size, sortProperties);
@@ -529,6 +574,32 @@ public class ContactFacadeEjb implements ContactFacade {
 		ExportConfigurationDto exportConfiguration,
 		Language userLanguage) {
 
+		return getExportList(contactCriteria, selectedRows, null, null, first, max, exportConfiguration, userLanguage);
+	}
+
+	@Override
+	public List<ContactExportDto> getExportListAfter(
+		ContactCriteria contactCriteria,
+		Collection<String> selectedRows,
+		Date lastReportDate,
+		Long lastId,
+		int max,
+		ExportConfigurationDto exportConfiguration,
+		Language userLanguage) {
+
+		return getExportList(contactCriteria, selectedRows, lastReportDate, lastId, 0, max, exportConfiguration, userLanguage);
+	}
+
+	private List<ContactExportDto> getExportList(
+		ContactCriteria contactCriteria,
+		Collection<String> selectedRows,
+		Date lastReportDate,
+		Long lastId,
+		int first,
+		int max,
+		ExportConfigurationDto exportConfiguration,
+		Language userLanguage) {
+
 		final CriteriaBuilder cb = em.getCriteriaBuilder();
 		final CriteriaQuery<ContactExportDto> cq = cb.createQuery(ContactExportDto.class);
 		final Root<Contact> contact = cq.from(Contact.class);
@@ -632,6 +703,13 @@ public class ContactFacadeEjb implements ContactFacade {
 		Predicate filter = listCriteriaBuilder.buildContactFilter(contactCriteria, contactQueryContext);
 
 		filter = CriteriaBuilderHelper.andInValues(selectedRows, filter, cb, contact.get(Contact.UUID));
+		if (lastId != null) {
+			filter = CriteriaBuilderHelper.and(
+				cb,
+				filter,
+				CriteriaBuilderHelper
+					.afterInDescendingOrder(cb, contact.get(Contact.REPORT_DATE_TIME), contact.get(Contact.ID), lastReportDate, lastId));
+		}
 		if (filter != null) {
 			cq.where(filter);
 		}
@@ -865,6 +943,28 @@ public class ContactFacadeEjb implements ContactFacade {
 		int max,
 		Language userLanguage) {
 
+		return getVisitSummaryExportList(contactCriteria, selectedRows, null, first, max, userLanguage);
+	}
+
+	@Override
+	public List<VisitSummaryExportDto> getVisitSummaryExportListAfter(
+		ContactCriteria contactCriteria,
+		Collection<String> selectedRows,
+		Long lastContactId,
+		int max,
+		Language userLanguage) {
+
+		return getVisitSummaryExportList(contactCriteria, selectedRows, lastContactId, 0, max, userLanguage);
+	}
+
+	private List<VisitSummaryExportDto> getVisitSummaryExportList(
+		ContactCriteria contactCriteria,
+		Collection<String> selectedRows,
+		Long lastContactId,
+		int first,
+		int max,
+		Language userLanguage) {
+
 		final CriteriaBuilder cb = em.getCriteriaBuilder();
 		final CriteriaQuery<VisitSummaryExportDto> cq = cb.createQuery(VisitSummaryExportDto.class);
 		final Root<Contact> contactRoot = cq.from(Contact.class);
@@ -885,8 +985,12 @@ public class ContactFacadeEjb implements ContactFacade {
 		Predicate filter = CriteriaBuilderHelper
 			.and(cb, listCriteriaBuilder.buildContactFilter(contactCriteria, contactQueryContext), cb.isNotEmpty(contactRoot.get(Contact.VISITS)));
 		filter = CriteriaBuilderHelper.andInValues(selectedRows, filter, cb, contactRoot.get(Contact.UUID));
+		if (lastContactId != null) {
+			filter = CriteriaBuilderHelper.and(cb, filter, cb.greaterThan(contactRoot.get(Contact.ID), lastContactId));
+		}
 		cq.where(filter);
-		cq.orderBy(cb.asc(contactRoot.get(Contact.REPORT_DATE_TIME)));
+		// Sort by id for stable paging, as there may be several contacts with the same report date
+		cq.orderBy(cb.asc(contactRoot.get(Contact.ID)));
 
 		List<VisitSummaryExportDto> visitSummaries = QueryHelper.getResultList(em, cq, first, max);
 
@@ -1620,51 +1724,42 @@ public class ContactFacadeEjb implements ContactFacade {
 	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
 	public void generateContactFollowUpTasks() {
 
-		// get all contacts that are followed up
+		// get all contacts that are followed up and don't have a task for the day yet
 		LocalDateTime fromDateTime = LocalDate.now().atStartOfDay();
 		LocalDateTime toDateTime = fromDateTime.plusDays(1);
-		List<Contact> contacts = contactService.getFollowUpBetween(DateHelper8.toDate(fromDateTime), DateHelper8.toDate(toDateTime));
+		List<Contact> contacts =
+			contactService.getFollowUpBetweenWithoutFollowUpTask(DateHelper8.toDate(fromDateTime), DateHelper8.toDate(toDateTime));
 
-		for (Contact contact : contacts) {
-			// Only generate tasks for contacts that are under follow-up
-			if (!(contact.getFollowUpStatus().equals(FollowUpStatus.FOLLOW_UP) || contact.getFollowUpStatus().equals(FollowUpStatus.LOST))) {
-				continue;
-			}
+		// choose the officers and supervisors of each district and region only once
+		Function<District, User> lookupByDistrict = userService.createRandomDistrictUserLookup(UserRole.CONTACT_OFFICER);
+		Function<Region, User> lookupByRegion = userService.createRandomRegionUserLookup(UserRole.CONTACT_SUPERVISOR);
 
-			User assignee;
-			try {
-				assignee = taskService.getTaskAssignee(contact);
-			} catch (TaskCreationException e) {
-				logger.warn(e.getMessage());
-				continue;
-			}
-
-			// find already existing tasks
-			TaskCriteria pendingUserTaskCriteria = new TaskCriteria().contact(contact.toReference())
-				.taskType(TaskType.CONTACT_FOLLOW_UP)
-				.assigneeUser(assignee.toReference())
-				.taskStatus(TaskStatus.PENDING);
-			List<Task> pendingUserTasks = taskService.findBy(pendingUserTaskCriteria, true);
+		IterableHelper.executeBatched(contacts, ModelConstants.PARAMETER_LIMIT, batchedContacts -> {
+			Map<Long, Set<Long>> pendingTaskAssigneeIds = taskService.getPendingTaskAssigneeIdsByContactId(
+				batchedContacts.stream().map(Contact::getId).collect(Collectors.toList()),
+				TaskType.CONTACT_FOLLOW_UP);
 
-			if (!pendingUserTasks.isEmpty()) {
-				// the user still has a pending task for this contact
-				continue;
-			}
+			for (Contact contact : batchedContacts) {
+				User assignee;
+				try {
+					assignee = taskService.getTaskAssignee(contact, lookupByDistrict, lookupByRegion);
+				} catch (TaskCreationException e) {
+					logger.warn(e.getMessage());
+					continue;
+				}
 
-			TaskCriteria dayTaskCriteria = new TaskCriteria().contact(contact.toReference())
-				.taskType(TaskType.CONTACT_FOLLOW_UP)
-				.dueDateBetween(DateHelper8.toDate(fromDateTime), DateHelper8.toDate(toDateTime));
-			List<Task> dayTasks = taskService.findBy(dayTaskCriteria, true);
+				if (pendingTaskAssigneeIds.getOrDefault(contact.getId(), Collections.emptySet()).contains(assignee.getId())) {
+					// the user still has a pending task for this contact
+					continue;
+				}
 
-			if (!dayTasks.isEmpty()) {
-				// there is already a task for the exact day
-				continue;
+				// none found -> create the task; inserted in JDBC batches on flush
+				Task task = createContactTask(TaskType.CONTACT_FOLLOW_UP, fromDateTime, toDateTime, contact, assignee);
+				taskService.persist(task);
 			}
 
-			// none found -> create the task
-			Task task = createContactTask(TaskType.CONTACT_FOLLOW_UP, fromDateTime, toDateTime, contact, assignee);
-			taskService.ensurePersisted(task);
-		}
+			taskService.doFlush();
+		});
 	}
 
 	private Task createContactTask(TaskType taskType, LocalDateTime fromDateTime, LocalDateTime toDateTime, Contact contact, User assignee) {
@@ -2066,6 +2161,39 @@ public class ContactFacadeEjb implements ContactFacade {
 		contactService.ensurePersisted(contact);
 	}
 
+	/**
+	 * Recalculates the follow-up of all active contacts of the disease, except for those whose follow-up has been canceled
+	 * or lost, which {@link ContactService#updateFollowUpDetails(Contact, boolean)} does not change either. Each batch of
+	 * contacts is updated in its own transaction. The follow-up configuration of the disease is read from the database,
+	 * because the {@link DiseaseConfigurationFacadeEjb} instance at hand might not have reloaded it yet.
+	 *
+	 * @return The number of contacts
+	 */
+	public int updateFollowUpDetails(Disease disease) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<String> cq = cb.createQuery(String.class);
+		Root<Contact> contact = cq.from(Contact.class);
+		cq.select(contact.get(Contact.UUID));
+		cq.where(
+			cb.equal(contact.get(Contact.DISEASE), disease),
+			cb.or(
+				cb.isNull(contact.get(Contact.FOLLOW_UP_STATUS)),
+				cb.not(contact.get(Contact.FOLLOW_UP_STATUS).in(FollowUpStatus.CANCELED, FollowUpStatus.LOST))),
+			contactService.createActiveContactsFilter(cb, contact));
+		cq.orderBy(cb.asc(contact.get(Contact.ID)));
+		List<String> contactUuids = em.createQuery(cq).getResultList();
+
+		boolean diseaseHasFollowUp = diseaseConfigurationService.hasFollowUp(disease);
+		int followUpDuration = diseaseConfigurationService.getFollowUpDuration(disease);
+		IterableHelper.executeBatched(
+			contactUuids,
+			FOLLOW_UP_BATCH_SIZE,
+			batchedContactUuids -> contactService.updateFollowUpDetails(batchedContactUuids, diseaseHasFollowUp, followUpDuration));
+
+		return contactUuids.size();
+	}
+
 	@Override
 	public void updateExternalData(@Valid List<ExternalDataDto> externalData) throws ExternalDataUpdateException {
 		contactService.updateExternalData(externalData);
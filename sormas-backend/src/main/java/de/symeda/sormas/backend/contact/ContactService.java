@@ -21,7 +21,6 @@ import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -31,9 +30,15 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import javax.annotation.Resource;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.CriteriaUpdate;
@@ -41,6 +46,7 @@ import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.From;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import javax.persistence.criteria.Selection;
@@ -56,7 +62,6 @@ import de.symeda.sormas.api.EntityRelevanceStatus;
 import de.symeda.sormas.api.caze.VaccinationStatus;
 import de.symeda.sormas.api.contact.ContactClassification;
 import de.symeda.sormas.api.contact.ContactCriteria;
-import de.symeda.sormas.api.contact.ContactDto;
 import de.symeda.sormas.api.contact.ContactLogic;
 import de.symeda.sormas.api.contact.ContactProximity;
 import de.symeda.sormas.api.contact.ContactReferenceDto;
@@ -64,17 +69,21 @@ import de.symeda.sormas.api.contact.ContactStatus;
 import de.symeda.sormas.api.contact.FollowUpStatus;
 import de.symeda.sormas.api.contact.MapContactDto;
 import de.symeda.sormas.api.dashboard.DashboardContactDto;
+import de.symeda.sormas.api.dashboard.MapClusterDto;
 import de.symeda.sormas.api.externaldata.ExternalDataDto;
 import de.symeda.sormas.api.externaldata.ExternalDataUpdateException;
 import de.symeda.sormas.api.followup.FollowUpLogic;
+import de.symeda.sormas.api.geo.GeoLatLon;
 import de.symeda.sormas.api.i18n.I18nProperties;
 import de.symeda.sormas.api.i18n.Strings;
 import de.symeda.sormas.api.sample.PathogenTestResultType;
 import de.symeda.sormas.api.task.TaskCriteria;
+import de.symeda.sormas.api.task.TaskType;
 import de.symeda.sormas.api.user.JurisdictionLevel;
 import de.symeda.sormas.api.user.UserRole;
 import de.symeda.sormas.api.utils.DataHelper;
 import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.api.visit.VisitStatus;
 import de.symeda.sormas.backend.caze.Case;
 import de.symeda.sormas.backend.caze.CaseQueryContext;
 import de.symeda.sormas.backend.caze.CaseService;
@@ -82,8 +91,14 @@ import de.symeda.sormas.backend.caze.CaseUserFilterCriteria;
 import de.symeda.sormas.backend.clinicalcourse.HealthConditionsService;
 import de.symeda.sormas.backend.common.AbstractCoreAdoService;
 import de.symeda.sormas.backend.common.AbstractDomainObject;
+import de.symeda.sormas.backend.common.ChangedEntityType;
 import de.symeda.sormas.backend.common.CoreAdo;
 import de.symeda.sormas.backend.common.CriteriaBuilderHelper;
+import de.symeda.sormas.backend.common.EntityChangeEvent;
+import de.symeda.sormas.backend.contact.ContactFacadeEjb.ContactFacadeEjbLocal;
+import de.symeda.sormas.backend.dashboard.MapClusterHelper;
+import de.symeda.sormas.backend.disease.DiseaseConfiguration;
+import de.symeda.sormas.backend.disease.DiseaseConfigurationFacadeEjb;
 import de.symeda.sormas.backend.disease.DiseaseConfigurationFacadeEjb.DiseaseConfigurationFacadeEjbLocal;
 import de.symeda.sormas.backend.epidata.EpiDataService;
 import de.symeda.sormas.backend.event.Event;
@@ -110,7 +125,6 @@ import de.symeda.sormas.backend.util.IterableHelper;
 import de.symeda.sormas.backend.util.JurisdictionHelper;
 import de.symeda.sormas.backend.util.ModelConstants;
 import de.symeda.sormas.backend.visit.Visit;
-import de.symeda.sormas.backend.visit.VisitFacadeEjb;
 
 @Stateless
 @LocalBean
@@ -133,13 +147,13 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 	@EJB
 	private ExposureService exposureService;
 	@EJB
-	private ContactFacadeEjb.ContactFacadeEjbLocal contactFacade;
-	@EJB
-	private VisitFacadeEjb.VisitFacadeEjbLocal visitFacade;
-	@EJB
 	private ExternalJournalService externalJournalService;
 	@EJB
 	private UserService userService;
+	@EJB
+	private ContactFacadeEjbLocal contactFacade;
+	@Resource
+	private ManagedScheduledExecutorService executorService;
 
 	public ContactService() {
 		super(Contact.class);
@@ -166,28 +180,40 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 	}
 
 	public List<Contact> getAllActiveContactsAfter(Date date) {
+		return getAllActiveContactsAfter(date, null, null, null);
+	}
+
+	public List<Contact> getAllActiveContactsAfter(Date date, Integer batchSize, Date lastChangeDate, String lastUuid) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<Contact> cq = cb.createQuery(getElementClass());
 		Root<Contact> from = cq.from(getElementClass());
 
-		Predicate filter = createActiveContactsFilter(cb, from);
+		// a subquery instead of a distinct selection, because the sync order is not part of the selection
+		Subquery<Long> idSubquery = cq.subquery(Long.class);
+		Root<Contact> idRoot = idSubquery.from(Contact.class);
+
+		Predicate filter = createActiveContactsFilter(cb, idRoot);
 
 		if (getCurrentUser() != null) {
-			Predicate userFilter = createUserFilter(cb, cq, from);
+			Predicate userFilter = createUserFilter(cb, cq, idRoot);
 			filter = CriteriaBuilderHelper.and(cb, filter, userFilter);
 		}
 
 		if (date != null) {
-			Predicate dateFilter = createChangeDateFilter(cb, from, date);
+			Predicate dateFilter = createChangeDateFilter(cb, idRoot, date);
 			filter = CriteriaBuilderHelper.and(cb, filter, dateFilter);
 		}
 
-		cq.where(filter);
-		cq.orderBy(cb.desc(from.get(Contact.CHANGE_DATE)));
-		cq.distinct(true);
+		idSubquery.select(idRoot.get(Contact.ID));
+		idSubquery.where(filter);
 
-		return em.createQuery(cq).getResultList();
+		cq.where(
+			CriteriaBuilderHelper
+				.and(cb, from.get(Contact.ID).in(idSubquery), createSyncCursorFilter(cb, from, lastChangeDate, lastUuid)));
+		cq.orderBy(createSyncOrder(cb, from, batchSize));
+
+		return createBatchedQuery(cq, batchSize).getResultList();
 	}
 
 	@Override
@@ -259,6 +285,40 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 		CriteriaQuery<Contact> cq = cb.createQuery(getElementClass());
 		Root<Contact> from = cq.from(getElementClass());
 
+		cq.where(createFollowUpBetweenFilter(cb, from, fromDate, toDate));
+
+		return em.createQuery(cq).getResultList();
+	}
+
+	/**
+	 * @return The contacts that are under follow-up (or lost to follow-up) between the given dates and do not have a
+	 *         follow-up task that is due in that period yet.
+	 */
+	public List<Contact> getFollowUpBetweenWithoutFollowUpTask(@NotNull Date fromDate, @NotNull Date toDate) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Contact> cq = cb.createQuery(getElementClass());
+		Root<Contact> from = cq.from(getElementClass());
+
+		Subquery<Long> taskSubquery = cq.subquery(Long.class);
+		Root<Task> taskRoot = taskSubquery.from(Task.class);
+		taskSubquery.select(taskRoot.get(Task.ID));
+		taskSubquery.where(
+			cb.equal(taskRoot.get(Task.CONTACT), from),
+			cb.equal(taskRoot.get(Task.TASK_TYPE), TaskType.CONTACT_FOLLOW_UP),
+			cb.greaterThanOrEqualTo(taskRoot.get(Task.DUE_DATE), fromDate),
+			cb.lessThan(taskRoot.get(Task.DUE_DATE), toDate));
+
+		cq.where(
+			createFollowUpBetweenFilter(cb, from, fromDate, toDate),
+			from.get(Contact.FOLLOW_UP_STATUS).in(FollowUpStatus.FOLLOW_UP, FollowUpStatus.LOST),
+			cb.not(cb.exists(taskSubquery)));
+
+		return em.createQuery(cq).getResultList();
+	}
+
+	private Predicate createFollowUpBetweenFilter(CriteriaBuilder cb, Root<Contact> from, Date fromDate, Date toDate) {
+
 		Predicate filter = createActiveContactsFilter(cb, from);
 		filter = cb.and(filter, cb.isNotNull(from.get(Contact.FOLLOW_UP_UNTIL)));
 		filter = cb.and(filter, cb.greaterThanOrEqualTo(from.get(Contact.FOLLOW_UP_UNTIL), fromDate));
@@ -268,9 +328,7 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 				cb.and(cb.isNotNull(from.get(Contact.LAST_CONTACT_DATE)), cb.lessThan(from.get(Contact.LAST_CONTACT_DATE), toDate)),
 				cb.lessThan(from.get(Contact.REPORT_DATE_TIME), toDate)));
 
-		cq.where(filter);
-
-		return em.createQuery(cq).getResultList();
+		return filter;
 	}
 
 	public List<Contact> getByPersonAndDisease(Person person, Disease disease) {
@@ -453,6 +511,54 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 		return result;
 	}
 
+	public List<MapClusterDto<ContactClassification>> getContactClustersForMap(
+		Region region,
+		District district,
+		Disease disease,
+		Date from,
+		Date to,
+		int zoom,
+		GeoLatLon southWest,
+		GeoLatLon northEast) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<Contact> contact = cq.from(getElementClass());
+
+		ContactQueryContext contactQueryContext = new ContactQueryContext(cb, cq, contact);
+		ContactJoins joins = (ContactJoins) contactQueryContext.getJoins();
+		Join<Person, Location> address = joins.getPersonAddress();
+
+		Predicate filter = createMapContactsFilter(cb, cq, contact, joins.getCaze(), address, region, district, disease, from, to);
+		if (filter == null) {
+			return Collections.emptyList();
+		}
+
+		Predicate addressLatLonNotNull = cb.and(cb.isNotNull(address.get(Location.LATITUDE)), cb.isNotNull(address.get(Location.LONGITUDE)));
+		Expression<Double> latitude =
+			cb.<Double> selectCase().when(addressLatLonNotNull, address.get(Location.LATITUDE)).otherwise(contact.get(Contact.REPORT_LAT));
+		Expression<Double> longitude =
+			cb.<Double> selectCase().when(addressLatLonNotNull, address.get(Location.LONGITUDE)).otherwise(contact.get(Contact.REPORT_LON));
+
+		filter = CriteriaBuilderHelper.and(cb, filter, MapClusterHelper.createBoundingBoxFilter(cb, latitude, longitude, southWest, northEast));
+
+		int cellSize = MapClusterHelper.getCellSize(zoom);
+		Expression<ContactClassification> classification = contact.get(Contact.CONTACT_CLASSIFICATION);
+		cq.multiselect(
+			MapClusterHelper.getClusterSelections(
+				cb,
+				latitude,
+				longitude,
+				cellSize,
+				classification,
+				contact.get(Contact.UUID),
+				JurisdictionHelper.booleanSelector(cb, inJurisdictionOrOwned(contactQueryContext))));
+		cq.where(filter);
+		cq.groupBy(MapClusterHelper.getClusterGrouping(cb, latitude, longitude, cellSize, classification));
+
+		return MapClusterHelper.toClusters(em.createQuery(cq).getResultList());
+	}
+
 	private Predicate createMapContactsFilter(
 		CriteriaBuilder cb,
 		CriteriaQuery<?> cq,
@@ -771,11 +877,20 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 	public void updateFollowUpDetails(Contact contact, boolean followUpStatusChangedByUser) {
 
 		Disease disease = contact.getDisease();
+		updateFollowUpDetails(
+			contact,
+			followUpStatusChangedByUser,
+			diseaseConfigurationFacade.hasFollowUp(disease),
+			diseaseConfigurationFacade.getFollowUpDuration(disease));
+	}
+
+	private void updateFollowUpDetails(Contact contact, boolean followUpStatusChangedByUser, boolean diseaseHasFollowUp, int followUpDuration) {
+
 		boolean changeStatus = contact.getFollowUpStatus() != FollowUpStatus.CANCELED && contact.getFollowUpStatus() != FollowUpStatus.LOST;
 		boolean statusChangedBySystem = false;
 
 		ContactProximity contactProximity = contact.getContactProximity();
-		if (!diseaseConfigurationFacade.hasFollowUp(disease) || (contactProximity != null && !contactProximity.hasFollowUp())) {
+		if (!diseaseHasFollowUp || (contactProximity != null && !contactProximity.hasFollowUp())) {
 			contact.setFollowUpUntil(null);
 			contact.setOverwriteFollowUpUntil(false);
 			if (changeStatus) {
@@ -783,33 +898,27 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 				statusChangedBySystem = true;
 			}
 		} else {
-			ContactDto contactDto = contactFacade.toDto(contact);
 			Date currentFollowUpUntil = contact.getFollowUpUntil();
 
-			Date earliestSampleDate = null;
-			for (Sample sample : contact.getSamples()) {
-				if (sample.getPathogenTestResult() == PathogenTestResultType.POSITIVE
-					&& (earliestSampleDate == null || sample.getSampleDateTime().before(earliestSampleDate))) {
-					earliestSampleDate = sample.getSampleDateTime();
-				}
-			}
-
-			Date untilDate =
-				ContactLogic
-					.calculateFollowUpUntilDate(
-						contactDto,
-						ContactLogic.getFollowUpStartDate(contact.getLastContactDate(), contact.getReportDateTime(), earliestSampleDate),
-						contact.getVisits().stream().map(visit -> visitFacade.toDto(visit)).collect(Collectors.toList()),
-						diseaseConfigurationFacade.getFollowUpDuration(contact.getDisease()),
-						false)
-					.getFollowUpEndDate();
+			// only the dates the follow-up depends on are queried, so that the samples and visits of long follow-ups are not loaded
+			Date earliestSampleDate = getEarliestPositiveSampleDate(contact);
+			Date[] lastVisitDates = getLastVisitDates(contact);
+			Date lastVisitDate = lastVisitDates[0];
+
+			Date untilDate = FollowUpLogic
+				.calculateFollowUpUntilDate(
+					ContactLogic.getFollowUpStartDate(contact.getLastContactDate(), contact.getReportDateTime(), earliestSampleDate),
+					contact.isOverwriteFollowUpUntil() ? currentFollowUpUntil : null,
+					lastVisitDate,
+					lastVisitDates[1],
+					followUpDuration)
+				.getFollowUpEndDate();
 			contact.setFollowUpUntil(untilDate);
 			if (DateHelper.getStartOfDay(currentFollowUpUntil).before(DateHelper.getStartOfDay(untilDate))) {
 				contact.setOverwriteFollowUpUntil(false);
 			}
 			if (changeStatus) {
-				Visit lastVisit = contact.getVisits().stream().max(Comparator.comparing(Visit::getVisitDateTime)).orElse(null);
-				if (lastVisit != null && !DateHelper.getStartOfDay(lastVisit.getVisitDateTime()).before(DateHelper.getStartOfDay(untilDate))) {
+				if (lastVisitDate != null && !DateHelper.getStartOfDay(lastVisitDate).before(DateHelper.getStartOfDay(untilDate))) {
 					contact.setFollowUpStatus(FollowUpStatus.COMPLETED);
 				} else {
 					contact.setFollowUpStatus(FollowUpStatus.FOLLOW_UP);
@@ -835,6 +944,70 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 		ensurePersisted(contact);
 	}
 
+	/**
+	 * Recalculates the follow-up of the contacts of the disease in the background once its changed configuration has been
+	 * committed.
+	 */
+	public void onDiseaseFollowUpChange(
+		@Observes(during = TransactionPhase.AFTER_SUCCESS) @ChangedEntityType(DiseaseConfiguration.class) EntityChangeEvent event) {
+		Disease disease = event.getEntity(DiseaseConfiguration.class).getDisease();
+		executorService.execute(() -> contactFacade.updateFollowUpDetails(disease));
+	}
+
+	/**
+	 * Updates the follow-up of the given contacts in a new transaction, e.g. after the follow-up configuration of their
+	 * disease has been changed. The configuration is passed in, because the one cached by the
+	 * {@link DiseaseConfigurationFacadeEjb} instance at hand might not be up to date yet.
+	 */
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public void updateFollowUpDetails(List<String> contactUuids, boolean diseaseHasFollowUp, int followUpDuration) {
+		getByUuids(contactUuids).forEach(contact -> updateFollowUpDetails(contact, false, diseaseHasFollowUp, followUpDuration));
+	}
+
+	private Date getEarliestPositiveSampleDate(Contact contact) {
+
+		if (contact.getId() == null) {
+			return null;
+		}
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Date> cq = cb.createQuery(Date.class);
+		Root<Sample> sample = cq.from(Sample.class);
+		cq.select(cb.least(sample.<Date> get(Sample.SAMPLE_DATE_TIME)));
+		cq.where(
+			cb.equal(sample.get(Sample.ASSOCIATED_CONTACT), contact),
+			cb.equal(sample.get(Sample.PATHOGEN_TEST_RESULT), PathogenTestResultType.POSITIVE));
+
+		return em.createQuery(cq).getSingleResult();
+	}
+
+	/**
+	 * @return The date of the last visit and the date of the last cooperative visit of the contact; {@code null} if there is none.
+	 */
+	private Date[] getLastVisitDates(Contact contact) {
+
+		if (contact.getId() == null) {
+			return new Date[2];
+		}
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<Visit> visit = cq.from(Visit.class);
+		Join<Visit, Contact> visitContact = visit.join(Visit.CONTACTS);
+		Path<Date> visitDateTime = visit.get(Visit.VISIT_DATE_TIME);
+
+		Expression<Date> cooperativeVisitDateTime = cb.<Date> selectCase()
+			.when(cb.equal(visit.get(Visit.VISIT_STATUS), VisitStatus.COOPERATIVE), visitDateTime)
+			.otherwise(cb.nullLiteral(Date.class));
+		cq.multiselect(cb.greatest(visitDateTime), cb.greatest(cooperativeVisitDateTime));
+		cq.where(cb.equal(visitContact.get(Contact.ID), contact.getId()));
+
+		Object[] lastVisitDates = em.createQuery(cq).getSingleResult();
+		return new Date[] {
+			(Date) lastVisitDates[0],
+			(Date) lastVisitDates[1] };
+	}
+
 	public void cancelFollowUp(Contact contact, String comment) {
 		contact.setFollowUpStatus(FollowUpStatus.CANCELED);
 		addToFollowUpStatusComment(contact, comment);
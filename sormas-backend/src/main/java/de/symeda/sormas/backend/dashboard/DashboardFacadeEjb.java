@@ -15,6 +15,7 @@ import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.caze.CaseClassification;
 import de.symeda.sormas.api.caze.NewCaseDateType;
 import de.symeda.sormas.api.dashboard.DashboardCaseDto;
+import de.symeda.sormas.api.dashboard.DashboardCaseStatisticDto;
 import de.symeda.sormas.api.dashboard.DashboardCriteria;
 import de.symeda.sormas.api.dashboard.DashboardEventDto;
 import de.symeda.sormas.api.dashboard.DashboardFacade;
@@ -31,8 +32,9 @@ import de.symeda.sormas.backend.disease.DiseaseConfigurationFacadeEjb;
 import de.symeda.sormas.backend.event.EventFacadeEjb;
 import de.symeda.sormas.backend.feature.FeatureConfigurationFacadeEjb;
 import de.symeda.sormas.backend.outbreak.OutbreakFacadeEjb;
-import de.symeda.sormas.backend.infrastructure.district.District;
 import de.symeda.sormas.backend.sample.SampleFacadeEjb;
+import de.symeda.sormas.backend.user.User;
+import de.symeda.sormas.backend.user.UserService;
 
 @Stateless(name = "DashboardFacade")
 public class DashboardFacadeEjb implements DashboardFacade {
@@ -55,6 +57,12 @@ public class DashboardFacadeEjb implements DashboardFacade {
 	@EJB
 	private DashboardService dashboardService;
 
+	@EJB
+	private DiseaseBurdenCache diseaseBurdenCache;
+
+	@EJB
+	private UserService userService;
+
 	@Override
 	public List<DashboardCaseDto> getCases(DashboardCriteria dashboardCriteria) {
 		return dashboardService.getCases(dashboardCriteria);
@@ -71,11 +79,22 @@ public class DashboardFacadeEjb implements DashboardFacade {
 	}
 
 	@Override
-	public Map<PathogenTestResultType, Long> getTestResultCountByResultType(List<DashboardCaseDto> cases) {
-		if (cases.isEmpty()) {
+	public DashboardCaseStatisticDto getCaseStatistic(DashboardCriteria dashboardCriteria, Date previousFromDate, Date previousToDate) {
+		return dashboardService.getCaseStatistic(dashboardCriteria, previousFromDate, previousToDate);
+	}
+
+	@Override
+	public long countContactsResultingInCases(DashboardCriteria dashboardCriteria) {
+		return dashboardService.countContactsResultingInCases(dashboardCriteria);
+	}
+
+	@Override
+	public Map<PathogenTestResultType, Long> getTestResultCountByResultType(DashboardCriteria dashboardCriteria) {
+		List<Long> caseIds = dashboardService.getCaseIds(dashboardCriteria);
+		if (caseIds.isEmpty()) {
 			return Collections.emptyMap();
 		}
-		return sampleFacade.getNewTestResultCountByResultType(cases.stream().map(DashboardCaseDto::getId).collect(Collectors.toList()));
+		return sampleFacade.getNewTestResultCountByResultType(caseIds);
 	}
 
 	@Override
@@ -108,13 +127,35 @@ public class DashboardFacadeEjb implements DashboardFacade {
 		Date previousToDate,
 		NewCaseDateType newCaseDateType) {
 
+		User currentUser = userService.getCurrentUser();
+		return diseaseBurdenCache.get(
+			currentUser != null ? currentUser.getUuid() : null,
+			region,
+			district,
+			fromDate,
+			toDate,
+			previousFromDate,
+			previousToDate,
+			newCaseDateType,
+			() -> loadDiseaseBurden(region, district, fromDate, toDate, previousFromDate, previousToDate, newCaseDateType));
+	}
+
+	private List<DiseaseBurdenDto> loadDiseaseBurden(
+		RegionReferenceDto region,
+		DistrictReferenceDto district,
+		Date fromDate,
+		Date toDate,
+		Date previousFromDate,
+		Date previousToDate,
+		NewCaseDateType newCaseDateType) {
+
 		//diseases
 		List<Disease> diseases = diseaseConfigurationFacade.getAllDiseases(true, true, true);
 
-		//new cases
+		//new cases, previous cases, case fatalities and last report district
 		DashboardCriteria dashboardCriteria =
 			new DashboardCriteria().region(region).district(district).newCaseDateType(newCaseDateType).dateBetween(fromDate, toDate);
-		Map<Disease, Long> newCases = dashboardService.getCaseCountByDisease(dashboardCriteria);
+		Map<Disease, DiseaseBurdenCaseData> caseData = dashboardService.getDiseaseBurdenCaseData(dashboardCriteria, previousFromDate, previousToDate);
 
 		//events
 		Map<Disease, Long> events = eventFacade
@@ -129,34 +170,22 @@ public class DashboardFacadeEjb implements DashboardFacade {
 			outbreakDistrictsCount = new HashMap<>();
 		}
 
-		//last report district
-		Map<Disease, District> lastReportedDistricts = dashboardService.getLastReportedDistrictByDisease(dashboardCriteria);
-
-		//case fatalities
-		Map<Disease, Long> caseFatalities = dashboardService.getDeathCountByDisease(dashboardCriteria);
-
-		//previous cases
-		dashboardCriteria.dateBetween(previousFromDate, previousToDate);
-		Map<Disease, Long> previousCases = dashboardService.getCaseCountByDisease(dashboardCriteria);
-
 		//build diseasesBurden
 		List<DiseaseBurdenDto> diseasesBurden = diseases.stream().map(disease -> {
-			Long caseCount = newCases.getOrDefault(disease, 0L);
-			Long previousCaseCount = previousCases.getOrDefault(disease, 0L);
+			DiseaseBurdenCaseData diseaseCaseData = caseData.getOrDefault(disease, new DiseaseBurdenCaseData());
 			Long eventCount = events.getOrDefault(disease, 0L);
 			Long outbreakDistrictCount = outbreakDistrictsCount.getOrDefault(disease, 0L);
-			Long caseFatalityCount = caseFatalities.getOrDefault(disease, 0L);
-			District lastReportedDistrict = lastReportedDistricts.getOrDefault(disease, null);
 
-			String lastReportedDistrictName = lastReportedDistrict == null ? "" : lastReportedDistrict.getName();
+			String lastReportedDistrictName =
+				diseaseCaseData.getLastReportedDistrictName() == null ? "" : diseaseCaseData.getLastReportedDistrictName();
 
 			return new DiseaseBurdenDto(
 				disease,
-				caseCount,
-				previousCaseCount,
+				diseaseCaseData.getCaseCount(),
+				diseaseCaseData.getPreviousCaseCount(),
 				eventCount,
 				outbreakDistrictCount,
-				caseFatalityCount,
+				diseaseCaseData.getCaseDeathCount(),
 				lastReportedDistrictName);
 
 		}).collect(Collectors.toList());
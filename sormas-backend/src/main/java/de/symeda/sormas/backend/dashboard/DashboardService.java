@@ -15,30 +15,35 @@ import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.From;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.time.DateUtils;
 
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.caze.CaseReferenceDefinition;
 import de.symeda.sormas.api.dashboard.DashboardCaseDto;
+import de.symeda.sormas.api.dashboard.DashboardCaseStatisticDto;
 import de.symeda.sormas.api.dashboard.DashboardCriteria;
 import de.symeda.sormas.api.dashboard.DashboardEventDto;
 import de.symeda.sormas.api.event.EventStatus;
 import de.symeda.sormas.api.person.PresentCondition;
 import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.api.utils.criteria.CriteriaDateType;
 import de.symeda.sormas.backend.caze.Case;
 import de.symeda.sormas.backend.caze.CaseQueryContext;
 import de.symeda.sormas.backend.caze.CaseService;
 import de.symeda.sormas.backend.caze.CaseUserFilterCriteria;
 import de.symeda.sormas.backend.common.AbstractDomainObject;
 import de.symeda.sormas.backend.common.CriteriaBuilderHelper;
+import de.symeda.sormas.backend.contact.Contact;
 import de.symeda.sormas.backend.event.Event;
 import de.symeda.sormas.backend.event.EventQueryContext;
 import de.symeda.sormas.backend.event.EventService;
@@ -132,12 +137,14 @@ public class DashboardService {
 		return result;
 	}
 
-	public Map<Disease, Long> getCaseCountByDisease(DashboardCriteria dashboardCriteria) {
+	public String getLastReportedDistrictName(DashboardCriteria dashboardCriteria) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
-		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		CriteriaQuery<String> cq = cb.createQuery(String.class);
 		Root<Case> caze = cq.from(Case.class);
 		final CaseQueryContext caseQueryContext = new CaseQueryContext(cb, cq, caze);
+		final CaseJoins<Case> joins = (CaseJoins<Case>) caseQueryContext.getJoins();
+		Join<Case, District> district = joins.getResponsibleDistrict();
 
 		Predicate filter = caseService.createUserFilter(cb, cq, caze, new CaseUserFilterCriteria().excludeCasesFromContacts(true));
 
@@ -147,108 +154,249 @@ public class DashboardService {
 			cq.where(filter);
 		}
 
-		cq.groupBy(caze.get(Case.DISEASE));
-		cq.multiselect(caze.get(Case.DISEASE), cb.count(caze));
-		List<Object[]> results = em.createQuery(cq).getResultList();
-
-		Map<Disease, Long> resultMap = results.stream().collect(Collectors.toMap(e -> (Disease) e[0], e -> (Long) e[1]));
+		cq.select(district.get(District.NAME));
+		List<Order> order = new ArrayList<>();
+		order.add(cb.desc(caze.get(Case.REPORT_DATE)));
+		order.add(cb.desc(caze.get(Case.CREATION_DATE)));
+		cq.orderBy(order);
 
-		return resultMap;
+		return QueryHelper.getFirstResult(em, cq, t -> t == null ? StringUtils.EMPTY : t);
 	}
 
-	public String getLastReportedDistrictName(DashboardCriteria dashboardCriteria) {
+	/**
+	 * Counts the case figures of the dashboards in one pass over the cases of the period of the criteria and the
+	 * previous period. The quarantine figures use the unadjusted dates of the criteria.
+	 */
+	public DashboardCaseStatisticDto getCaseStatistic(DashboardCriteria dashboardCriteria, Date previousDateFrom, Date previousDateTo) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
-		CriteriaQuery<String> cq = cb.createQuery(String.class);
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
 		Root<Case> caze = cq.from(Case.class);
 		final CaseQueryContext caseQueryContext = new CaseQueryContext(cb, cq, caze);
 		final CaseJoins<Case> joins = (CaseJoins<Case>) caseQueryContext.getJoins();
-		Join<Case, District> district = joins.getResponsibleDistrict();
+		Join<Case, Person> person = joins.getPerson();
+
+		Predicate currentFilter = createNewCaseDateFilter(
+			caseQueryContext,
+			dashboardCriteria.getDateFrom(),
+			dashboardCriteria.getDateTo(),
+			dashboardCriteria.getNewCaseDateType());
+		Predicate previousFilter =
+			createNewCaseDateFilter(caseQueryContext, previousDateFrom, previousDateTo, dashboardCriteria.getNewCaseDateType());
 
 		Predicate filter = caseService.createUserFilter(cb, cq, caze, new CaseUserFilterCriteria().excludeCasesFromContacts(true));
+		filter = CriteriaBuilderHelper.and(cb, filter, createCaseCriteriaFilterWithoutDates(dashboardCriteria, caseQueryContext));
+		if (currentFilter != null && previousFilter != null) {
+			filter = CriteriaBuilderHelper.and(cb, filter, cb.or(currentFilter, previousFilter));
+		}
 
-		filter = CriteriaBuilderHelper.and(cb, filter, createCaseCriteriaFilter(dashboardCriteria, caseQueryContext));
+		if (currentFilter == null) {
+			currentFilter = cb.conjunction();
+		}
+		if (previousFilter == null) {
+			previousFilter = cb.conjunction();
+		}
 
 		if (filter != null) {
 			cq.where(filter);
 		}
 
-		cq.select(district.get(District.NAME));
-		List<Order> order = new ArrayList<>();
-		order.add(cb.desc(caze.get(Case.REPORT_DATE)));
-		order.add(cb.desc(caze.get(Case.CREATION_DATE)));
-		cq.orderBy(order);
+		Predicate fatal = cb.and(
+			cb.isNotNull(person.get(Person.PRESENT_CONDITION)),
+			cb.notEqual(person.get(Person.PRESENT_CONDITION), PresentCondition.ALIVE),
+			cb.equal(person.get(Person.CAUSE_OF_DEATH_DISEASE), caze.get(Case.DISEASE)));
+		Predicate inQuarantine =
+			cb.and(currentFilter, createQuarantineFilter(cb, caze, dashboardCriteria.getDateFrom(), dashboardCriteria.getDateTo()));
+		Predicate placedInQuarantine = cb.and(
+			inQuarantine,
+			createQuarantinePlacementFilter(cb, caze, dashboardCriteria.getDateFrom(), dashboardCriteria.getDateTo()));
+
+		cq.multiselect(
+			cb.sum(cb.selectCase().when(currentFilter, 1).otherwise(0).as(Long.class)),
+			cb.sum(cb.selectCase().when(cb.and(currentFilter, fatal), 1).otherwise(0).as(Long.class)),
+			cb.sum(cb.selectCase().when(cb.and(previousFilter, fatal), 1).otherwise(0).as(Long.class)),
+			cb.sum(cb.selectCase().when(inQuarantine, 1).otherwise(0).as(Long.class)),
+			cb.sum(cb.selectCase().when(placedInQuarantine, 1).otherwise(0).as(Long.class)),
+			cb.sum(
+				cb.selectCase()
+					.when(cb.and(currentFilter, cb.equal(caze.get(Case.CASE_REFERENCE_DEFINITION), CaseReferenceDefinition.FULFILLED)), 1)
+					.otherwise(0)
+					.as(Long.class)));
+
+		Object[] result = em.createQuery(cq).getSingleResult();
+
+		return new DashboardCaseStatisticDto(
+			toLong(result[0]),
+			toLong(result[1]),
+			toLong(result[2]),
+			toLong(result[3]),
+			toLong(result[4]),
+			toLong(result[5]));
+	}
 
-		return QueryHelper.getFirstResult(em, cq, t -> t == null ? StringUtils.EMPTY : t);
+	/**
+	 * Cases are in quarantine in the period if their quarantine overlaps it, or, if only one quarantine date is
+	 * known, if that date lies in the period.
+	 */
+	private Predicate createQuarantineFilter(CriteriaBuilder cb, From<?, Case> caze, Date dateFrom, Date dateTo) {
+
+		Path<Date> quarantineFrom = caze.get(Case.QUARANTINE_FROM);
+		Path<Date> quarantineTo = caze.get(Case.QUARANTINE_TO);
+
+		if (dateFrom != null && dateTo != null) {
+			return cb.or(
+				cb.and(
+					cb.isNotNull(quarantineFrom),
+					cb.isNotNull(quarantineTo),
+					cb.greaterThan(quarantineTo, dateFrom),
+					cb.lessThan(quarantineFrom, dateTo)),
+				cb.and(cb.isNotNull(quarantineFrom), cb.isNull(quarantineTo), cb.greaterThan(quarantineFrom, dateFrom), cb.lessThan(quarantineFrom, dateTo)),
+				cb.and(cb.isNull(quarantineFrom), cb.greaterThan(quarantineTo, dateFrom), cb.lessThan(quarantineTo, dateTo)));
+		} else if (dateFrom != null) {
+			return cb.or(
+				cb.and(cb.isNotNull(quarantineFrom), cb.greaterThan(quarantineFrom, dateFrom)),
+				cb.and(cb.isNull(quarantineFrom), cb.greaterThan(quarantineTo, dateFrom)));
+		} else if (dateTo != null) {
+			return cb.or(
+				cb.and(cb.isNotNull(quarantineFrom), cb.lessThan(quarantineFrom, dateTo)),
+				cb.and(cb.isNull(quarantineFrom), cb.lessThan(quarantineTo, dateTo)));
+		}
+
+		return cb.disjunction();
 	}
 
-	public Map<Disease, District> getLastReportedDistrictByDisease(DashboardCriteria dashboardCriteria) {
+	/**
+	 * Cases have been placed in quarantine in the period if their quarantine started on one of its days.
+	 */
+	private Predicate createQuarantinePlacementFilter(CriteriaBuilder cb, From<?, Case> caze, Date dateFrom, Date dateTo) {
+
+		Path<Date> quarantineFrom = caze.get(Case.QUARANTINE_FROM);
+
+		Predicate filter = cb.isNotNull(quarantineFrom);
+		if (dateFrom != null) {
+			filter = cb.and(filter, cb.greaterThan(quarantineFrom, DateUtils.addDays(dateFrom, -1)));
+		}
+		if (dateTo != null) {
+			filter = cb.and(filter, cb.lessThan(quarantineFrom, dateTo));
+		}
+
+		return filter;
+	}
+
+	private static long toLong(Object sum) {
+		// sums over no rows are null
+		return sum != null ? ((Number) sum).longValue() : 0L;
+	}
+
+	public long countContactsResultingInCases(DashboardCriteria dashboardCriteria) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
-		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
-		Root<Case> caze = cq.from(Case.class);
+		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+		Root<Contact> contact = cq.from(Contact.class);
+		Join<Contact, Case> caze = contact.join(Contact.RESULTING_CASE, JoinType.INNER);
 		final CaseQueryContext caseQueryContext = new CaseQueryContext(cb, cq, caze);
-		final CaseJoins<Case> joins = (CaseJoins<Case>) caseQueryContext.getJoins();
-		Join<Case, District> districtJoin = joins.getResponsibleDistrict();
 
 		Predicate filter = caseService.createUserFilter(cb, cq, caze, new CaseUserFilterCriteria().excludeCasesFromContacts(true));
-
 		filter = CriteriaBuilderHelper.and(cb, filter, createCaseCriteriaFilter(dashboardCriteria, caseQueryContext));
 
 		if (filter != null) {
 			cq.where(filter);
 		}
+		cq.select(cb.count(contact));
 
-		Expression<Number> maxReportDate = cb.max(caze.get(Case.REPORT_DATE));
-		Expression<Number> maxCreationDate = cb.max(caze.get(Case.CREATION_DATE));
-		cq.multiselect(caze.get(Case.DISEASE), districtJoin);
-		cq.groupBy(caze.get(Case.DISEASE), districtJoin);
+		return em.createQuery(cq).getSingleResult();
+	}
 
-		List<Order> order = new ArrayList<>();
-		order.add(cb.desc(maxReportDate));
-		order.add(cb.desc(maxCreationDate));
-		cq.orderBy(order);
+	public List<Long> getCaseIds(DashboardCriteria dashboardCriteria) {
 
-		List<Object[]> results = em.createQuery(cq).getResultList();
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+		Root<Case> caze = cq.from(Case.class);
+		final CaseQueryContext caseQueryContext = new CaseQueryContext(cb, cq, caze);
 
-		Map<Disease, District> resultMap = new HashMap<>();
-		for (Object[] e : results) {
-			Disease disease = (Disease) e[0];
-			if (!resultMap.containsKey(disease)) {
-				District district = (District) e[1];
-				resultMap.put(disease, district);
-			}
+		Predicate filter = caseService.createUserFilter(cb, cq, caze, new CaseUserFilterCriteria().excludeCasesFromContacts(true));
+		filter = CriteriaBuilderHelper.and(cb, filter, createCaseCriteriaFilter(dashboardCriteria, caseQueryContext));
+
+		if (filter != null) {
+			cq.where(filter);
 		}
+		cq.select(caze.get(Case.ID));
 
-		return resultMap;
+		return em.createQuery(cq).getResultList();
 	}
 
-	public Map<Disease, Long> getDeathCountByDisease(DashboardCriteria dashboardCriteria) {
+	/**
+	 * Computes the case related figures of the disease burden in one pass over the cases: The number of cases in
+	 * the period of the criteria and in the previous period, the number of cases that died of their disease in the
+	 * period of the criteria and the name of the district with the most recently reported case.
+	 */
+	public Map<Disease, DiseaseBurdenCaseData> getDiseaseBurdenCaseData(
+		DashboardCriteria dashboardCriteria,
+		Date previousDateFrom,
+		Date previousDateTo) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
-		Root<Case> root = cq.from(Case.class);
-
-		final CaseQueryContext caseQueryContext = new CaseQueryContext(cb, cq, root);
-		CaseJoins<Case> joins = (CaseJoins<Case>) caseQueryContext.getJoins();
+		Root<Case> caze = cq.from(Case.class);
+		final CaseQueryContext caseQueryContext = new CaseQueryContext(cb, cq, caze);
+		final CaseJoins<Case> joins = (CaseJoins<Case>) caseQueryContext.getJoins();
 		Join<Case, Person> person = joins.getPerson();
+		Join<Case, District> district = joins.getResponsibleDistrict();
 
-		Predicate filter = caseService.createUserFilter(cb, cq, root, new CaseUserFilterCriteria().excludeCasesFromContacts(true));
-		filter = CriteriaBuilderHelper.and(cb, filter, createCaseCriteriaFilter(dashboardCriteria, caseQueryContext));
-		filter = CriteriaBuilderHelper.and(cb, filter, cb.equal(person.get(Person.CAUSE_OF_DEATH_DISEASE), root.get(Case.DISEASE)));
+		Predicate currentFilter = createNewCaseDateFilter(
+			caseQueryContext,
+			dashboardCriteria.getDateFrom(),
+			dashboardCriteria.getDateTo(),
+			dashboardCriteria.getNewCaseDateType());
+		Predicate previousFilter =
+			createNewCaseDateFilter(caseQueryContext, previousDateFrom, previousDateTo, dashboardCriteria.getNewCaseDateType());
+
+		Predicate filter = caseService.createUserFilter(cb, cq, caze, new CaseUserFilterCriteria().excludeCasesFromContacts(true));
+		filter = CriteriaBuilderHelper.and(cb, filter, createCaseCriteriaFilterWithoutDates(dashboardCriteria, caseQueryContext));
+		if (currentFilter != null && previousFilter != null) {
+			filter = CriteriaBuilderHelper.and(cb, filter, cb.or(currentFilter, previousFilter));
+		}
+
+		if (currentFilter == null) {
+			currentFilter = cb.conjunction();
+		}
+		if (previousFilter == null) {
+			previousFilter = cb.conjunction();
+		}
 
 		if (filter != null) {
 			cq.where(filter);
 		}
 
-		cq.multiselect(person.get(Person.CAUSE_OF_DEATH_DISEASE), cb.count(person));
-		cq.groupBy(person.get(Person.CAUSE_OF_DEATH_DISEASE));
+		cq.multiselect(
+			caze.get(Case.DISEASE),
+			district.get(District.NAME),
+			cb.sum(cb.selectCase().when(currentFilter, 1).otherwise(0).as(Long.class)),
+			cb.sum(cb.selectCase().when(previousFilter, 1).otherwise(0).as(Long.class)),
+			cb.sum(
+				cb.selectCase()
+					.when(cb.and(currentFilter, cb.equal(person.get(Person.CAUSE_OF_DEATH_DISEASE), caze.get(Case.DISEASE))), 1)
+					.otherwise(0)
+					.as(Long.class)),
+			cb.greatest(cb.<Date> selectCase().when(currentFilter, caze.get(Case.REPORT_DATE))),
+			cb.greatest(cb.<Date> selectCase().when(currentFilter, caze.get(Case.CREATION_DATE))));
+		cq.groupBy(caze.get(Case.DISEASE), district.get(District.ID), district.get(District.NAME));
 
 		List<Object[]> results = em.createQuery(cq).getResultList();
 
-		Map<Disease, Long> outbreaks = results.stream().collect(Collectors.toMap(e -> (Disease) e[0], e -> (Long) e[1]));
+		Map<Disease, DiseaseBurdenCaseData> resultMap = new HashMap<>();
+		for (Object[] e : results) {
+			DiseaseBurdenCaseData caseData = resultMap.computeIfAbsent((Disease) e[0], d -> new DiseaseBurdenCaseData());
+			caseData.addDistrict(
+				(String) e[1],
+				((Number) e[2]).longValue(),
+				((Number) e[3]).longValue(),
+				((Number) e[4]).longValue(),
+				(Date) e[5],
+				(Date) e[6]);
+		}
 
-		return outbreaks;
+		return resultMap;
 	}
 
 	public long countCasesConvertedFromContacts(DashboardCriteria dashboardCriteria) {
@@ -370,9 +518,35 @@ public class DashboardService {
 		DashboardCriteria dashboardCriteria,
 		CaseQueryContext caseQueryContext) {
 
+		return CriteriaBuilderHelper.and(
+			caseQueryContext.getCriteriaBuilder(),
+			createCaseCriteriaFilterWithoutDates(dashboardCriteria, caseQueryContext),
+			createNewCaseDateFilter(
+				caseQueryContext,
+				dashboardCriteria.getDateFrom(),
+				dashboardCriteria.getDateTo(),
+				dashboardCriteria.getNewCaseDateType()));
+	}
+
+	private Predicate createNewCaseDateFilter(CaseQueryContext caseQueryContext, Date dateFrom, Date dateTo, CriteriaDateType newCaseDateType) {
+
+		if (dateFrom == null || dateTo == null) {
+			return null;
+		}
+
+		return caseService.createNewCaseFilter(
+			caseQueryContext.getQuery(),
+			caseQueryContext.getCriteriaBuilder(),
+			caseQueryContext.getRoot(),
+			DateHelper.getStartOfDay(dateFrom),
+			DateHelper.getEndOfDay(dateTo),
+			newCaseDateType);
+	}
+
+	private Predicate createCaseCriteriaFilterWithoutDates(DashboardCriteria dashboardCriteria, CaseQueryContext caseQueryContext) {
+
 		final From<?, Case> from = caseQueryContext.getRoot();
 		final CriteriaBuilder cb = caseQueryContext.getCriteriaBuilder();
-		final CriteriaQuery<?> cq = caseQueryContext.getQuery();
 		final CaseJoins<Case> joins = (CaseJoins<Case>) caseQueryContext.getJoins();
 
 		Join<Case, Region> responsibleRegion = joins.getResponsibleRegion();
@@ -389,18 +563,6 @@ public class DashboardService {
 			filter =
 				CriteriaBuilderHelper.and(cb, filter, cb.equal(responsibleDistrict.get(District.UUID), dashboardCriteria.getDistrict().getUuid()));
 		}
-		if (dashboardCriteria.getDateFrom() != null && dashboardCriteria.getDateTo() != null) {
-			filter = CriteriaBuilderHelper.and(
-				cb,
-				filter,
-				caseService.createNewCaseFilter(
-					cq,
-					cb,
-					from,
-					DateHelper.getStartOfDay(dashboardCriteria.getDateFrom()),
-					DateHelper.getEndOfDay(dashboardCriteria.getDateTo()),
-					dashboardCriteria.getNewCaseDateType()));
-		}
 		if (!dashboardCriteria.shouldIncludeNotACaseClassification()) {
 			filter = CriteriaBuilderHelper
 				.and(cb, filter, cb.notEqual(caseQueryContext.getRoot().get(Case.CASE_CLASSIFICATION), CaseClassification.NO_CASE));
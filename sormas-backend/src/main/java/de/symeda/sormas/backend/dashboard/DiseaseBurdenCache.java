@@ -0,0 +1,101 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.dashboard;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.ejb.LocalBean;
+import javax.ejb.Lock;
+import javax.ejb.LockType;
+import javax.ejb.Singleton;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+
+import de.symeda.sormas.api.caze.NewCaseDateType;
+import de.symeda.sormas.api.disease.DiseaseBurdenDto;
+import de.symeda.sormas.api.infrastructure.district.DistrictReferenceDto;
+import de.symeda.sormas.api.infrastructure.region.RegionReferenceDto;
+import de.symeda.sormas.backend.caze.Case;
+import de.symeda.sormas.backend.common.ChangedEntityType;
+import de.symeda.sormas.backend.common.EntityChangeEvent;
+import de.symeda.sormas.backend.util.TtlCache;
+
+/**
+ * Keeps the disease burden of the dashboard for a short time, so that users opening the dashboard
+ * with the same filters do not trigger the underlying aggregation queries again and again.
+ * <p>
+ * Entries are cached per user, because the result depends on the user's jurisdiction. All entries are dropped once a
+ * change to a case has been committed; changes to events and outbreaks become visible once the short TTL has passed.
+ */
+@Singleton
+@LocalBean
+public class DiseaseBurdenCache {
+
+	private static final long TIME_TO_LIVE_MILLIS = 60 * 1000L;
+	private static final int MAX_ENTRIES = 1000;
+
+	private final TtlCache<List<Object>, List<DiseaseBurdenDto>> entries =
+		new TtlCache<>(TIME_TO_LIVE_MILLIS, MAX_ENTRIES, System::currentTimeMillis);
+
+	@Lock(LockType.READ)
+	public List<DiseaseBurdenDto> get(
+		String userUuid,
+		RegionReferenceDto region,
+		DistrictReferenceDto district,
+		Date fromDate,
+		Date toDate,
+		Date previousFromDate,
+		Date previousToDate,
+		NewCaseDateType newCaseDateType,
+		Supplier<List<DiseaseBurdenDto>> loader) {
+
+		List<Object> key = Arrays.asList(
+			userUuid,
+			region != null ? region.getUuid() : null,
+			district != null ? district.getUuid() : null,
+			fromDate != null ? fromDate.getTime() : null,
+			toDate != null ? toDate.getTime() : null,
+			previousFromDate != null ? previousFromDate.getTime() : null,
+			previousToDate != null ? previousToDate.getTime() : null,
+			newCaseDateType);
+
+		return copy(entries.get(key, k -> loader.get()));
+	}
+
+	@Lock(LockType.READ)
+	public void onCaseChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) @ChangedEntityType(Case.class) EntityChangeEvent event) {
+		entries.clear();
+	}
+
+	private static List<DiseaseBurdenDto> copy(List<DiseaseBurdenDto> diseaseBurden) {
+
+		return diseaseBurden.stream()
+			.map(
+				dto -> new DiseaseBurdenDto(
+					dto.getDisease(),
+					dto.getCaseCount(),
+					dto.getPreviousCaseCount(),
+					dto.getEventCount(),
+					dto.getOutbreakDistrictCount(),
+					dto.getCaseDeathCount(),
+					dto.getLastReportedDistrictName()))
+			.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.dashboard;
+
+import java.util.Date;
+
+/**
+ * Case related figures of the disease burden of one disease, accumulated over the responsible districts of the cases.
+ */
+public class DiseaseBurdenCaseData {
+
+	private long caseCount;
+	private long previousCaseCount;
+	private long caseDeathCount;
+	private String lastReportedDistrictName;
+	private Date lastReportDate;
+	private Date lastCreationDate;
+
+	void addDistrict(
+		String districtName,
+		long districtCaseCount,
+		long districtPreviousCaseCount,
+		long districtCaseDeathCount,
+		Date districtLastReportDate,
+		Date districtLastCreationDate) {
+
+		caseCount += districtCaseCount;
+		previousCaseCount += districtPreviousCaseCount;
+		caseDeathCount += districtCaseDeathCount;
+
+		if (districtCaseCount > 0 && isAfterLastReport(districtLastReportDate, districtLastCreationDate)) {
+			lastReportedDistrictName = districtName;
+			lastReportDate = districtLastReportDate;
+			lastCreationDate = districtLastCreationDate;
+		}
+	}
+
+	private boolean isAfterLastReport(Date reportDate, Date creationDate) {
+
+		if (lastReportDate == null) {
+			return true;
+		}
+		if (reportDate == null) {
+			return false;
+		}
+
+		int comparison = reportDate.compareTo(lastReportDate);
+		return comparison > 0 || comparison == 0 && creationDate != null && (lastCreationDate == null || creationDate.after(lastCreationDate));
+	}
+
+	public long getCaseCount() {
+		return caseCount;
+	}
+
+	public long getPreviousCaseCount() {
+		return previousCaseCount;
+	}
+
+	public long getCaseDeathCount() {
+		return caseDeathCount;
+	}
+
+	public String getLastReportedDistrictName() {
+		return lastReportedDistrictName;
+	}
+}
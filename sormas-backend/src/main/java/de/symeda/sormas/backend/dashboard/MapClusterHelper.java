@@ -0,0 +1,173 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.dashboard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Selection;
+
+import de.symeda.sormas.api.dashboard.MapClusterDto;
+import de.symeda.sormas.api.geo.GeoLatLon;
+import de.symeda.sormas.backend.ExtendedPostgreSQL94Dialect;
+
+/**
+ * Builds the grid queries for the clusters shown on the dashboard map. The map is divided into square cells whose
+ * size in screen pixels stays the same for all zoom levels, and all entities of a cell are combined into one
+ * {@link MapClusterDto}.
+ */
+public final class MapClusterHelper {
+
+	/**
+	 * From this zoom level on, only entities at the same position are combined.
+	 */
+	public static final int INDIVIDUAL_MARKERS_ZOOM = 16;
+
+	private static final int CELL_SIZE_PIXELS = 60;
+	private static final int TILE_SIZE_PIXELS = 256;
+	private static final int MICRO_DEGREES = 1000000;
+
+	private MapClusterHelper() {
+		// Hide Utility Class Constructor
+	}
+
+	public static int getCellSize(int zoom) {
+
+		if (zoom >= INDIVIDUAL_MARKERS_ZOOM) {
+			return 1;
+		}
+
+		return (int) Math.round(360d * MICRO_DEGREES * CELL_SIZE_PIXELS / (TILE_SIZE_PIXELS * Math.pow(2, Math.max(zoom, 0))));
+	}
+
+	/**
+	 * @return The index of the grid cell the coordinate lies in. The cell size has to be a literal, because Hibernate
+	 *         renders numeric literals inline, which is needed to group by the same expression that is selected.
+	 */
+	public static Expression<Double> getCellIndex(CriteriaBuilder cb, Expression<Double> coordinate, int cellSize) {
+		return cb.function("floor", Double.class, cb.quot(cb.prod(coordinate, cb.literal(MICRO_DEGREES)), cb.literal(cellSize)));
+	}
+
+	/**
+	 * @return The selections expected by {@link #toClusters(List)}, in the order expected there.
+	 */
+	public static List<Selection<?>> getClusterSelections(
+		CriteriaBuilder cb,
+		Expression<Double> latitude,
+		Expression<Double> longitude,
+		int cellSize,
+		Expression<?> classification,
+		Expression<String> uuid,
+		Expression<?> inJurisdiction) {
+
+		return Arrays.asList(
+			getCellIndex(cb, latitude, cellSize),
+			getCellIndex(cb, longitude, cellSize),
+			classification,
+			cb.count(uuid),
+			cb.avg(latitude),
+			cb.avg(longitude),
+			cb.least(uuid),
+			cb.function(ExtendedPostgreSQL94Dialect.BOOL_AND, Boolean.class, inJurisdiction));
+	}
+
+	public static List<Expression<?>> getClusterGrouping(
+		CriteriaBuilder cb,
+		Expression<Double> latitude,
+		Expression<Double> longitude,
+		int cellSize,
+		Expression<?> classification) {
+
+		return Arrays.asList(getCellIndex(cb, latitude, cellSize), getCellIndex(cb, longitude, cellSize), classification);
+	}
+
+	public static Predicate createBoundingBoxFilter(
+		CriteriaBuilder cb,
+		Expression<Double> latitude,
+		Expression<Double> longitude,
+		GeoLatLon southWest,
+		GeoLatLon northEast) {
+
+		if (southWest == null || northEast == null) {
+			return null;
+		}
+
+		Predicate filter = cb.between(latitude, southWest.getLat(), northEast.getLat());
+
+		// the bounds of the map are not wrapped to -180..180, so the view may span the antimeridian or even the whole world
+		double width = northEast.getLon() - southWest.getLon();
+		if (width < 360) {
+			double west = ((southWest.getLon() + 180) % 360 + 360) % 360 - 180;
+			double east = west + width;
+			if (east <= 180) {
+				filter = cb.and(filter, cb.between(longitude, west, east));
+			} else {
+				filter = cb.and(filter, cb.or(cb.greaterThanOrEqualTo(longitude, west), cb.lessThanOrEqualTo(longitude, east - 360)));
+			}
+		}
+
+		return filter;
+	}
+
+	/**
+	 * Combines the result rows of the grid query, which are separated by classification, into one cluster per grid cell.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> List<MapClusterDto<T>> toClusters(List<Object[]> rows) {
+
+		Map<List<Object>, ClusterBuilder<T>> builders = new LinkedHashMap<>();
+		for (Object[] row : rows) {
+			ClusterBuilder<T> builder = builders.computeIfAbsent(Arrays.asList(row[0], row[1]), k -> new ClusterBuilder<>());
+			long count = ((Number) row[3]).longValue();
+			builder.count += count;
+			builder.latitudeSum += ((Number) row[4]).doubleValue() * count;
+			builder.longitudeSum += ((Number) row[5]).doubleValue() * count;
+			builder.uuid = (String) row[6];
+			builder.inJurisdiction &= !Boolean.FALSE.equals(row[7]);
+			builder.classificationCounts.merge((T) row[2], count, Long::sum);
+		}
+
+		List<MapClusterDto<T>> clusters = new ArrayList<>(builders.size());
+		for (ClusterBuilder<T> builder : builders.values()) {
+			MapClusterDto<T> cluster = new MapClusterDto<>(
+				builder.latitudeSum / builder.count,
+				builder.longitudeSum / builder.count,
+				builder.count,
+				builder.count == 1 ? builder.uuid : null,
+				builder.inJurisdiction);
+			builder.classificationCounts.forEach(cluster::addClassificationCount);
+			clusters.add(cluster);
+		}
+
+		return clusters;
+	}
+
+	private static final class ClusterBuilder<T> {
+
+		private long count;
+		private double latitudeSum;
+		private double longitudeSum;
+		private String uuid;
+		private boolean inJurisdiction = true;
+		private final Map<T, Long> classificationCounts = new LinkedHashMap<>();
+	}
+}
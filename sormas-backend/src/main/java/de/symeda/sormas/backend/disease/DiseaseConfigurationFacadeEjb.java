@@ -7,6 +7,7 @@ import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -14,6 +15,8 @@ import javax.annotation.PostConstruct;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.validation.constraints.NotNull;
@@ -21,6 +24,8 @@ import javax.validation.constraints.NotNull;
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.disease.DiseaseConfigurationDto;
 import de.symeda.sormas.api.disease.DiseaseConfigurationFacade;
+import de.symeda.sormas.backend.common.ChangedEntityType;
+import de.symeda.sormas.backend.common.EntityChangeEvent;
 import de.symeda.sormas.backend.user.User;
 import de.symeda.sormas.backend.user.UserService;
 import de.symeda.sormas.backend.util.DtoHelper;
@@ -36,6 +41,9 @@ public class DiseaseConfigurationFacadeEjb implements DiseaseConfigurationFacade
 	private DiseaseConfigurationService service;
 	@EJB
 	private UserService userService;
+	@Inject
+	@ChangedEntityType(DiseaseConfiguration.class)
+	private Event<EntityChangeEvent> diseaseConfigurationChangeEvent;
 
 	private List<Disease> activeDiseases = new ArrayList<>();
 	private List<Disease> inactiveDiseases = new ArrayList<>();
@@ -196,9 +204,29 @@ public class DiseaseConfigurationFacadeEjb implements DiseaseConfigurationFacade
 		return eventParticipantFollowUpDurations.get(disease);
 	}
 
+	/**
+	 * Fires an {@link EntityChangeEvent} for the configuration when the contact follow-up of the disease has been enabled,
+	 * disabled or its duration has been changed, so that the follow-up of its contacts is recalculated once the
+	 * configuration is committed. No observer needs to know about other changes.
+	 */
 	@Override
 	public void saveDiseaseConfiguration(DiseaseConfigurationDto configuration) {
-		service.ensurePersisted(fromDto(configuration, true));
+
+		DiseaseConfiguration existingConfiguration = service.getByUuid(configuration.getUuid());
+		boolean followUpChanged = !Objects.equals(
+			existingConfiguration != null ? existingConfiguration.getFollowUpEnabled() : null,
+			configuration.getFollowUpEnabled())
+			|| !Objects.equals(
+				existingConfiguration != null ? existingConfiguration.getFollowUpDuration() : null,
+				configuration.getFollowUpDuration());
+
+		DiseaseConfiguration diseaseConfiguration = fromDto(configuration, true);
+		service.ensurePersisted(diseaseConfiguration);
+
+		if (followUpChanged) {
+			loadData();
+			diseaseConfigurationChangeEvent.fire(new EntityChangeEvent(diseaseConfiguration));
+		}
 	}
 
 	@Override
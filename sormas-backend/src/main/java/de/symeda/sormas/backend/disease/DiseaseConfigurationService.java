@@ -33,6 +33,30 @@ public class DiseaseConfigurationService extends AdoServiceWithUserFilter<Diseas
 		return em.createQuery(cq).setParameter(diseaseParam, disease).getResultList().stream().findFirst().orElse(null);
 	}
 
+	/**
+	 * Reads whether the disease has a contact follow-up from the database. In contrast to
+	 * {@link DiseaseConfigurationFacadeEjb#hasFollowUp(Disease)}, this also reflects changes saved through another bean
+	 * instance.
+	 */
+	public boolean hasFollowUp(Disease disease) {
+
+		DiseaseConfiguration configuration = getDiseaseConfiguration(disease);
+		Boolean followUpEnabled = configuration != null ? configuration.getFollowUpEnabled() : null;
+		return followUpEnabled != null ? followUpEnabled : disease.isDefaultFollowUpEnabled();
+	}
+
+	/**
+	 * Reads the contact follow-up duration of the disease from the database. In contrast to
+	 * {@link DiseaseConfigurationFacadeEjb#getFollowUpDuration(Disease)}, this also reflects changes saved through another
+	 * bean instance.
+	 */
+	public int getFollowUpDuration(Disease disease) {
+
+		DiseaseConfiguration configuration = getDiseaseConfiguration(disease);
+		Integer followUpDuration = configuration != null ? configuration.getFollowUpDuration() : null;
+		return followUpDuration != null ? followUpDuration : disease.getDefaultFollowUpDuration();
+	}
+
 	@SuppressWarnings("rawtypes")
 	@Override
 	public Predicate createUserFilter(CriteriaBuilder cb, CriteriaQuery cq, From<?, DiseaseConfiguration> from) {
@@ -46,7 +46,6 @@ import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.CriteriaUpdate;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
@@ -88,6 +87,7 @@ import de.symeda.sormas.api.location.LocationDto;
 import de.symeda.sormas.api.sormastosormas.ShareTreeCriteria;
 import de.symeda.sormas.api.user.UserRight;
 import de.symeda.sormas.api.utils.AccessDeniedException;
+import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.api.utils.SortProperty;
 import de.symeda.sormas.api.utils.ValidationRuntimeException;
 import de.symeda.sormas.backend.caze.Case;
@@ -127,6 +127,8 @@ import de.symeda.sormas.utils.EventJoins;
 @Stateless(name = "EventFacade")
 public class EventFacadeEjb implements EventFacade {
 
+	private static final int ARCHIVE_BATCH_SIZE = 1000;
+
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
 	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
@@ -1201,36 +1203,35 @@ public class EventFacadeEjb implements EventFacade {
 	 *            defines the amount of days
 	 */
 	@Override
-	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
 	public void archiveAllArchivableEvents(int daysAfterEventGetsArchived) {
 
 		archiveAllArchivableEvents(daysAfterEventGetsArchived, LocalDate.now());
 	}
 
+	/**
+	 * Walks through the archivable events in chunks of ascending id and archives each chunk in its own transaction.
+	 * Archived events are not archivable anymore, so an interrupted run is simply continued by the next one.
+	 */
 	void archiveAllArchivableEvents(int daysAfterEventGetsArchived, @NotNull LocalDate referenceDate) {
 
-		LocalDate notChangedSince = referenceDate.minusDays(daysAfterEventGetsArchived);
-
-		CriteriaBuilder cb = em.getCriteriaBuilder();
-		CriteriaQuery<String> cq = cb.createQuery(String.class);
-		Root<Event> from = cq.from(Event.class);
+		long startTime = DateHelper.startTime();
 
+		LocalDate notChangedSince = referenceDate.minusDays(daysAfterEventGetsArchived);
 		Timestamp notChangedTimestamp = Timestamp.valueOf(notChangedSince.atStartOfDay());
-		cq.where(cb.equal(from.get(Event.ARCHIVED), false), cb.not(eventService.createChangeDateFilter(cb, from, notChangedTimestamp)));
-		cq.select(from.get(Event.UUID));
-		List<String> uuids = em.createQuery(cq).getResultList();
-
-		if (!uuids.isEmpty()) {
-
-			CriteriaUpdate<Event> cu = cb.createCriteriaUpdate(Event.class);
-			Root<Event> root = cu.from(Event.class);
 
-			cu.set(root.get(Event.ARCHIVED), true);
-
-			cu.where(root.get(Event.UUID).in(uuids));
-
-			em.createQuery(cu).executeUpdate();
-		}
+		int eventCount = IterableHelper.executeChunked(
+			ARCHIVE_BATCH_SIZE,
+			(afterId, limit) -> eventService.getArchivableIds(notChangedTimestamp, afterId, limit),
+			eventService::archive);
+
+		long duration = DateHelper.durationMillies(startTime);
+		logger.debug(
+			"archiveAllArchivableEvents() finished. eventCount = {}, daysAfterEventGetsArchived = {}, {}ms, {} events/s",
+			eventCount,
+			daysAfterEventGetsArchived,
+			duration,
+			eventCount * 1000L / Math.max(duration, 1L));
 	}
 
 	@Override
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -931,4 +932,40 @@ public class EventService extends AbstractCoreAdoService<Event> {
 
 		return em.createQuery(cq).getResultList();
 	}
+
+	/**
+	 * @return The events of the given cases by case uuid, see {@link #getAllByCase(String)}.
+	 */
+	public Map<String, List<Event>> getAllByCases(List<String> caseUuids) {
+
+		Map<String, List<Event>> eventsByCase = new HashMap<>();
+		IterableHelper.executeBatched(caseUuids, ModelConstants.PARAMETER_LIMIT, batchedCaseUuids -> {
+			CriteriaBuilder cb = em.getCriteriaBuilder();
+			CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+			Root<Event> from = cq.from(getElementClass());
+			from.fetch(Event.EVENT_LOCATION);
+
+			Join<Object, Object> caseJoin = from.join(Event.EVENT_PERSONS).join(EventParticipant.RESULTING_CASE);
+
+			Predicate filter = createActiveEventsFilter(cb, from);
+
+			User user = getCurrentUser();
+			if (user != null) {
+				Predicate userFilter = createUserFilter(cb, cq, from);
+				filter = CriteriaBuilderHelper.and(cb, filter, userFilter);
+			}
+
+			filter = CriteriaBuilderHelper.and(cb, filter, caseJoin.get(Case.UUID).in(batchedCaseUuids));
+
+			cq.multiselect(caseJoin.get(Case.UUID), from);
+			cq.where(filter);
+			cq.distinct(true);
+
+			for (Object[] result : em.createQuery(cq).getResultList()) {
+				eventsByCase.computeIfAbsent((String) result[0], k -> new ArrayList<>()).add((Event) result[1]);
+			}
+		});
+
+		return eventsByCase;
+	}
 }
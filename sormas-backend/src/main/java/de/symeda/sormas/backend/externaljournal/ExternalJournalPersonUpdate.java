@@ -0,0 +1,118 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.externaljournal;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+/**
+ * A change of a person enrolled in an external journal that the journal still has to be notified of. All pending
+ * updates of a person are sent as one notification by {@link ExternalJournalPersonUpdateService}.
+ */
+@Entity(name = ExternalJournalPersonUpdate.TABLE_NAME)
+public class ExternalJournalPersonUpdate implements Serializable {
+
+	private static final long serialVersionUID = -4180531652735617806L;
+
+	public static final String TABLE_NAME = "externaljournalpersonupdate";
+
+	public static final String ID = "id";
+	public static final String PERSON_UUID = "personUuid";
+	public static final String JOURNAL_PERSON = "journalPerson";
+	public static final String CREATION_DATE = "creationDate";
+	public static final String DUE_DATE = "dueDate";
+	public static final String ATTEMPTS = "attempts";
+
+	private Long id;
+	private String personUuid;
+	private String journalPerson;
+	private Date creationDate;
+	private Date dueDate;
+	private int attempts;
+
+	@Id
+	@SequenceGenerator(name = "EXTERNALJOURNALPERSONUPDATE_SEQ_GEN", allocationSize = 1, sequenceName = "ENTITY_SEQ")
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "EXTERNALJOURNALPERSONUPDATE_SEQ_GEN")
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	@Column(nullable = false, length = 36)
+	public String getPersonUuid() {
+		return personUuid;
+	}
+
+	public void setPersonUuid(String personUuid) {
+		this.personUuid = personUuid;
+	}
+
+	/**
+	 * @return The person as it was known to the external journal before the change, as JSON.
+	 */
+	@Column(nullable = false, columnDefinition = "text")
+	public String getJournalPerson() {
+		return journalPerson;
+	}
+
+	public void setJournalPerson(String journalPerson) {
+		this.journalPerson = journalPerson;
+	}
+
+	@Temporal(TemporalType.TIMESTAMP)
+	@Column(nullable = false)
+	public Date getCreationDate() {
+		return creationDate;
+	}
+
+	public void setCreationDate(Date creationDate) {
+		this.creationDate = creationDate;
+	}
+
+	/**
+	 * @return The date from which on the update may be sent: The end of the coalescing period for new updates, the date
+	 *         of the next retry for updates that could not be sent.
+	 */
+	@Temporal(TemporalType.TIMESTAMP)
+	@Column(nullable = false)
+	public Date getDueDate() {
+		return dueDate;
+	}
+
+	public void setDueDate(Date dueDate) {
+		this.dueDate = dueDate;
+	}
+
+	public int getAttempts() {
+		return attempts;
+	}
+
+	public void setAttempts(int attempts) {
+		this.attempts = attempts;
+	}
+}
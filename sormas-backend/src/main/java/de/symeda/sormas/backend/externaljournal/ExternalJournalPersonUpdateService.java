@@ -0,0 +1,252 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.externaljournal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.ejb.LocalBean;
+import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.symeda.sormas.api.person.JournalPersonDto;
+import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.util.ModelConstants;
+
+/**
+ * Persists the person updates external journals have to be notified of (outbox) in the transaction that changes the
+ * person, so that they are only sent when the change is committed and are not lost when the server is restarted.
+ * <p>
+ * All pending updates of a person are sent as one notification once the person has not been changed for
+ * {@link #COALESCING_SECONDS}. Failed notifications are retried with an exponential backoff.
+ */
+@Stateless
+@LocalBean
+public class ExternalJournalPersonUpdateService {
+
+	public static final int COALESCING_SECONDS = 10;
+	public static final int MAX_ATTEMPTS = 10;
+
+	private static final long FIRST_RETRY_DELAY_MILLIS = 60 * 1000L;
+	private static final long MAX_RETRY_DELAY_MILLIS = 6 * 60 * 60 * 1000L;
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
+	private EntityManager em;
+
+	/**
+	 * @param journalPerson
+	 *            The person as it is known to the external journals, i.e. before the change.
+	 */
+	public void enqueue(JournalPersonDto journalPerson) {
+
+		Date now = new Date();
+		ExternalJournalPersonUpdate update = new ExternalJournalPersonUpdate();
+		update.setPersonUuid(journalPerson.getUuid());
+		update.setJournalPerson(toJson(journalPerson));
+		update.setCreationDate(now);
+		update.setDueDate(DateHelper.addSeconds(now, COALESCING_SECONDS));
+		em.persist(update);
+	}
+
+	/**
+	 * @return One entry per person whose pending updates are all due, the longest waiting first. The entry holds the person
+	 *         as it was known to the external journals before the first of the updates.
+	 */
+	public List<PendingPersonUpdate> getDueUpdates(int maxResults) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<ExternalJournalPersonUpdate> from = cq.from(ExternalJournalPersonUpdate.class);
+		Path<Long> id = from.get(ExternalJournalPersonUpdate.ID);
+		Path<Date> creationDate = from.get(ExternalJournalPersonUpdate.CREATION_DATE);
+		Path<Date> dueDate = from.get(ExternalJournalPersonUpdate.DUE_DATE);
+		Path<Integer> attempts = from.get(ExternalJournalPersonUpdate.ATTEMPTS);
+
+		Expression<Long> firstId = cb.min(id);
+		cq.multiselect(from.get(ExternalJournalPersonUpdate.PERSON_UUID), firstId, cb.max(id), cb.least(creationDate), cb.max(attempts));
+		cq.groupBy(from.get(ExternalJournalPersonUpdate.PERSON_UUID));
+		cq.having(cb.lessThanOrEqualTo(cb.greatest(dueDate), new Date()));
+		cq.orderBy(cb.asc(firstId));
+
+		List<Object[]> rows = em.createQuery(cq).setMaxResults(maxResults).getResultList();
+		if (rows.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		Map<Long, String> journalPersons = getJournalPersons(rows.stream().map(r -> (Long) r[1]).collect(Collectors.toList()));
+
+		List<PendingPersonUpdate> updates = new ArrayList<>(rows.size());
+		for (Object[] row : rows) {
+			updates.add(
+				new PendingPersonUpdate(
+					(String) row[0],
+					(Long) row[2],
+					fromJson(journalPersons.get((Long) row[1])),
+					(Date) row[3],
+					(Integer) row[4]));
+		}
+		return updates;
+	}
+
+	private Map<Long, String> getJournalPersons(List<Long> ids) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<ExternalJournalPersonUpdate> from = cq.from(ExternalJournalPersonUpdate.class);
+		cq.multiselect(from.get(ExternalJournalPersonUpdate.ID), from.get(ExternalJournalPersonUpdate.JOURNAL_PERSON));
+		cq.where(from.get(ExternalJournalPersonUpdate.ID).in(ids));
+
+		Map<Long, String> journalPersons = new HashMap<>();
+		for (Object[] row : em.createQuery(cq).getResultList()) {
+			journalPersons.put((Long) row[0], (String) row[1]);
+		}
+		return journalPersons;
+	}
+
+	/**
+	 * @return The number of persons with pending updates.
+	 */
+	public long countPendingPersons() {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+		Root<ExternalJournalPersonUpdate> from = cq.from(ExternalJournalPersonUpdate.class);
+		cq.select(cb.countDistinct(from.get(ExternalJournalPersonUpdate.PERSON_UUID)));
+		return em.createQuery(cq).getSingleResult();
+	}
+
+	/**
+	 * Removes the sent updates. Updates of the person enqueued while the notification was sent are kept.
+	 */
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public void markSent(PendingPersonUpdate update) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaDelete<ExternalJournalPersonUpdate> cd = cb.createCriteriaDelete(ExternalJournalPersonUpdate.class);
+		cd.where(createUpdateFilter(cb, cd.from(ExternalJournalPersonUpdate.class), update));
+		em.createQuery(cd).executeUpdate();
+	}
+
+	/**
+	 * Schedules the next attempt to send the updates, or removes them when the maximum number of attempts is reached.
+	 *
+	 * @return true if the updates will be sent again, false if they have been given up.
+	 */
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public boolean markFailed(PendingPersonUpdate update) {
+
+		int attempts = update.getAttempts() + 1;
+		if (attempts >= MAX_ATTEMPTS) {
+			markSent(update);
+			return false;
+		}
+
+		long retryDelay = Math.min(FIRST_RETRY_DELAY_MILLIS << (attempts - 1), MAX_RETRY_DELAY_MILLIS);
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaUpdate<ExternalJournalPersonUpdate> cu = cb.createCriteriaUpdate(ExternalJournalPersonUpdate.class);
+		Root<ExternalJournalPersonUpdate> from = cu.from(ExternalJournalPersonUpdate.class);
+		cu.set(ExternalJournalPersonUpdate.ATTEMPTS, attempts);
+		cu.set(ExternalJournalPersonUpdate.DUE_DATE, new Date(System.currentTimeMillis() + retryDelay));
+		cu.where(createUpdateFilter(cb, from, update));
+		em.createQuery(cu).executeUpdate();
+		return true;
+	}
+
+	private static Predicate createUpdateFilter(CriteriaBuilder cb, Root<ExternalJournalPersonUpdate> from, PendingPersonUpdate update) {
+
+		return cb.and(
+			cb.equal(from.get(ExternalJournalPersonUpdate.PERSON_UUID), update.getPersonUuid()),
+			cb.lessThanOrEqualTo(from.get(ExternalJournalPersonUpdate.ID), update.getLastId()));
+	}
+
+	private static String toJson(JournalPersonDto journalPerson) {
+
+		try {
+			return MAPPER.writeValueAsString(journalPerson);
+		} catch (JsonProcessingException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static JournalPersonDto fromJson(String journalPerson) {
+
+		try {
+			return MAPPER.readValue(journalPerson, JournalPersonDto.class);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public static final class PendingPersonUpdate {
+
+		private final String personUuid;
+		private final Long lastId;
+		private final JournalPersonDto journalPerson;
+		private final Date firstCreationDate;
+		private final int attempts;
+
+		private PendingPersonUpdate(String personUuid, Long lastId, JournalPersonDto journalPerson, Date firstCreationDate, int attempts) {
+
+			this.personUuid = personUuid;
+			this.lastId = lastId;
+			this.journalPerson = journalPerson;
+			this.firstCreationDate = firstCreationDate;
+			this.attempts = attempts;
+		}
+
+		public String getPersonUuid() {
+			return personUuid;
+		}
+
+		public Long getLastId() {
+			return lastId;
+		}
+
+		public JournalPersonDto getJournalPerson() {
+			return journalPerson;
+		}
+
+		public Date getFirstCreationDate() {
+			return firstCreationDate;
+		}
+
+		public int getAttempts() {
+			return attempts;
+		}
+	}
+}
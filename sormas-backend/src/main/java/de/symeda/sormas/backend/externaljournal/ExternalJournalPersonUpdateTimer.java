@@ -0,0 +1,40 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.externaljournal;
+
+import javax.annotation.security.RunAs;
+import javax.ejb.EJB;
+import javax.ejb.Schedule;
+import javax.ejb.Singleton;
+
+import de.symeda.sormas.api.user.UserRole;
+
+/**
+ * Sends the pending person updates to the external journals. Not part of the CronService, because the singleton's
+ * write lock would make the other cron jobs wait for each run, while only the runs of this job should not overlap.
+ */
+@Singleton
+@RunAs(UserRole._SYSTEM)
+public class ExternalJournalPersonUpdateTimer {
+
+	@EJB
+	private ExternalJournalService externalJournalService;
+
+	@Schedule(hour = "*", minute = "*", second = "*/10", persistent = false)
+	public void sendExternalJournalPersonUpdates() {
+		externalJournalService.sendPendingPersonUpdates();
+	}
+}
@@ -12,16 +12,17 @@ import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
-import javax.annotation.Resource;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
-import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.Invocation;
@@ -61,6 +62,7 @@ import de.symeda.sormas.api.person.SymptomJournalStatus;
 import de.symeda.sormas.api.utils.DataHelper;
 import de.symeda.sormas.api.utils.ValidationRuntimeException;
 import de.symeda.sormas.backend.common.ConfigFacadeEjb;
+import de.symeda.sormas.backend.externaljournal.ExternalJournalPersonUpdateService.PendingPersonUpdate;
 import de.symeda.sormas.backend.person.PersonFacadeEjb;
 import de.symeda.sormas.backend.util.ClientHelper;
 
@@ -82,6 +84,10 @@ public class ExternalJournalService {
 	private static final int NOT_FOUND_STATUS = 404;
 	private static final String EMAIL_QUERY_PARAM = "Email";
 	private static final String MOBILE_PHONE_QUERY_PARAM = "Mobile phone";
+	private static final int PERSON_UPDATE_BATCH_SIZE = 100;
+	private static final int MAX_PERSON_UPDATES_PER_RUN = 1000;
+	private static final int CLIENT_CONNECT_TIMEOUT_SECONDS = 10;
+	private static final int CLIENT_READ_TIMEOUT_SECONDS = 30;
 
 	protected final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -89,8 +95,8 @@ public class ExternalJournalService {
 	private ConfigFacadeEjb.ConfigFacadeEjbLocal configFacade;
 	@EJB
 	private PersonFacadeEjb.PersonFacadeEjbLocal personFacade;
-	@Resource
-	private ManagedScheduledExecutorService executorService;
+	@EJB
+	private ExternalJournalPersonUpdateService personUpdateService;
 
 	/**
 	 * Retrieves a token used for authenticating in the symptom journal.
@@ -117,7 +123,7 @@ public class ExternalJournalService {
 			throw new IllegalArgumentException("Property interface.symptomjournal.secret is not defined");
 		}
 		try {
-			Client client = ClientHelper.newBuilderWithProxy().build();
+			Client client = newClient();
 			HttpAuthenticationFeature feature = HttpAuthenticationFeature.basic(clientId, secret);
 			client.register(feature);
 			WebTarget webTarget = client.target(authenticationUrl);
@@ -164,7 +170,7 @@ public class ExternalJournalService {
 		}
 
 		try {
-			Client client = ClientHelper.newBuilderWithProxy().build();
+			Client client = newClient();
 			WebTarget webTarget = client.target(authenticationUrl);
 			Invocation.Builder invocationBuilder = webTarget.request(MediaType.APPLICATION_JSON);
 			Response response = invocationBuilder.post(Entity.json(ImmutableMap.of("email", email, "password", pass)));
@@ -194,14 +200,19 @@ public class ExternalJournalService {
 	public DataHelper.Pair<Boolean, ExternalJournalSyncResponseDto> notifyExternalJournalPersonUpdate(JournalPersonDto existingJournalPerson) {
 		boolean shouldNotify = shouldNotify(existingJournalPerson);
 		if (shouldNotify) {
-			if (configFacade.getSymptomJournalConfig().isActive()) {
-				return DataHelper.Pair.createPair(true, notifySymptomJournal(existingJournalPerson.getUuid()));
-			}
-			if (configFacade.getPatientDiaryConfig().isActive()) {
-				return DataHelper.Pair.createPair(true, notifyPatientDiary(existingJournalPerson.getUuid()));
-			}
+			return DataHelper.Pair.createPair(true, notifyExternalJournals(existingJournalPerson.getUuid()));
 		}
-		return DataHelper.Pair.createPair(shouldNotify, null);
+		return DataHelper.Pair.createPair(false, null);
+	}
+
+	ExternalJournalSyncResponseDto notifyExternalJournals(String personUuid) {
+		if (configFacade.getSymptomJournalConfig().isActive()) {
+			return notifySymptomJournal(personUuid);
+		}
+		if (configFacade.getPatientDiaryConfig().isActive()) {
+			return notifyPatientDiary(personUuid);
+		}
+		return null;
 	}
 
 	public void handleExternalJournalPersonUpdateAsync(PersonReferenceDto person) {
@@ -210,13 +221,76 @@ public class ExternalJournalService {
 		}
 
 		/**
-		 * The .getPersonForJournal(...) here gets the person in the state it is (most likely) known to an external journal.
+		 * The .getEnrolledPersonForJournal(...) here gets the person in the state it is (most likely) known to an external journal.
 		 * Changes of related data is assumed to be not yet persisted in the database.
-		 * 5 second delay added before notifying of update so that current transaction can complete and
-		 * new data can be retrieved from DB
+		 * The update is sent by sendPendingPersonUpdates() after the current transaction has been committed
+		 * and the person has not been changed for a while.
 		 */
-		JournalPersonDto existingPerson = personFacade.getPersonForJournal(person.getUuid());
-		executorService.schedule((Runnable) () -> notifyExternalJournalPersonUpdate(existingPerson), 5, TimeUnit.SECONDS);
+		JournalPersonDto existingPerson = personFacade.getEnrolledPersonForJournal(person.getUuid());
+		if (existingPerson != null) {
+			personUpdateService.enqueue(existingPerson);
+		}
+	}
+
+	/**
+	 * Notifies the external journals of the due person updates, one notification per person. Each sent or failed
+	 * notification is committed on its own, so a failing journal only delays the affected persons.
+	 */
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+	public void sendPendingPersonUpdates() {
+		if (!configFacade.isExternalJournalActive()) {
+			return;
+		}
+
+		long startTime = System.currentTimeMillis();
+		int sentUpdates = 0;
+		int failedUpdates = 0;
+		long maxLatencyMillis = 0;
+
+		List<PendingPersonUpdate> updates;
+		do {
+			updates = personUpdateService.getDueUpdates(PERSON_UPDATE_BATCH_SIZE);
+			for (PendingPersonUpdate update : updates) {
+				maxLatencyMillis = Math.max(maxLatencyMillis, System.currentTimeMillis() - update.getFirstCreationDate().getTime());
+				try {
+					sendPersonUpdate(update);
+					personUpdateService.markSent(update);
+					sentUpdates++;
+				} catch (RuntimeException e) {
+					failedUpdates++;
+					if (personUpdateService.markFailed(update)) {
+						logger.warn("Could not notify external journal of update of person {}, will retry: {}", update.getPersonUuid(), e.getMessage());
+					} else {
+						logger.error(
+							"Could not notify external journal of update of person {}, giving up after {} attempts",
+							update.getPersonUuid(),
+							ExternalJournalPersonUpdateService.MAX_ATTEMPTS,
+							e);
+					}
+				}
+			}
+		} while (updates.size() == PERSON_UPDATE_BATCH_SIZE && sentUpdates + failedUpdates < MAX_PERSON_UPDATES_PER_RUN);
+
+		if (sentUpdates + failedUpdates > 0) {
+			logger.info(
+				"sendPendingPersonUpdates(): {} persons sent, {} failed, {} persons still pending, max latency {} s, {} ms",
+				sentUpdates,
+				failedUpdates,
+				personUpdateService.countPendingPersons(),
+				maxLatencyMillis / 1000,
+				System.currentTimeMillis() - startTime);
+		}
+	}
+
+	private void sendPersonUpdate(PendingPersonUpdate update) {
+		JournalPersonDto updatedJournalPerson = personFacade.getEnrolledPersonForJournal(update.getPersonUuid());
+		// compared this way round, because the dates of the deserialized person are no timestamps
+		if (updatedJournalPerson != null && !update.getJournalPerson().equals(updatedJournalPerson)) {
+			ExternalJournalSyncResponseDto response = notifyExternalJournals(update.getPersonUuid());
+			if (response != null && !response.isSuccess()) {
+				throw new ExternalJournalException(response.getMessage());
+			}
+		}
 	}
 
 	public ExternalJournalSyncResponseDto handleExternalJournalPersonUpdateSync(PersonDto existingPerson) {
@@ -329,9 +403,19 @@ public class ExternalJournalService {
 		}
 	}
 
+	/**
+	 * The calls are limited in time, so that an unresponsive journal does not block the sending of the pending person updates.
+	 */
+	private static Client newClient() {
+		return ClientHelper.newBuilderWithProxy()
+			.connectTimeout(CLIENT_CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+			.readTimeout(CLIENT_READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+			.build();
+	}
+
 	private Invocation.Builder getExternalDataPersonInvocationBuilder(String personUuid) {
 		String externalDataUrl = configFacade.getPatientDiaryConfig().getProbandsUrl() + "/external-data/" + personUuid;
-		Client client = ClientHelper.newBuilderWithProxy().build();
+		Client client = newClient();
 		return client.target(externalDataUrl).request(MediaType.APPLICATION_JSON).header("x-access-token", getPatientDiaryAuthToken());
 	}
 
@@ -499,7 +583,7 @@ public class ExternalJournalService {
 			String queryParam = "\"" + key + "\" = \"" + value + "\"";
 			String encodedParams = URLEncoder.encode(queryParam, StandardCharsets.UTF_8.toString());
 			String fullUrl = probandsUrl + "?q=" + encodedParams;
-			Client client = ClientHelper.newBuilderWithProxy().build();
+			Client client = newClient();
 			Response response = client.target(fullUrl).request(MediaType.APPLICATION_JSON).header("x-access-token", getPatientDiaryAuthToken()).get();
 			if (response.getStatus() == NOT_FOUND_STATUS) {
 				return Optional.empty();
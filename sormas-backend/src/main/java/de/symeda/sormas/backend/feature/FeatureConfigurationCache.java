@@ -0,0 +1,129 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.feature;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.ejb.EJB;
+import javax.ejb.LocalBean;
+import javax.ejb.Lock;
+import javax.ejb.LockType;
+import javax.ejb.Singleton;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+
+import de.symeda.sormas.api.feature.FeatureType;
+import de.symeda.sormas.backend.common.ChangedEntityType;
+import de.symeda.sormas.backend.common.EntityChangeEvent;
+
+/**
+ * Keeps an immutable snapshot of all feature configurations, so that checking whether a feature is enabled
+ * does not query the database every time.
+ * <p>
+ * The snapshot is dropped once a transaction that persisted or deleted a feature configuration on this server has been
+ * committed, so that it is not reloaded with the previous state in the meantime. Changes made by
+ * other servers of a cluster are detected by comparing the number of configurations and their latest change date
+ * with the database, which is done at most every {@link #VALIDATION_INTERVAL_MILLIS} ms.
+ */
+@Singleton
+@LocalBean
+public class FeatureConfigurationCache {
+
+	private static final long VALIDATION_INTERVAL_MILLIS = 10 * 1000L;
+
+	@EJB
+	private FeatureConfigurationService featureConfigurationService;
+
+	private volatile Snapshot snapshot;
+
+	@Lock(LockType.READ)
+	public Snapshot getSnapshot() {
+
+		long now = System.currentTimeMillis();
+		Snapshot currentSnapshot = snapshot;
+		if (currentSnapshot != null && currentSnapshot.validUntil >= now) {
+			return currentSnapshot;
+		}
+
+		List<Object> changeStamp = featureConfigurationService.getChangeStamp();
+		Snapshot newSnapshot;
+		if (currentSnapshot != null && currentSnapshot.changeStamp.equals(changeStamp)) {
+			newSnapshot = new Snapshot(currentSnapshot, now + VALIDATION_INTERVAL_MILLIS);
+		} else {
+			newSnapshot = new Snapshot(featureConfigurationService.getAll(), changeStamp, now + VALIDATION_INTERVAL_MILLIS);
+		}
+
+		snapshot = newSnapshot;
+		return newSnapshot;
+	}
+
+	@Lock(LockType.READ)
+	public void invalidate() {
+		snapshot = null;
+	}
+
+	@Lock(LockType.READ)
+	public void onFeatureConfigurationChange(
+		@Observes(during = TransactionPhase.AFTER_SUCCESS) @ChangedEntityType(FeatureConfiguration.class) EntityChangeEvent event) {
+		invalidate();
+	}
+
+	public static final class Snapshot {
+
+		private final Set<FeatureType> disabledFeatureTypes;
+		private final List<FeatureType> activeServerFeatureTypes;
+		private final List<Object> changeStamp;
+		private final long validUntil;
+
+		private Snapshot(List<FeatureConfiguration> configurations, List<Object> changeStamp, long validUntil) {
+
+			Set<FeatureType> disabledFeatureTypes = EnumSet.noneOf(FeatureType.class);
+			List<FeatureType> activeServerFeatureTypes = new ArrayList<>();
+			for (FeatureConfiguration configuration : configurations) {
+				if (!configuration.isEnabled()) {
+					disabledFeatureTypes.add(configuration.getFeatureType());
+				} else if (configuration.getFeatureType().isServerFeature()) {
+					activeServerFeatureTypes.add(configuration.getFeatureType());
+				}
+			}
+
+			this.disabledFeatureTypes = Collections.unmodifiableSet(disabledFeatureTypes);
+			this.activeServerFeatureTypes = Collections.unmodifiableList(activeServerFeatureTypes);
+			this.changeStamp = changeStamp;
+			this.validUntil = validUntil;
+		}
+
+		private Snapshot(Snapshot snapshot, long validUntil) {
+
+			this.disabledFeatureTypes = snapshot.disabledFeatureTypes;
+			this.activeServerFeatureTypes = snapshot.activeServerFeatureTypes;
+			this.changeStamp = snapshot.changeStamp;
+			this.validUntil = validUntil;
+		}
+
+		public boolean isFeatureDisabled(FeatureType featureType) {
+			return disabledFeatureTypes.contains(featureType);
+		}
+
+		public List<FeatureType> getActiveServerFeatureTypes() {
+			return activeServerFeatureTypes;
+		}
+	}
+}
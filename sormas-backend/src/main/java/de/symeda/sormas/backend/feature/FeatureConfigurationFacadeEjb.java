@@ -15,6 +15,7 @@
 
 package de.symeda.sormas.backend.feature;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Date;
@@ -73,6 +74,8 @@ public class FeatureConfigurationFacadeEjb implements FeatureConfigurationFacade
 	private DistrictService districtService;
 	@EJB
 	private UserService userService;
+	@EJB
+	private FeatureConfigurationCache featureConfigurationCache;
 
 	@Override
 	public List<FeatureConfigurationDto> getAllAfter(Date date) {
@@ -243,15 +246,7 @@ public class FeatureConfigurationFacadeEjb implements FeatureConfigurationFacade
 
 	@Override
 	public boolean isFeatureDisabled(FeatureType featureType) {
-
-		CriteriaBuilder cb = em.getCriteriaBuilder();
-		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
-		Root<FeatureConfiguration> root = cq.from(FeatureConfiguration.class);
-
-		cq.where(cb.and(cb.equal(root.get(FeatureConfiguration.FEATURE_TYPE), featureType), cb.isFalse(root.get(FeatureConfiguration.ENABLED))));
-		cq.select(cb.count(root));
-
-		return em.createQuery(cq).getSingleResult() > 0;
+		return featureConfigurationCache.getSnapshot().isFeatureDisabled(featureType);
 	}
 
 	@Override
@@ -286,19 +281,11 @@ public class FeatureConfigurationFacadeEjb implements FeatureConfigurationFacade
 	@Override
 	public List<FeatureType> getActiveServerFeatureTypes() {
 
-		CriteriaBuilder cb = em.getCriteriaBuilder();
-		CriteriaQuery<FeatureType> cq = cb.createQuery(FeatureType.class);
-		Root<FeatureConfiguration> root = cq.from(FeatureConfiguration.class);
-
-		List<FeatureType> serverFeatures = FeatureType.getAllServerFeatures();
-		if (serverFeatures.isEmpty()) {
+		if (FeatureType.getAllServerFeatures().isEmpty()) {
 			return null;
 		}
 
-		cq.where(cb.and(root.get(FeatureConfiguration.FEATURE_TYPE).in(serverFeatures), cb.isTrue(root.get(FeatureConfiguration.ENABLED))));
-		cq.select(root.get(FeatureConfiguration.FEATURE_TYPE));
-
-		return em.createQuery(cq).getResultList();
+		return new ArrayList<>(featureConfigurationCache.getSnapshot().getActiveServerFeatureTypes());
 	}
 
 	public static FeatureConfigurationDto toDto(FeatureConfiguration source) {
@@ -8,6 +8,9 @@ import java.util.stream.Collectors;
 
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import javax.persistence.EntityExistsException;
 import javax.persistence.Query;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
@@ -21,7 +24,9 @@ import de.symeda.sormas.api.feature.FeatureConfigurationCriteria;
 import de.symeda.sormas.api.feature.FeatureType;
 import de.symeda.sormas.backend.common.AbstractDomainObject;
 import de.symeda.sormas.backend.common.AdoServiceWithUserFilter;
+import de.symeda.sormas.backend.common.ChangedEntityType;
 import de.symeda.sormas.backend.common.CriteriaBuilderHelper;
+import de.symeda.sormas.backend.common.EntityChangeEvent;
 import de.symeda.sormas.backend.infrastructure.district.District;
 import de.symeda.sormas.backend.infrastructure.region.Region;
 import de.symeda.sormas.backend.user.User;
@@ -30,10 +35,26 @@ import de.symeda.sormas.backend.user.User;
 @LocalBean
 public class FeatureConfigurationService extends AdoServiceWithUserFilter<FeatureConfiguration> {
 
+	@Inject
+	@ChangedEntityType(FeatureConfiguration.class)
+	private Event<EntityChangeEvent> featureConfigurationChangeEvent;
+
 	public FeatureConfigurationService() {
 		super(FeatureConfiguration.class);
 	}
 
+	@Override
+	public void ensurePersisted(FeatureConfiguration ado) throws EntityExistsException {
+		super.ensurePersisted(ado);
+		featureConfigurationChangeEvent.fire(new EntityChangeEvent(ado));
+	}
+
+	@Override
+	public void delete(FeatureConfiguration deleteme) {
+		super.delete(deleteme);
+		featureConfigurationChangeEvent.fire(new EntityChangeEvent(deleteme));
+	}
+
 	public List<String> getDeletedUuids(Date since, User user) {
 
 		StringBuilder queryBuilder = new StringBuilder();
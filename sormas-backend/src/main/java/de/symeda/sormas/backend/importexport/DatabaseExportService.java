@@ -15,26 +15,50 @@
 
 package de.symeda.sormas.backend.importexport;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.UncheckedIOException;
 import java.io.Writer;
-import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
+import javax.annotation.Resource;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
 
-import de.symeda.sormas.backend.user.User;
 import org.hibernate.Session;
 import org.postgresql.PGConnection;
 import org.postgresql.copy.CopyManager;
@@ -42,6 +66,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.symeda.sormas.api.importexport.DatabaseTable;
+import de.symeda.sormas.api.importexport.ImportExportUtils;
 import de.symeda.sormas.backend.action.Action;
 import de.symeda.sormas.backend.caze.Case;
 import de.symeda.sormas.backend.clinicalcourse.ClinicalCourse;
@@ -73,8 +98,10 @@ import de.symeda.sormas.backend.task.Task;
 import de.symeda.sormas.backend.therapy.Prescription;
 import de.symeda.sormas.backend.therapy.Therapy;
 import de.symeda.sormas.backend.therapy.Treatment;
+import de.symeda.sormas.backend.user.User;
 import de.symeda.sormas.backend.util.ModelConstants;
 import de.symeda.sormas.backend.visit.Visit;
+import de.symeda.sormas.backend.visualization.VisualizationFacadeEjb;
 
 /**
  * Exporting data directly from the PostgreSQL database with COPY commands as .csv files.
@@ -90,7 +117,10 @@ public class DatabaseExportService {
 		"COPY (SELECT * FROM %s AS root_table INNER JOIN %s AS leaf_table ON (root_table.%s = leaf_table.%s)) TO STDOUT WITH (FORMAT CSV, DELIMITER '%s', HEADER)";
 
 	private static final Map<DatabaseTable, DatabaseExportConfiguration> EXPORT_CONFIGS = new LinkedHashMap<>();
-	public static final String COUNT_TABLE_COLUMNS = "SELECT COUNT(column_name) FROM information_schema.columns WHERE table_name=:tableName";
+	public static final String COUNT_TABLE_COLUMNS =
+		"SELECT table_name, COUNT(column_name) FROM information_schema.columns WHERE table_name IN (:tableNames) GROUP BY table_name";
+	private static final String COUNT_TABLE_COLUMNS_JDBC =
+		"SELECT table_name, COUNT(column_name) FROM information_schema.columns WHERE table_name = ANY (?) GROUP BY table_name";
 
 	static {
 		EXPORT_CONFIGS.put(DatabaseTable.CASES, new DatabaseExportConfiguration(Case.TABLE_NAME));
@@ -140,24 +170,209 @@ public class DatabaseExportService {
 	@EJB
 	private ConfigFacadeEjbLocal configFacade;
 
+	@Resource(lookup = VisualizationFacadeEjb.SORMAS_DATA_POOL_JNDI)
+	private DataSource dataSource;
+
+	@Resource
+	private ManagedScheduledExecutorService executorService;
+
 	public void exportAsCsvFiles(ZipOutputStream zos, List<DatabaseTable> databaseTables) throws IOException {
 
 		//Writer must not be closed so it does not close the zip too early
 		Writer writer = new OutputStreamWriter(zos, StandardCharsets.UTF_8);
 
+		Map<String, Integer> columnCounts = getColumnCounts(databaseTables);
+
 		// Export all selected tables to .csv files
 		for (DatabaseTable databaseTable : databaseTables) {
 			zos.putNextEntry(new ZipEntry(databaseTable.getFileName() + ".csv"));
 			DatabaseExportConfiguration exportConfig = getConfig(databaseTable);
-			addEntityNamesRow(exportConfig, writer);
+			addEntityNamesRow(exportConfig, columnCounts, writer);
 			addDataRows(databaseTable, exportConfig, writer);
 			writer.flush();
 			zos.closeEntry();
 		}
 	}
 
-	private void addEntityNamesRow(DatabaseExportConfiguration config, Writer writer) throws IOException {
-		final int mainTableColumnCount = getColumnCount(config.getTableName());
+	/**
+	 * Exports the selected tables like {@link #exportAsCsvFiles(ZipOutputStream, List)}, but runs the COPY commands on
+	 * {@code parallelism} connections concurrently. All connections import the snapshot of one exporting transaction,
+	 * so the exported tables are consistent to each other.
+	 * <p>
+	 * The tables are copied into temporary files, which are added to the zip in the selected order as soon as they are complete.
+	 * Compressing a table into the zip therefore overlaps with copying the following tables.
+	 * <p>
+	 * Runs without container transaction, because the connections have to be taken from the pool without being enlisted.
+	 */
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+	public void exportAsCsvFilesInParallel(ZipOutputStream zos, List<DatabaseTable> databaseTables, int parallelism) throws IOException {
+
+		long startTime = System.currentTimeMillis();
+
+		Path tempDirectory = Files.createTempDirectory(Paths.get(configFacade.getTempFilesPath()), ImportExportUtils.TEMP_FILE_PREFIX + "_dbexport_");
+		Map<DatabaseTable, CompletableFuture<Path>> exportedFiles = new HashMap<>();
+		databaseTables.forEach(databaseTable -> exportedFiles.put(databaseTable, new CompletableFuture<>()));
+		Queue<DatabaseTable> pendingTables = new ConcurrentLinkedQueue<>(databaseTables);
+		List<Future<?>> workers = new ArrayList<>();
+
+		try (Connection snapshotConnection = dataSource.getConnection()) {
+			snapshotConnection.setAutoCommit(false);
+			snapshotConnection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+			try {
+				String snapshotId = exportSnapshot(snapshotConnection);
+				Map<String, Integer> columnCounts = getColumnCounts(snapshotConnection, databaseTables);
+
+				for (int i = 0; i < Math.min(parallelism, databaseTables.size()); i++) {
+					workers.add(executorService.submit(() -> copyTables(snapshotId, pendingTables, exportedFiles, tempDirectory)));
+				}
+
+				//Writer must not be closed so it does not close the zip too early
+				Writer writer = new OutputStreamWriter(zos, StandardCharsets.UTF_8);
+				for (int i = 0; i < databaseTables.size(); i++) {
+					DatabaseTable databaseTable = databaseTables.get(i);
+					long waitStart = System.currentTimeMillis();
+					Path tableFile = awaitExportedFile(databaseTable, exportedFiles.get(databaseTable));
+					long zipStart = System.currentTimeMillis();
+
+					zos.putNextEntry(new ZipEntry(databaseTable.getFileName() + ".csv"));
+					addEntityNamesRow(getConfig(databaseTable), columnCounts, writer);
+					writer.flush();
+					Files.copy(tableFile, zos);
+					zos.closeEntry();
+					Files.delete(tableFile);
+
+					logger.debug(
+						"exportAsCsvFilesInParallel(): Added '{}' ({}/{}) to the zip in {} ms after waiting {} ms for the COPY",
+						databaseTable.getFileName(),
+						i + 1,
+						databaseTables.size(),
+						System.currentTimeMillis() - zipStart,
+						zipStart - waitStart);
+				}
+			} finally {
+				pendingTables.clear();
+				awaitWorkers(workers);
+				snapshotConnection.rollback();
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("Failed to export the database in parallel", e);
+		} finally {
+			deleteDirectory(tempDirectory);
+		}
+
+		logger.debug(
+			"exportAsCsvFilesInParallel(): Exported {} tables on {} connections in {} ms",
+			databaseTables.size(),
+			workers.size(),
+			System.currentTimeMillis() - startTime);
+	}
+
+	private String exportSnapshot(Connection connection) throws SQLException {
+
+		try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery("SELECT pg_export_snapshot()")) {
+			resultSet.next();
+			return resultSet.getString(1);
+		}
+	}
+
+	/**
+	 * Copies tables from {@code pendingTables} until it is empty. Runs in its own transaction, which imports the snapshot
+	 * with the given id.
+	 */
+	private void copyTables(
+		String snapshotId,
+		Queue<DatabaseTable> pendingTables,
+		Map<DatabaseTable, CompletableFuture<Path>> exportedFiles,
+		Path tempDirectory) {
+
+		DatabaseTable databaseTable = null;
+		try (Connection connection = dataSource.getConnection()) {
+			int isolationLevel = connection.getTransactionIsolation();
+			connection.setAutoCommit(false);
+			connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+			try {
+				try (Statement statement = connection.createStatement()) {
+					statement.execute("SET TRANSACTION SNAPSHOT '" + snapshotId + "'");
+				}
+
+				CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+				while ((databaseTable = pendingTables.poll()) != null) {
+					long startTime = System.currentTimeMillis();
+					String sql = buildCopySql(getConfig(databaseTable));
+					Path tableFile = tempDirectory.resolve(databaseTable.getFileName() + ".csv");
+					try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tableFile))) {
+						copyManager.copyOut(sql, out);
+					}
+					exportedFiles.get(databaseTable).complete(tableFile);
+
+					// Be able to check performance for each export query
+					logger.debug(
+						"exportAsCsvFilesInParallel(): Copied '{}' in {} ms ({} bytes)",
+						databaseTable.getFileName(),
+						System.currentTimeMillis() - startTime,
+						Files.size(tableFile));
+				}
+			} finally {
+				connection.rollback();
+				connection.setAutoCommit(true);
+				connection.setTransactionIsolation(isolationLevel);
+			}
+		} catch (SQLException | IOException | RuntimeException e) {
+			// Fail the current and all remaining tables, so the export does not wait for them
+			RuntimeException exception = new RuntimeException(
+				String.format("Failed to export '%s' with COPY operation", databaseTable != null ? databaseTable.getFileName() : null),
+				e);
+			if (databaseTable != null) {
+				exportedFiles.get(databaseTable).completeExceptionally(exception);
+			}
+			for (DatabaseTable pendingTable = pendingTables.poll(); pendingTable != null; pendingTable = pendingTables.poll()) {
+				exportedFiles.get(pendingTable).completeExceptionally(exception);
+			}
+		}
+	}
+
+	private Path awaitExportedFile(DatabaseTable databaseTable, CompletableFuture<Path> exportedFile) {
+
+		try {
+			return exportedFile.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(String.format("Interrupted while exporting '%s'", databaseTable.getFileName()), e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+	private void awaitWorkers(List<Future<?>> workers) {
+
+		for (Future<?> worker : workers) {
+			try {
+				worker.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (ExecutionException e) {
+				logger.error("Database export worker failed", e.getCause());
+			}
+		}
+	}
+
+	private void deleteDirectory(Path directory) {
+
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+				Files.deleteIfExists(path);
+			}
+		} catch (IOException e) {
+			logger.warn("Could not delete temporary database export directory {}", directory, e);
+		}
+	}
+
+	private void addEntityNamesRow(DatabaseExportConfiguration config, Map<String, Integer> columnCounts, Writer writer) throws IOException {
+		final int mainTableColumnCount = columnCounts.getOrDefault(config.getTableName(), 0);
 		char csvSeparator = configFacade.getCsvSeparator();
 		if (mainTableColumnCount > 0) {
 			writer.write(config.getTableName());
@@ -166,7 +381,7 @@ public class DatabaseExportService {
 			writer.write(csvSeparator + config.getTableName());
 		}
 		if (config.isUseJoinTable()) {
-			final int joinTableColumnCount = getColumnCount(config.getJoinTableName());
+			final int joinTableColumnCount = columnCounts.getOrDefault(config.getJoinTableName(), 0);
 			for (int i = 0; i < joinTableColumnCount; i++) {
 				writer.write(csvSeparator + config.getJoinTableName());
 			}
@@ -174,16 +389,58 @@ public class DatabaseExportService {
 		writer.write('\n');
 	}
 
-	private int getColumnCount(String tableName) {
-		BigInteger bigIntegerResult = (BigInteger) em.createNativeQuery(COUNT_TABLE_COLUMNS).setParameter("tableName", tableName).getSingleResult();
-		return bigIntegerResult.intValue();
+	/**
+	 * @return The number of columns for all tables involved in exporting the given {@code databaseTables}, by table name.
+	 */
+	@SuppressWarnings("unchecked")
+	private Map<String, Integer> getColumnCounts(List<DatabaseTable> databaseTables) {
+
+		List<Object[]> results =
+			em.createNativeQuery(COUNT_TABLE_COLUMNS).setParameter("tableNames", getTableNames(databaseTables)).getResultList();
+		return results.stream().collect(Collectors.toMap(r -> (String) r[0], r -> ((Number) r[1]).intValue()));
+	}
+
+	private Map<String, Integer> getColumnCounts(Connection connection, List<DatabaseTable> databaseTables) throws SQLException {
+
+		Map<String, Integer> columnCounts = new HashMap<>();
+		try (PreparedStatement statement = connection.prepareStatement(COUNT_TABLE_COLUMNS_JDBC)) {
+			statement.setArray(1, connection.createArrayOf("varchar", getTableNames(databaseTables).toArray()));
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					columnCounts.put(resultSet.getString(1), resultSet.getInt(2));
+				}
+			}
+		}
+		return columnCounts;
+	}
+
+	private Set<String> getTableNames(List<DatabaseTable> databaseTables) {
+
+		Set<String> tableNames = new HashSet<>();
+		for (DatabaseTable databaseTable : databaseTables) {
+			DatabaseExportConfiguration config = getConfig(databaseTable);
+			tableNames.add(config.getTableName());
+			if (config.isUseJoinTable()) {
+				tableNames.add(config.getJoinTableName());
+			}
+		}
+		return tableNames;
 	}
 
 	private void addDataRows(DatabaseTable databaseTable, DatabaseExportConfiguration config, Writer writer) {
 		long startTime = System.currentTimeMillis();
-		final String sql;
+		final String sql = buildCopySql(config);
+		writeCsv(writer, sql, databaseTable.getFileName());
+
+		// Be able to check performance for each export query
+		logger
+			.trace("exportAsCsvFiles(): Exported '{}' in {} ms. sql='{}'", databaseTable.getFileName(), System.currentTimeMillis() - startTime, sql);
+	}
+
+	private String buildCopySql(DatabaseExportConfiguration config) {
+
 		if (config.isUseJoinTable()) {
-			sql = String.format(
+			return String.format(
 				COPY_WITH_JOIN_TABLE,
 				config.getTableName(),
 				config.getJoinTableName(),
@@ -191,13 +448,8 @@ public class DatabaseExportService {
 				config.getJoinColumnName(),
 				configFacade.getCsvSeparator());
 		} else {
-			sql = String.format(COPY_SINGLE_TABLE, config.getTableName(), configFacade.getCsvSeparator());
+			return String.format(COPY_SINGLE_TABLE, config.getTableName(), configFacade.getCsvSeparator());
 		}
-		writeCsv(writer, sql, databaseTable.getFileName());
-
-		// Be able to check performance for each export query
-		logger
-			.trace("exportAsCsvFiles(): Exported '{}' in {} ms. sql='{}'", databaseTable.getFileName(), System.currentTimeMillis() - startTime, sql);
 	}
 
 	/**
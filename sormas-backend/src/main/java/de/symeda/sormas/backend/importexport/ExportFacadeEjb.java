@@ -125,7 +125,12 @@ public class ExportFacadeEjb implements ExportFacade {
 
 		try (OutputStream fos = Files.newOutputStream(zipPath); ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(fos))) {
 			// Export all selected tables to .csv files
-			databaseExportService.exportAsCsvFiles(zos, databaseTables);
+			int parallelism = configFacade.getDatabaseExportParallelism();
+			if (parallelism > 1 && databaseTables.size() > 1) {
+				databaseExportService.exportAsCsvFilesInParallel(zos, databaseTables, parallelism);
+			} else {
+				databaseExportService.exportAsCsvFiles(zos, databaseTables);
+			}
 		} catch (RuntimeException e) {
 			Files.deleteIfExists(zipPath);
 			throw e;
@@ -0,0 +1,204 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.infrastructure;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.ejb.EJB;
+import javax.ejb.LocalBean;
+import javax.ejb.Lock;
+import javax.ejb.LockType;
+import javax.ejb.Singleton;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+
+import de.symeda.sormas.api.EntityDto;
+import de.symeda.sormas.api.infrastructure.community.CommunityDto;
+import de.symeda.sormas.api.infrastructure.facility.FacilityDto;
+import de.symeda.sormas.backend.common.ChangedEntityType;
+import de.symeda.sormas.backend.common.EntityChangeEvent;
+import de.symeda.sormas.backend.infrastructure.community.Community;
+import de.symeda.sormas.backend.infrastructure.community.CommunityFacadeEjb.CommunityFacadeEjbLocal;
+import de.symeda.sormas.backend.infrastructure.community.CommunityService;
+import de.symeda.sormas.backend.infrastructure.facility.Facility;
+import de.symeda.sormas.backend.infrastructure.facility.FacilityFacadeEjb.FacilityFacadeEjbLocal;
+import de.symeda.sormas.backend.infrastructure.facility.FacilityService;
+
+/**
+ * Keeps snapshots of all facilities and communities for the infrastructure sync of the mobile app. These are by far
+ * the largest infrastructure lists and do not depend on the user, so when many devices sync at the same time, the
+ * lists are loaded once and every device only gets the entities changed after its own change date from memory.
+ * <p>
+ * A snapshot is dropped once a save, import or (de)archiving of one of its entities has been committed on this server.
+ * It is also replaced when the number of entities or their latest change date in the database differ from the ones
+ * it was loaded with, which is checked at most every {@link #VALIDATION_INTERVAL_MILLIS} ms and covers changes made
+ * by other servers or directly in the database. Entities changed in between are synchronized with the next sync,
+ * because their change date is later than all change dates of the snapshot.
+ */
+@Singleton
+@LocalBean
+public class InfrastructureSnapshotCache {
+
+	private static final long VALIDATION_INTERVAL_MILLIS = 10 * 1000L;
+
+	/**
+	 * The change date filters of the facades only include entities changed after the given date.
+	 */
+	private static final Date ALL_CHANGE_DATES = new Date(0);
+
+	@EJB
+	private FacilityFacadeEjbLocal facilityFacade;
+	@EJB
+	private FacilityService facilityService;
+	@EJB
+	private CommunityFacadeEjbLocal communityFacade;
+	@EJB
+	private CommunityService communityService;
+
+	private volatile Snapshot<FacilityDto> facilities;
+	private volatile Snapshot<CommunityDto> communities;
+
+	@Lock(LockType.READ)
+	public Snapshot<FacilityDto> getFacilities() {
+
+		Snapshot<FacilityDto> snapshot = facilities;
+		if (snapshot == null || snapshot.validUntil < System.currentTimeMillis()) {
+			snapshot = validateFacilities();
+		}
+
+		return snapshot;
+	}
+
+	@Lock(LockType.READ)
+	public Snapshot<CommunityDto> getCommunities() {
+
+		Snapshot<CommunityDto> snapshot = communities;
+		if (snapshot == null || snapshot.validUntil < System.currentTimeMillis()) {
+			snapshot = validateCommunities();
+		}
+
+		return snapshot;
+	}
+
+	@Lock(LockType.READ)
+	public void onFacilityChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) @ChangedEntityType(Facility.class) EntityChangeEvent event) {
+		facilities = null;
+	}
+
+	@Lock(LockType.READ)
+	public void onCommunityChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) @ChangedEntityType(Community.class) EntityChangeEvent event) {
+		communities = null;
+	}
+
+	// synchronized, so that devices syncing at the same time wait for one load instead of loading the same lists
+	private synchronized Snapshot<FacilityDto> validateFacilities() {
+
+		facilities =
+			validate(facilities, facilityService::getChangeStamp, () -> facilityFacade.getAllByRegionAfter(null, ALL_CHANGE_DATES));
+		return facilities;
+	}
+
+	private synchronized Snapshot<CommunityDto> validateCommunities() {
+
+		communities = validate(communities, communityService::getChangeStamp, () -> communityFacade.getAllAfter(ALL_CHANGE_DATES));
+		return communities;
+	}
+
+	private static <T extends EntityDto> Snapshot<T> validate(
+		Snapshot<T> snapshot,
+		Supplier<List<Object>> changeStampSupplier,
+		Supplier<List<T>> loader) {
+
+		long now = System.currentTimeMillis();
+		if (snapshot != null && snapshot.validUntil >= now) {
+			// validated by another thread while this one was waiting
+			return snapshot;
+		}
+
+		List<Object> changeStamp = changeStampSupplier.get();
+		if (snapshot != null && snapshot.changeStamp.equals(changeStamp)) {
+			return new Snapshot<>(snapshot, now + VALIDATION_INTERVAL_MILLIS);
+		}
+
+		return new Snapshot<>(loader.get(), changeStamp, now + VALIDATION_INTERVAL_MILLIS);
+	}
+
+	public static final class Snapshot<T extends EntityDto> {
+
+		/**
+		 * Sorted by change date, so that the entities changed after a date are a tail of the list.
+		 */
+		private final List<T> entities;
+		private final List<Object> changeStamp;
+		private final long validUntil;
+
+		private Snapshot(List<T> entities, List<Object> changeStamp, long validUntil) {
+
+			List<T> sortedEntities = new ArrayList<>(entities);
+			sortedEntities.sort(Comparator.comparingLong(e -> e.getChangeDate().getTime()));
+
+			this.entities = Collections.unmodifiableList(sortedEntities);
+			this.changeStamp = changeStamp;
+			this.validUntil = validUntil;
+		}
+
+		private Snapshot(Snapshot<T> snapshot, long validUntil) {
+
+			this.entities = snapshot.entities;
+			this.changeStamp = snapshot.changeStamp;
+			this.validUntil = validUntil;
+		}
+
+		/**
+		 * @return The entities changed after the given date, compared on millisecond precision like
+		 *         {@link de.symeda.sormas.backend.common.BaseAdoService#createChangeDateFilter}; all entities if the date is
+		 *         {@code null}.
+		 */
+		public List<T> getAllAfter(Date date) {
+			return new ArrayList<>(entities.subList(indexAfter(date), entities.size()));
+		}
+
+		public long countAfter(Date date) {
+			return entities.size() - indexAfter(date);
+		}
+
+		private int indexAfter(Date date) {
+
+			if (date == null) {
+				return 0;
+			}
+
+			long time = date.getTime();
+			int low = 0;
+			int high = entities.size();
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (entities.get(middle).getChangeDate().getTime() > time) {
+					high = middle;
+				} else {
+					low = middle + 1;
+				}
+			}
+
+			return low;
+		}
+	}
+}
@@ -7,18 +7,16 @@ import de.symeda.sormas.api.feature.FeatureType;
 import de.symeda.sormas.api.infrastructure.InfrastructureChangeDatesDto;
 import de.symeda.sormas.api.infrastructure.InfrastructureSyncFacade;
 import de.symeda.sormas.api.infrastructure.InfrastructureSyncDto;
+import de.symeda.sormas.api.infrastructure.community.CommunityDto;
+import de.symeda.sormas.api.infrastructure.facility.FacilityDto;
 import de.symeda.sormas.backend.campaign.CampaignFacadeEjb;
 import de.symeda.sormas.backend.campaign.form.CampaignFormMetaFacadeEjb;
 import de.symeda.sormas.backend.caze.classification.CaseClassificationFacadeEjb.CaseClassificationFacadeEjbLocal;
 import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
 import de.symeda.sormas.backend.disease.DiseaseConfigurationFacadeEjb.DiseaseConfigurationFacadeEjbLocal;
-import de.symeda.sormas.backend.infrastructure.facility.FacilityFacadeEjb.FacilityFacadeEjbLocal;
-import de.symeda.sormas.backend.infrastructure.facility.FacilityService;
 import de.symeda.sormas.backend.feature.FeatureConfigurationFacadeEjb.FeatureConfigurationFacadeEjbLocal;
 import de.symeda.sormas.backend.infrastructure.pointofentry.PointOfEntryFacadeEjb.PointOfEntryFacadeEjbLocal;
 import de.symeda.sormas.backend.infrastructure.area.AreaFacadeEjb;
-import de.symeda.sormas.backend.infrastructure.community.CommunityFacadeEjb.CommunityFacadeEjbLocal;
-import de.symeda.sormas.backend.infrastructure.community.CommunityService;
 import de.symeda.sormas.backend.infrastructure.continent.ContinentFacadeEjb;
 import de.symeda.sormas.backend.infrastructure.country.CountryFacadeEjb.CountryFacadeEjbLocal;
 import de.symeda.sormas.backend.infrastructure.district.DistrictFacadeEjb.DistrictFacadeEjbLocal;
@@ -43,10 +41,6 @@ public class InfrastructureSyncFacadeEjb implements InfrastructureSyncFacade {
 	@EJB
 	private DistrictFacadeEjbLocal districtFacade;
 	@EJB
-	private CommunityFacadeEjbLocal communityFacade;
-	@EJB
-	private FacilityFacadeEjbLocal facilityFacade;
-	@EJB
 	private PointOfEntryFacadeEjbLocal pointOfEntryFacade;
 	@EJB
 	private UserFacadeEjbLocal userFacade;
@@ -57,9 +51,7 @@ public class InfrastructureSyncFacadeEjb implements InfrastructureSyncFacade {
 	@EJB
 	private UserRoleConfigFacadeEjbLocal userRoleConfigurationFacade;
 	@EJB
-	private FacilityService facilityService;
-	@EJB
-	private CommunityService communityService;
+	private InfrastructureSnapshotCache infrastructureSnapshotCache;
 	@EJB
 	private ConfigFacadeEjbLocal configFacade;
 	@EJB
@@ -74,8 +66,11 @@ public class InfrastructureSyncFacadeEjb implements InfrastructureSyncFacade {
 
 		InfrastructureSyncDto sync = new InfrastructureSyncDto();
 
-		if (facilityService.countAfter(changeDates.getFacilityChangeDate()) > configFacade.getInfrastructureSyncThreshold()
-			|| communityService.countAfter(changeDates.getCommunityChangeDate()) > configFacade.getInfrastructureSyncThreshold()) {
+		InfrastructureSnapshotCache.Snapshot<FacilityDto> facilities = infrastructureSnapshotCache.getFacilities();
+		InfrastructureSnapshotCache.Snapshot<CommunityDto> communities = infrastructureSnapshotCache.getCommunities();
+
+		if (facilities.countAfter(changeDates.getFacilityChangeDate()) > configFacade.getInfrastructureSyncThreshold()
+			|| communities.countAfter(changeDates.getCommunityChangeDate()) > configFacade.getInfrastructureSyncThreshold()) {
 			sync.setInitialSyncRequired(true);
 			return sync;
 		}
@@ -85,8 +80,8 @@ public class InfrastructureSyncFacadeEjb implements InfrastructureSyncFacade {
 		sync.setCountries(countryFacade.getAllAfter(changeDates.getCountryChangeDate()));
 		sync.setRegions(regionFacade.getAllAfter(changeDates.getRegionChangeDate()));
 		sync.setDistricts(districtFacade.getAllAfter(changeDates.getDistrictChangeDate()));
-		sync.setCommunities(communityFacade.getAllAfter(changeDates.getCommunityChangeDate()));
-		sync.setFacilities(facilityFacade.getAllByRegionAfter(null, changeDates.getFacilityChangeDate()));
+		sync.setCommunities(communities.getAllAfter(changeDates.getCommunityChangeDate()));
+		sync.setFacilities(facilities.getAllAfter(changeDates.getFacilityChangeDate()));
 		sync.setPointsOfEntry(pointOfEntryFacade.getAllAfter(changeDates.getPointOfEntryChangeDate()));
 		sync.setUsers(userFacade.getAllAfter(changeDates.getUserChangeDate()));
 		sync.setDiseaseClassifications(caseClassificationFacade.getAllSince(changeDates.getDiseaseClassificationChangeDate()));
@@ -22,6 +22,9 @@ import java.util.List;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import javax.persistence.EntityExistsException;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
@@ -39,7 +42,9 @@ import de.symeda.sormas.api.infrastructure.country.CountryReferenceDto;
 import de.symeda.sormas.api.infrastructure.district.DistrictReferenceDto;
 import de.symeda.sormas.api.utils.DataHelper;
 import de.symeda.sormas.backend.common.AbstractInfrastructureAdoService;
+import de.symeda.sormas.backend.common.ChangedEntityType;
 import de.symeda.sormas.backend.common.CriteriaBuilderHelper;
+import de.symeda.sormas.backend.common.EntityChangeEvent;
 import de.symeda.sormas.backend.infrastructure.country.Country;
 import de.symeda.sormas.backend.infrastructure.country.CountryFacadeEjb.CountryFacadeEjbLocal;
 import de.symeda.sormas.backend.infrastructure.district.District;
@@ -52,10 +57,26 @@ public class CommunityService extends AbstractInfrastructureAdoService<Community
 	@EJB
 	private CountryFacadeEjbLocal countryFacade;
 
+	@Inject
+	@ChangedEntityType(Community.class)
+	private Event<EntityChangeEvent> communityChangeEvent;
+
 	public CommunityService() {
 		super(Community.class);
 	}
 
+	@Override
+	public void ensurePersisted(Community community) throws EntityExistsException {
+		super.ensurePersisted(community);
+		communityChangeEvent.fire(new EntityChangeEvent(community));
+	}
+
+	@Override
+	public void persist(Community community) {
+		super.persist(community);
+		communityChangeEvent.fire(new EntityChangeEvent(community));
+	}
+
 	public List<Community> getByName(String name, District district, boolean includeArchivedEntities) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
@@ -23,6 +23,9 @@ import java.util.function.BiFunction;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import javax.persistence.EntityExistsException;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.From;
@@ -39,7 +42,9 @@ import de.symeda.sormas.api.infrastructure.facility.FacilityType;
 import de.symeda.sormas.api.infrastructure.country.CountryReferenceDto;
 import de.symeda.sormas.api.utils.DataHelper;
 import de.symeda.sormas.backend.common.AbstractInfrastructureAdoService;
+import de.symeda.sormas.backend.common.ChangedEntityType;
 import de.symeda.sormas.backend.common.CriteriaBuilderHelper;
+import de.symeda.sormas.backend.common.EntityChangeEvent;
 import de.symeda.sormas.backend.infrastructure.community.Community;
 import de.symeda.sormas.backend.infrastructure.country.Country;
 import de.symeda.sormas.backend.infrastructure.country.CountryFacadeEjb.CountryFacadeEjbLocal;
@@ -61,10 +66,26 @@ public class FacilityService extends AbstractInfrastructureAdoService<Facility>
 	@EJB
 	private CountryFacadeEjbLocal countryFacade;
 
+	@Inject
+	@ChangedEntityType(Facility.class)
+	private Event<EntityChangeEvent> facilityChangeEvent;
+
 	public FacilityService() {
 		super(Facility.class);
 	}
 
+	@Override
+	public void ensurePersisted(Facility facility) throws EntityExistsException {
+		super.ensurePersisted(facility);
+		facilityChangeEvent.fire(new EntityChangeEvent(facility));
+	}
+
+	@Override
+	public void persist(Facility facility) {
+		super.persist(facility);
+		facilityChangeEvent.fire(new EntityChangeEvent(facility));
+	}
+
 	public List<Facility> getActiveFacilitiesByCommunityAndType(
 		Community community,
 		FacilityType type,
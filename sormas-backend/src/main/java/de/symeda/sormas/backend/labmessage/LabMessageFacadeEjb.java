@@ -13,6 +13,8 @@ import java.util.stream.Collectors;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
 import javax.naming.CannotProceedException;
 import javax.naming.InitialContext;
 import javax.naming.NamingException;
@@ -27,6 +29,7 @@ import javax.persistence.criteria.Root;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -72,6 +75,14 @@ public class LabMessageFacadeEjb implements LabMessageFacade {
 	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
 	private EntityManager em;
 
+	/**
+	 * Number of lab messages fetched and saved in one transaction.
+	 */
+	static final int FETCH_PAGE_SIZE = 500;
+
+	private static final String LAST_SYNCHRONIZATION_DATE = "Last synchronization date: ";
+	private static final String THROUGHPUT_SEPARATOR = "; ";
+
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
 	@EJB
@@ -86,6 +97,8 @@ public class LabMessageFacadeEjb implements LabMessageFacade {
 	private ConfigFacadeEjb.ConfigFacadeEjbLocal configFacade;
 	@EJB
 	private SystemEventFacadeEjb.SystemEventFacadeEjbLocal systemEventFacade;
+	@EJB
+	private LabMessageFetchPageService labMessageFetchPageService;
 
 	LabMessage fromDto(@NotNull LabMessageDto source, LabMessage target, boolean checkChangeDate) {
 
@@ -314,46 +327,92 @@ public class LabMessageFacadeEjb implements LabMessageFacade {
 	}
 
 	/**
-	 * This method marks the previously unfinished system events as UNCLEAR(if any exists) and creates a new event with status STARTED.
-	 * If the fetching succeds, the status of the currentSystemEvent is changed to SUCCESS.
-	 * In case of any Exception, the status of the currentSystemEvent is changed to ERROR.
+	 * This method marks the previously unfinished system events as UNCLEAR(if any exists) and fetches the new lab messages
+	 * page by page. For each page, a new event with status STARTED is created. The messages of the page are saved in
+	 * their own transaction, in which the status of the event is changed to SUCCESS together with the synchronization
+	 * date reached, so that a later fetch continues after the last saved page.
+	 * In case of any Exception, the status of the event of the current page is changed to ERROR.
 	 *
 	 * @return An indication whether the fetching of new labMessage was successful. If it was not, an error message meant for UI users.
 	 */
 	@Override
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
 	public LabMessageFetchResult fetchAndSaveExternalLabMessages(Date since) {
 		systemEventFacade.markPreviouslyStartedAsUnclear(SystemEventType.FETCH_LAB_MESSAGES);
-		SystemEventDto currentSystemEvent = initializeFetchEvent();
-		try {
-			return fetchAndSaveExternalLabMessages(currentSystemEvent, since);
-		} catch (CannotProceedException e) {
-			systemEventFacade.reportError(currentSystemEvent, e.getMessage(), new Date());
-			return new LabMessageFetchResult(false, NewMessagesState.UNCLEAR, e.getMessage());
-		} catch (NamingException e) {
-			systemEventFacade.reportError(currentSystemEvent, e.getMessage(), new Date());
-			return new LabMessageFetchResult(false, NewMessagesState.UNCLEAR, I18nProperties.getString(Strings.errorLabResultsAdapterNotFound));
-		} catch (Exception t) {
-			systemEventFacade.reportError(currentSystemEvent, t.getMessage(), new Date());
-			throw t;
-		}
+
+		boolean newMessages = false;
+		boolean nextPage;
+		do {
+			ExternalMessageResult<List<LabMessageDto>> page;
+			SystemEventDto currentSystemEvent = initializeFetchEvent();
+			try {
+				if (since == null) {
+					since = findLastUpdateDate();
+				}
+				page = fetchAndSaveExternalLabMessages(currentSystemEvent, since);
+			} catch (CannotProceedException e) {
+				systemEventFacade.reportError(currentSystemEvent, e.getMessage(), new Date());
+				return new LabMessageFetchResult(false, NewMessagesState.UNCLEAR, e.getMessage());
+			} catch (NamingException e) {
+				systemEventFacade.reportError(currentSystemEvent, e.getMessage(), new Date());
+				return new LabMessageFetchResult(false, NewMessagesState.UNCLEAR, I18nProperties.getString(Strings.errorLabResultsAdapterNotFound));
+			} catch (Exception t) {
+				systemEventFacade.reportError(currentSystemEvent, t.getMessage(), new Date());
+				throw t;
+			}
+
+			newMessages |= !isEmptyResult(page);
+			nextPage = hasNextPage(page, since);
+			since = page.getSynchronizationDate();
+		} while (nextPage);
+
+		return new LabMessageFetchResult(true, newMessages ? NewMessagesState.NEW_MESSAGES : NewMessagesState.NO_NEW_MESSAGES, null);
 	}
 
-	protected LabMessageFetchResult fetchAndSaveExternalLabMessages(SystemEventDto currentSystemEvent, Date since) throws NamingException {
-		if (since == null) {
-			since = findLastUpdateDate();
-		}
-		ExternalMessageResult<List<LabMessageDto>> externalMessageResult = fetchExternalMessages(since);
+	/**
+	 * Fetches one page of lab messages and saves it.
+	 */
+	protected ExternalMessageResult<List<LabMessageDto>> fetchAndSaveExternalLabMessages(SystemEventDto currentSystemEvent, Date since)
+		throws NamingException {
+		long startMillis = System.currentTimeMillis();
+		ExternalMessageResult<List<LabMessageDto>> externalMessageResult = fetchExternalMessages(since, FETCH_PAGE_SIZE);
 		if (externalMessageResult.isSuccess()) {
-			externalMessageResult.getValue().forEach(this::save);
-			String message = "Last synchronization date: " + externalMessageResult.getSynchronizationDate().getTime();
-			systemEventFacade.reportSuccess(currentSystemEvent, message, new Date());
-			return getSuccessfulFetchResult(externalMessageResult);
+			List<LabMessageDto> labMessages = isEmptyResult(externalMessageResult) ? Collections.emptyList() : externalMessageResult.getValue();
+			long fetchMillis = System.currentTimeMillis() - startMillis;
+			labMessageFetchPageService.savePage(labMessages, currentSystemEvent, externalMessageResult.getSynchronizationDate(), fetchMillis);
+			return externalMessageResult;
 		} else {
 			throw new CannotProceedException(externalMessageResult.getError());
 		}
 	}
 
-	protected ExternalMessageResult<List<LabMessageDto>> fetchExternalMessages(Date since) throws NamingException {
+	/**
+	 * Builds the additional info of a successful fetch event, which starts with the synchronization date the next fetch
+	 * continues from, see {@link #findLastUpdateDate()}.
+	 */
+	static String buildFetchEventInfo(Date synchronizationDate, int messageCount, long fetchMillis, long saveMillis) {
+
+		return LAST_SYNCHRONIZATION_DATE + synchronizationDate.getTime() + THROUGHPUT_SEPARATOR
+			+ String.format(
+				"%d lab messages fetched in %d ms and saved in %d ms (%d per second)",
+				messageCount,
+				fetchMillis,
+				saveMillis,
+				messageCount * 1000L / Math.max(fetchMillis + saveMillis, 1));
+	}
+
+	/**
+	 * A full page may be followed by more messages. Adapters that do not page return all messages, which is detected by
+	 * the page size or by a synchronization date that does not move on.
+	 */
+	private boolean hasNextPage(ExternalMessageResult<List<LabMessageDto>> page, Date since) {
+		return !isEmptyResult(page)
+			&& page.getValue().size() == FETCH_PAGE_SIZE
+			&& page.getSynchronizationDate() != null
+			&& page.getSynchronizationDate().after(since);
+	}
+
+	protected ExternalMessageResult<List<LabMessageDto>> fetchExternalMessages(Date since, int maxResults) throws NamingException {
 		InitialContext ic = new InitialContext();
 		String jndiName = configFacade.getDemisJndiName();
 
@@ -362,7 +421,7 @@ public class LabMessageFacadeEjb implements LabMessageFacade {
 		}
 
 		ExternalLabResultsFacade labResultsFacade = (ExternalLabResultsFacade) ic.lookup(jndiName);
-		return labResultsFacade.getExternalLabMessages(since);
+		return labResultsFacade.getExternalLabMessages(since, maxResults);
 	}
 
 	protected SystemEventDto initializeFetchEvent() {
@@ -393,7 +452,7 @@ public class LabMessageFacadeEjb implements LabMessageFacade {
 		if (info != null) {
 			try {
 				//parse last synchronization date
-				return Long.parseLong(info.replace("Last synchronization date: ", ""));
+				return Long.parseLong(StringUtils.substringBefore(info.replace(LAST_SYNCHRONIZATION_DATE, ""), THROUGHPUT_SEPARATOR));
 			} catch (NumberFormatException e) {
 				logger.error("Synchronization date could not be parsed for the last successful lab message retrieval. Falling back to start date.");
 				return latestSuccess.getStartDate().getTime();
@@ -404,14 +463,6 @@ public class LabMessageFacadeEjb implements LabMessageFacade {
 		}
 	}
 
-	private LabMessageFetchResult getSuccessfulFetchResult(ExternalMessageResult<List<LabMessageDto>> externalMessageResult) {
-		if (isEmptyResult(externalMessageResult)) {
-			return new LabMessageFetchResult(true, NewMessagesState.NO_NEW_MESSAGES, null);
-		} else {
-			return new LabMessageFetchResult(true, NewMessagesState.NEW_MESSAGES, null);
-		}
-	}
-
 	private boolean isEmptyResult(ExternalMessageResult<List<LabMessageDto>> externalMessageResult) {
 		return externalMessageResult.getValue() == null || externalMessageResult.getValue().isEmpty();
 	}
@@ -0,0 +1,63 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.labmessage;
+
+import java.util.Date;
+import java.util.List;
+
+import javax.ejb.EJB;
+import javax.ejb.LocalBean;
+import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+
+import de.symeda.sormas.api.labmessage.LabMessageDto;
+import de.symeda.sormas.api.systemevents.SystemEventDto;
+import de.symeda.sormas.backend.labmessage.LabMessageFacadeEjb.LabMessageFacadeEjbLocal;
+import de.symeda.sormas.backend.systemevent.SystemEventFacadeEjb.SystemEventFacadeEjbLocal;
+
+/**
+ * Saves the pages of lab messages fetched from the external lab message server, each in its own transaction.
+ */
+@Stateless
+@LocalBean
+public class LabMessageFetchPageService {
+
+	@EJB
+	private LabMessageFacadeEjbLocal labMessageFacade;
+	@EJB
+	private SystemEventFacadeEjbLocal systemEventFacade;
+
+	/**
+	 * Saves the lab messages and reports the success of the fetch event in the same transaction, so that the
+	 * synchronization date of the event is only stored together with the messages fetched up to it.
+	 *
+	 * @param fetchMillis
+	 *            The time it took to fetch the lab messages, reported together with the time it takes to save them
+	 */
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public void savePage(List<LabMessageDto> labMessages, SystemEventDto fetchEvent, Date synchronizationDate, long fetchMillis) {
+
+		long startMillis = System.currentTimeMillis();
+		labMessages.forEach(labMessageFacade::save);
+		long saveMillis = System.currentTimeMillis() - startMillis;
+
+		systemEventFacade.reportSuccess(
+			fetchEvent,
+			LabMessageFacadeEjb.buildFetchEventInfo(synchronizationDate, labMessages.size(), fetchMillis, saveMillis),
+			new Date());
+	}
+}
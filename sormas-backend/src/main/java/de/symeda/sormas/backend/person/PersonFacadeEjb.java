@@ -313,6 +313,26 @@ public class PersonFacadeEjb implements PersonFacade {
 	}
 
 	public JournalPersonDto getPersonForJournal(PersonDto detailedPerson) {
+		return getPersonForJournal(detailedPerson, true);
+	}
+
+	/**
+	 * Like {@link #getPersonForJournal(String)}, but independent of the current user, so that changes can also be detected
+	 * outside of user requests: The person is not pseudonymized and the follow-up of all cases and contacts is considered.
+	 *
+	 * @return {@code null} if the person does not exist or is not enrolled in an external journal
+	 */
+	public JournalPersonDto getEnrolledPersonForJournal(String uuid) {
+		Person person = personService.getByUuid(uuid);
+		if (person == null) {
+			return null;
+		}
+
+		PersonDto detailedPerson = toDto(person);
+		return detailedPerson.isEnrolledInExternalJournal() ? getPersonForJournal(detailedPerson, false) : null;
+	}
+
+	private JournalPersonDto getPersonForJournal(PersonDto detailedPerson, boolean withUserFilter) {
 		//only specific attributes of the person shall be returned:
 		if (detailedPerson != null) {
 			JournalPersonDto exportPerson = new JournalPersonDto();
@@ -324,8 +344,8 @@ public class PersonFacadeEjb implements PersonFacade {
 			exportPerson.setBirthdateMM(detailedPerson.getBirthdateMM());
 			exportPerson.setBirthdateDD(detailedPerson.getBirthdateDD());
 			exportPerson.setSex(detailedPerson.getSex());
-			exportPerson.setLatestFollowUpEndDate(getLatestFollowUpEndDateByUuid(detailedPerson.getUuid()));
-			exportPerson.setFollowUpStatus(getMostRelevantFollowUpStatusByUuid(detailedPerson.getUuid()));
+			exportPerson.setLatestFollowUpEndDate(getLatestFollowUpEndDate(detailedPerson.getUuid(), withUserFilter));
+			exportPerson.setFollowUpStatus(getMostRelevantFollowUpStatus(detailedPerson.getUuid(), withUserFilter));
 
 			Pair<String, String> contactDetails = getContactDetails(detailedPerson);
 			exportPerson.setEmailAddress(contactDetails.getElement0());
@@ -685,24 +705,28 @@ public class PersonFacadeEjb implements PersonFacade {
 
 	@Override
 	public Date getLatestFollowUpEndDateByUuid(String uuid) {
-		Date contactLatestDate = getContactLatestFollowUpEndDate(uuid);
+		return getLatestFollowUpEndDate(uuid, true);
+	}
+
+	private Date getLatestFollowUpEndDate(String uuid, boolean withUserFilter) {
+		Date contactLatestDate = getContactLatestFollowUpEndDate(uuid, withUserFilter);
 
 		boolean caseFollowupEnabled = featureConfigurationFacade.isFeatureEnabled(FeatureType.CASE_FOLLOWUP);
 		if (caseFollowupEnabled) {
-			Date caseLatestDate = getCaseLatestFollowUpEndDate(uuid);
+			Date caseLatestDate = getCaseLatestFollowUpEndDate(uuid, withUserFilter);
 			return DateHelper.getLatestDate(contactLatestDate, caseLatestDate);
 		} else {
 			return contactLatestDate;
 		}
 	}
 
-	private Date getContactLatestFollowUpEndDate(String uuid) {
+	private Date getContactLatestFollowUpEndDate(String uuid, boolean withUserFilter) {
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<PersonFollowUpEndDto> cq = cb.createQuery(PersonFollowUpEndDto.class);
 		Root<Contact> contactRoot = cq.from(Contact.class);
 		Join<Contact, Person> personJoin = contactRoot.join(Contact.PERSON, JoinType.LEFT);
 
-		Predicate filter = contactService.createUserFilter(cb, cq, contactRoot);
+		Predicate filter = withUserFilter ? contactService.createUserFilter(cb, cq, contactRoot) : null;
 		filter = CriteriaBuilderHelper.and(cb, filter, cb.notEqual(contactRoot.get(Contact.FOLLOW_UP_STATUS), FollowUpStatus.CANCELED));
 		filter = CriteriaBuilderHelper.and(cb, filter, cb.notEqual(contactRoot.get(Contact.FOLLOW_UP_STATUS), FollowUpStatus.NO_FOLLOW_UP));
 
@@ -727,13 +751,13 @@ public class PersonFacadeEjb implements PersonFacade {
 		}
 	}
 
-	private Date getCaseLatestFollowUpEndDate(String uuid) {
+	private Date getCaseLatestFollowUpEndDate(String uuid, boolean withUserFilter) {
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<PersonFollowUpEndDto> cq = cb.createQuery(PersonFollowUpEndDto.class);
 		Root<Case> caseRoot = cq.from(Case.class);
 		Join<Case, Person> personJoin = caseRoot.join(Case.PERSON, JoinType.LEFT);
 
-		Predicate filter = caseService.createUserFilter(cb, cq, caseRoot);
+		Predicate filter = withUserFilter ? caseService.createUserFilter(cb, cq, caseRoot) : null;
 
 		filter = CriteriaBuilderHelper.and(cb, filter, cb.equal(caseRoot.get(Case.DELETED), false));
 
@@ -758,13 +782,17 @@ public class PersonFacadeEjb implements PersonFacade {
 
 	@Override
 	public FollowUpStatus getMostRelevantFollowUpStatusByUuid(String uuid) {
+		return getMostRelevantFollowUpStatus(uuid, true);
+	}
+
+	private FollowUpStatus getMostRelevantFollowUpStatus(String uuid, boolean withUserFilter) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<FollowUpStatusDto> cq = cb.createQuery(FollowUpStatusDto.class);
 
 		Root<Contact> contactRoot = cq.from(Contact.class);
 		Join<Contact, Person> personContactJoin = contactRoot.join(Contact.PERSON, JoinType.LEFT);
-		Predicate contactFilter = contactService.createUserFilter(cb, cq, contactRoot);
+		Predicate contactFilter = withUserFilter ? contactService.createUserFilter(cb, cq, contactRoot) : null;
 
 		contactFilter = CriteriaBuilderHelper.and(cb, contactFilter, cb.equal(contactRoot.get(Contact.DELETED), false));
 
@@ -780,7 +808,7 @@ public class PersonFacadeEjb implements PersonFacade {
 		cq = cb.createQuery(FollowUpStatusDto.class);
 		Root<Case> caseRoot = cq.from(Case.class);
 		Join<Case, Person> personCaseJoin = caseRoot.join(Case.PERSON, JoinType.LEFT);
-		Predicate caseFilter = caseService.createUserFilter(cb, cq, caseRoot);
+		Predicate caseFilter = withUserFilter ? caseService.createUserFilter(cb, cq, caseRoot) : null;
 
 		caseFilter = CriteriaBuilderHelper.and(cb, caseFilter, cb.equal(caseRoot.get(Case.DELETED), false));
 
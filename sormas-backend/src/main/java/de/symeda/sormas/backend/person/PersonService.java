@@ -25,7 +25,6 @@ import static de.symeda.sormas.backend.common.CriteriaBuilderHelper.andEqualsRef
 import java.sql.Timestamp;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
@@ -51,6 +50,7 @@ import javax.persistence.criteria.ParameterExpression;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
 import javax.transaction.Transactional;
 import javax.validation.constraints.NotNull;
 
@@ -319,139 +319,73 @@ public class PersonService extends AdoServiceWithUserFilter<Person> {
 		return filter;
 	}
 
+	/**
+	 * Selects all persons changed after {@code date} in a single query: the persons in the district of the user and the
+	 * persons of all cases, contacts, event participants, immunizations and travel entries the user has access to.
+	 * Persons of associated entities are also included when the associated entity changed, because e.g. a relocated case may
+	 * become available to another user and this will have to include the person as well.
+	 * <p>
+	 * Each associated entity is checked by an EXISTS subquery correlated by its person, so that every source is looked up
+	 * through its own person index instead of being selected completely.
+	 */
 	@Override
 	// todo refactor this to use the create user filter form persons
 	public List<Person> getAllAfter(Date date, User user) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
-
-		// persons by LGA
-		CriteriaQuery<Person> personsQuery = cb.createQuery(Person.class);
-		Root<Person> personsRoot = personsQuery.from(Person.class);
-		Join<Person, Location> address = personsRoot.join(Person.ADDRESS);
-		Predicate lgaFilter = cb.equal(address.get(Location.DISTRICT), user.getDistrict());
-		// date range
-		if (date != null) {
-			Predicate dateFilter = createChangeDateFilter(cb, personsRoot, DateHelper.toTimestampUpper(date));
-			lgaFilter = cb.and(lgaFilter, dateFilter);
-		}
-		personsQuery.where(lgaFilter);
-		List<Person> lgaResultList = em.createQuery(personsQuery).getResultList();
-
-		// persons by case
-		CriteriaQuery<Person> casePersonsQuery = cb.createQuery(Person.class);
-		Root<Case> casePersonsRoot = casePersonsQuery.from(Case.class);
-		Join<Person, Person> casePersonsSelect = casePersonsRoot.join(Case.PERSON);
-		casePersonsSelect.fetch(Person.ADDRESS);
-		casePersonsQuery.select(casePersonsSelect);
-		Predicate casePersonsFilter = caseService.createUserFilter(cb, casePersonsQuery, casePersonsRoot);
-		// date range
-		if (date != null) {
-			Predicate dateFilter = createChangeDateFilter(cb, casePersonsSelect, DateHelper.toTimestampUpper(date));
-			// include case change dates: When a case is relocated it may become available to another user and this will have to include the person as-well
-			Predicate caseDateFilter = caseService.createChangeDateFilter(cb, casePersonsRoot, DateHelper.toTimestampUpper(date));
-			if (casePersonsFilter != null) {
-				casePersonsFilter = cb.and(casePersonsFilter, cb.or(dateFilter, caseDateFilter));
-			} else {
-				casePersonsFilter = cb.or(dateFilter, caseDateFilter);
+		CriteriaQuery<Person> cq = cb.createQuery(Person.class);
+		Root<Person> personsRoot = cq.from(Person.class);
+		personsRoot.fetch(Person.ADDRESS);
+
+		Timestamp timestamp = date != null ? DateHelper.toTimestampUpper(date) : null;
+
+		Predicate districtFilter = null;
+		if (user.getDistrict() != null) {
+			Join<Person, Location> address = personsRoot.join(Person.ADDRESS, JoinType.LEFT);
+			districtFilter = cb.equal(address.get(Location.DISTRICT), user.getDistrict());
+			if (timestamp != null) {
+				districtFilter = cb.and(districtFilter, createChangeDateFilter(cb, personsRoot, timestamp));
 			}
 		}
-		if (casePersonsFilter != null) {
-			casePersonsQuery.where(casePersonsFilter);
-		}
-		casePersonsQuery.distinct(true);
-		List<Person> casePersonsResultList = em.createQuery(casePersonsQuery).getResultList();
 
-		// persons by contact
-		CriteriaQuery<Person> contactPersonsQuery = cb.createQuery(Person.class);
-		Root<Contact> contactPersonsRoot = contactPersonsQuery.from(Contact.class);
-		Join<Person, Person> contactPersonsSelect = contactPersonsRoot.join(Contact.PERSON);
-		contactPersonsSelect.fetch(Person.ADDRESS);
-		contactPersonsQuery.select(contactPersonsSelect);
-		Predicate contactPersonsFilter = contactService.createUserFilter(cb, contactPersonsQuery, contactPersonsRoot);
-		// date range
-		if (date != null) {
-			Predicate dateFilter = createChangeDateFilter(cb, contactPersonsSelect, DateHelper.toTimestampUpper(date));
-			Predicate contactDateFilter = contactService.createChangeDateFilter(cb, contactPersonsRoot, date);
-			contactPersonsFilter = and(cb, contactPersonsFilter, cb.or(dateFilter, contactDateFilter));
-		}
-		if (contactPersonsFilter != null) {
-			contactPersonsQuery.where(contactPersonsFilter);
-		}
-		contactPersonsQuery.distinct(true);
-		List<Person> contactPersonsResultList = em.createQuery(contactPersonsQuery).getResultList();
+		cq.where(
+			CriteriaBuilderHelper.or(
+				cb,
+				districtFilter,
+				createAssociatedPersonFilter(cb, cq, personsRoot, Case.class, Case.PERSON, caseService, timestamp),
+				createAssociatedPersonFilter(cb, cq, personsRoot, Contact.class, Contact.PERSON, contactService, timestamp),
+				createAssociatedPersonFilter(cb, cq, personsRoot, EventParticipant.class, EventParticipant.PERSON, eventParticipantService, timestamp),
+				createAssociatedPersonFilter(cb, cq, personsRoot, Immunization.class, Immunization.PERSON, immunizationService, timestamp),
+				createAssociatedPersonFilter(cb, cq, personsRoot, TravelEntry.class, TravelEntry.PERSON, travelEntryService, timestamp)));
+		cq.orderBy(cb.asc(personsRoot.get(Person.CHANGE_DATE)));
 
-		// persons by event participant
-		CriteriaQuery<Person> eventPersonsQuery = cb.createQuery(Person.class);
-		Root<EventParticipant> eventPersonsRoot = eventPersonsQuery.from(EventParticipant.class);
-		Join<Person, Person> eventPersonsSelect = eventPersonsRoot.join(EventParticipant.PERSON);
-		eventPersonsSelect.fetch(Person.ADDRESS);
-		eventPersonsQuery.select(eventPersonsSelect);
-		Predicate eventPersonsFilter = eventParticipantService.createUserFilter(cb, eventPersonsQuery, eventPersonsRoot);
-		// date range
-		if (date != null) {
-			Predicate dateFilter = createChangeDateFilter(cb, eventPersonsSelect, DateHelper.toTimestampUpper(date));
-			Predicate eventParticipantDateFilter =
-				eventParticipantService.createChangeDateFilter(cb, eventPersonsRoot, DateHelper.toTimestampUpper(date));
-			eventPersonsFilter = and(cb, eventPersonsFilter, cb.or(dateFilter, eventParticipantDateFilter));
-		}
-		if (eventPersonsFilter != null) {
-			eventPersonsQuery.where(eventPersonsFilter);
-		}
-		eventPersonsQuery.distinct(true);
-		List<Person> eventPersonsResultList = em.createQuery(eventPersonsQuery).getResultList();
+		return em.createQuery(cq).getResultList();
+	}
 
-		// persons by immunization
-		CriteriaQuery<Person> immunizationPersonsQuery = cb.createQuery(Person.class);
-		Root<Immunization> immunizationPersonsRoot = immunizationPersonsQuery.from(Immunization.class);
-		Join<Immunization, Person> immunizationPersonsSelect = immunizationPersonsRoot.join(Immunization.PERSON);
-		immunizationPersonsSelect.fetch(Person.ADDRESS);
-		immunizationPersonsQuery.select(immunizationPersonsSelect);
-		Predicate immunizationPersonsFilter = immunizationService.createUserFilter(cb, immunizationPersonsQuery, immunizationPersonsRoot);
-		// date range
-		if (date != null) {
-			Predicate dateFilter = createChangeDateFilter(cb, immunizationPersonsSelect, DateHelper.toTimestampUpper(date));
-			Predicate immunizationDateFilter =
-				immunizationService.createChangeDateFilter(cb, immunizationPersonsRoot, DateHelper.toTimestampUpper(date));
-			immunizationPersonsFilter = and(cb, immunizationPersonsFilter, cb.or(dateFilter, immunizationDateFilter));
-		}
-		if (immunizationPersonsFilter != null) {
-			immunizationPersonsQuery.where(immunizationPersonsFilter);
-		}
-		immunizationPersonsQuery.distinct(true);
-		List<Person> immunizationPersonsResultList = em.createQuery(immunizationPersonsQuery).getResultList();
-
-		// persons by travel entries
-		CriteriaQuery<Person> tepQuery = cb.createQuery(Person.class);
-		Root<TravelEntry> tepRoot = tepQuery.from(TravelEntry.class);
-		Join<TravelEntry, Person> tepSelect = tepRoot.join(TravelEntry.PERSON);
-		tepSelect.fetch(Person.ADDRESS);
-		tepQuery.select(tepSelect);
-		Predicate tepFilter = travelEntryService.createUserFilter(cb, tepQuery, tepRoot);
-		// date range
+	private <T extends AbstractDomainObject> Predicate createAssociatedPersonFilter(
+		CriteriaBuilder cb,
+		CriteriaQuery<?> cq,
+		Root<Person> personsRoot,
+		Class<T> associatedClass,
+		String personAttribute,
+		AdoServiceWithUserFilter<T> associatedService,
+		Timestamp date) {
+
+		Subquery<Long> associatedSubquery = cq.subquery(Long.class);
+		Root<T> associatedRoot = associatedSubquery.from(associatedClass);
+
+		Predicate filter =
+			and(cb, cb.equal(associatedRoot.get(personAttribute), personsRoot), associatedService.createUserFilter(cb, cq, associatedRoot));
 		if (date != null) {
-			Predicate dateFilter = createChangeDateFilter(cb, tepSelect, DateHelper.toTimestampUpper(date));
-			Predicate travelEntryDateFilter = travelEntryService.createChangeDateFilter(cb, tepRoot, DateHelper.toTimestampUpper(date));
-			tepFilter = and(cb, tepFilter, cb.or(dateFilter, travelEntryDateFilter));
-		}
-		if (tepFilter != null) {
-			tepQuery.where(tepFilter);
+			filter = and(
+				cb,
+				filter,
+				cb.or(createChangeDateFilter(cb, personsRoot, date), associatedService.createChangeDateFilter(cb, associatedRoot, date)));
 		}
-		tepQuery.distinct(true);
-		List<Person> travelEntryPersonsResultList = em.createQuery(tepQuery).getResultList();
+		associatedSubquery.select(associatedRoot.get(AbstractDomainObject.ID));
+		associatedSubquery.where(filter);
 
-		return Stream
-			.of(
-				lgaResultList,
-				casePersonsResultList,
-				contactPersonsResultList,
-				eventPersonsResultList,
-				immunizationPersonsResultList,
-				travelEntryPersonsResultList)
-			.flatMap(List<Person>::stream)
-			.distinct()
-			.sorted(Comparator.comparing(Person::getChangeDate))
-			.collect(Collectors.toList());
+		return cb.exists(associatedSubquery);
 	}
 
 	public List<Long> getInJurisdictionIDs(final List<Person> selectedEntities) {
@@ -22,7 +22,9 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
@@ -52,6 +54,8 @@ import de.symeda.sormas.backend.common.CriteriaBuilderHelper;
 import de.symeda.sormas.backend.contact.Contact;
 import de.symeda.sormas.backend.event.EventParticipant;
 import de.symeda.sormas.backend.user.User;
+import de.symeda.sormas.backend.util.IterableHelper;
+import de.symeda.sormas.backend.util.ModelConstants;
 import de.symeda.sormas.backend.util.QueryHelper;
 
 @Stateless
@@ -191,6 +195,31 @@ public class PathogenTestService extends AbstractCoreAdoService<PathogenTest> {
 		return em.createQuery(cq).getResultList();
 	}
 
+	/**
+	 * @return The pathogen tests of the given cases by case uuid, each list ordered by test date descending like {@link #getAllByCase(String)}.
+	 */
+	public Map<String, List<PathogenTest>> getAllByCases(List<String> caseUuids) {
+
+		Map<String, List<PathogenTest>> pathogenTestsByCase = new HashMap<>();
+		IterableHelper.executeBatched(caseUuids, ModelConstants.PARAMETER_LIMIT, batchedCaseUuids -> {
+			CriteriaBuilder cb = em.getCriteriaBuilder();
+			CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+			Root<PathogenTest> from = cq.from(getElementClass());
+
+			Join<Object, Object> caseJoin = from.join(PathogenTest.SAMPLE).join(Sample.ASSOCIATED_CASE);
+
+			cq.multiselect(caseJoin.get(Case.UUID), from);
+			cq.where(createDefaultFilter(cb, from), caseJoin.get(Case.UUID).in(batchedCaseUuids));
+			cq.orderBy(cb.desc(from.get(PathogenTest.TEST_DATE_TIME)));
+
+			for (Object[] result : em.createQuery(cq).getResultList()) {
+				pathogenTestsByCase.computeIfAbsent((String) result[0], k -> new ArrayList<>()).add((PathogenTest) result[1]);
+			}
+		});
+
+		return pathogenTestsByCase;
+	}
+
 	public Long countByCase(Case caze) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
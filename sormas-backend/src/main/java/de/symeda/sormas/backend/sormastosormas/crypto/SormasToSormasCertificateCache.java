@@ -0,0 +1,155 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.sormastosormas.crypto;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.UnrecoverableKeyException;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import javax.ejb.LocalBean;
+import javax.ejb.Lock;
+import javax.ejb.LockType;
+import javax.ejb.Singleton;
+
+import de.symeda.sormas.api.sormastosormas.SormasToSormasException;
+import de.symeda.sormas.backend.util.TtlCache;
+
+/**
+ * Keeps the key material used to sign, encrypt, decrypt and verify the data exchanged with other SORMAS instances,
+ * so that sharing many entities does not decrypt the PKCS#12 stores and fetch the certificates of the other instances
+ * again and again.
+ * <p>
+ * Key stores are reloaded as soon as the file on disk or the configured password changes. The certificates of other
+ * instances are kept for a limited time only and are dropped whenever a key store is reloaded, because the truststore
+ * they have been verified against might have changed.
+ */
+@Singleton
+@LocalBean
+public class SormasToSormasCertificateCache {
+
+	static final long OTHER_CERTIFICATE_TIME_TO_LIVE_MILLIS = 60 * 60 * 1000L;
+	private static final int MAX_OTHER_CERTIFICATES = 1000;
+
+	private final Map<Path, CachedStore> stores = new ConcurrentHashMap<>();
+	private final TtlCache<String, X509Certificate> otherCertificates;
+
+	public SormasToSormasCertificateCache() {
+		this(System::currentTimeMillis);
+	}
+
+	SormasToSormasCertificateCache(LongSupplier clock) {
+		this.otherCertificates = new TtlCache<>(OTHER_CERTIFICATE_TIME_TO_LIVE_MILLIS, MAX_OTHER_CERTIFICATES, clock);
+	}
+
+	@Lock(LockType.READ)
+	public KeyStore getStore(Path storePath, String password)
+		throws KeyStoreException, IOException, NoSuchAlgorithmException, CertificateException {
+		return getCachedStore(storePath, password).store;
+	}
+
+	@Lock(LockType.READ)
+	public PrivateKey getPrivateKey(Path storePath, String password, String alias)
+		throws KeyStoreException, IOException, NoSuchAlgorithmException, CertificateException, UnrecoverableKeyException {
+
+		CachedStore cachedStore = getCachedStore(storePath, password);
+		PrivateKey privateKey = cachedStore.privateKeys.get(alias);
+		if (privateKey == null) {
+			privateKey = (PrivateKey) cachedStore.store.getKey(alias, password.toCharArray());
+			if (privateKey != null) {
+				cachedStore.privateKeys.put(alias, privateKey);
+			}
+		}
+
+		return privateKey;
+	}
+
+	@Lock(LockType.READ)
+	public X509Certificate getOtherCertificate(String otherId, CertificateLoader loader)
+		throws SormasToSormasException, CertificateException, KeyStoreException, IOException, NoSuchAlgorithmException {
+
+		X509Certificate certificate = otherCertificates.get(otherId);
+		if (certificate == null) {
+			certificate = loader.load(otherId);
+			otherCertificates.put(otherId, certificate);
+		}
+
+		return certificate;
+	}
+
+	@Lock(LockType.READ)
+	public void invalidate() {
+		stores.clear();
+		otherCertificates.clear();
+	}
+
+	private CachedStore getCachedStore(Path storePath, String password)
+		throws KeyStoreException, IOException, NoSuchAlgorithmException, CertificateException {
+
+		BasicFileAttributes attributes = Files.readAttributes(storePath, BasicFileAttributes.class);
+		long lastModified = attributes.lastModifiedTime().toMillis();
+		long size = attributes.size();
+
+		CachedStore cachedStore = stores.get(storePath);
+		if (cachedStore == null || cachedStore.lastModified != lastModified || cachedStore.size != size || !cachedStore.password.equals(password)) {
+			KeyStore store = KeyStore.getInstance("pkcs12");
+			try (BufferedInputStream in = new BufferedInputStream(Files.newInputStream(storePath))) {
+				store.load(in, password.toCharArray());
+			}
+
+			if (cachedStore != null) {
+				otherCertificates.clear();
+			}
+			cachedStore = new CachedStore(store, password, lastModified, size);
+			stores.put(storePath, cachedStore);
+		}
+
+		return cachedStore;
+	}
+
+	public interface CertificateLoader {
+
+		X509Certificate load(String otherId)
+			throws SormasToSormasException, CertificateException, KeyStoreException, IOException, NoSuchAlgorithmException;
+	}
+
+	private static final class CachedStore {
+
+		private final KeyStore store;
+		private final String password;
+		private final long lastModified;
+		private final long size;
+		private final Map<String, PrivateKey> privateKeys = new ConcurrentHashMap<>();
+
+		private CachedStore(KeyStore store, String password, long lastModified, long size) {
+			this.store = store;
+			this.password = password;
+			this.lastModified = lastModified;
+			this.size = size;
+		}
+	}
+}
@@ -14,11 +14,9 @@
  */
 package de.symeda.sormas.backend.sormastosormas.crypto;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.InvalidKeyException;
@@ -67,6 +65,9 @@ public class SormasToSormasEncryptionFacadeEjb implements SormasToSormasEncrypti
 	@EJB
 	private ConfigFacadeEjb.ConfigFacadeEjbLocal configFacadeEjb;
 
+	@EJB
+	private SormasToSormasCertificateCache certificateCache;
+
 	@Inject
 	SormasToSormasRestClient restClient;
 
@@ -88,13 +89,12 @@ public class SormasToSormasEncryptionFacadeEjb implements SormasToSormasEncrypti
 	}
 
 	private KeyStore loadStore(String name, String password) throws KeyStoreException, IOException, NoSuchAlgorithmException, CertificateException {
+		return certificateCache.getStore(getStorePath(name), password);
+	}
+
+	private Path getStorePath(String name) {
 		String filePath = configFacadeEjb.getS2SConfig().getPath();
-		Path storePath = Paths.get(filePath, name);
-		KeyStore store = KeyStore.getInstance("pkcs12");
-		try (BufferedInputStream in = new BufferedInputStream(Files.newInputStream(storePath))) {
-			store.load(in, password.toCharArray());
-		}
-		return store;
+		return Paths.get(filePath, name);
 	}
 
 	@Override
@@ -107,25 +107,32 @@ public class SormasToSormasEncryptionFacadeEjb implements SormasToSormasEncrypti
 			LOGGER.error("The own certificate is not contained in the provided keystore.");
 			throw new CertificateException("Unable to load own certificate.");
 		}
-		LOGGER.info("Successfully loaded own certificate.");
+		LOGGER.debug("Successfully loaded own certificate.");
 		return cert;
 	}
 
 	private PrivateKey loadOwnPrivateKey()
 		throws CertificateException, KeyStoreException, IOException, NoSuchAlgorithmException, UnrecoverableKeyException {
-		KeyStore keystore = getKeystore();
 		SormasToSormasConfig sormasToSormasConfig = configFacadeEjb.getS2SConfig();
-		PrivateKey privKey = (PrivateKey) keystore.getKey(sormasToSormasConfig.getId(), sormasToSormasConfig.getKeystorePass().toCharArray());
+		PrivateKey privKey = certificateCache.getPrivateKey(
+			getStorePath(sormasToSormasConfig.getKeystoreName()),
+			sormasToSormasConfig.getKeystorePass(),
+			sormasToSormasConfig.getId());
 		if (privKey == null) {
 			LOGGER.error("Could not load private key.");
 			throw new KeyStoreException("Unable to load private key.");
 		}
-		LOGGER.info("Successfully loaded private key.");
+		LOGGER.debug("Successfully loaded private key.");
 		return privKey;
 	}
 
 	private X509Certificate loadOtherCertificate(String otherId)
 		throws CertificateException, SormasToSormasException, KeyStoreException, IOException, NoSuchAlgorithmException {
+		return certificateCache.getOtherCertificate(otherId, this::fetchOtherCertificate);
+	}
+
+	private X509Certificate fetchOtherCertificate(String otherId)
+		throws CertificateException, SormasToSormasException, KeyStoreException, IOException, NoSuchAlgorithmException {
 
 		byte[] certBytes = restClient.get(otherId, SormasToSormasApiConstants.RESOURCE_PATH + SormasToSormasApiConstants.CERT_ENDPOINT, byte[].class);
 
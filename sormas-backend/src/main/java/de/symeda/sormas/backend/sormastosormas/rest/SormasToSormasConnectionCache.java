@@ -0,0 +1,113 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.sormastosormas.rest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import javax.annotation.PreDestroy;
+import javax.ejb.LocalBean;
+import javax.ejb.Lock;
+import javax.ejb.LockType;
+import javax.ejb.Singleton;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+
+import com.google.api.client.auth.oauth2.TokenResponse;
+
+import de.symeda.sormas.api.sormastosormas.SormasToSormasException;
+import de.symeda.sormas.backend.util.ClientHelper;
+import de.symeda.sormas.backend.util.TtlCache;
+
+/**
+ * Keeps the HTTP clients and access tokens used to talk to other SORMAS instances, so that sharing many entities
+ * reuses open connections and does not request a new token from the identity provider for every request.
+ * <p>
+ * There is one client with its own connection pool per host. Access tokens are kept per target instance until
+ * shortly before they expire, or until the target rejects them.
+ */
+@Singleton
+@LocalBean
+public class SormasToSormasConnectionCache {
+
+	private static final int MAX_CONNECTIONS_PER_HOST = 10;
+	static final long TOKEN_EXPIRY_MARGIN_MILLIS = 30 * 1000L;
+	static final long DEFAULT_TOKEN_TIME_TO_LIVE_MILLIS = 60 * 1000L;
+	private static final int MAX_AUTH_TOKENS = 1000;
+
+	private final Map<String, Client> clients = new ConcurrentHashMap<>();
+	private final TtlCache<String, String> authTokens;
+
+	public SormasToSormasConnectionCache() {
+		this(System::currentTimeMillis);
+	}
+
+	SormasToSormasConnectionCache(LongSupplier clock) {
+		this.authTokens = new TtlCache<>(DEFAULT_TOKEN_TIME_TO_LIVE_MILLIS, MAX_AUTH_TOKENS, clock);
+	}
+
+	@Lock(LockType.READ)
+	public Client getClient(String host) {
+		return clients.computeIfAbsent(host, h -> buildClient());
+	}
+
+	@Lock(LockType.READ)
+	public String getAuthToken(String targetId, TokenLoader loader) throws SormasToSormasException {
+
+		String token = authTokens.get(targetId);
+		if (token == null) {
+			TokenResponse tokenResponse = loader.load(targetId);
+			Long expiresInSeconds = tokenResponse.getExpiresInSeconds();
+			long timeToLive =
+				expiresInSeconds != null ? Math.max(0, expiresInSeconds * 1000L - TOKEN_EXPIRY_MARGIN_MILLIS) : DEFAULT_TOKEN_TIME_TO_LIVE_MILLIS;
+
+			token = tokenResponse.getAccessToken();
+			authTokens.put(targetId, token, timeToLive);
+		}
+
+		return token;
+	}
+
+	@Lock(LockType.READ)
+	public void invalidateAuthToken(String targetId) {
+		authTokens.remove(targetId);
+	}
+
+	@PreDestroy
+	public void closeClients() {
+		clients.values().forEach(Client::close);
+		clients.clear();
+	}
+
+	private static Client buildClient() {
+
+		ClientBuilder clientBuilder = ClientHelper.newBuilderWithProxy();
+		if (clientBuilder instanceof ResteasyClientBuilder) {
+			// the default connection manager only serves one request at a time
+			((ResteasyClientBuilder) clientBuilder).connectionPoolSize(MAX_CONNECTIONS_PER_HOST).maxPooledPerRoute(MAX_CONNECTIONS_PER_HOST);
+		}
+
+		return clientBuilder.build();
+	}
+
+	public interface TokenLoader {
+
+		TokenResponse load(String targetId) throws SormasToSormasException;
+	}
+}
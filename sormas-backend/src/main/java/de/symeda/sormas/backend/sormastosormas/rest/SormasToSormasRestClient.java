@@ -42,6 +42,7 @@ import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.client.auth.oauth2.TokenResponse;
 
 import de.symeda.sormas.api.sormastosormas.SormasToSormasConfig;
 import de.symeda.sormas.api.i18n.I18nProperties;
@@ -53,7 +54,6 @@ import de.symeda.sormas.api.sormastosormas.validation.ValidationErrors;
 import de.symeda.sormas.backend.sormastosormas.crypto.SormasToSormasEncryptionFacadeEjb.SormasToSormasEncryptionFacadeEjbLocal;
 import de.symeda.sormas.backend.sormastosormas.access.SormasToSormasDiscoveryService;
 import de.symeda.sormas.backend.sormastosormas.rest.auth.Oidc;
-import de.symeda.sormas.backend.util.ClientHelper;
 
 /**
  * Meant to be instantiated using SormasToSormasRestClientProducer.
@@ -68,16 +68,19 @@ public class SormasToSormasRestClient {
 	private final SormasToSormasDiscoveryService sormasToSormasDiscoveryService;
 	private final SormasToSormasEncryptionFacadeEjbLocal sormasToSormasEncryptionEjb;
 	private final ConfigFacadeEjb.ConfigFacadeEjbLocal configFacadeEjb;
+	private final SormasToSormasConnectionCache connectionCache;
 
 	private final ObjectMapper mapper;
 
 	public SormasToSormasRestClient(
 		SormasToSormasDiscoveryService sormasToSormasDiscoveryService,
 		SormasToSormasEncryptionFacadeEjbLocal sormasToSormasEncryptionEjb,
-		ConfigFacadeEjb.ConfigFacadeEjbLocal configFacadeEjb) {
+		ConfigFacadeEjb.ConfigFacadeEjbLocal configFacadeEjb,
+		SormasToSormasConnectionCache connectionCache) {
 		this.sormasToSormasDiscoveryService = sormasToSormasDiscoveryService;
 		this.sormasToSormasEncryptionEjb = sormasToSormasEncryptionEjb;
 		this.configFacadeEjb = configFacadeEjb;
+		this.connectionCache = connectionCache;
 
 		mapper = new ObjectMapper();
 		mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE);
@@ -98,11 +101,15 @@ public class SormasToSormasRestClient {
 	}
 
 	private String buildAuthToken(String targetId) throws SormasToSormasException {
+		return String.format("Bearer %s", connectionCache.getAuthToken(targetId, this::requestAuthToken));
+	}
+
+	private TokenResponse requestAuthToken(String targetId) throws SormasToSormasException {
 		String scope = String.format("s2s-%s", targetId);
-		String authToken;
+		TokenResponse tokenResponse;
 		try {
 			SormasToSormasConfig sormasToSormasConfig = configFacadeEjb.getS2SConfig();
-			authToken = Oidc.requestAccessToken(
+			tokenResponse = Oidc.requestToken(
 				sormasToSormasConfig.getOidcRealmTokenEndpoint(),
 				sormasToSormasConfig.getOidcClientId(),
 				sormasToSormasConfig.getOidcClientSecret(),
@@ -112,7 +119,7 @@ public class SormasToSormasRestClient {
 			throw  SormasToSormasException.fromStringProperty(Strings.errorSormasToSormasRequestToken);
 		}
 		LOGGER.info(String.format("Successfully requested access token for %s", targetId));
-		return String.format("Bearer %s", authToken);
+		return tokenResponse;
 	}
 
 	private Invocation.Builder buildRestClient(String receiverId, String endpoint) throws SormasToSormasException {
@@ -124,8 +131,7 @@ public class SormasToSormasRestClient {
 		String host = targetServerDescriptor.getHostName();
 		String authToken = buildAuthToken(targetServerDescriptor.getId());
 
-		return ClientHelper.newBuilderWithProxy()
-			.build()
+		return connectionCache.getClient(host)
 			.target(String.format(SORMAS_REST_URL_TEMPLATE, host, endpoint))
 			.request()
 			.header("Authorization", authToken);
@@ -161,7 +167,12 @@ public class SormasToSormasRestClient {
 			default:
 				throw SormasToSormasException.fromStringProperty(Strings.errorSormasToSormasInvalidRequestMethod);
 			}
-			return handleResponse(response, responseType);
+			try {
+				return handleResponse(receiverId, response, responseType);
+			} finally {
+				// release the connection to the pool, also if the response has no entity
+				response.close();
+			}
 		} catch (JsonProcessingException e) {
 			LOGGER.error("Unable to send data sormas", e);
 			throw SormasToSormasException.fromStringProperty(Strings.errorSormasToSormasSend);
@@ -179,9 +190,14 @@ public class SormasToSormasRestClient {
 		}
 	}
 
-	private <T> T handleResponse(Response response, Class<T> responseType) throws SormasToSormasException {
+	private <T> T handleResponse(String receiverId, Response response, Class<T> responseType) throws SormasToSormasException {
 		int statusCode = response.getStatus();
 		if (statusCode != HttpStatus.SC_NO_CONTENT && statusCode != HttpStatus.SC_OK) {
+			if (statusCode == HttpStatus.SC_UNAUTHORIZED) {
+				// the cached token might have been revoked, request a new one with the next request
+				connectionCache.invalidateAuthToken(receiverId);
+			}
+
 			String errorMessage = response.readEntity(String.class);
 			String errorI18nTag = null;
 			List<ValidationErrors> errors = null;
@@ -27,7 +27,8 @@ public class SormasToSormasRestClientProducer {
 	public SormasToSormasRestClient sormasToSormasClient(
 		SormasToSormasDiscoveryService sormasToSormasDiscoveryService,
 		SormasToSormasEncryptionFacadeEjbLocal sormasToSormasEncryptionEjb,
-		ConfigFacadeEjb.ConfigFacadeEjbLocal configFacadeEjb) {
-		return new SormasToSormasRestClient(sormasToSormasDiscoveryService, sormasToSormasEncryptionEjb, configFacadeEjb);
+		ConfigFacadeEjb.ConfigFacadeEjbLocal configFacadeEjb,
+		SormasToSormasConnectionCache connectionCache) {
+		return new SormasToSormasRestClient(sormasToSormasDiscoveryService, sormasToSormasEncryptionEjb, configFacadeEjb, connectionCache);
 	}
 }
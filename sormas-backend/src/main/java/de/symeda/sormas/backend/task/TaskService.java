@@ -21,7 +21,11 @@ import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 
 import javax.ejb.EJB;
@@ -46,6 +50,7 @@ import de.symeda.sormas.api.task.TaskCriteria;
 import de.symeda.sormas.api.task.TaskJurisdictionFlagsDto;
 import de.symeda.sormas.api.task.TaskPriority;
 import de.symeda.sormas.api.task.TaskStatus;
+import de.symeda.sormas.api.task.TaskType;
 import de.symeda.sormas.api.user.JurisdictionLevel;
 import de.symeda.sormas.api.user.UserRole;
 import de.symeda.sormas.api.utils.DataHelper;
@@ -70,7 +75,9 @@ import de.symeda.sormas.backend.travelentry.TravelEntryQueryContext;
 import de.symeda.sormas.backend.travelentry.TravelEntryService;
 import de.symeda.sormas.backend.user.User;
 import de.symeda.sormas.backend.user.UserService;
+import de.symeda.sormas.backend.util.IterableHelper;
 import de.symeda.sormas.backend.util.JurisdictionHelper;
+import de.symeda.sormas.backend.util.ModelConstants;
 
 @Stateless
 @LocalBean
@@ -433,6 +440,18 @@ public class TaskService extends AdoServiceWithUserFilter<Task> {
 	}
 
 	public User getTaskAssignee(Contact contact) throws TaskCreationException {
+		return getTaskAssignee(
+			contact,
+			district -> userService.getRandomUser(district, UserRole.CONTACT_OFFICER),
+			region -> userService.getRandomUser(region, UserRole.CONTACT_SUPERVISOR));
+	}
+
+	/**
+	 * Same as {@link #getTaskAssignee(Contact)}, with the lookups used to choose a contact officer of a district and a
+	 * contact supervisor of a region.
+	 */
+	public User getTaskAssignee(Contact contact, Function<District, User> lookupByDistrict, Function<Region, User> lookupByRegion)
+		throws TaskCreationException {
 
 		User assignee = null;
 		if (contact.getContactOfficer() != null) {
@@ -440,7 +459,6 @@ public class TaskService extends AdoServiceWithUserFilter<Task> {
 			assignee = contact.getContactOfficer();
 		} else {
 			// 2) A random contact officer from the contact's, contact person's or contact case's district
-			Function<District, User> lookupByDistrict = district -> userService.getRandomUser(district, UserRole.CONTACT_OFFICER);
 			if (contact.getDistrict() != null) {
 				assignee = lookupByDistrict.apply(contact.getDistrict());
 			}
@@ -459,7 +477,6 @@ public class TaskService extends AdoServiceWithUserFilter<Task> {
 
 		if (assignee == null) {
 			// 3) Assign a random contact supervisor from the contact's, contact person's or contact case's region
-			Function<Region, User> lookupByRegion = region -> userService.getRandomUser(region, UserRole.CONTACT_SUPERVISOR);
 			if (contact.getRegion() != null) {
 				assignee = lookupByRegion.apply(contact.getRegion());
 			}
@@ -483,6 +500,33 @@ public class TaskService extends AdoServiceWithUserFilter<Task> {
 		return assignee;
 	}
 
+	/**
+	 * @return The ids of the users that are assigned to pending tasks of the given type, per id of the tasks' contact.
+	 */
+	public Map<Long, Set<Long>> getPendingTaskAssigneeIdsByContactId(List<Long> contactIds, TaskType taskType) {
+
+		Map<Long, Set<Long>> assigneeIds = new HashMap<>();
+		IterableHelper.executeBatched(contactIds, ModelConstants.PARAMETER_LIMIT, batchedContactIds -> {
+			CriteriaBuilder cb = em.getCriteriaBuilder();
+			CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+			Root<Task> from = cq.from(Task.class);
+			Join<Task, Contact> contact = from.join(Task.CONTACT);
+			Join<Task, User> assignee = from.join(Task.ASSIGNEE_USER);
+
+			cq.multiselect(contact.get(Contact.ID), assignee.get(User.ID));
+			cq.where(
+				contact.get(Contact.ID).in(batchedContactIds),
+				cb.equal(from.get(Task.TASK_TYPE), taskType),
+				cb.equal(from.get(Task.TASK_STATUS), TaskStatus.PENDING));
+
+			for (Object[] result : em.createQuery(cq).getResultList()) {
+				assigneeIds.computeIfAbsent((Long) result[0], id -> new HashSet<>()).add((Long) result[1]);
+			}
+		});
+
+		return assigneeIds;
+	}
+
 	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
 	public void updateArchived(List<String> taskUuids, boolean archived) {
 
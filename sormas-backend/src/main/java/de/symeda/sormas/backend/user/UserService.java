@@ -26,6 +26,7 @@ import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.ejb.EJB;
@@ -296,6 +297,40 @@ public class UserService extends AdoServiceWithUserFilter<User> {
 		return getRandomUser(getReferenceList(Arrays.asList(region.getUuid()), null, false, false, true, userRoles));
 	}
 
+	/**
+	 * Same as {@link #getRandomUser(District, UserRole...)}, but the returned function only loads the candidates of each
+	 * district and each chosen user once. Meant to choose users for many entities in one go.
+	 */
+	public Function<District, User> createRandomDistrictUserLookup(UserRole... userRoles) {
+		return createRandomUserLookup(
+			district -> getReferenceList(null, Collections.singletonList(district.getUuid()), false, false, true, userRoles));
+	}
+
+	/**
+	 * Same as {@link #getRandomUser(Region, UserRole...)}, but the returned function only loads the candidates of each
+	 * region and each chosen user once. Meant to choose users for many entities in one go.
+	 */
+	public Function<Region, User> createRandomRegionUserLookup(UserRole... userRoles) {
+		return createRandomUserLookup(region -> getReferenceList(Collections.singletonList(region.getUuid()), null, false, false, true, userRoles));
+	}
+
+	private <T> Function<T, User> createRandomUserLookup(Function<T, List<UserReference>> candidatesLoader) {
+
+		Map<T, List<UserReference>> candidatesCache = new HashMap<>();
+		Map<String, User> usersCache = new HashMap<>();
+		Random random = new Random();
+
+		return infrastructure -> {
+			List<UserReference> candidates = candidatesCache.computeIfAbsent(infrastructure, candidatesLoader);
+			if (CollectionUtils.isEmpty(candidates)) {
+				return null;
+			}
+
+			UserReference chosenUser = candidates.get(random.nextInt(candidates.size()));
+			return usersCache.computeIfAbsent(chosenUser.getUuid(), this::getByUuid);
+		};
+	}
+
 	public User getRandomUser(List<UserReference> candidates) {
 
 		if (CollectionUtils.isEmpty(candidates)) {
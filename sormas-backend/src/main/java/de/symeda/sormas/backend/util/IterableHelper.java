@@ -2,6 +2,7 @@ package de.symeda.sormas.backend.util;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -38,4 +39,36 @@ public final class IterableHelper {
 			}
 		}
 	}
+
+	/**
+	 * Walks through ids in ascending order chunk by chunk and executes a function for each chunk. Each chunk is loaded
+	 * starting after the last id of the previous chunk, so that the ids do not need to be loaded all at once.
+	 * 
+	 * @param chunkSize
+	 *            maximum number of ids in one chunk.
+	 * @param chunkLoader
+	 *            Loads at most {@code chunkSize} ids in ascending order that are greater than the given id
+	 *            ({@code null} for the first chunk).
+	 * @param chunkFunction
+	 *            The function to call for a chunk.
+	 * @return The number of ids the function has been called for.
+	 */
+	public static int executeChunked(int chunkSize, BiFunction<Long, Integer, List<Long>> chunkLoader, Consumer<List<Long>> chunkFunction) {
+
+		int count = 0;
+		Long lastId = null;
+		List<Long> chunk;
+		do {
+			chunk = chunkLoader.apply(lastId, chunkSize);
+			if (chunk.isEmpty()) {
+				break;
+			}
+
+			chunkFunction.accept(chunk);
+			count += chunk.size();
+			lastId = chunk.get(chunk.size() - 1);
+		} while (chunk.size() >= chunkSize);
+
+		return count;
+	}
 }
@@ -0,0 +1,66 @@
+package de.symeda.sormas.backend.util;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Trigram similarity as calculated by the postgres pg_trgm extension, for comparisons that are done in memory.
+ * 
+ * @see <a href="https://www.postgresql.org/docs/current/pgtrgm.html">pg_trgm</a>
+ */
+public final class TrigramHelper {
+
+	private TrigramHelper() {
+		// Hide utility class constructor
+	}
+
+	/**
+	 * Splits the text into words of letters and digits and returns the trigrams of all words. Like pg_trgm,
+	 * each word is lower-cased and prefixed with two spaces and suffixed with one space.
+	 */
+	public static Set<String> getTrigrams(String text) {
+
+		Set<String> trigrams = new HashSet<>();
+		if (text == null) {
+			return trigrams;
+		}
+
+		String lowerCaseText = text.toLowerCase();
+		StringBuilder word = new StringBuilder();
+		for (int i = 0; i <= lowerCaseText.length(); i++) {
+			char c = i < lowerCaseText.length() ? lowerCaseText.charAt(i) : ' ';
+			if (Character.isLetterOrDigit(c)) {
+				word.append(c);
+			} else if (word.length() > 0) {
+				String paddedWord = "  " + word + " ";
+				for (int j = 0; j + 3 <= paddedWord.length(); j++) {
+					trigrams.add(paddedWord.substring(j, j + 3));
+				}
+				word.setLength(0);
+			}
+		}
+
+		return trigrams;
+	}
+
+	/**
+	 * @return The number of shared trigrams divided by the number of distinct trigrams of both sets, like pg_trgm's {@code similarity}.
+	 */
+	public static double getSimilarity(Set<String> trigrams, Set<String> otherTrigrams) {
+
+		if (trigrams.isEmpty() || otherTrigrams.isEmpty()) {
+			return 0;
+		}
+
+		Set<String> smaller = trigrams.size() <= otherTrigrams.size() ? trigrams : otherTrigrams;
+		Set<String> larger = smaller == trigrams ? otherTrigrams : trigrams;
+		int sharedCount = 0;
+		for (String trigram : smaller) {
+			if (larger.contains(trigram)) {
+				sharedCount++;
+			}
+		}
+
+		return (double) sharedCount / (trigrams.size() + otherTrigrams.size() - sharedCount);
+	}
+}
@@ -0,0 +1,169 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Thread-safe cache whose values expire after a time to live.
+ * <p>
+ * When the cache is full, expired values are dropped first. If that is not enough, all values that may be evicted are
+ * dropped.
+ */
+public class TtlCache<K, V> {
+
+	private final long timeToLiveMillis;
+	private final int maxEntries;
+	private final LongSupplier clock;
+	private final Predicate<V> evictable;
+	private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+	/** Incremented on every removal, so that a value loaded meanwhile is not put back */
+	private final AtomicLong generation = new AtomicLong();
+
+	public TtlCache(long timeToLiveMillis, int maxEntries, LongSupplier clock) {
+		this(timeToLiveMillis, maxEntries, clock, value -> true);
+	}
+
+	/**
+	 * @param evictable
+	 *            Decides which values may be dropped when the cache is full and no value has expired.
+	 */
+	public TtlCache(long timeToLiveMillis, int maxEntries, LongSupplier clock, Predicate<V> evictable) {
+		this.timeToLiveMillis = timeToLiveMillis;
+		this.maxEntries = maxEntries;
+		this.clock = clock;
+		this.evictable = evictable;
+	}
+
+	/**
+	 * @return The value of the key, or {@code null} if there is none or it has expired.
+	 */
+	public V get(K key) {
+
+		Entry<V> entry = entries.get(key);
+		return entry != null && !entry.isExpired(clock.getAsLong()) ? entry.value : null;
+	}
+
+	/**
+	 * Returns the value of the key, or loads it if there is none or it has expired. The loaded value is only kept if
+	 * nothing has been removed from the cache during the load, so that the removal is not undone by a value loaded
+	 * before.
+	 */
+	public <E extends Exception> V get(K key, Loader<K, V, E> loader) throws E {
+
+		V value = get(key);
+		if (value == null) {
+			long loadGeneration = generation.get();
+			value = loader.load(key);
+			if (generation.get() == loadGeneration) {
+				put(key, value);
+			}
+		}
+
+		return value;
+	}
+
+	public void put(K key, V value) {
+		put(key, value, timeToLiveMillis);
+	}
+
+	public void put(K key, V value, long timeToLiveMillis) {
+
+		long now = clock.getAsLong();
+		evictIfFull(now);
+		entries.put(key, new Entry<>(value, now + timeToLiveMillis));
+	}
+
+	/**
+	 * Puts the value unless the key has a value that has not expired.
+	 *
+	 * @return The present value, or {@code null} if the given value has been put.
+	 */
+	public V putIfAbsent(K key, V value) {
+
+		long now = clock.getAsLong();
+		evictIfFull(now);
+		Entry<V> newEntry = new Entry<>(value, now + timeToLiveMillis);
+		Entry<V> entry = entries.compute(key, (k, e) -> e == null || e.isExpired(now) ? newEntry : e);
+		return entry != newEntry ? entry.value : null;
+	}
+
+	/**
+	 * Replaces the value of the key if it is the given one. The replacement expires when the old value would have.
+	 */
+	public boolean replace(K key, V oldValue, V newValue) {
+
+		Entry<V> oldEntry = entries.get(key);
+		return oldEntry != null && oldEntry.value == oldValue && entries.replace(key, oldEntry, new Entry<>(newValue, oldEntry.expiresAt));
+	}
+
+	public void remove(K key) {
+		generation.incrementAndGet();
+		entries.remove(key);
+	}
+
+	public void remove(K key, V value) {
+		generation.incrementAndGet();
+		entries.computeIfPresent(key, (k, e) -> e.value == value ? null : e);
+	}
+
+	public void clear() {
+		generation.incrementAndGet();
+		entries.clear();
+	}
+
+	/**
+	 * @return The number of values, including expired ones that have not been dropped yet.
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	private void evictIfFull(long now) {
+
+		if (entries.size() >= maxEntries) {
+			entries.values().removeIf(e -> e.isExpired(now));
+			if (entries.size() >= maxEntries) {
+				entries.values().removeIf(e -> evictable.test(e.value));
+			}
+		}
+	}
+
+	@FunctionalInterface
+	public interface Loader<K, V, E extends Exception> {
+
+		V load(K key) throws E;
+	}
+
+	private static final class Entry<V> {
+
+		private final V value;
+		private final long expiresAt;
+
+		private Entry(V value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+
+		private boolean isExpired(long now) {
+			return expiresAt < now;
+		}
+	}
+}
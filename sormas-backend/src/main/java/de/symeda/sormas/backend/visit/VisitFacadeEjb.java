@@ -85,6 +85,7 @@ import de.symeda.sormas.backend.caze.CaseFacadeEjb;
 import de.symeda.sormas.backend.caze.CaseFacadeEjb.CaseFacadeEjbLocal;
 import de.symeda.sormas.backend.caze.CaseQueryContext;
 import de.symeda.sormas.backend.caze.CaseService;
+import de.symeda.sormas.backend.common.AfterCommitService;
 import de.symeda.sormas.backend.common.CriteriaBuilderHelper;
 import de.symeda.sormas.backend.common.messaging.MessageContents;
 import de.symeda.sormas.backend.common.messaging.MessageSubject;
@@ -132,6 +133,8 @@ public class VisitFacadeEjb implements VisitFacade {
 	private SymptomsFacadeEjbLocal symptomsFacade;
 	@EJB
 	private MessagingService messagingService;
+	@EJB
+	private AfterCommitService afterCommitService;
 
 	@Override
 	public List<String> getAllActiveUuids() {
@@ -153,6 +156,22 @@ public class VisitFacadeEjb implements VisitFacade {
 		return visitService.getAllActiveVisitsAfter(date).stream().map(c -> convertToDto(c, pseudonymizer)).collect(Collectors.toList());
 	}
 
+	@Override
+	public List<VisitDto> getAllActiveVisitsAfter(Date date, Integer batchSize, Date lastChangeDate, String lastUuid) {
+
+		User user = userService.getCurrentUser();
+
+		if (user == null) {
+			return Collections.emptyList();
+		}
+
+		Pseudonymizer pseudonymizer = Pseudonymizer.getDefault(userService::hasRight);
+		return visitService.getAllActiveVisitsAfter(date, batchSize, lastChangeDate, lastUuid)
+			.stream()
+			.map(c -> convertToDto(c, pseudonymizer))
+			.collect(Collectors.toList());
+	}
+
 	@Override
 	public List<VisitDto> getByUuids(List<String> uuids) {
 		Pseudonymizer pseudonymizer = Pseudonymizer.getDefault(userService::hasRight);
@@ -580,34 +599,9 @@ public class VisitFacadeEjb implements VisitFacade {
 					continue;
 				}
 
-				Case contactCase = contact.getCaze();
-				try {
-					String messageContent;
-					if (contactCase != null) {
-						messageContent = String.format(
-							I18nProperties.getString(MessageContents.CONTENT_CONTACT_SYMPTOMATIC),
-							DataHelper.getShortUuid(contact.getUuid()),
-							DataHelper.getShortUuid(contactCase.getUuid()));
-					} else {
-						messageContent = String.format(
-							I18nProperties.getString(MessageContents.CONTENT_CONTACT_WITHOUT_CASE_SYMPTOMATIC),
-							DataHelper.getShortUuid(contact.getUuid()));
-					}
-
-					messagingService.sendMessages(() -> {
-						final Map<User, String> mapToReturn = new HashMap<>();
-						userService
-							.getAllByRegionsAndUserRoles(
-								JurisdictionHelper.getContactRegions(contact),
-								UserRole.SURVEILLANCE_SUPERVISOR,
-								UserRole.CONTACT_SUPERVISOR)
-							.forEach(user -> mapToReturn.put(user, messageContent));
-						return mapToReturn;
-					}, MessageSubject.CONTACT_SYMPTOMATIC, MessageType.EMAIL, MessageType.SMS);
-				} catch (NotificationDeliveryFailedException e) {
-					logger.error(
-						String.format("EmailDeliveryFailedException when trying to notify supervisors about a contact that has become symptomatic."));
-				}
+				// the contact is loaded again, because the messages are sent after the visit has been committed
+				String contactUuid = contact.getUuid();
+				afterCommitService.execute(() -> sendContactSymptomaticMessages(contactService.getByUuid(contactUuid)));
 			}
 		}
 
@@ -626,6 +620,38 @@ public class VisitFacadeEjb implements VisitFacade {
 		}
 	}
 
+	private void sendContactSymptomaticMessages(Contact contact) {
+
+		Case contactCase = contact.getCaze();
+		try {
+			String messageContent;
+			if (contactCase != null) {
+				messageContent = String.format(
+					I18nProperties.getString(MessageContents.CONTENT_CONTACT_SYMPTOMATIC),
+					DataHelper.getShortUuid(contact.getUuid()),
+					DataHelper.getShortUuid(contactCase.getUuid()));
+			} else {
+				messageContent = String.format(
+					I18nProperties.getString(MessageContents.CONTENT_CONTACT_WITHOUT_CASE_SYMPTOMATIC),
+					DataHelper.getShortUuid(contact.getUuid()));
+			}
+
+			messagingService.sendMessages(() -> {
+				final Map<User, String> mapToReturn = new HashMap<>();
+				userService
+					.getAllByRegionsAndUserRoles(
+						JurisdictionHelper.getContactRegions(contact),
+						UserRole.SURVEILLANCE_SUPERVISOR,
+						UserRole.CONTACT_SUPERVISOR)
+					.forEach(user -> mapToReturn.put(user, messageContent));
+				return mapToReturn;
+			}, MessageSubject.CONTACT_SYMPTOMATIC, MessageType.EMAIL, MessageType.SMS);
+		} catch (NotificationDeliveryFailedException e) {
+			logger.error(
+				String.format("EmailDeliveryFailedException when trying to notify supervisors about a contact that has become symptomatic."));
+		}
+	}
+
 	private void updateContactVisitAssociations(VisitDto existingVisit, Visit visit) {
 
 		if (existingVisit != null && Objects.equals(existingVisit.getVisitDateTime(), visit.getVisitDateTime())) {
@@ -38,6 +38,7 @@ import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
 
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.caze.CaseLogic;
@@ -147,36 +148,52 @@ public class VisitService extends BaseAdoService<Visit> {
 	 */
 	public List<Visit> getAllActiveVisitsAfter(Date date) {
 		List<Visit> result = new ArrayList<>();
-		result.addAll(getAllActiveVisitsInContactsAfter(date));
+		result.addAll(getAllActiveVisitsInContactsAfter(date, null, null, null));
 		// include when case visits are implemented for the mobile app
 //		result.addAll(getAllActiveVisitsInCasesAfter(date));
 
 		return result.stream().distinct().sorted(Comparator.comparing(AbstractDomainObject::getId)).collect(Collectors.toList());
 	}
 
-	private List<Visit> getAllActiveVisitsInContactsAfter(Date date) {
+	/**
+	 * Keyset paginated variant of {@link #getAllActiveVisitsAfter(Date)}.
+	 * Attention: For now this only returns the visits of contacts, since case visits are not yet implemented in the mobile app
+	 */
+	public List<Visit> getAllActiveVisitsAfter(Date date, Integer batchSize, Date lastChangeDate, String lastUuid) {
+		return getAllActiveVisitsInContactsAfter(date, batchSize, lastChangeDate, lastUuid);
+	}
+
+	private List<Visit> getAllActiveVisitsInContactsAfter(Date date, Integer batchSize, Date lastChangeDate, String lastUuid) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<Visit> visitsQuery = cb.createQuery(Visit.class);
-		Root<Contact> contactRoot = visitsQuery.from(Contact.class);
-		Join<Contact, Visit> visitJoin = contactRoot.join(Contact.VISITS, JoinType.LEFT);
-		visitJoin.fetch(Visit.SYMPTOMS);
-		Fetch<Visit, Person> personFetch = visitJoin.fetch(Visit.PERSON);
+		Root<Visit> visitRoot = visitsQuery.from(Visit.class);
+		visitRoot.fetch(Visit.SYMPTOMS);
+		Fetch<Visit, Person> personFetch = visitRoot.fetch(Visit.PERSON);
 		personFetch.fetch(Person.ADDRESS);
 
-		Predicate filter = CriteriaBuilderHelper
-			.and(cb, contactService.createUserFilter(cb, visitsQuery, contactRoot), contactService.createActiveContactsFilter(cb, contactRoot));
+		// a subquery instead of a distinct join, because the sync order is not part of the selection
+		Subquery<Long> contactVisitsSubquery = visitsQuery.subquery(Long.class);
+		Root<Contact> contactRoot = contactVisitsSubquery.from(Contact.class);
+		Join<Contact, Visit> visitJoin = contactRoot.join(Contact.VISITS);
+		contactVisitsSubquery.select(visitJoin.get(AbstractDomainObject.ID));
+		contactVisitsSubquery.where(
+			CriteriaBuilderHelper
+				.and(cb, contactService.createUserFilter(cb, visitsQuery, contactRoot), contactService.createActiveContactsFilter(cb, contactRoot)));
+
+		Predicate filter = visitRoot.get(AbstractDomainObject.ID).in(contactVisitsSubquery);
 
 		if (date != null) {
-			filter = CriteriaBuilderHelper.and(cb, filter, createChangeDateFilter(cb, visitJoin, DateHelper.toTimestampUpper(date)));
+			filter = CriteriaBuilderHelper.and(cb, filter, createChangeDateFilter(cb, visitRoot, DateHelper.toTimestampUpper(date)));
 		}
 
-		visitsQuery.select(visitJoin);
+		filter = CriteriaBuilderHelper.and(cb, filter, createSyncCursorFilter(cb, visitRoot, lastChangeDate, lastUuid));
+
+		visitsQuery.select(visitRoot);
 		visitsQuery.where(filter);
-		visitsQuery.distinct(true);
-		visitsQuery.orderBy(cb.asc(visitJoin.get(AbstractDomainObject.ID)));
+		visitsQuery.orderBy(createSyncOrder(cb, visitRoot, batchSize));
 
-		return em.createQuery(visitsQuery).getResultList();
+		return createBatchedQuery(visitsQuery, batchSize).getResultList();
 	}
 
 	private List<Visit> getAllActiveVisitsInCasesAfter(Date date) {
@@ -80,7 +80,7 @@ import de.symeda.sormas.backend.util.ModelConstants;
 @Stateless(name = "VisualizationFacade")
 public class VisualizationFacadeEjb implements VisualizationFacade {
 
-	static final String SORMAS_DATA_POOL_JNDI = "jdbc/sormasDataPool";
+	public static final String SORMAS_DATA_POOL_JNDI = "jdbc/sormasDataPool";
 
 	//	private static final String TRANSMISSION_CHAIN_SCRIPT = "transmission_chain.r";
 	private static final String TRANSMISSION_CHAIN_SCRIPT = "transform_contact.R";
@@ -8293,4 +8293,177 @@ ALTER TABLE travelentry_history ADD COLUMN diseasevariantdetails text;
 
 INSERT INTO schema_version (version_number, comment) VALUES (408, 'Add disease variant details #5935');
 
+-- 2021-10-05 Incremental case statistics cube
+CREATE TABLE casestatisticscell (
+    id bigint not null,
+    disease varchar(255),
+    caseclassification varchar(255),
+    outcome varchar(255),
+    responsibleregion_id bigint,
+    responsibledistrict_id bigint,
+    onsetdate timestamp,
+    sex varchar(255),
+    caseage integer,
+    casecount integer not null,
+    PRIMARY KEY (id));
+ALTER TABLE casestatisticscell OWNER TO sormas_user;
+ALTER TABLE casestatisticscell ADD CONSTRAINT fk_casestatisticscell_responsibleregion_id FOREIGN KEY (responsibleregion_id) REFERENCES region (id);
+ALTER TABLE casestatisticscell ADD CONSTRAINT fk_casestatisticscell_responsibledistrict_id FOREIGN KEY (responsibledistrict_id) REFERENCES district (id);
+CREATE INDEX IF NOT EXISTS idx_casestatisticscell_disease_responsibledistrict_id_onsetdate ON casestatisticscell (disease, responsibledistrict_id, onsetdate);
+
+CREATE TABLE casestatisticsentry (
+    case_id bigint not null,
+    cell_id bigint not null,
+    changedate timestamp not null,
+    PRIMARY KEY (case_id));
+ALTER TABLE casestatisticsentry OWNER TO sormas_user;
+ALTER TABLE casestatisticsentry ADD CONSTRAINT fk_casestatisticsentry_cell_id FOREIGN KEY (cell_id) REFERENCES casestatisticscell (id);
+CREATE INDEX IF NOT EXISTS idx_casestatisticsentry_cell_id ON casestatisticsentry (cell_id);
+CREATE INDEX IF NOT EXISTS idx_casestatisticsentry_changedate ON casestatisticsentry (changedate);
+
+CREATE TEMP TABLE tmp_casestatistics AS
+SELECT cases.id AS case_id, cases.disease, cases.caseclassification, cases.outcome, cases.responsibleregion_id, cases.responsibledistrict_id,
+       date_trunc('day', symptoms.onsetdate) AS onsetdate, person.sex, cases.caseage,
+       greatest(cases.changedate, symptoms.changedate, person.changedate) AS changedate
+FROM cases
+    JOIN symptoms ON cases.symptoms_id = symptoms.id
+    JOIN person ON cases.person_id = person.id
+WHERE cases.deleted = false;
+
+INSERT INTO casestatisticscell (id, disease, caseclassification, outcome, responsibleregion_id, responsibledistrict_id, onsetdate, sex, caseage, casecount)
+SELECT nextval('entity_seq'), disease, caseclassification, outcome, responsibleregion_id, responsibledistrict_id, onsetdate, sex, caseage, casecount
+FROM (SELECT disease, caseclassification, outcome, responsibleregion_id, responsibledistrict_id, onsetdate, sex, caseage, count(*) AS casecount
+      FROM tmp_casestatistics
+      GROUP BY disease, caseclassification, outcome, responsibleregion_id, responsibledistrict_id, onsetdate, sex, caseage) AS cells;
+
+INSERT INTO casestatisticsentry (case_id, cell_id, changedate)
+SELECT tmp_casestatistics.case_id, casestatisticscell.id, tmp_casestatistics.changedate
+FROM tmp_casestatistics
+    JOIN casestatisticscell ON casestatisticscell.disease IS NOT DISTINCT FROM tmp_casestatistics.disease
+        AND casestatisticscell.caseclassification IS NOT DISTINCT FROM tmp_casestatistics.caseclassification
+        AND casestatisticscell.outcome IS NOT DISTINCT FROM tmp_casestatistics.outcome
+        AND casestatisticscell.responsibleregion_id IS NOT DISTINCT FROM tmp_casestatistics.responsibleregion_id
+        AND casestatisticscell.responsibledistrict_id IS NOT DISTINCT FROM tmp_casestatistics.responsibledistrict_id
+        AND casestatisticscell.onsetdate IS NOT DISTINCT FROM tmp_casestatistics.onsetdate
+        AND casestatisticscell.sex IS NOT DISTINCT FROM tmp_casestatistics.sex
+        AND casestatisticscell.caseage IS NOT DISTINCT FROM tmp_casestatistics.caseage;
+
+DROP TABLE tmp_casestatistics;
+
+INSERT INTO schema_version (version_number, comment) VALUES (409, 'Incremental case statistics cube');
+
+-- 2021-11-02 Index for the duplicate case search by disease and report date
+CREATE INDEX IF NOT EXISTS idx_cases_disease_reportdate ON cases (disease, reportdate);
+
+INSERT INTO schema_version (version_number, comment) VALUES (410, 'Index cases by disease and report date');
+
+-- 2021-11-08 Extract campaign form values for the evaluation of campaign diagrams
+CREATE TABLE campaignformdatavalue (
+    id bigint not null,
+    campaignformdata_id bigint not null,
+    fieldid text not null,
+    numericvalue integer,
+    stringvalue text not null,
+    PRIMARY KEY (id));
+ALTER TABLE campaignformdatavalue OWNER TO sormas_user;
+ALTER TABLE campaignformdatavalue ADD CONSTRAINT fk_campaignformdatavalue_campaignformdata_id FOREIGN KEY (campaignformdata_id) REFERENCES campaignformdata (id) ON DELETE CASCADE;
+CREATE INDEX IF NOT EXISTS idx_campaignformdatavalue_campaignformdata_id ON campaignformdatavalue (campaignformdata_id);
+CREATE INDEX IF NOT EXISTS idx_campaignformdatavalue_fieldid ON campaignformdatavalue (fieldid);
+
+-- values like phone numbers are too long for an integer
+create or replace function cast_to_int(text, integer) returns integer as $$
+begin
+    return cast($1 as integer);
+exception
+    when invalid_text_representation or numeric_value_out_of_range then
+        return $2;
+end;
+$$ language plpgsql immutable;
+
+INSERT INTO campaignformdatavalue (id, campaignformdata_id, fieldid, numericvalue, stringvalue)
+SELECT nextval('entity_seq'), campaignformdata.id, jsondata->>'id', cast_to_int(jsondata->>'value', null), jsondata->>'value'
+FROM campaignformdata, json_array_elements(campaignformdata.formvalues) AS jsondata
+WHERE jsondata->>'id' IS NOT NULL AND jsondata->>'value' IS NOT NULL;
+
+INSERT INTO schema_version (version_number, comment) VALUES (411, 'Extract campaign form values for campaign diagrams');
+
+-- 2021-11-15 Persistent outbox for the notification of external journals about person updates
+CREATE TABLE externaljournalpersonupdate (
+    id bigint not null,
+    personuuid varchar(36) not null,
+    journalperson text not null,
+    creationdate timestamp not null,
+    duedate timestamp not null,
+    attempts integer not null default 0,
+    PRIMARY KEY (id));
+ALTER TABLE externaljournalpersonupdate OWNER TO sormas_user;
+CREATE INDEX IF NOT EXISTS idx_externaljournalpersonupdate_personuuid ON externaljournalpersonupdate (personuuid);
+
+INSERT INTO schema_version (version_number, comment) VALUES (412, 'Persistent outbox for external journal person updates');
+
+-- 2021-11-16 Indexes for the lookup of changed cases by the case statistics cube
+CREATE INDEX IF NOT EXISTS idx_cases_changedate ON cases (changedate);
+CREATE INDEX IF NOT EXISTS idx_cases_symptoms_id ON cases (symptoms_id);
+CREATE INDEX IF NOT EXISTS idx_symptoms_changedate ON symptoms (changedate);
+CREATE INDEX IF NOT EXISTS idx_person_changedate ON person (changedate);
+
+INSERT INTO schema_version (version_number, comment) VALUES (413, 'Indexes for the lookup of changed cases by the case statistics cube');
+
+-- 2021-11-17 Indexes for the lookup of the persons to sync by their associated entities
+CREATE INDEX IF NOT EXISTS idx_immunization_person_id ON immunization (person_id);
+CREATE INDEX IF NOT EXISTS idx_travelentry_person_id ON travelentry (person_id);
+
+INSERT INTO schema_version (version_number, comment) VALUES (414, 'Indexes for the lookup of the persons to sync by their associated entities');
+
+-- 2021-11-17 Indexes for the keyset paginated sync of cases, contacts and visits
+CREATE INDEX IF NOT EXISTS idx_cases_changedate_id ON cases (changedate, id);
+CREATE INDEX IF NOT EXISTS idx_contact_changedate_id ON contact (changedate, id);
+CREATE INDEX IF NOT EXISTS idx_visit_changedate_id ON visit (changedate, id);
+
+INSERT INTO schema_version (version_number, comment) VALUES (415, 'Indexes for the keyset paginated sync of cases, contacts and visits');
+
+-- 2021-11-17 Case statistics cube by onset month and epi week and by age group
+DELETE FROM casestatisticsentry;
+DELETE FROM casestatisticscell;
+ALTER TABLE casestatisticscell DROP COLUMN onsetdate;
+ALTER TABLE casestatisticscell DROP COLUMN caseage;
+ALTER TABLE casestatisticscell ADD COLUMN onsetmonth timestamp;
+ALTER TABLE casestatisticscell ADD COLUMN onsetweek timestamp;
+ALTER TABLE casestatisticscell ADD COLUMN agegroupstart integer;
+CREATE INDEX IF NOT EXISTS idx_casestatisticscell_disease_responsibledistrict_id_onsetmonth ON casestatisticscell (disease, responsibledistrict_id, onsetmonth);
+
+-- see CaseStatisticsCell.getAgeGroupStart
+CREATE TEMP TABLE tmp_casestatistics AS
+SELECT cases.id AS case_id, cases.disease, cases.caseclassification, cases.outcome, cases.responsibleregion_id, cases.responsibledistrict_id,
+       date_trunc('month', symptoms.onsetdate) AS onsetmonth, date_trunc('week', symptoms.onsetdate) AS onsetweek, person.sex,
+       CASE WHEN cases.caseage < 5 THEN cases.caseage WHEN cases.caseage >= 80 THEN 80 ELSE cases.caseage - cases.caseage % 5 END AS agegroupstart,
+       greatest(cases.changedate, symptoms.changedate, person.changedate) AS changedate
+FROM cases
+    JOIN symptoms ON cases.symptoms_id = symptoms.id
+    JOIN person ON cases.person_id = person.id
+WHERE cases.deleted = false;
+
+INSERT INTO casestatisticscell (id, disease, caseclassification, outcome, responsibleregion_id, responsibledistrict_id, onsetmonth, onsetweek, sex, agegroupstart, casecount)
+SELECT nextval('entity_seq'), disease, caseclassification, outcome, responsibleregion_id, responsibledistrict_id, onsetmonth, onsetweek, sex, agegroupstart, casecount
+FROM (SELECT disease, caseclassification, outcome, responsibleregion_id, responsibledistrict_id, onsetmonth, onsetweek, sex, agegroupstart, count(*) AS casecount
+      FROM tmp_casestatistics
+      GROUP BY disease, caseclassification, outcome, responsibleregion_id, responsibledistrict_id, onsetmonth, onsetweek, sex, agegroupstart) AS cells;
+
+INSERT INTO casestatisticsentry (case_id, cell_id, changedate)
+SELECT tmp_casestatistics.case_id, casestatisticscell.id, tmp_casestatistics.changedate
+FROM tmp_casestatistics
+    JOIN casestatisticscell ON casestatisticscell.disease IS NOT DISTINCT FROM tmp_casestatistics.disease
+        AND casestatisticscell.caseclassification IS NOT DISTINCT FROM tmp_casestatistics.caseclassification
+        AND casestatisticscell.outcome IS NOT DISTINCT FROM tmp_casestatistics.outcome
+        AND casestatisticscell.responsibleregion_id IS NOT DISTINCT FROM tmp_casestatistics.responsibleregion_id
+        AND casestatisticscell.responsibledistrict_id IS NOT DISTINCT FROM tmp_casestatistics.responsibledistrict_id
+        AND casestatisticscell.onsetmonth IS NOT DISTINCT FROM tmp_casestatistics.onsetmonth
+        AND casestatisticscell.onsetweek IS NOT DISTINCT FROM tmp_casestatistics.onsetweek
+        AND casestatisticscell.sex IS NOT DISTINCT FROM tmp_casestatistics.sex
+        AND casestatisticscell.agegroupstart IS NOT DISTINCT FROM tmp_casestatistics.agegroupstart;
+
+DROP TABLE tmp_casestatistics;
+
+INSERT INTO schema_version (version_number, comment) VALUES (416, 'Case statistics cube by onset month and epi week and by age group');
+
 -- *** Insert new sql commands BEFORE this line. Remember to always consider _history tables. ***
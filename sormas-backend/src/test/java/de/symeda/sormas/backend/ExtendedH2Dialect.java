@@ -19,6 +19,7 @@ public class ExtendedH2Dialect extends H2Dialect {
 	public final static String ARRAY_AGG = "array_agg";
 	public final static String CONCAT_FUNCTION = "concat_function";
 	public final static String GREATEST = "greatest";
+	public final static String BOOL_AND = "bool_and";
 
 	public ExtendedH2Dialect() {
 		super();
@@ -43,5 +44,6 @@ public class ExtendedH2Dialect extends H2Dialect {
 				StandardBasicTypes.LONG,
 				"COUNT(?1) OVER (PARTITION BY ?2 RANGE BETWEEN UNBOUNDED PRECEDING AND UNBOUNDED FOLLOWING)"));
 		registerFunction(GREATEST, new StandardSQLFunction(GREATEST));
+		registerFunction(BOOL_AND, new StandardSQLFunction(BOOL_AND, StandardBasicTypes.BOOLEAN));
 	}
 }
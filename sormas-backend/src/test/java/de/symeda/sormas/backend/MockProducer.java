@@ -43,6 +43,7 @@ import de.symeda.sormas.backend.central.EtcdCentralClientProducer;
 import de.symeda.sormas.backend.common.ConfigFacadeEjb;
 import de.symeda.sormas.backend.sormastosormas.access.SormasToSormasDiscoveryService;
 import de.symeda.sormas.backend.sormastosormas.crypto.SormasToSormasEncryptionFacadeEjb.SormasToSormasEncryptionFacadeEjbLocal;
+import de.symeda.sormas.backend.sormastosormas.rest.SormasToSormasConnectionCache;
 import de.symeda.sormas.backend.sormastosormas.rest.SormasToSormasRestClient;
 import de.symeda.sormas.backend.sormastosormas.rest.SormasToSormasRestClientProducer;
 
@@ -167,7 +168,8 @@ public class MockProducer {
 		public SormasToSormasRestClient sormasToSormasClient(
 			SormasToSormasDiscoveryService sormasToSormasDiscoveryService,
 			SormasToSormasEncryptionFacadeEjbLocal sormasToSormasEncryptionEjb,
-			ConfigFacadeEjb.ConfigFacadeEjbLocal configFacadeEjb) {
+			ConfigFacadeEjb.ConfigFacadeEjbLocal configFacadeEjb,
+			SormasToSormasConnectionCache connectionCache) {
 			return s2sRestClient;
 		}
 	}
@@ -0,0 +1,38 @@
+package de.symeda.sormas.backend;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records the SQL statements Hibernate sends to the database while recording is started, so that tests can check the
+ * shape of generated queries that H2 would accept but Postgres would not.
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+	private static final long serialVersionUID = 1L;
+
+	private static volatile List<String> statements;
+
+	public static void start() {
+		statements = Collections.synchronizedList(new ArrayList<>());
+	}
+
+	public static List<String> stop() {
+		List<String> recordedStatements = statements;
+		statements = null;
+		return recordedStatements != null ? new ArrayList<>(recordedStatements) : Collections.emptyList();
+	}
+
+	@Override
+	public String inspect(String sql) {
+
+		List<String> recordedStatements = statements;
+		if (recordedStatements != null) {
+			recordedStatements.add(sql);
+		}
+		return sql;
+	}
+}
@@ -0,0 +1,74 @@
+package de.symeda.sormas.backend.campaign.data;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.campaign.CampaignDto;
+import de.symeda.sormas.api.campaign.CampaignJurisdictionLevel;
+import de.symeda.sormas.api.campaign.CampaignReferenceDto;
+import de.symeda.sormas.api.campaign.diagram.CampaignDiagramCriteria;
+import de.symeda.sormas.api.campaign.diagram.CampaignDiagramDataDto;
+import de.symeda.sormas.api.campaign.diagram.CampaignDiagramSeries;
+import de.symeda.sormas.api.campaign.form.CampaignFormMetaDto;
+import de.symeda.sormas.api.user.UserDto;
+import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.TestDataCreator;
+
+public class CampaignFormDataFacadeEjbTest extends AbstractBeanTest {
+
+	@Test
+	public void testGetDiagramData() throws IOException {
+
+		TestDataCreator.RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = creator.createUser(rdcf, UserRole.SURVEILLANCE_SUPERVISOR);
+		CampaignDto campaign = creator.createCampaign(user);
+		CampaignFormMetaDto campaignForm = creator.createCampaignForm(campaign);
+
+		creator.createCampaignFormData(campaign, campaignForm, rdcf, creator.getCampaignFormData());
+		creator.createCampaignFormData(
+			campaign,
+			campaignForm,
+			rdcf,
+			"[{\"id\": \"teamNumber\",\"value\": \"004917612345678\"},{\"id\": \"oneMemberResident\", \"value\": \"no\"},"
+				+ "{\"id\": \"numberOfChw\",\"value\": \"5\"}]");
+
+		CampaignDiagramCriteria criteria =
+			new CampaignDiagramCriteria(new CampaignReferenceDto(campaign.getUuid()), null, null, null, CampaignJurisdictionLevel.REGION);
+		List<CampaignDiagramSeries> diagramSeries = Arrays.asList(
+			diagramSeries("numberOfChw", null),
+			diagramSeries("oneMemberResident", "yes"),
+			diagramSeries("oneMemberResident", "no"),
+			diagramSeries(null, null));
+		List<CampaignDiagramDataDto> diagramData = getCampaignFormDataFacade().getDiagramData(diagramSeries, criteria);
+
+		assertEquals(4, diagramData.size());
+		// numeric fields are summed up
+		assertEquals(12L, diagramData.get(0).getValueSum().longValue());
+		// other fields are counted by reference value
+		assertEquals(1L, diagramData.get(1).getValueSum().longValue());
+		assertEquals(1L, diagramData.get(2).getValueSum().longValue());
+		// series without a field count the forms
+		assertEquals(2L, diagramData.get(3).getValueSum().longValue());
+		assertEquals(rdcf.region.getUuid(), diagramData.get(0).getGroupingKey());
+
+		// cached diagram data is dropped when further form data is saved
+		creator.createCampaignFormData(campaign, campaignForm, rdcf, "[{\"id\": \"numberOfChw\",\"value\": \"3\"}]");
+		diagramData = getCampaignFormDataFacade().getDiagramData(diagramSeries, criteria);
+		assertEquals(15L, diagramData.get(0).getValueSum().longValue());
+		assertEquals(3L, diagramData.get(3).getValueSum().longValue());
+	}
+
+	private CampaignDiagramSeries diagramSeries(String fieldId, String referenceValue) {
+		CampaignDiagramSeries campaignDiagramSeries = new CampaignDiagramSeries();
+		campaignDiagramSeries.setFieldId(fieldId);
+		campaignDiagramSeries.setFormId("testForm");
+		campaignDiagramSeries.setReferenceValue(referenceValue);
+		return campaignDiagramSeries;
+	}
+}
@@ -0,0 +1,34 @@
+package de.symeda.sormas.backend.campaign.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class CampaignFormDataServiceTest {
+
+	@Test
+	public void testToNumericValue() {
+
+		assertEquals(Integer.valueOf(12), CampaignFormDataService.toNumericValue("12"));
+		assertEquals(Integer.valueOf(-3), CampaignFormDataService.toNumericValue(" -3 "));
+		assertEquals(Integer.valueOf(Integer.MAX_VALUE), CampaignFormDataService.toNumericValue("2147483647"));
+		// same as cast_to_int: not an integer or out of its range
+		assertNull(CampaignFormDataService.toNumericValue("1.5"));
+		assertNull(CampaignFormDataService.toNumericValue("yes"));
+		assertNull(CampaignFormDataService.toNumericValue(""));
+		assertNull(CampaignFormDataService.toNumericValue("2147483648"));
+		assertNull(CampaignFormDataService.toNumericValue("004917612345678"));
+	}
+
+	@Test
+	public void testToStringValue() {
+
+		assertEquals("yes", CampaignFormDataService.toStringValue("yes"));
+		assertEquals("7", CampaignFormDataService.toStringValue(7));
+		assertEquals("true", CampaignFormDataService.toStringValue(true));
+		assertEquals("[\"a\",\"b\"]", CampaignFormDataService.toStringValue(Arrays.asList("a", "b")));
+	}
+}
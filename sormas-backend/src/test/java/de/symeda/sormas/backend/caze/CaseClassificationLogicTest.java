@@ -23,6 +23,7 @@ import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import org.jboss.weld.exceptions.UnsupportedOperationException;
 import org.junit.Before;
@@ -57,6 +58,7 @@ import de.symeda.sormas.api.vaccination.VaccinationDto;
 import de.symeda.sormas.backend.AbstractBeanTest;
 import de.symeda.sormas.backend.MockProducer;
 import de.symeda.sormas.backend.TestDataCreator;
+import de.symeda.sormas.backend.caze.CaseFacadeEjb.CaseFacadeEjbLocal;
 import de.symeda.sormas.backend.common.ConfigFacadeEjb;
 
 public class CaseClassificationLogicTest extends AbstractBeanTest {
@@ -1095,6 +1097,79 @@ public class CaseClassificationLogicTest extends AbstractBeanTest {
 		assertEquals(null, caze.getCaseReferenceDefinition());
 	}
 
+	@Test
+	public void testUpdateCaseClassifications() {
+
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.FEATURE_AUTOMATIC_CASE_CLASSIFICATION, "false");
+
+		CaseDataDto suspectCase = buildSuspectCaseBasis(Disease.EVD);
+		suspectCase.getSymptoms().setGumsBleeding(SymptomState.YES);
+		suspectCase = getCaseFacade().saveCase(suspectCase);
+		CaseDataDto confirmedCase = getCaseFacade().saveCase(buildSuspectCase(Disease.EVD));
+		creator.createPathogenTest(confirmedCase, Disease.EVD, PathogenTestType.PCR_RT_PCR, PathogenTestResultType.POSITIVE);
+		CaseDataDto otherDiseaseCase = getCaseFacade().saveCase(buildSuspectCase(Disease.CHOLERA));
+		assertEquals(CaseClassification.NOT_CLASSIFIED, getCaseFacade().getCaseDataByUuid(suspectCase.getUuid()).getCaseClassification());
+		assertEquals(CaseClassification.NOT_CLASSIFIED, getCaseFacade().getCaseDataByUuid(confirmedCase.getUuid()).getCaseClassification());
+
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.FEATURE_AUTOMATIC_CASE_CLASSIFICATION, "true");
+
+		assertEquals(2, getBean(CaseFacadeEjbLocal.class).updateCaseClassifications(Disease.EVD));
+		assertEquals(CaseClassification.SUSPECT, getCaseFacade().getCaseDataByUuid(suspectCase.getUuid()).getCaseClassification());
+		assertEquals(CaseClassification.CONFIRMED, getCaseFacade().getCaseDataByUuid(confirmedCase.getUuid()).getCaseClassification());
+		assertEquals(CaseClassification.NOT_CLASSIFIED, getCaseFacade().getCaseDataByUuid(otherDiseaseCase.getUuid()).getCaseClassification());
+	}
+
+	@Test
+	public void testUpdateChangedCaseClassifications() {
+
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.FEATURE_AUTOMATIC_CASE_CLASSIFICATION, "false");
+
+		CaseDataDto suspectCase = buildSuspectCaseBasis(Disease.EVD);
+		suspectCase.getSymptoms().setGumsBleeding(SymptomState.YES);
+		suspectCase = getCaseFacade().saveCase(suspectCase);
+
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.FEATURE_AUTOMATIC_CASE_CLASSIFICATION, "true");
+
+		// the first run reclassifies the cases of all diseases
+		CaseFacadeEjbLocal caseFacade = getBean(CaseFacadeEjbLocal.class);
+		assertEquals(1, caseFacade.updateChangedCaseClassifications());
+		assertEquals(CaseClassification.SUSPECT, getCaseFacade().getCaseDataByUuid(suspectCase.getUuid()).getCaseClassification());
+
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.FEATURE_AUTOMATIC_CASE_CLASSIFICATION, "false");
+
+		CaseDataDto otherSuspectCase = buildSuspectCaseBasis(Disease.EVD);
+		otherSuspectCase.getSymptoms().setGumsBleeding(SymptomState.YES);
+		otherSuspectCase = getCaseFacade().saveCase(otherSuspectCase);
+
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.FEATURE_AUTOMATIC_CASE_CLASSIFICATION, "true");
+
+		// the criteria have not changed since the first run
+		assertEquals(0, caseFacade.updateChangedCaseClassifications());
+		assertEquals(CaseClassification.NOT_CLASSIFIED, getCaseFacade().getCaseDataByUuid(otherSuspectCase.getUuid()).getCaseClassification());
+	}
+
+	@Test
+	public void testGetClassifications() {
+
+		CaseDataDto suspectCase = buildSuspectCaseBasis(Disease.EVD);
+		suspectCase.getSymptoms().setGumsBleeding(SymptomState.YES);
+		suspectCase = getCaseFacade().saveCase(suspectCase);
+		CaseDataDto confirmedCase = getCaseFacade().saveCase(buildSuspectCase(Disease.EVD));
+		creator.createPathogenTest(confirmedCase, Disease.EVD, PathogenTestType.PCR_RT_PCR, PathogenTestResultType.POSITIVE);
+		confirmedCase = getCaseFacade().getCaseDataByUuid(confirmedCase.getUuid());
+		CaseDataDto otherDiseaseCase = getCaseFacade().saveCase(buildSuspectCase(Disease.CHOLERA));
+
+		Map<String, CaseClassification> classifications =
+			getCaseClassificationLogic().getClassifications(Arrays.asList(suspectCase, confirmedCase, otherDiseaseCase));
+
+		assertEquals(3, classifications.size());
+		assertEquals(CaseClassification.SUSPECT, classifications.get(suspectCase.getUuid()));
+		assertEquals(CaseClassification.CONFIRMED, classifications.get(confirmedCase.getUuid()));
+		for (CaseDataDto caze : Arrays.asList(suspectCase, confirmedCase, otherDiseaseCase)) {
+			assertEquals(getCaseClassificationLogic().getClassification(caze), classifications.get(caze.getUuid()));
+		}
+	}
+
 	/**
 	 * Sets all symptoms with the SymptomState type to YES.
 	 */
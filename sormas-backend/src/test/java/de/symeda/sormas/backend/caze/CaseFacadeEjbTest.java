@@ -17,10 +17,12 @@
  *******************************************************************************/
 package de.symeda.sormas.backend.caze;
 
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.isEmptyOrNullString;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.Assert.assertEquals;
@@ -47,6 +49,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import javax.persistence.EntityManager;
 import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
@@ -88,6 +91,8 @@ import de.symeda.sormas.api.clinicalcourse.HealthConditionsDto;
 import de.symeda.sormas.api.contact.ContactDto;
 import de.symeda.sormas.api.contact.ContactReferenceDto;
 import de.symeda.sormas.api.contact.FollowUpStatus;
+import de.symeda.sormas.api.dashboard.MapCaseDisplayMode;
+import de.symeda.sormas.api.dashboard.MapClusterDto;
 import de.symeda.sormas.api.document.DocumentDto;
 import de.symeda.sormas.api.document.DocumentRelatedEntityType;
 import de.symeda.sormas.api.epidata.EpiDataDto;
@@ -100,6 +105,7 @@ import de.symeda.sormas.api.event.EventStatus;
 import de.symeda.sormas.api.exposure.ExposureDto;
 import de.symeda.sormas.api.exposure.ExposureType;
 import de.symeda.sormas.api.externalsurveillancetool.ExternalSurveillanceToolException;
+import de.symeda.sormas.api.geo.GeoLatLon;
 import de.symeda.sormas.api.hospitalization.PreviousHospitalizationDto;
 import de.symeda.sormas.api.immunization.ImmunizationDto;
 import de.symeda.sormas.api.immunization.ImmunizationManagementStatus;
@@ -149,9 +155,11 @@ import de.symeda.sormas.api.visit.VisitDto;
 import de.symeda.sormas.api.visit.VisitIndexDto;
 import de.symeda.sormas.api.visit.VisitStatus;
 import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.MockProducer;
 import de.symeda.sormas.backend.TestDataCreator.RDCF;
 import de.symeda.sormas.backend.TestDataCreator.RDCFEntities;
 import de.symeda.sormas.backend.caze.CaseFacadeEjb.CaseFacadeEjbLocal;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb;
 import de.symeda.sormas.backend.infrastructure.district.District;
 import de.symeda.sormas.backend.infrastructure.region.Region;
 import de.symeda.sormas.backend.share.ExternalShareInfo;
@@ -308,6 +316,64 @@ public class CaseFacadeEjbTest extends AbstractBeanTest {
 			getCaseFacade().getCasesForDuplicateMerging(new CaseCriteria().creationDateFrom(today).creationDateTo(today), true).size());
 	}
 
+	@Test
+	public void testGetCasesForDuplicateMergingWithOneSharedNameTrigram() {
+
+		// Names sharing a single trigram only have a low similarity, so they only match with a low threshold
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.NAME_SIMILARITY_THRESHOLD, "0.01");
+
+		final Date today = new Date();
+
+		RDCFEntities rdcf = creator.createRDCFEntities("Region", "District", "Community", "Facility");
+		RDCFEntities otherRdcf = creator.createRDCFEntities("Other region", "Other district", "Other community", "Other facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+
+		// "Anna Smith" and "Avid Lorentz" only share the trigram "  a", "Bob Ward" shares none with them
+		PersonDto person = creator.createPerson("Anna", "Smith", Sex.MALE, 1980, 1, 1);
+		CaseDataDto caze = creator
+			.createCase(user.toReference(), person.toReference(), Disease.EVD, CaseClassification.PROBABLE, InvestigationStatus.PENDING, today, rdcf);
+		PersonDto oneTrigramPerson = creator.createPerson("Avid", "Lorentz", Sex.MALE, 1980, 1, 1);
+		CaseDataDto oneTrigramCase = creator.createCase(
+			user.toReference(),
+			oneTrigramPerson.toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			DateUtils.addMinutes(today, -3),
+			rdcf);
+		PersonDto noTrigramPerson = creator.createPerson("Bob", "Ward", Sex.MALE, 1980, 1, 1);
+		creator.createCase(
+			user.toReference(),
+			noTrigramPerson.toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			DateUtils.addMinutes(today, -6),
+			rdcf);
+		PersonDto otherRegionPerson = creator.createPerson("Anna", "Smith", Sex.MALE, 1980, 1, 1);
+		creator.createCase(
+			user.toReference(),
+			otherRegionPerson.toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			DateUtils.addMinutes(today, -9),
+			otherRdcf);
+
+		List<CaseIndexDto[]> duplicates =
+			getCaseFacade().getCasesForDuplicateMerging(new CaseCriteria().creationDateFrom(today).creationDateTo(today), false);
+		assertEquals(1, duplicates.size());
+		assertThat(
+			Arrays.asList(duplicates.get(0)[0].getUuid(), duplicates.get(0)[1].getUuid()),
+			containsInAnyOrder(caze.getUuid(), oneTrigramCase.getUuid()));
+
+		// Across regions, the case of the other region matches both cases of the first region
+		assertEquals(
+			3,
+			getCaseFacade().getCasesForDuplicateMerging(new CaseCriteria().creationDateFrom(today).creationDateTo(today), true).size());
+	}
+
 	@Test
 	public void testDiseaseChangeUpdatesContacts() {
 
@@ -477,6 +543,74 @@ public class CaseFacadeEjbTest extends AbstractBeanTest {
 		assertEquals(1, mapCaseDtos.size());
 	}
 
+	@Test
+	public void testGetCaseClustersForMap() {
+
+		RDCFEntities rdcf = creator.createRDCFEntities("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		PersonDto person1 = creator.createPerson("Case", "Person1", p -> {
+			p.getAddress().setLatitude(10.0);
+			p.getAddress().setLongitude(10.0);
+		});
+		PersonDto person2 = creator.createPerson("Case", "Person2", p -> {
+			p.getAddress().setLatitude(10.001);
+			p.getAddress().setLongitude(10.001);
+		});
+		CaseDataDto case1 = creator.createCase(
+			user.toReference(),
+			person1.toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			new Date(),
+			rdcf);
+		CaseDataDto case2 = creator.createCase(
+			user.toReference(),
+			person2.toReference(),
+			Disease.EVD,
+			CaseClassification.SUSPECT,
+			InvestigationStatus.PENDING,
+			new Date(),
+			rdcf);
+
+		Date from = DateHelper.subtractDays(new Date(), 1);
+		Date to = DateHelper.addDays(new Date(), 1);
+		GeoLatLon southWest = new GeoLatLon(0.0, 0.0);
+		GeoLatLon northEast = new GeoLatLon(20.0, 20.0);
+
+		// Both cases are combined at a low zoom level
+		List<MapClusterDto<CaseClassification>> clusters = getCaseFacade()
+			.getCaseClustersForMap(null, null, Disease.EVD, from, to, null, MapCaseDisplayMode.CASE_ADDRESS, 5, southWest, northEast);
+		assertEquals(1, clusters.size());
+		assertEquals(2, clusters.get(0).getCount());
+		assertEquals(1, clusters.get(0).getClassificationCount(CaseClassification.PROBABLE));
+		assertEquals(1, clusters.get(0).getClassificationCount(CaseClassification.SUSPECT));
+		assertNull(clusters.get(0).getUuid());
+
+		// Each case is shown on its own at a deep zoom level
+		clusters = getCaseFacade()
+			.getCaseClustersForMap(null, null, Disease.EVD, from, to, null, MapCaseDisplayMode.CASE_ADDRESS, 18, southWest, northEast);
+		assertEquals(2, clusters.size());
+		assertThat(
+			clusters.stream().map(MapClusterDto::getUuid).collect(Collectors.toList()),
+			containsInAnyOrder(case1.getUuid(), case2.getUuid()));
+
+		// Cases outside of the visible part of the map are not loaded
+		clusters = getCaseFacade().getCaseClustersForMap(
+			null,
+			null,
+			Disease.EVD,
+			from,
+			to,
+			null,
+			MapCaseDisplayMode.CASE_ADDRESS,
+			5,
+			new GeoLatLon(-20.0, -20.0),
+			new GeoLatLon(0.0, 0.0));
+		assertEquals(0, clusters.size());
+	}
+
 	@Test
 	public void testGetIndexList() {
 
@@ -841,6 +975,59 @@ public class CaseFacadeEjbTest extends AbstractBeanTest {
 		assertTrue(exportDto.isTraveled());
 	}
 
+	@Test
+	public void testGetExportListAfter() {
+
+		RDCFEntities rdcf = creator.createRDCFEntities("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		Date reportDate = new Date();
+		for (int i = 0; i < 4; i++) {
+			creator.createCase(
+				user.toReference(),
+				creator.createPerson().toReference(),
+				Disease.EVD,
+				CaseClassification.PROBABLE,
+				InvestigationStatus.PENDING,
+				reportDate,
+				rdcf);
+		}
+		creator.createCase(
+			user.toReference(),
+			creator.createPerson().toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			DateHelper.subtractDays(reportDate, 1),
+			rdcf);
+
+		List<String> expectedUuids = getCaseFacade()
+			.getExportList(new CaseCriteria(), Collections.emptySet(), CaseExportType.CASE_SURVEILLANCE, 0, 100, null, Language.EN)
+			.stream()
+			.map(CaseExportDto::getUuid)
+			.collect(Collectors.toList());
+		assertThat(expectedUuids, hasSize(5));
+
+		// The second page starts within the cases with the same report date, which must neither be skipped nor repeated
+		List<String> pagedUuids = new ArrayList<>();
+		List<CaseExportDto> page = getCaseFacade()
+			.getExportListAfter(new CaseCriteria(), Collections.emptySet(), CaseExportType.CASE_SURVEILLANCE, null, null, 2, null, Language.EN);
+		while (!page.isEmpty()) {
+			page.forEach(c -> pagedUuids.add(c.getUuid()));
+			CaseExportDto lastRow = page.get(page.size() - 1);
+			page = getCaseFacade().getExportListAfter(
+				new CaseCriteria(),
+				Collections.emptySet(),
+				CaseExportType.CASE_SURVEILLANCE,
+				lastRow.getReportDate(),
+				lastRow.getId(),
+				2,
+				null,
+				Language.EN);
+		}
+		assertEquals(expectedUuids, pagedUuids);
+	}
+
 	@Test
 	public void testCaseDeletion() throws ExternalSurveillanceToolException {
 
@@ -1062,6 +1249,88 @@ public class CaseFacadeEjbTest extends AbstractBeanTest {
 		firstCase = getCaseFacade().saveCase(firstCase);
 	}
 
+	@Test
+	public void testGetAllActiveCasesAfterBatched() {
+		RDCFEntities rdcf = creator.createRDCFEntities("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		List<String> caseUuids = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			PersonDto cazePerson = creator.createPerson("Case", "Person" + i);
+			caseUuids.add(
+				creator
+					.createCase(
+						user.toReference(),
+						cazePerson.toReference(),
+						Disease.EVD,
+						CaseClassification.PROBABLE,
+						InvestigationStatus.PENDING,
+						new Date(),
+						rdcf)
+					.getUuid());
+		}
+
+		List<String> syncedUuids = new ArrayList<>();
+		List<CaseDataDto> batch = getCaseFacade().getAllActiveCasesAfter(null, 2, null, null);
+		while (!batch.isEmpty()) {
+			assertThat(batch.size(), is(lessThanOrEqualTo(2)));
+			batch.forEach(c -> syncedUuids.add(c.getUuid()));
+			CaseDataDto lastCase = batch.get(batch.size() - 1);
+			batch = getCaseFacade().getAllActiveCasesAfter(null, 2, lastCase.getChangeDate(), lastCase.getUuid());
+		}
+
+		assertThat(syncedUuids, hasSize(5));
+		assertThat(syncedUuids, containsInAnyOrder(caseUuids.toArray()));
+	}
+
+	@Test
+	public void testGetAllActiveCasesAfterBatchedWithinSameMillisecond() {
+		RDCFEntities rdcf = creator.createRDCFEntities("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		List<String> caseUuids = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			PersonDto cazePerson = creator.createPerson("Case", "Person" + i);
+			caseUuids.add(
+				creator
+					.createCase(
+						user.toReference(),
+						cazePerson.toReference(),
+						Disease.EVD,
+						CaseClassification.PROBABLE,
+						InvestigationStatus.PENDING,
+						new Date(),
+						rdcf)
+					.getUuid());
+		}
+		Collections.sort(caseUuids);
+
+		// both cases are changed within the same millisecond, the one with the smaller uuid later
+		EntityManager em = getEntityManager();
+		em.getTransaction().begin();
+		em.createNativeQuery("UPDATE cases SET changedate = ?1 WHERE uuid = ?2")
+			.setParameter(1, Timestamp.valueOf("2021-03-01 10:00:00.123900"))
+			.setParameter(2, caseUuids.get(0))
+			.executeUpdate();
+		em.createNativeQuery("UPDATE cases SET changedate = ?1 WHERE uuid = ?2")
+			.setParameter(1, Timestamp.valueOf("2021-03-01 10:00:00.123100"))
+			.setParameter(2, caseUuids.get(1))
+			.executeUpdate();
+		em.getTransaction().commit();
+		em.clear();
+
+		List<String> syncedUuids = new ArrayList<>();
+		List<CaseDataDto> batch = getCaseFacade().getAllActiveCasesAfter(null, 1, null, null);
+		while (!batch.isEmpty()) {
+			batch.forEach(c -> syncedUuids.add(c.getUuid()));
+			CaseDataDto lastCase = batch.get(batch.size() - 1);
+			batch = getCaseFacade().getAllActiveCasesAfter(null, 1, lastCase.getChangeDate(), lastCase.getUuid());
+		}
+
+		// ordered by the exact change date, the later changed case with the smaller uuid last
+		assertThat(syncedUuids, equalTo(Arrays.asList(caseUuids.get(1), caseUuids.get(0))));
+	}
+
 	@Test
 	public void testArchiveAndDearchiveCase() {
 		RDCFEntities rdcf = creator.createRDCFEntities("Region", "District", "Community", "Facility");
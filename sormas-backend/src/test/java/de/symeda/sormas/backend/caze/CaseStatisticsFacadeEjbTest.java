@@ -1,7 +1,9 @@
 package de.symeda.sormas.backend.caze;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -16,6 +18,7 @@ import de.symeda.sormas.api.Year;
 import de.symeda.sormas.api.caze.CaseClassification;
 import de.symeda.sormas.api.caze.CaseDataDto;
 import de.symeda.sormas.api.caze.InvestigationStatus;
+import de.symeda.sormas.api.externalsurveillancetool.ExternalSurveillanceToolException;
 import de.symeda.sormas.api.infrastructure.PopulationDataDto;
 import de.symeda.sormas.api.infrastructure.region.RegionDto;
 import de.symeda.sormas.api.infrastructure.region.RegionReferenceDto;
@@ -31,6 +34,8 @@ import de.symeda.sormas.api.user.UserRole;
 import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.backend.AbstractBeanTest;
 import de.symeda.sormas.backend.TestDataCreator.RDCF;
+import de.symeda.sormas.backend.caze.CaseStatisticsFacadeEjb.CaseStatisticsFacadeEjbLocal;
+import de.symeda.sormas.backend.caze.statistics.CaseStatisticsCubeService;
 import de.symeda.sormas.backend.util.DateHelper8;
 
 public class CaseStatisticsFacadeEjbTest extends AbstractBeanTest {
@@ -164,4 +169,157 @@ public class CaseStatisticsFacadeEjbTest extends AbstractBeanTest {
 		// List should have one entry
 		assertEquals(Integer.valueOf(12214), results.get(0).getPopulation());
 	}
+
+	@Test
+	public void testQueryCaseCountFromCube() throws ExternalSurveillanceToolException {
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		PersonDto cazePerson = creator.createPerson("Case", "Person");
+		CaseDataDto caze = creator.createCase(
+			user.toReference(),
+			cazePerson.toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			new Date(),
+			rdcf);
+		creator.createCase(
+			user.toReference(),
+			cazePerson.toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			new Date(),
+			rdcf);
+
+		StatisticsCaseCriteria criteria = new StatisticsCaseCriteria();
+		criteria.diseases(Arrays.asList(Disease.EVD));
+		criteria.regions(Arrays.asList(rdcf.region));
+		assertTrue(
+			getBean(CaseStatisticsFacadeEjbLocal.class).isCoveredByCube(criteria, StatisticsCaseAttribute.CLASSIFICATION, null, StatisticsCaseAttribute.SEX, null));
+
+		// the cube is updated by the CronService
+		getBean(CaseStatisticsCubeService.class).updateCube();
+		List<StatisticsCaseCountDto> results =
+			getCaseStatisticsFacade().queryCaseCount(criteria, StatisticsCaseAttribute.CLASSIFICATION, null, null, null, false, false, null);
+		assertEquals(1, results.size());
+		assertEquals(CaseClassification.PROBABLE, results.get(0).getRowKey());
+		assertEquals(Integer.valueOf(2), results.get(0).getCaseCount());
+
+		// changed cases are moved to another cell
+		caze.setCaseClassification(CaseClassification.CONFIRMED);
+		caze = getCaseFacade().saveCase(caze);
+		getBean(CaseStatisticsCubeService.class).updateCube();
+		results = getCaseStatisticsFacade().queryCaseCount(criteria, StatisticsCaseAttribute.CLASSIFICATION, null, null, null, false, false, null);
+		assertEquals(2, results.size());
+		assertEquals(CaseClassification.CONFIRMED, results.get(0).getRowKey());
+		assertEquals(Integer.valueOf(1), results.get(0).getCaseCount());
+		assertEquals(CaseClassification.PROBABLE, results.get(1).getRowKey());
+		assertEquals(Integer.valueOf(1), results.get(1).getCaseCount());
+
+		// the counts of the cube equal the ones of the full query
+		StatisticsCaseCriteria uncoveredCriteria = new StatisticsCaseCriteria();
+		uncoveredCriteria.diseases(Arrays.asList(Disease.EVD));
+		uncoveredCriteria.communities(Arrays.asList(rdcf.community));
+		assertFalse(
+			getBean(CaseStatisticsFacadeEjbLocal.class).isCoveredByCube(uncoveredCriteria, StatisticsCaseAttribute.CLASSIFICATION, null, null, null));
+		List<StatisticsCaseCountDto> uncoveredResults = getCaseStatisticsFacade()
+			.queryCaseCount(uncoveredCriteria, StatisticsCaseAttribute.CLASSIFICATION, null, null, null, false, false, null);
+		assertEquals(results, uncoveredResults);
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(results.get(i).getCaseCount(), uncoveredResults.get(i).getCaseCount());
+		}
+
+		// deleted cases are no longer counted
+		getCaseFacade().deleteCase(caze.getUuid());
+		getBean(CaseStatisticsCubeService.class).updateCube();
+		results = getCaseStatisticsFacade().queryCaseCount(criteria, null, null, null, null, false, false, null);
+		assertEquals(1, results.size());
+		assertEquals(Integer.valueOf(1), results.get(0).getCaseCount());
+	}
+
+	@Test
+	public void testQueryCaseCountFromCubeByOnsetTimeAndAgeGroup() {
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		// the first two onset dates are in the same epi week, but in different months
+		createCaseWithOnsetDateAndAge(user, rdcf, DateHelper8.toDate(LocalDate.of(2021, 3, 31)), 3);
+		createCaseWithOnsetDateAndAge(user, rdcf, DateHelper8.toDate(LocalDate.of(2021, 4, 1)), 31);
+		createCaseWithOnsetDateAndAge(user, rdcf, DateHelper8.toDate(LocalDate.of(2021, 4, 5)), 34);
+		getBean(CaseStatisticsCubeService.class).updateCube();
+
+		StatisticsCaseCriteria criteria = new StatisticsCaseCriteria();
+		criteria.diseases(Arrays.asList(Disease.EVD));
+		StatisticsCaseCriteria uncoveredCriteria = new StatisticsCaseCriteria();
+		uncoveredCriteria.diseases(Arrays.asList(Disease.EVD));
+		uncoveredCriteria.communities(Arrays.asList(rdcf.community));
+
+		for (StatisticsCaseSubAttribute onsetTime : Arrays.asList(
+			StatisticsCaseSubAttribute.YEAR,
+			StatisticsCaseSubAttribute.MONTH,
+			StatisticsCaseSubAttribute.MONTH_OF_YEAR,
+			StatisticsCaseSubAttribute.EPI_WEEK,
+			StatisticsCaseSubAttribute.EPI_WEEK_OF_YEAR)) {
+			assertCubeEqualsFullQuery(criteria, uncoveredCriteria, StatisticsCaseAttribute.ONSET_TIME, onsetTime);
+		}
+		for (StatisticsCaseAttribute ageInterval : Arrays.asList(
+			StatisticsCaseAttribute.AGE_INTERVAL_5_YEARS,
+			StatisticsCaseAttribute.AGE_INTERVAL_CHILDREN_FINE,
+			StatisticsCaseAttribute.AGE_INTERVAL_BASIC)) {
+			assertCubeEqualsFullQuery(criteria, uncoveredCriteria, ageInterval, null);
+		}
+
+		// the cube only knows the age groups
+		assertFalse(
+			getBean(CaseStatisticsFacadeEjbLocal.class).isCoveredByCube(criteria, StatisticsCaseAttribute.AGE_INTERVAL_1_YEAR, null, null, null));
+		StatisticsCaseCriteria splitAgeGroupCriteria = new StatisticsCaseCriteria();
+		splitAgeGroupCriteria.addAgeIntervals(Arrays.asList(new IntegerRange(30, 32)));
+		assertFalse(getBean(CaseStatisticsFacadeEjbLocal.class).isCoveredByCube(splitAgeGroupCriteria, null, null, null, null));
+		StatisticsCaseCriteria ageGroupCriteria = new StatisticsCaseCriteria();
+		ageGroupCriteria.addAgeIntervals(Arrays.asList(new IntegerRange(30, 34)));
+		assertTrue(getBean(CaseStatisticsFacadeEjbLocal.class).isCoveredByCube(ageGroupCriteria, null, null, null, null));
+		List<StatisticsCaseCountDto> results = getCaseStatisticsFacade().queryCaseCount(ageGroupCriteria, null, null, null, null, false, false, null);
+		assertEquals(Integer.valueOf(2), results.get(0).getCaseCount());
+	}
+
+	private void createCaseWithOnsetDateAndAge(UserDto user, RDCF rdcf, Date onsetDate, int age) {
+
+		PersonDto cazePerson = creator.createPerson("Case", "Person");
+		cazePerson.setApproximateAge(age);
+		cazePerson.setApproximateAgeReferenceDate(onsetDate);
+		cazePerson.setApproximateAgeType(ApproximateAgeType.YEARS);
+		cazePerson = getPersonFacade().savePerson(cazePerson);
+		CaseDataDto caze = creator.createCase(
+			user.toReference(),
+			cazePerson.toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			onsetDate,
+			rdcf);
+		caze.getSymptoms().setOnsetDate(onsetDate);
+		getCaseFacade().saveCase(caze);
+	}
+
+	private void assertCubeEqualsFullQuery(
+		StatisticsCaseCriteria criteria,
+		StatisticsCaseCriteria uncoveredCriteria,
+		StatisticsCaseAttribute grouping,
+		StatisticsCaseSubAttribute subGrouping) {
+
+		assertTrue(getBean(CaseStatisticsFacadeEjbLocal.class).isCoveredByCube(criteria, grouping, subGrouping, null, null));
+		assertFalse(getBean(CaseStatisticsFacadeEjbLocal.class).isCoveredByCube(uncoveredCriteria, grouping, subGrouping, null, null));
+
+		List<StatisticsCaseCountDto> results = getCaseStatisticsFacade().queryCaseCount(criteria, grouping, subGrouping, null, null, false, false, null);
+		List<StatisticsCaseCountDto> uncoveredResults =
+			getCaseStatisticsFacade().queryCaseCount(uncoveredCriteria, grouping, subGrouping, null, null, false, false, null);
+		assertEquals(grouping + " " + subGrouping, uncoveredResults, results);
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(uncoveredResults.get(i).getCaseCount(), results.get(i).getCaseCount());
+		}
+	}
 }
@@ -0,0 +1,60 @@
+package de.symeda.sormas.backend.common;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.person.PersonDto;
+import de.symeda.sormas.api.user.UserDto;
+import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.SqlStatementRecorder;
+import de.symeda.sormas.backend.TestDataCreator.RDCFEntities;
+
+public class SyncCursorQueryTest extends AbstractBeanTest {
+
+	private static final Pattern CURSOR_ORDER = Pattern.compile("order by (\\w+)\\.changedate asc, \\1\\.id asc");
+
+	/**
+	 * Only the paginated sync queries are ordered by the sync cursor, the (changedate, id) index of the synced tables.
+	 */
+	@Test
+	public void testOnlyPaginatedSyncQueriesUseTheCursorOrder() {
+
+		RDCFEntities rdcf = creator.createRDCFEntities("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		loginWith(user);
+
+		PersonDto person = creator.createPerson("Case", "Person");
+		creator.createCase(user.toReference(), person.toReference(), rdcf);
+		creator.createContact(user.toReference(), person.toReference(), Disease.EVD);
+
+		SqlStatementRecorder.start();
+		List<String> statements;
+		try {
+			assertEquals(1, getCaseService().getAllActiveCasesAfter(null, false, 10, null, null).size());
+			getContactService().getAllActiveContactsAfter(null, 10, null, null);
+		} finally {
+			statements = SqlStatementRecorder.stop();
+		}
+		assertEquals(2, countCursorOrderedStatements(statements));
+
+		SqlStatementRecorder.start();
+		try {
+			assertEquals(1, getCaseService().getAllActiveCasesAfter(null, false).size());
+			getContactService().getAllActiveContactsAfter(null);
+		} finally {
+			statements = SqlStatementRecorder.stop();
+		}
+		assertEquals(0, countCursorOrderedStatements(statements));
+	}
+
+	private static long countCursorOrderedStatements(List<String> statements) {
+		return statements.stream().map(String::toLowerCase).filter(s -> CURSOR_ORDER.matcher(s).find()).count();
+	}
+}
@@ -1123,6 +1123,36 @@ public class ContactFacadeEjbTest extends AbstractBeanTest {
 		}
 	}
 
+	@Test
+	public void testGetExportListAfter() {
+
+		RDCFEntities rdcf = creator.createRDCFEntities("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		Date reportDate = new Date();
+		for (int i = 0; i < 4; i++) {
+			creator.createContact(user.toReference(), creator.createPerson().toReference(), reportDate);
+		}
+		creator.createContact(user.toReference(), creator.createPerson().toReference(), DateHelper.subtractDays(reportDate, 1));
+
+		List<String> expectedUuids = getContactFacade().getExportList(null, Collections.emptySet(), 0, 100, null, Language.EN)
+			.stream()
+			.map(ContactExportDto::getUuid)
+			.collect(Collectors.toList());
+		assertThat(expectedUuids, hasSize(5));
+
+		// Contacts with the same report date must neither be skipped nor repeated
+		List<String> pagedUuids = new ArrayList<>();
+		List<ContactExportDto> page = getContactFacade().getExportListAfter(null, Collections.emptySet(), null, null, 2, null, Language.EN);
+		while (!page.isEmpty()) {
+			page.forEach(c -> pagedUuids.add(c.getUuid()));
+			ContactExportDto lastRow = page.get(page.size() - 1);
+			page = getContactFacade()
+				.getExportListAfter(null, Collections.emptySet(), lastRow.getReportDate(), lastRow.getId(), 2, null, Language.EN);
+		}
+		assertEquals(expectedUuids, pagedUuids);
+	}
+
 	@Test
 	public void testGetVisitSummaryExportList() {
 
@@ -1216,6 +1246,49 @@ public class ContactFacadeEjbTest extends AbstractBeanTest {
 		assertEquals(I18nProperties.getPrefixCaption(SymptomsDto.I18N_PREFIX, SymptomsDto.BACKACHE), visitDetail31.getSymptoms());
 	}
 
+	@Test
+	public void testGetVisitSummaryExportListAfter() {
+
+		RDCFEntities rdcf = creator.createRDCFEntities("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		CaseDataDto caze = creator.createCase(
+			user.toReference(),
+			creator.createPerson("Case", "Person").toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			new Date(),
+			rdcf);
+		// All contacts have the same report date, which must not affect the paging
+		Date reportDate = new Date();
+		for (int i = 0; i < 5; i++) {
+			PersonDto contactPerson = creator.createPerson("Contact", "Person" + i);
+			creator.createContact(user.toReference(), user.toReference(), contactPerson.toReference(), caze, reportDate, reportDate, null);
+			creator.createVisit(caze.getDisease(), contactPerson.toReference(), new Date(), VisitStatus.COOPERATIVE, VisitOrigin.USER);
+		}
+		// Contacts without visits are not exported
+		creator.createContact(user.toReference(), creator.createPerson().toReference(), reportDate);
+
+		List<String> expectedUuids = getContactFacade().getVisitSummaryExportList(null, Collections.emptySet(), 0, 100, Language.EN)
+			.stream()
+			.map(VisitSummaryExportDto::getUuid)
+			.collect(Collectors.toList());
+		assertThat(expectedUuids, hasSize(5));
+
+		List<String> pagedUuids = new ArrayList<>();
+		List<VisitSummaryExportDto> page = getContactFacade().getVisitSummaryExportListAfter(null, Collections.emptySet(), null, 2, Language.EN);
+		while (!page.isEmpty()) {
+			for (VisitSummaryExportDto visitSummary : page) {
+				pagedUuids.add(visitSummary.getUuid());
+				assertThat(visitSummary.getVisitDetails(), hasSize(1));
+			}
+			Long lastContactId = page.get(page.size() - 1).getContactId();
+			page = getContactFacade().getVisitSummaryExportListAfter(null, Collections.emptySet(), lastContactId, 2, Language.EN);
+		}
+		assertEquals(expectedUuids, pagedUuids);
+	}
+
 	@Test
 	public void testCountMaximumFollowUpDays() {
 
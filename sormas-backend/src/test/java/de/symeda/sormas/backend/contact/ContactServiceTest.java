@@ -13,6 +13,8 @@ import java.time.LocalDate;
 import java.util.Date;
 import java.util.Set;
 
+import javax.persistence.EntityManager;
+
 import org.apache.commons.lang3.time.DateUtils;
 import org.junit.Test;
 
@@ -36,6 +38,7 @@ import de.symeda.sormas.api.visit.VisitStatus;
 import de.symeda.sormas.backend.AbstractBeanTest;
 import de.symeda.sormas.backend.TestDataCreator.RDCF;
 import de.symeda.sormas.backend.TestDataCreator.RDCFEntities;
+import de.symeda.sormas.backend.contact.ContactFacadeEjb.ContactFacadeEjbLocal;
 import de.symeda.sormas.backend.person.Person;
 import de.symeda.sormas.backend.util.DateHelper8;
 
@@ -212,4 +215,38 @@ public class ContactServiceTest extends AbstractBeanTest {
 		assertThat(contact2.getFollowUpStatus(), is(FollowUpStatus.CANCELED));
 		assertNotNull(contact2.getFollowUpComment());
 	}
+
+	@Test
+	public void testUpdateFollowUpDetailsByDisease() {
+
+		RDCF rdcf = creator.createRDCF();
+		UserReferenceDto user = creator.createUser(rdcf, UserRole.SURVEILLANCE_SUPERVISOR).toReference();
+		PersonDto contactPerson = creator.createPerson("Contact", "Person");
+		ContactDto contact = creator.createContact(user, contactPerson.toReference(), Disease.EVD);
+		Date followUpUntil = contact.getFollowUpUntil();
+
+		creator.createVisit(Disease.EVD, contactPerson.toReference(), followUpUntil, VisitStatus.UNAVAILABLE, VisitOrigin.USER);
+		assertEquals(
+			DateHelper.getStartOfDay(DateHelper.addDays(followUpUntil, 1)),
+			DateHelper.getStartOfDay(getContactFacade().getContactByUuid(contact.getUuid()).getFollowUpUntil()));
+
+		// Contacts that are no longer under follow-up are not recalculated
+		PersonDto canceledContactPerson = creator.createPerson("Canceled", "Person");
+		ContactDto canceledContact = creator.createContact(user, canceledContactPerson.toReference(), Disease.EVD);
+		canceledContact.setFollowUpStatus(FollowUpStatus.CANCELED);
+		canceledContact.setFollowUpComment("Canceled");
+		getContactFacade().saveContact(canceledContact);
+
+		// e.g. a changed follow-up duration of the disease
+		EntityManager em = getEntityManager();
+		em.getTransaction().begin();
+		Contact contactEntity = getContactService().getByUuid(contact.getUuid());
+		contactEntity.setFollowUpUntil(null);
+		em.getTransaction().commit();
+
+		assertEquals(1, getBean(ContactFacadeEjbLocal.class).updateFollowUpDetails(Disease.EVD));
+		contact = getContactFacade().getContactByUuid(contact.getUuid());
+		assertEquals(FollowUpStatus.FOLLOW_UP, contact.getFollowUpStatus());
+		assertEquals(DateHelper.getStartOfDay(DateHelper.addDays(followUpUntil, 1)), DateHelper.getStartOfDay(contact.getFollowUpUntil()));
+	}
 }
@@ -13,6 +13,7 @@ import de.symeda.sormas.api.caze.CaseDataDto;
 import de.symeda.sormas.api.caze.InvestigationStatus;
 import de.symeda.sormas.api.caze.NewCaseDateType;
 import de.symeda.sormas.api.dashboard.DashboardCaseDto;
+import de.symeda.sormas.api.dashboard.DashboardCaseStatisticDto;
 import de.symeda.sormas.api.dashboard.DashboardCriteria;
 import de.symeda.sormas.api.dashboard.DashboardEventDto;
 import de.symeda.sormas.api.disease.DiseaseBurdenDto;
@@ -20,7 +21,10 @@ import de.symeda.sormas.api.event.EventDto;
 import de.symeda.sormas.api.event.EventInvestigationStatus;
 import de.symeda.sormas.api.event.EventStatus;
 import de.symeda.sormas.api.event.TypeOfPlace;
+import de.symeda.sormas.api.externalsurveillancetool.ExternalSurveillanceToolException;
+import de.symeda.sormas.api.person.CauseOfDeath;
 import de.symeda.sormas.api.person.PersonDto;
+import de.symeda.sormas.api.person.PresentCondition;
 import de.symeda.sormas.api.infrastructure.community.CommunityDto;
 import de.symeda.sormas.api.user.UserDto;
 import de.symeda.sormas.api.user.UserRole;
@@ -69,6 +73,70 @@ public class DashboardFacadeEjbTest extends AbstractBeanTest {
 		assertEquals(1, dashboardCaseDtos.size());
 	}
 
+	@Test
+	public void testGetCaseStatistic() {
+
+		Date referenceDate = new Date();
+
+		TestDataCreator.RDCFEntities rdcf = creator.createRDCFEntities("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+
+		PersonDto cazePerson = creator.createPerson("Case", "Person");
+		CaseDataDto caze = creator.createCase(
+			user.toReference(),
+			cazePerson.toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			referenceDate,
+			rdcf);
+		caze.setQuarantineFrom(referenceDate);
+		caze.setQuarantineTo(DateHelper.addDays(referenceDate, 5));
+		getCaseFacade().saveCase(caze);
+
+		PersonDto fatalPerson = creator.createPerson("Case", "Person2");
+		creator.createCase(
+			user.toReference(),
+			fatalPerson.toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			referenceDate,
+			rdcf);
+		fatalPerson = getPersonFacade().getPersonByUuid(fatalPerson.getUuid());
+		fatalPerson.setPresentCondition(PresentCondition.DEAD);
+		fatalPerson.setDeathDate(referenceDate);
+		fatalPerson.setCauseOfDeath(CauseOfDeath.EPIDEMIC_DISEASE);
+		fatalPerson.setCauseOfDeathDisease(Disease.EVD);
+		getPersonFacade().savePerson(fatalPerson);
+
+		PersonDto previousPerson = creator.createPerson("Case", "Person3");
+		creator.createCase(
+			user.toReference(),
+			previousPerson.toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			DateHelper.subtractDays(referenceDate, 5),
+			rdcf);
+
+		DashboardCriteria dashboardCriteria = new DashboardCriteria().region(caze.getResponsibleRegion())
+			.disease(Disease.EVD)
+			.newCaseDateType(NewCaseDateType.MOST_RELEVANT)
+			.dateBetween(DateHelper.subtractDays(referenceDate, 1), DateHelper.addDays(referenceDate, 1));
+
+		DashboardCaseStatisticDto caseStatistic = getDashboardFacade()
+			.getCaseStatistic(dashboardCriteria, DateHelper.subtractDays(referenceDate, 6), DateHelper.subtractDays(referenceDate, 2));
+
+		assertEquals(2, caseStatistic.getCaseCount());
+		assertEquals(1, caseStatistic.getFatalCaseCount());
+		assertEquals(0, caseStatistic.getPreviousFatalCaseCount());
+		assertEquals(1, caseStatistic.getCasesInQuarantineCount());
+		assertEquals(1, caseStatistic.getCasesPlacedInQuarantineCount());
+		assertEquals(0, caseStatistic.getCaseWithReferenceDefinitionFulfilledCount());
+	}
+
 	@Test
 	public void testDashboardEventListCreation() {
 
@@ -102,7 +170,7 @@ public class DashboardFacadeEjbTest extends AbstractBeanTest {
 	}
 
 	@Test
-	public void testDiseaseBurdenForDashboard() {
+	public void testDiseaseBurdenForDashboard() throws ExternalSurveillanceToolException {
 
 		Date referenceDate = new Date();
 
@@ -170,5 +238,44 @@ public class DashboardFacadeEjbTest extends AbstractBeanTest {
 		assertEquals(new Long(3), evdBurden.getCaseCount());
 		assertEquals(new Long(1), evdBurden.getPreviousCaseCount());
 		assertEquals(rdcf.district.getCaption(), evdBurden.getLastReportedDistrictName());
+
+		// A new case has to be reflected although the disease burden has been cached
+		PersonDto cazePerson5 = creator.createPerson("Case", "Person5");
+		creator.createCase(
+			user.toReference(),
+			cazePerson5.toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			DateHelper.addDays(referenceDate, 3),
+			rdcf);
+
+		diseaseBurdenForDashboard = getDashboardFacade().getDiseaseBurden(
+			rdcf.region,
+			rdcf.district,
+			DateHelper.getStartOfDay(referenceDate),
+			DateHelper.getEndOfDay(DateHelper.addDays(referenceDate, 10)),
+			DateHelper.getStartOfDay(DateHelper.subtractDays(referenceDate, 10)),
+			DateHelper.getEndOfDay(DateHelper.subtractDays(referenceDate, 1)),
+			NewCaseDateType.MOST_RELEVANT);
+
+		evdBurden = diseaseBurdenForDashboard.stream().filter(dto -> dto.getDisease() == Disease.EVD).findFirst().get();
+		assertEquals(new Long(4), evdBurden.getCaseCount());
+		assertEquals(new Long(1), evdBurden.getPreviousCaseCount());
+
+		// A deleted case has to be reflected as well
+		getCaseFacade().deleteCase(caze3.getUuid());
+
+		diseaseBurdenForDashboard = getDashboardFacade().getDiseaseBurden(
+			rdcf.region,
+			rdcf.district,
+			DateHelper.getStartOfDay(referenceDate),
+			DateHelper.getEndOfDay(DateHelper.addDays(referenceDate, 10)),
+			DateHelper.getStartOfDay(DateHelper.subtractDays(referenceDate, 10)),
+			DateHelper.getEndOfDay(DateHelper.subtractDays(referenceDate, 1)),
+			NewCaseDateType.MOST_RELEVANT);
+
+		evdBurden = diseaseBurdenForDashboard.stream().filter(dto -> dto.getDisease() == Disease.EVD).findFirst().get();
+		assertEquals(new Long(3), evdBurden.getCaseCount());
 	}
 }
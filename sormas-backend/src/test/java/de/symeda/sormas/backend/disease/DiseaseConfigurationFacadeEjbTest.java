@@ -1,14 +1,29 @@
 package de.symeda.sormas.backend.disease;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Date;
 import java.util.List;
 
 import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
 
 import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.contact.ContactDto;
+import de.symeda.sormas.api.contact.FollowUpStatus;
+import de.symeda.sormas.api.disease.DiseaseConfigurationDto;
+import de.symeda.sormas.api.person.PersonDto;
+import de.symeda.sormas.api.user.UserReferenceDto;
+import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.MockProducer;
+import de.symeda.sormas.backend.TestDataCreator.RDCF;
+import de.symeda.sormas.backend.contact.ContactFacadeEjb.ContactFacadeEjbLocal;
 import de.symeda.sormas.backend.disease.DiseaseConfigurationFacadeEjb.DiseaseConfigurationFacadeEjbLocal;
 
 public class DiseaseConfigurationFacadeEjbTest extends AbstractBeanTest {
@@ -67,4 +82,92 @@ public class DiseaseConfigurationFacadeEjbTest extends AbstractBeanTest {
 		diseases = getDiseaseConfigurationFacade().getAllDiseases(null, null, null);
 		assertTrue(diseases.isEmpty());
 	}
+
+	@Test
+	public void testSaveDiseaseConfigurationUpdatesContactFollowUp() {
+
+		RDCF rdcf = creator.createRDCF();
+		UserReferenceDto user = creator.createUser(rdcf, UserRole.SURVEILLANCE_SUPERVISOR).toReference();
+		PersonDto contactPerson = creator.createPerson("Contact", "Person");
+		ContactDto contact = creator.createContact(user, contactPerson.toReference(), Disease.EVD);
+		Date followUpUntil = contact.getFollowUpUntil();
+		int followUpDuration = getDiseaseConfigurationFacade().getFollowUpDuration(Disease.EVD);
+
+		DiseaseConfigurationDto config =
+			DiseaseConfigurationFacadeEjbLocal.toDto(getDiseaseConfigurationService().getDiseaseConfiguration(Disease.EVD));
+		config.setFollowUpDuration(followUpDuration + 10);
+
+		runFollowUpRecalculationImmediately();
+		getDiseaseConfigurationFacade().saveDiseaseConfiguration(config);
+		Mockito.verify(MockProducer.getManagedScheduledExecutorService()).execute(ArgumentMatchers.any(Runnable.class));
+
+		contact = getContactFacade().getContactByUuid(contact.getUuid());
+		assertEquals(DateHelper.getStartOfDay(DateHelper.addDays(followUpUntil, 10)), DateHelper.getStartOfDay(contact.getFollowUpUntil()));
+	}
+
+	@Test
+	public void testDisableAndReenableContactFollowUp() {
+
+		RDCF rdcf = creator.createRDCF();
+		UserReferenceDto user = creator.createUser(rdcf, UserRole.SURVEILLANCE_SUPERVISOR).toReference();
+		PersonDto contactPerson = creator.createPerson("Contact", "Person");
+		ContactDto contact = creator.createContact(user, contactPerson.toReference(), Disease.EVD);
+		Date followUpUntil = contact.getFollowUpUntil();
+		PersonDto lostContactPerson = creator.createPerson("Lost", "Person");
+		ContactDto lostContact = creator.createContact(user, lostContactPerson.toReference(), Disease.EVD);
+		lostContact.setFollowUpStatus(FollowUpStatus.LOST);
+		lostContact.setFollowUpComment("Lost");
+		lostContact = getContactFacade().saveContact(lostContact);
+
+		runFollowUpRecalculationImmediately();
+		DiseaseConfigurationDto config =
+			DiseaseConfigurationFacadeEjbLocal.toDto(getDiseaseConfigurationService().getDiseaseConfiguration(Disease.EVD));
+		config.setFollowUpEnabled(false);
+		getDiseaseConfigurationFacade().saveDiseaseConfiguration(config);
+
+		contact = getContactFacade().getContactByUuid(contact.getUuid());
+		assertEquals(FollowUpStatus.NO_FOLLOW_UP, contact.getFollowUpStatus());
+		assertNull(contact.getFollowUpUntil());
+		assertEquals(FollowUpStatus.LOST, getContactFacade().getContactByUuid(lostContact.getUuid()).getFollowUpStatus());
+
+		// The contacts without follow-up are selected again once it is re-enabled
+		config = DiseaseConfigurationFacadeEjbLocal.toDto(getDiseaseConfigurationService().getDiseaseConfiguration(Disease.EVD));
+		config.setFollowUpEnabled(true);
+		getDiseaseConfigurationFacade().saveDiseaseConfiguration(config);
+
+		contact = getContactFacade().getContactByUuid(contact.getUuid());
+		assertEquals(FollowUpStatus.FOLLOW_UP, contact.getFollowUpStatus());
+		assertEquals(DateHelper.getStartOfDay(followUpUntil), DateHelper.getStartOfDay(contact.getFollowUpUntil()));
+		assertEquals(FollowUpStatus.LOST, getContactFacade().getContactByUuid(lostContact.getUuid()).getFollowUpStatus());
+	}
+
+	@Test
+	public void testContactFollowUpRecalculationReadsConfigurationFromDatabase() {
+
+		RDCF rdcf = creator.createRDCF();
+		UserReferenceDto user = creator.createUser(rdcf, UserRole.SURVEILLANCE_SUPERVISOR).toReference();
+		PersonDto contactPerson = creator.createPerson("Contact", "Person");
+		ContactDto contact = creator.createContact(user, contactPerson.toReference(), Disease.EVD);
+		Date followUpUntil = contact.getFollowUpUntil();
+
+		// Saved without reloading the facade, like a change saved through another bean instance
+		DiseaseConfiguration config = getDiseaseConfigurationService().getDiseaseConfiguration(Disease.EVD);
+		config.setFollowUpDuration(getDiseaseConfigurationFacade().getFollowUpDuration(Disease.EVD) + 10);
+		getDiseaseConfigurationService().ensurePersisted(config);
+
+		assertEquals(1, getBean(ContactFacadeEjbLocal.class).updateFollowUpDetails(Disease.EVD));
+
+		contact = getContactFacade().getContactByUuid(contact.getUuid());
+		assertEquals(DateHelper.getStartOfDay(DateHelper.addDays(followUpUntil, 10)), DateHelper.getStartOfDay(contact.getFollowUpUntil()));
+	}
+
+	/**
+	 * The follow-up of the contacts is recalculated in the background after the configuration has been committed.
+	 */
+	private void runFollowUpRecalculationImmediately() {
+		Mockito.doAnswer(invocation -> {
+			((Runnable) invocation.getArgument(0)).run();
+			return null;
+		}).when(MockProducer.getManagedScheduledExecutorService()).execute(ArgumentMatchers.any(Runnable.class));
+	}
 }
@@ -0,0 +1,83 @@
+package de.symeda.sormas.backend.externaljournal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaUpdate;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.person.JournalPersonDto;
+import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.externaljournal.ExternalJournalPersonUpdateService.PendingPersonUpdate;
+
+public class ExternalJournalPersonUpdateServiceTest extends AbstractBeanTest {
+
+	@Test
+	public void testCoalesceAndRetryUpdates() {
+
+		ExternalJournalPersonUpdateService updateService = getBean(ExternalJournalPersonUpdateService.class);
+		Date latestFollowUpEndDate = DateHelper.subtractDays(new Date(), 1);
+
+		updateService.enqueue(createJournalPerson("person-1", "Klaus", latestFollowUpEndDate));
+		updateService.enqueue(createJournalPerson("person-1", "Heinz", latestFollowUpEndDate));
+		updateService.enqueue(createJournalPerson("person-2", "Maria", null));
+
+		// the updates are not due before the coalescing period has passed
+		assertTrue(updateService.getDueUpdates(10).isEmpty());
+		assertEquals(2, updateService.countPendingPersons());
+
+		setDueDate(DateHelper.subtractDays(new Date(), 1));
+		List<PendingPersonUpdate> dueUpdates = updateService.getDueUpdates(10);
+		assertEquals(2, dueUpdates.size());
+
+		// the person is kept as it was before the first update
+		PendingPersonUpdate firstUpdate = dueUpdates.get(0);
+		assertEquals("person-1", firstUpdate.getPersonUuid());
+		assertEquals("Klaus", firstUpdate.getJournalPerson().getFirstName());
+		assertEquals(latestFollowUpEndDate, firstUpdate.getJournalPerson().getLatestFollowUpEndDate());
+		assertEquals(0, firstUpdate.getAttempts());
+
+		// failed updates are retried later
+		assertTrue(updateService.markFailed(firstUpdate));
+		dueUpdates = updateService.getDueUpdates(10);
+		assertEquals(1, dueUpdates.size());
+		assertEquals("person-2", dueUpdates.get(0).getPersonUuid());
+
+		updateService.markSent(dueUpdates.get(0));
+		assertEquals(1, updateService.countPendingPersons());
+
+		setDueDate(DateHelper.subtractDays(new Date(), 1));
+		dueUpdates = updateService.getDueUpdates(10);
+		assertEquals(1, dueUpdates.size());
+		assertEquals(1, dueUpdates.get(0).getAttempts());
+	}
+
+	private JournalPersonDto createJournalPerson(String uuid, String firstName, Date latestFollowUpEndDate) {
+
+		JournalPersonDto journalPerson = new JournalPersonDto();
+		journalPerson.setUuid(uuid);
+		journalPerson.setFirstName(firstName);
+		journalPerson.setLastName("Draufle");
+		journalPerson.setLatestFollowUpEndDate(latestFollowUpEndDate);
+		return journalPerson;
+	}
+
+	private void setDueDate(Date dueDate) {
+
+		EntityManager em = getEntityManager();
+		em.getTransaction().begin();
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaUpdate<ExternalJournalPersonUpdate> cu = cb.createCriteriaUpdate(ExternalJournalPersonUpdate.class);
+		cu.from(ExternalJournalPersonUpdate.class);
+		cu.set(ExternalJournalPersonUpdate.DUE_DATE, dueDate);
+		em.createQuery(cu).executeUpdate();
+		em.getTransaction().commit();
+	}
+}
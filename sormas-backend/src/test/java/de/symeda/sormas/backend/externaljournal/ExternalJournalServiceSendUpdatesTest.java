@@ -0,0 +1,173 @@
+package de.symeda.sormas.backend.externaljournal;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaUpdate;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import de.symeda.sormas.api.externaljournal.ExternalJournalSyncResponseDto;
+import de.symeda.sormas.api.person.JournalPersonDto;
+import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
+import de.symeda.sormas.backend.externaljournal.ExternalJournalPersonUpdateService.PendingPersonUpdate;
+import de.symeda.sormas.backend.person.PersonFacadeEjb.PersonFacadeEjbLocal;
+
+public class ExternalJournalServiceSendUpdatesTest extends AbstractBeanTest {
+
+	@Spy
+	@InjectMocks
+	private ExternalJournalService externalJournalService;
+
+	@Mock
+	private ConfigFacadeEjbLocal configFacade;
+	@Mock
+	private PersonFacadeEjbLocal personFacade;
+	@Mock
+	private ExternalJournalPersonUpdateService personUpdateService;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		when(configFacade.isExternalJournalActive()).thenReturn(true);
+		when(personUpdateService.markFailed(any())).thenReturn(true);
+	}
+
+	@Test
+	public void testSendCoalescedUpdates() {
+
+		enqueue(createJournalPerson("person-1", "Klaus"));
+		enqueue(createJournalPerson("person-1", "Heinz"));
+		enqueue(createJournalPerson("person-1", "Franz"));
+		enqueue(createJournalPerson("person-2", "Maria"));
+		List<PendingPersonUpdate> dueUpdates = getDueUpdates();
+		when(personUpdateService.getDueUpdates(anyInt())).thenReturn(dueUpdates);
+
+		when(personFacade.getEnrolledPersonForJournal("person-1")).thenReturn(createJournalPerson("person-1", "Franz"));
+		when(personFacade.getEnrolledPersonForJournal("person-2")).thenReturn(createJournalPerson("person-2", "Marie"));
+		doReturn(createSyncResponse(true)).when(externalJournalService).notifyExternalJournals(anyString());
+
+		externalJournalService.sendPendingPersonUpdates();
+
+		// one notification per person, no matter how often it has been updated
+		assertEquals(2, dueUpdates.size());
+		verify(externalJournalService, times(1)).notifyExternalJournals("person-1");
+		verify(externalJournalService, times(1)).notifyExternalJournals("person-2");
+		verify(personUpdateService).markSent(dueUpdates.get(0));
+		verify(personUpdateService).markSent(dueUpdates.get(1));
+		verify(personUpdateService, never()).markFailed(any());
+	}
+
+	@Test
+	public void testSkipUnchangedPerson() {
+
+		enqueue(createJournalPerson("person-1", "Klaus"));
+		enqueue(createJournalPerson("person-1", "Heinz"));
+		List<PendingPersonUpdate> dueUpdates = getDueUpdates();
+		when(personUpdateService.getDueUpdates(anyInt())).thenReturn(dueUpdates);
+
+		// the person has been changed back to how it was before the first update
+		when(personFacade.getEnrolledPersonForJournal("person-1")).thenReturn(createJournalPerson("person-1", "Klaus"));
+
+		externalJournalService.sendPendingPersonUpdates();
+
+		verify(externalJournalService, never()).notifyExternalJournals(anyString());
+		verify(personUpdateService).markSent(dueUpdates.get(0));
+		verify(personUpdateService, never()).markFailed(any());
+	}
+
+	@Test
+	public void testMarkFailedUpdates() {
+
+		enqueue(createJournalPerson("person-1", "Klaus"));
+		enqueue(createJournalPerson("person-2", "Maria"));
+		enqueue(createJournalPerson("person-3", "Heinz"));
+		List<PendingPersonUpdate> dueUpdates = getDueUpdates();
+		when(personUpdateService.getDueUpdates(anyInt())).thenReturn(dueUpdates);
+
+		when(personFacade.getEnrolledPersonForJournal("person-1")).thenReturn(createJournalPerson("person-1", "Klaus-Dieter"));
+		when(personFacade.getEnrolledPersonForJournal("person-2")).thenReturn(createJournalPerson("person-2", "Marie"));
+		when(personFacade.getEnrolledPersonForJournal("person-3")).thenReturn(createJournalPerson("person-3", "Heinrich"));
+		doReturn(createSyncResponse(false)).when(externalJournalService).notifyExternalJournals("person-1");
+		doThrow(new RuntimeException("Connection refused")).when(externalJournalService).notifyExternalJournals("person-2");
+		doReturn(createSyncResponse(true)).when(externalJournalService).notifyExternalJournals("person-3");
+
+		externalJournalService.sendPendingPersonUpdates();
+
+		// an unsuccessful response is retried just like a failed request
+		verify(personUpdateService).markFailed(dueUpdates.get(0));
+		verify(personUpdateService).markFailed(dueUpdates.get(1));
+		verify(personUpdateService).markSent(dueUpdates.get(2));
+		verify(personUpdateService, never()).markSent(dueUpdates.get(0));
+		verify(personUpdateService, never()).markSent(dueUpdates.get(1));
+	}
+
+	@Test
+	public void testNoUpdatesSentWhenInactive() {
+
+		when(configFacade.isExternalJournalActive()).thenReturn(false);
+
+		externalJournalService.sendPendingPersonUpdates();
+
+		verify(personUpdateService, never()).getDueUpdates(anyInt());
+		verify(externalJournalService, never()).notifyExternalJournals(anyString());
+	}
+
+	private void enqueue(JournalPersonDto journalPerson) {
+		getBean(ExternalJournalPersonUpdateService.class).enqueue(journalPerson);
+	}
+
+	/**
+	 * Makes the enqueued updates due and loads them from the real queue, so the updates are coalesced as in production.
+	 */
+	private List<PendingPersonUpdate> getDueUpdates() {
+
+		EntityManager em = getEntityManager();
+		em.getTransaction().begin();
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaUpdate<ExternalJournalPersonUpdate> cu = cb.createCriteriaUpdate(ExternalJournalPersonUpdate.class);
+		cu.from(ExternalJournalPersonUpdate.class);
+		cu.set(ExternalJournalPersonUpdate.DUE_DATE, DateHelper.subtractDays(new Date(), 1));
+		em.createQuery(cu).executeUpdate();
+		em.getTransaction().commit();
+
+		return getBean(ExternalJournalPersonUpdateService.class).getDueUpdates(10);
+	}
+
+	private JournalPersonDto createJournalPerson(String uuid, String firstName) {
+
+		JournalPersonDto journalPerson = new JournalPersonDto();
+		journalPerson.setUuid(uuid);
+		journalPerson.setFirstName(firstName);
+		journalPerson.setLastName("Draufle");
+		return journalPerson;
+	}
+
+	private ExternalJournalSyncResponseDto createSyncResponse(boolean success) {
+
+		ExternalJournalSyncResponseDto response = new ExternalJournalSyncResponseDto();
+		response.setSuccess(success);
+		response.setMessage(success ? null : "Proband not found");
+		return response;
+	}
+}
@@ -1,5 +1,6 @@
 package de.symeda.sormas.backend.feature;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.stream.Collectors;
@@ -43,6 +44,20 @@ public class FeatureConfigurationServiceTest extends AbstractBeanTest {
 		featureConfigurationService.updateFeatureConfigurations();
 	}
 
+	@Test
+	public void testFeatureToggleVisibleAfterSave() {
+
+		FeatureConfigurationService featureConfigurationService = getBean(FeatureConfigurationService.class);
+		assertTrue(getFeatureConfigurationFacade().isFeatureEnabled(FeatureType.TASK_MANAGEMENT));
+
+		FeatureConfiguration configuration = FeatureConfiguration.build(FeatureType.TASK_MANAGEMENT, false);
+		featureConfigurationService.ensurePersisted(configuration);
+		assertFalse(getFeatureConfigurationFacade().isFeatureEnabled(FeatureType.TASK_MANAGEMENT));
+
+		featureConfigurationService.delete(configuration);
+		assertTrue(getFeatureConfigurationFacade().isFeatureEnabled(FeatureType.TASK_MANAGEMENT));
+	}
+
 	private void createConfigurations() {
 
 		// Some serverFeatures
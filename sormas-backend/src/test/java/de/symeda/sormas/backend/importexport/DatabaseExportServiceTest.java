@@ -1,13 +1,60 @@
 package de.symeda.sormas.backend.importexport;
 
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.emptyArray;
 import static org.hamcrest.Matchers.isEmptyString;
 import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.sql.DataSource;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
 
 import de.symeda.sormas.api.importexport.DatabaseTable;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
+import de.symeda.sormas.backend.contact.Contact;
 
 /**
  * @see DatabaseExportService
@@ -15,6 +62,43 @@ import de.symeda.sormas.api.importexport.DatabaseTable;
  */
 public class DatabaseExportServiceTest {
 
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	@InjectMocks
+	private DatabaseExportService databaseExportService;
+
+	@Mock
+	private ConfigFacadeEjbLocal configFacade;
+	@Mock
+	private DataSource dataSource;
+	@Mock
+	private ManagedScheduledExecutorService executorService;
+
+	private ExecutorService workerExecutor;
+	private final List<Future<?>> workers = new ArrayList<>();
+
+	@Before
+	public void setUp() {
+
+		MockitoAnnotations.initMocks(this);
+		when(configFacade.getTempFilesPath()).thenReturn(tempFolder.getRoot().getPath());
+		when(configFacade.getCsvSeparator()).thenReturn(',');
+
+		// the mocked executor service would return null instead of the future of the worker
+		workerExecutor = Executors.newCachedThreadPool();
+		when(executorService.submit(any(Runnable.class))).thenAnswer(invocation -> {
+			Future<?> worker = workerExecutor.submit((Runnable) invocation.getArgument(0));
+			workers.add(worker);
+			return worker;
+		});
+	}
+
+	@After
+	public void tearDown() {
+		workerExecutor.shutdownNow();
+	}
+
 	/**
 	 * Assure, that every {@link DatabaseTable} has an export configuration defined.
 	 */
@@ -36,4 +120,131 @@ public class DatabaseExportServiceTest {
 			}
 		}
 	}
+
+	@Test
+	public void testExportAsCsvFilesInParallel() throws SQLException, IOException {
+
+		Connection snapshotConnection = mockSnapshotConnection();
+		Map<String, Connection> workerConnections = new LinkedHashMap<>();
+		workerConnections.put("worker-1", mockWorkerConnection(null));
+		workerConnections.put("worker-2", mockWorkerConnection(null));
+		when(dataSource.getConnection()).thenReturn(snapshotConnection, workerConnections.values().toArray(new Connection[0]));
+
+		List<DatabaseTable> databaseTables = Arrays.asList(DatabaseTable.CASES, DatabaseTable.CONTACTS, DatabaseTable.VISIT_SYMPTOMS);
+		ByteArrayOutputStream zipContent = new ByteArrayOutputStream();
+		try (ZipOutputStream zos = new ZipOutputStream(zipContent)) {
+			databaseExportService.exportAsCsvFilesInParallel(zos, databaseTables, 2);
+		}
+
+		// the tables are added in the selected order, no matter which worker has copied them
+		Map<String, String> entries = readZip(zipContent.toByteArray());
+		assertThat(entries.keySet(), contains("cases.csv", "contacts.csv", "visit_symptoms.csv"));
+		assertEquals("cases,cases\n" + "COPY cases\n", entries.get("cases.csv"));
+		assertEquals("\nCOPY contact\n", entries.get("contacts.csv"));
+		assertEquals("\nCOPY symptoms\n", entries.get("visit_symptoms.csv"));
+
+		// each worker imports the snapshot of the exporting transaction
+		assertEquals(2, workers.size());
+		for (Connection workerConnection : workerConnections.values()) {
+			Statement statement = workerConnection.createStatement();
+			verify(statement).execute("SET TRANSACTION SNAPSHOT 'snapshot-1'");
+			verify(workerConnection).rollback();
+		}
+		verify(snapshotConnection).rollback();
+		assertThat(tempFolder.getRoot().listFiles(), emptyArray());
+	}
+
+	@Test
+	public void testExportAsCsvFilesInParallelAwaitsWorkersOnFailure() throws SQLException, IOException {
+
+		Connection snapshotConnection = mockSnapshotConnection();
+		// whichever worker copies the contacts fails
+		Connection workerConnection1 = mockWorkerConnection(Contact.TABLE_NAME);
+		Connection workerConnection2 = mockWorkerConnection(Contact.TABLE_NAME);
+		when(dataSource.getConnection()).thenReturn(snapshotConnection, workerConnection1, workerConnection2);
+
+		List<DatabaseTable> databaseTables =
+			Arrays.asList(DatabaseTable.CASES, DatabaseTable.CONTACTS, DatabaseTable.EVENTS, DatabaseTable.TASKS, DatabaseTable.PERSONS);
+		try (ZipOutputStream zos = new ZipOutputStream(new ByteArrayOutputStream())) {
+			databaseExportService.exportAsCsvFilesInParallel(zos, databaseTables, 2);
+			fail("The failed COPY has not been rethrown");
+		} catch (RuntimeException e) {
+			assertEquals("Failed to export 'contacts' with COPY operation", e.getMessage());
+		}
+
+		// the export only returns when all workers are done, so no connection is used after the snapshot is released
+		assertEquals(2, workers.size());
+		for (Future<?> worker : workers) {
+			assertTrue(worker.isDone());
+		}
+		verify(workerConnection1).rollback();
+		verify(workerConnection2).rollback();
+		verify(snapshotConnection).rollback();
+		assertThat(tempFolder.getRoot().listFiles(), emptyArray());
+	}
+
+	private Connection mockSnapshotConnection() throws SQLException {
+
+		Connection connection = mock(Connection.class);
+
+		Statement statement = mock(Statement.class);
+		ResultSet snapshotResult = mock(ResultSet.class);
+		when(connection.createStatement()).thenReturn(statement);
+		when(statement.executeQuery("SELECT pg_export_snapshot()")).thenReturn(snapshotResult);
+		when(snapshotResult.next()).thenReturn(true);
+		when(snapshotResult.getString(1)).thenReturn("snapshot-1");
+
+		PreparedStatement columnCountStatement = mock(PreparedStatement.class);
+		ResultSet columnCountResult = mock(ResultSet.class);
+		when(connection.prepareStatement(anyString())).thenReturn(columnCountStatement);
+		when(columnCountStatement.executeQuery()).thenReturn(columnCountResult);
+		when(columnCountResult.next()).thenReturn(true, false);
+		when(columnCountResult.getString(1)).thenReturn("cases");
+		when(columnCountResult.getInt(2)).thenReturn(2);
+
+		return connection;
+	}
+
+	/**
+	 * @param failingTable
+	 *            Name of the table whose COPY fails, or {@code null}. Every other COPY writes a line with the main table name.
+	 */
+	private Connection mockWorkerConnection(String failingTable) throws SQLException {
+
+		Connection connection = mock(Connection.class);
+		when(connection.getTransactionIsolation()).thenReturn(Connection.TRANSACTION_READ_COMMITTED);
+		Statement statement = mock(Statement.class);
+		when(connection.createStatement()).thenReturn(statement);
+
+		PGConnection pgConnection = mock(PGConnection.class);
+		CopyManager copyManager = mock(CopyManager.class);
+		when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+		when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+		try {
+			when(copyManager.copyOut(anyString(), any(OutputStream.class))).thenAnswer(invocation -> {
+				String tableName = ((String) invocation.getArgument(0)).replaceFirst("COPY \\(SELECT \\* FROM (\\w+).*", "$1");
+				if (tableName.equals(failingTable)) {
+					throw new SQLException("COPY of " + tableName + " failed");
+				}
+				byte[] data = ("COPY " + tableName + "\n").getBytes(StandardCharsets.UTF_8);
+				invocation.<OutputStream> getArgument(1).write(data);
+				return (long) data.length;
+			});
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+
+		return connection;
+	}
+
+	private static Map<String, String> readZip(byte[] zipContent) throws IOException {
+
+		Map<String, String> entries = new LinkedHashMap<>();
+		try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zipContent))) {
+			for (ZipEntry entry = zis.getNextEntry(); entry != null; entry = zis.getNextEntry()) {
+				entries.put(entry.getName(), IOUtils.toString(zis, StandardCharsets.UTF_8));
+			}
+		}
+		return entries;
+	}
 }
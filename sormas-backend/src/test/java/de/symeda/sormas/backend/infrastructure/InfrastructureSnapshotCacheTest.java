@@ -0,0 +1,39 @@
+package de.symeda.sormas.backend.infrastructure;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.EntityDto;
+import de.symeda.sormas.api.infrastructure.facility.FacilityDto;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.TestDataCreator.RDCF;
+
+public class InfrastructureSnapshotCacheTest extends AbstractBeanTest {
+
+	@Test
+	public void testGetFacilities() {
+
+		InfrastructureSnapshotCache cache = getBean(InfrastructureSnapshotCache.class);
+
+		RDCF rdcf = creator.createRDCF();
+
+		InfrastructureSnapshotCache.Snapshot<FacilityDto> facilities = cache.getFacilities();
+		List<FacilityDto> allFacilities = facilities.getAllAfter(null);
+		assertTrue(allFacilities.stream().anyMatch(f -> f.getUuid().equals(rdcf.facility.getUuid())));
+		assertEquals(allFacilities.size(), facilities.countAfter(null));
+
+		Date latestChangeDate = allFacilities.stream().map(EntityDto::getChangeDate).max(Date::compareTo).get();
+		assertEquals(0, facilities.countAfter(latestChangeDate));
+		assertTrue(facilities.getAllAfter(latestChangeDate).isEmpty());
+		assertTrue(facilities.countAfter(new Date(latestChangeDate.getTime() - 1)) > 0);
+
+		// saving a facility drops the snapshot
+		FacilityDto newFacility = creator.createFacility("New facility", rdcf.region, rdcf.district, rdcf.community);
+		assertTrue(cache.getFacilities().getAllAfter(null).stream().anyMatch(f -> f.getUuid().equals(newFacility.getUuid())));
+	}
+}
@@ -1,13 +1,22 @@
 package de.symeda.sormas.backend.labmessage;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
+import javax.naming.NamingException;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
@@ -24,9 +33,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import de.symeda.sormas.api.labmessage.ExternalMessageResult;
 import de.symeda.sormas.api.labmessage.LabMessageCriteria;
 import de.symeda.sormas.api.labmessage.LabMessageDto;
+import de.symeda.sormas.api.labmessage.LabMessageFetchResult;
 import de.symeda.sormas.api.labmessage.LabMessageIndexDto;
+import de.symeda.sormas.api.labmessage.NewMessagesState;
 import de.symeda.sormas.api.sample.PathogenTestDto;
 import de.symeda.sormas.api.systemevents.SystemEventDto;
 import de.symeda.sormas.api.systemevents.SystemEventStatus;
@@ -45,6 +57,8 @@ public class LabMessageFacadeEjbUnitTest {
 	private LabMessageService labMessageService;
 	@Mock
 	private SystemEventFacadeEjb.SystemEventFacadeEjbLocal systemEventFacade;
+	@Mock
+	private LabMessageFetchPageService labMessageFetchPageService;
 
 	@InjectMocks
 	private LabMessageFacadeEjb sut;
@@ -162,6 +176,44 @@ public class LabMessageFacadeEjbUnitTest {
 		assertEquals(sut.findLastUpdateDate(), date);
 	}
 
+	@Test
+	public void testInitializeUpdateDateWithPreviousSuccessAndThroughput() {
+
+		SystemEventDto systemEvent = SystemEventDto.build();
+		Date first = new Date(100, 0, 1);
+		Date second = new Date(100, 0, 2);
+		systemEvent.setStatus(SystemEventStatus.SUCCESS);
+		systemEvent.setType(SystemEventType.FETCH_LAB_MESSAGES);
+		systemEvent.setAdditionalInfo(LabMessageFacadeEjb.buildFetchEventInfo(first, 500, 200, 800));
+		systemEvent.setStartDate(second);
+		when(systemEventFacade.getLatestSuccessByType(SystemEventType.FETCH_LAB_MESSAGES)).thenReturn(systemEvent);
+		assertEquals(sut.findLastUpdateDate(), first);
+	}
+
+	@Test
+	public void testFetchAndSaveExternalLabMessagesInPages() throws NamingException {
+
+		LabMessageFacadeEjb sutSpy = spy(sut);
+		Date since = new Date(1000);
+		Date firstSynchronizationDate = new Date(2000);
+		Date secondSynchronizationDate = new Date(3000);
+		List<LabMessageDto> fullPage = Collections.nCopies(LabMessageFacadeEjb.FETCH_PAGE_SIZE, new LabMessageDto());
+		List<LabMessageDto> lastPage = Collections.singletonList(new LabMessageDto());
+		doReturn(new ExternalMessageResult<>(fullPage, firstSynchronizationDate, true, null)).when(sutSpy)
+			.fetchExternalMessages(since, LabMessageFacadeEjb.FETCH_PAGE_SIZE);
+		doReturn(new ExternalMessageResult<>(lastPage, secondSynchronizationDate, true, null)).when(sutSpy)
+			.fetchExternalMessages(firstSynchronizationDate, LabMessageFacadeEjb.FETCH_PAGE_SIZE);
+
+		LabMessageFetchResult result = sutSpy.fetchAndSaveExternalLabMessages(since);
+
+		assertTrue(result.isSuccess());
+		assertEquals(NewMessagesState.NEW_MESSAGES, result.getNewMessagesState());
+		// one fetch event per page, each reported as successful together with its messages
+		verify(systemEventFacade, times(2)).saveSystemEvent(any());
+		verify(labMessageFetchPageService).savePage(eq(fullPage), any(), eq(firstSynchronizationDate), anyLong());
+		verify(labMessageFetchPageService).savePage(eq(lastPage), any(), eq(secondSynchronizationDate), anyLong());
+	}
+
 	@Test
 	public void testInitializeFetchEventTest() {
 
@@ -0,0 +1,105 @@
+package de.symeda.sormas.backend.person;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertThat;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.caze.CaseDataDto;
+import de.symeda.sormas.api.event.EventDto;
+import de.symeda.sormas.api.immunization.ImmunizationManagementStatus;
+import de.symeda.sormas.api.immunization.ImmunizationStatus;
+import de.symeda.sormas.api.immunization.MeansOfImmunization;
+import de.symeda.sormas.api.person.PersonDto;
+import de.symeda.sormas.api.user.UserDto;
+import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.TestDataCreator.RDCF;
+import de.symeda.sormas.backend.user.User;
+
+public class PersonServiceTest extends AbstractBeanTest {
+
+	@Test
+	public void testGetAllAfterReturnsEachPersonOnce() {
+
+		RDCF rdcf = creator.createRDCF("Region 1", "District 1", "Community 1", "Facility 1", "Point of entry 1");
+		RDCF otherRdcf = creator.createRDCF("Region 2", "District 2", "Community 2", "Facility 2", "Point of entry 2");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Off", UserRole.SURVEILLANCE_OFFICER);
+		loginWith(user);
+
+		PersonDto casePerson = creator.createPerson("Case", "Person");
+		CaseDataDto caze = createCase(user, casePerson, rdcf);
+		PersonDto contactPerson = creator.createPerson("Contact", "Person");
+		creator.createContact(user.toReference(), contactPerson.toReference(), caze);
+		EventDto event = creator.createEvent(user.toReference(), new Date());
+		PersonDto eventParticipantPerson = creator.createPerson("EventParticipant", "Person");
+		creator.createEventParticipant(event.toReference(), eventParticipantPerson, user.toReference());
+		PersonDto immunizationPerson = creator.createPerson("Immunization", "Person");
+		createImmunization(user, immunizationPerson, rdcf);
+		PersonDto travelEntryPerson = creator.createPerson("TravelEntry", "Person");
+		createTravelEntry(user, travelEntryPerson, rdcf);
+		PersonDto districtPerson = createPersonInDistrict("District", "Person", rdcf);
+
+		// a person in the district of the user that is associated with all other entities as well
+		PersonDto associatedPerson = createPersonInDistrict("Associated", "Person", rdcf);
+		createCase(user, associatedPerson, rdcf);
+		creator.createContact(user.toReference(), associatedPerson.toReference(), caze);
+		creator.createEventParticipant(event.toReference(), associatedPerson, user.toReference());
+		createImmunization(user, associatedPerson, rdcf);
+		createTravelEntry(user, associatedPerson, rdcf);
+
+		// persons the user has no access to
+		createPersonInDistrict("Other", "Person", otherRdcf);
+		creator.createPerson("Unassociated", "Person");
+
+		User currentUser = getUserService().getByUuid(user.getUuid());
+		List<String> personUuids =
+			getPersonService().getAllAfter(null, currentUser).stream().map(Person::getUuid).collect(Collectors.toList());
+
+		assertThat(personUuids, hasSize(7));
+		assertThat(
+			personUuids,
+			containsInAnyOrder(
+				casePerson.getUuid(),
+				contactPerson.getUuid(),
+				eventParticipantPerson.getUuid(),
+				immunizationPerson.getUuid(),
+				travelEntryPerson.getUuid(),
+				districtPerson.getUuid(),
+				associatedPerson.getUuid()));
+	}
+
+	private PersonDto createPersonInDistrict(String firstName, String lastName, RDCF rdcf) {
+
+		PersonDto person = creator.createPerson(firstName, lastName);
+		person.getAddress().setRegion(rdcf.region);
+		person.getAddress().setDistrict(rdcf.district);
+		return getPersonFacade().savePerson(person);
+	}
+
+	private CaseDataDto createCase(UserDto user, PersonDto person, RDCF rdcf) {
+		return creator.createCase(user.toReference(), person.toReference(), rdcf);
+	}
+
+	private void createImmunization(UserDto user, PersonDto person, RDCF rdcf) {
+		creator.createImmunization(
+			Disease.CORONAVIRUS,
+			person.toReference(),
+			user.toReference(),
+			ImmunizationStatus.ACQUIRED,
+			MeansOfImmunization.VACCINATION,
+			ImmunizationManagementStatus.COMPLETED,
+			rdcf);
+	}
+
+	private void createTravelEntry(UserDto user, PersonDto person, RDCF rdcf) {
+		creator.createTravelEntry(person.toReference(), user.toReference(), Disease.CORONAVIRUS, rdcf.region, rdcf.district, rdcf.pointOfEntry);
+	}
+}
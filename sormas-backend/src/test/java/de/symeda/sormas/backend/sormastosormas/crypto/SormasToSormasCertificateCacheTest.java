@@ -0,0 +1,159 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.sormastosormas.crypto;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SormasToSormasCertificateCacheTest {
+
+	private static final Path KEYSTORE_A =
+		Paths.get("src/test/java/de/symeda/sormas/backend/sormastosormas/serveraccessdefault/sormas_a.sormas2sormas.keystore.p12");
+	private static final Path KEYSTORE_B =
+		Paths.get("src/test/java/de/symeda/sormas/backend/sormastosormas/serveraccesssecond/sormas_b.sormas2sormas.keystore.p12");
+	private static final String KEYSTORE_PASSWORD = "1234";
+
+	private AtomicLong now;
+	private SormasToSormasCertificateCache cache;
+	private Path keystorePath;
+
+	@Before
+	public void init() throws IOException {
+		now = new AtomicLong(1000L);
+		cache = new SormasToSormasCertificateCache(now::get);
+		keystorePath = Files.createTempFile("sormas2sormas", ".keystore.p12");
+		Files.copy(KEYSTORE_A, keystorePath, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	@After
+	public void cleanUp() throws IOException {
+		Files.deleteIfExists(keystorePath);
+	}
+
+	@Test
+	public void testStoreIsReloadedWhenFileChanges() throws Exception {
+
+		KeyStore store = cache.getStore(keystorePath, KEYSTORE_PASSWORD);
+		String alias = store.aliases().nextElement();
+		PrivateKey privateKey = cache.getPrivateKey(keystorePath, KEYSTORE_PASSWORD, alias);
+		assertThat(privateKey, notNullValue());
+		assertThat(cache.getStore(keystorePath, KEYSTORE_PASSWORD), sameInstance(store));
+		assertThat(cache.getPrivateKey(keystorePath, KEYSTORE_PASSWORD, alias), sameInstance(privateKey));
+
+		// same content, but modified on disk
+		Files.setLastModifiedTime(keystorePath, FileTime.fromMillis(Files.getLastModifiedTime(keystorePath).toMillis() - 60 * 1000L));
+		KeyStore reloadedStore = cache.getStore(keystorePath, KEYSTORE_PASSWORD);
+		assertThat(reloadedStore, not(sameInstance(store)));
+		assertThat(cache.getPrivateKey(keystorePath, KEYSTORE_PASSWORD, alias), not(sameInstance(privateKey)));
+
+		// replaced by another key store
+		Files.copy(KEYSTORE_B, keystorePath, StandardCopyOption.REPLACE_EXISTING);
+		KeyStore replacedStore = cache.getStore(keystorePath, KEYSTORE_PASSWORD);
+		assertThat(replacedStore, not(sameInstance(reloadedStore)));
+		assertFalse(replacedStore.containsAlias(alias));
+	}
+
+	@Test
+	public void testStoreIsReloadedWhenPasswordChanges() throws Exception {
+
+		cache.getStore(keystorePath, KEYSTORE_PASSWORD);
+
+		// the cached store must not be returned for another password
+		try {
+			cache.getStore(keystorePath, "wrongPassword");
+			fail("Key store has not been reloaded with the changed password");
+		} catch (IOException e) {
+			// expected, the key store can not be decrypted with the wrong password
+		}
+
+		assertThat(cache.getStore(keystorePath, KEYSTORE_PASSWORD), notNullValue());
+	}
+
+	@Test
+	public void testOtherCertificatesExpire() throws Exception {
+
+		X509Certificate certificate = mock(X509Certificate.class);
+		AtomicInteger loadCount = new AtomicInteger();
+		SormasToSormasCertificateCache.CertificateLoader loader = otherId -> {
+			loadCount.incrementAndGet();
+			return certificate;
+		};
+
+		assertThat(cache.getOtherCertificate("other", loader), sameInstance(certificate));
+		assertThat(cache.getOtherCertificate("other", loader), sameInstance(certificate));
+		assertEquals(1, loadCount.get());
+
+		// certificates of other instances are cached separately
+		cache.getOtherCertificate("another", loader);
+		assertEquals(2, loadCount.get());
+
+		now.addAndGet(SormasToSormasCertificateCache.OTHER_CERTIFICATE_TIME_TO_LIVE_MILLIS);
+		cache.getOtherCertificate("other", loader);
+		assertEquals(2, loadCount.get());
+
+		now.incrementAndGet();
+		cache.getOtherCertificate("other", loader);
+		assertEquals(3, loadCount.get());
+	}
+
+	@Test
+	public void testOtherCertificatesAreDroppedWhenStoreIsReloaded() throws Exception {
+
+		AtomicInteger loadCount = new AtomicInteger();
+		SormasToSormasCertificateCache.CertificateLoader loader = otherId -> {
+			loadCount.incrementAndGet();
+			return mock(X509Certificate.class);
+		};
+
+		cache.getStore(keystorePath, KEYSTORE_PASSWORD);
+		cache.getOtherCertificate("other", loader);
+		cache.getStore(keystorePath, KEYSTORE_PASSWORD);
+		cache.getOtherCertificate("other", loader);
+		assertEquals(1, loadCount.get());
+
+		// the truststore the certificate has been verified against might have changed
+		Files.setLastModifiedTime(keystorePath, FileTime.fromMillis(Files.getLastModifiedTime(keystorePath).toMillis() - 60 * 1000L));
+		cache.getStore(keystorePath, KEYSTORE_PASSWORD);
+		cache.getOtherCertificate("other", loader);
+		assertEquals(2, loadCount.get());
+
+		cache.invalidate();
+		cache.getOtherCertificate("other", loader);
+		assertEquals(3, loadCount.get());
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.sormastosormas.rest;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.api.client.auth.oauth2.TokenResponse;
+
+public class SormasToSormasConnectionCacheTest {
+
+	private AtomicLong now;
+	private SormasToSormasConnectionCache cache;
+	private AtomicInteger loadCount;
+
+	@Before
+	public void init() {
+		now = new AtomicLong(1000L);
+		cache = new SormasToSormasConnectionCache(now::get);
+		loadCount = new AtomicInteger();
+	}
+
+	@Test
+	public void testTokenIsKeptUntilShortlyBeforeExpiry() throws Exception {
+
+		SormasToSormasConnectionCache.TokenLoader loader = tokenLoader(300L);
+		assertEquals("token1", cache.getAuthToken("target", loader));
+		assertEquals("token1", cache.getAuthToken("target", loader));
+
+		// tokens of other targets are cached separately
+		assertEquals("token2", cache.getAuthToken("otherTarget", loader));
+
+		now.addAndGet(300 * 1000L - SormasToSormasConnectionCache.TOKEN_EXPIRY_MARGIN_MILLIS);
+		assertEquals("token1", cache.getAuthToken("target", loader));
+
+		now.incrementAndGet();
+		assertEquals("token3", cache.getAuthToken("target", loader));
+	}
+
+	@Test
+	public void testTokenWithoutExpiryIsKeptForDefaultTime() throws Exception {
+
+		SormasToSormasConnectionCache.TokenLoader loader = tokenLoader(null);
+		assertEquals("token1", cache.getAuthToken("target", loader));
+
+		now.addAndGet(SormasToSormasConnectionCache.DEFAULT_TOKEN_TIME_TO_LIVE_MILLIS);
+		assertEquals("token1", cache.getAuthToken("target", loader));
+
+		now.incrementAndGet();
+		assertEquals("token2", cache.getAuthToken("target", loader));
+	}
+
+	@Test
+	public void testTokenExpiringWithinMarginIsNotReused() throws Exception {
+
+		SormasToSormasConnectionCache.TokenLoader loader = tokenLoader(10L);
+		assertEquals("token1", cache.getAuthToken("target", loader));
+
+		now.incrementAndGet();
+		assertEquals("token2", cache.getAuthToken("target", loader));
+	}
+
+	@Test
+	public void testInvalidatedTokenIsRequestedAgain() throws Exception {
+
+		SormasToSormasConnectionCache.TokenLoader loader = tokenLoader(300L);
+		assertEquals("token1", cache.getAuthToken("target", loader));
+		assertEquals("token2", cache.getAuthToken("otherTarget", loader));
+
+		cache.invalidateAuthToken("target");
+		assertEquals("token3", cache.getAuthToken("target", loader));
+		assertEquals("token2", cache.getAuthToken("otherTarget", loader));
+	}
+
+	/**
+	 * @return A loader returning a new token with the given expiry on each call.
+	 */
+	private SormasToSormasConnectionCache.TokenLoader tokenLoader(Long expiresInSeconds) {
+
+		return targetId -> {
+			TokenResponse tokenResponse = new TokenResponse();
+			tokenResponse.setAccessToken("token" + loadCount.incrementAndGet());
+			tokenResponse.setExpiresInSeconds(expiresInSeconds);
+			return tokenResponse;
+		};
+	}
+}
@@ -3,9 +3,32 @@ package de.symeda.sormas.backend.sormastosormas.rest;
 import static de.symeda.sormas.backend.sormastosormas.rest.SormasToSormasRestClient.SORMAS_REST_URL_TEMPLATE;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.StringStartsWith.startsWith;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Response;
+
+import org.apache.http.HttpStatus;
 import org.junit.Test;
 
+import de.symeda.sormas.api.sormastosormas.SormasServerDescriptor;
+import de.symeda.sormas.api.sormastosormas.SormasToSormasConfig;
+import de.symeda.sormas.api.sormastosormas.SormasToSormasException;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb;
+import de.symeda.sormas.backend.sormastosormas.access.SormasToSormasDiscoveryService;
+import de.symeda.sormas.backend.sormastosormas.crypto.SormasToSormasEncryptionFacadeEjb.SormasToSormasEncryptionFacadeEjbLocal;
+
 public class SormasToSormasRestClientTest {
 
 	@Test
@@ -13,4 +36,67 @@ public class SormasToSormasRestClientTest {
 		assertThat(SORMAS_REST_URL_TEMPLATE, startsWith("https://"));
 	}
 
+	@Test
+	public void testUnauthorizedResponseInvalidatesAuthToken() throws SormasToSormasException {
+
+		SormasToSormasConnectionCache connectionCache = spy(new SormasToSormasConnectionCache());
+		SormasToSormasRestClient restClient = mockRestClient(connectionCache, HttpStatus.SC_UNAUTHORIZED);
+
+		try {
+			restClient.get("target", "/test", String.class);
+			fail("Unauthorized response has not been reported");
+		} catch (SormasToSormasException e) {
+			// expected
+		}
+
+		// the next request has to use a new token
+		verify(connectionCache).invalidateAuthToken("target");
+	}
+
+	@Test
+	public void testOtherErrorResponseKeepsAuthToken() throws SormasToSormasException {
+
+		SormasToSormasConnectionCache connectionCache = spy(new SormasToSormasConnectionCache());
+		SormasToSormasRestClient restClient = mockRestClient(connectionCache, HttpStatus.SC_INTERNAL_SERVER_ERROR);
+
+		try {
+			restClient.get("target", "/test", String.class);
+			fail("Error response has not been reported");
+		} catch (SormasToSormasException e) {
+			// expected
+		}
+
+		verify(connectionCache, never()).invalidateAuthToken(anyString());
+	}
+
+	/**
+	 * @return A rest client that sends its requests to a target answering with the given status.
+	 */
+	private static SormasToSormasRestClient mockRestClient(SormasToSormasConnectionCache connectionCache, int responseStatus)
+		throws SormasToSormasException {
+
+		SormasToSormasDiscoveryService discoveryService = mock(SormasToSormasDiscoveryService.class);
+		when(discoveryService.getSormasServerDescriptorById("target")).thenReturn(new SormasServerDescriptor("target", "Target", "target.sormas"));
+
+		SormasToSormasConfig config = new SormasToSormasConfig();
+		config.setId("own");
+		ConfigFacadeEjb.ConfigFacadeEjbLocal configFacade = mock(ConfigFacadeEjb.ConfigFacadeEjbLocal.class);
+		when(configFacade.getS2SConfig()).thenReturn(config);
+
+		Response response = mock(Response.class);
+		when(response.getStatus()).thenReturn(responseStatus);
+		when(response.readEntity(String.class)).thenReturn("Request failed");
+		Invocation.Builder invocation = mock(Invocation.Builder.class);
+		when(invocation.header(anyString(), any())).thenReturn(invocation);
+		when(invocation.get()).thenReturn(response);
+		WebTarget webTarget = mock(WebTarget.class);
+		when(webTarget.request()).thenReturn(invocation);
+		Client client = mock(Client.class);
+		when(client.target(anyString())).thenReturn(webTarget);
+
+		doReturn(client).when(connectionCache).getClient("target.sormas");
+		doReturn("token").when(connectionCache).getAuthToken(eq("target"), any());
+
+		return new SormasToSormasRestClient(discoveryService, mock(SormasToSormasEncryptionFacadeEjbLocal.class), configFacade, connectionCache);
+	}
 }
@@ -3,9 +3,12 @@ package de.symeda.sormas.backend.util;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import org.junit.Test;
 
@@ -36,6 +39,41 @@ public class IterableHelperTest {
 		assertExecuteCount(5, 2, 1, 2, 3, 4, 5, 6);
 	}
 
+	@Test
+	public void testExecuteChunked() {
+
+		int chunkSize = 3;
+
+		assertExecuteChunkedCount(chunkSize, 0, 0);
+		assertExecuteChunkedCount(chunkSize, 2, 1);
+		assertExecuteChunkedCount(chunkSize, 3, 1);
+		assertExecuteChunkedCount(chunkSize, 6, 2);
+		assertExecuteChunkedCount(chunkSize, 7, 3);
+	}
+
+	private static void assertExecuteChunkedCount(int chunkSize, int idCount, int executions) {
+
+		List<Long> ids = LongStream.rangeClosed(1, idCount).boxed().collect(Collectors.toList());
+		List<Long> processedIds = new ArrayList<>();
+		CountCalls<Long> chunkFunction = new CountCalls<Long>() {
+
+			@Override
+			public void accept(List<Long> chunk) {
+				super.accept(chunk);
+				processedIds.addAll(chunk);
+			}
+		};
+
+		int count = IterableHelper.executeChunked(
+			chunkSize,
+			(afterId, limit) -> ids.stream().filter(id -> afterId == null || id > afterId).limit(limit).collect(Collectors.toList()),
+			chunkFunction);
+
+		assertThat(count, equalTo(idCount));
+		assertThat(processedIds, equalTo(ids));
+		assertThat(chunkFunction.counter, equalTo(executions));
+	}
+
 	private static void assertExecuteCount(int batchSize, int executions, Integer... entries) {
 
 		// Workaround instead of mocking because the mocked instance resulted in an NPE on Github CI.
@@ -0,0 +1,30 @@
+package de.symeda.sormas.backend.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TrigramHelperTest {
+
+	@Test
+	public void testGetTrigrams() {
+
+		assertThat(TrigramHelper.getTrigrams("Cat"), containsInAnyOrder("  c", " ca", "cat", "at "));
+		assertThat(TrigramHelper.getTrigrams("a-B"), containsInAnyOrder("  a", " a ", "  b", " b "));
+		assertTrue(TrigramHelper.getTrigrams(null).isEmpty());
+		assertTrue(TrigramHelper.getTrigrams(" - ").isEmpty());
+	}
+
+	@Test
+	public void testGetSimilarity() {
+
+		assertEquals(1, TrigramHelper.getSimilarity(TrigramHelper.getTrigrams("Case Person"), TrigramHelper.getTrigrams("case person")), 0);
+		assertEquals(0, TrigramHelper.getSimilarity(TrigramHelper.getTrigrams("Case"), TrigramHelper.getTrigrams("")), 0);
+		// same values as select similarity('word', 'two words') in postgres
+		assertThat(TrigramHelper.getSimilarity(TrigramHelper.getTrigrams("word"), TrigramHelper.getTrigrams("two words")), closeTo(0.363636, 0.00001));
+	}
+}
@@ -0,0 +1,125 @@
+package de.symeda.sormas.backend.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class TtlCacheTest {
+
+	private final AtomicLong now = new AtomicLong(1000);
+
+	@Test
+	public void testGetExpires() {
+
+		TtlCache<String, String> cache = new TtlCache<>(100, 10, now::get);
+		cache.put("a", "A");
+		cache.put("b", "B", 200);
+
+		now.addAndGet(100);
+		assertEquals("A", cache.get("a"));
+		now.incrementAndGet();
+		assertNull(cache.get("a"));
+		assertEquals("B", cache.get("b"));
+	}
+
+	@Test
+	public void testGetLoadsMissingAndExpiredValues() {
+
+		TtlCache<String, Integer> cache = new TtlCache<>(100, 10, now::get);
+		AtomicInteger loads = new AtomicInteger();
+
+		assertEquals(Integer.valueOf(1), cache.get("a", k -> loads.incrementAndGet()));
+		assertEquals(Integer.valueOf(1), cache.get("a", k -> loads.incrementAndGet()));
+		now.addAndGet(101);
+		assertEquals(Integer.valueOf(2), cache.get("a", k -> loads.incrementAndGet()));
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void testGetDoesNotKeepValueLoadedDuringRemoval() {
+
+		TtlCache<String, String> cache = new TtlCache<>(100, 10, now::get);
+
+		assertEquals("stale", cache.get("a", k -> {
+			cache.clear();
+			return "stale";
+		}));
+		assertNull(cache.get("a"));
+
+		assertEquals("stale", cache.get("a", k -> {
+			cache.remove("b");
+			return "stale";
+		}));
+		assertNull(cache.get("a"));
+
+		assertEquals("fresh", cache.get("a", k -> "fresh"));
+		assertEquals("fresh", cache.get("a"));
+	}
+
+	@Test
+	public void testPutIfAbsent() {
+
+		TtlCache<String, String> cache = new TtlCache<>(100, 10, now::get);
+
+		assertNull(cache.putIfAbsent("a", "A"));
+		assertEquals("A", cache.putIfAbsent("a", "other"));
+		now.addAndGet(101);
+		assertNull(cache.putIfAbsent("a", "other"));
+		assertEquals("other", cache.get("a"));
+	}
+
+	@Test
+	public void testReplaceKeepsExpiry() {
+
+		TtlCache<String, String> cache = new TtlCache<>(100, 10, now::get);
+		String value = "A";
+		cache.put("a", value);
+
+		now.addAndGet(50);
+		assertFalse(cache.replace("a", "other", "B"));
+		assertTrue(cache.replace("a", value, "B"));
+		assertEquals("B", cache.get("a"));
+		now.addAndGet(51);
+		assertNull(cache.get("a"));
+	}
+
+	@Test
+	public void testRemoveValue() {
+
+		TtlCache<String, String> cache = new TtlCache<>(100, 10, now::get);
+		String value = "A";
+		cache.put("a", value);
+
+		cache.remove("a", "other");
+		assertEquals(value, cache.get("a"));
+		cache.remove("a", value);
+		assertNull(cache.get("a"));
+	}
+
+	@Test
+	public void testEvictWhenFull() {
+
+		TtlCache<Integer, Integer> cache = new TtlCache<>(100, 3, now::get, v -> v % 2 == 0);
+		cache.put(1, 1);
+		now.addAndGet(101);
+		cache.put(2, 2);
+		cache.put(3, 3);
+
+		// the expired value is dropped first
+		cache.put(4, 4);
+		assertEquals(3, cache.size());
+		assertNull(cache.get(1));
+
+		// then all evictable values
+		cache.put(5, 5);
+		assertEquals(2, cache.size());
+		assertEquals(Integer.valueOf(3), cache.get(3));
+		assertEquals(Integer.valueOf(5), cache.get(5));
+	}
+}
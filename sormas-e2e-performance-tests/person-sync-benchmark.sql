@@ -0,0 +1,93 @@
+-- Compares the selection of the persons to sync by PersonService.getAllAfter before and after it was merged into one query.
+--
+-- Runs on an empty PostgreSQL database (not on a SORMAS database), e.g.:
+--   createdb person_sync_benchmark
+--   psql -d person_sync_benchmark -f person-sync-benchmark.sql
+--
+-- The tables only contain the columns the queries use. The user filters are those of a surveillance officer of
+-- district 1, simplified to the district of each entity. The dataset has 1,000,000 persons in 100 districts, changed
+-- evenly over the last year; the sync fetches the changes of the last day.
+
+\timing on
+
+DROP SCHEMA IF EXISTS person_sync_benchmark CASCADE;
+CREATE SCHEMA person_sync_benchmark;
+SET search_path TO person_sync_benchmark;
+
+CREATE TABLE location (id bigint PRIMARY KEY, district_id bigint);
+CREATE TABLE person (id bigint PRIMARY KEY, changedate timestamp NOT NULL, address_id bigint NOT NULL);
+CREATE TABLE cases (id bigint PRIMARY KEY, changedate timestamp NOT NULL, person_id bigint NOT NULL, district_id bigint, responsibledistrict_id bigint, deleted boolean NOT NULL);
+CREATE TABLE contact (id bigint PRIMARY KEY, changedate timestamp NOT NULL, person_id bigint NOT NULL, caze_id bigint, district_id bigint, deleted boolean NOT NULL);
+CREATE TABLE events (id bigint PRIMARY KEY, location_id bigint NOT NULL, deleted boolean NOT NULL);
+CREATE TABLE eventparticipant (id bigint PRIMARY KEY, changedate timestamp NOT NULL, person_id bigint NOT NULL, event_id bigint NOT NULL, deleted boolean NOT NULL);
+CREATE TABLE immunization (id bigint PRIMARY KEY, changedate timestamp NOT NULL, person_id bigint NOT NULL, responsibledistrict_id bigint, deleted boolean NOT NULL);
+CREATE TABLE travelentry (id bigint PRIMARY KEY, changedate timestamp NOT NULL, person_id bigint NOT NULL, responsibledistrict_id bigint, deleted boolean NOT NULL);
+
+INSERT INTO location SELECT i, i % 100 + 1 FROM generate_series(1, 1000000) i;
+INSERT INTO person SELECT i, now() - random() * interval '365 days', i FROM generate_series(1, 1000000) i;
+INSERT INTO cases SELECT i, now() - random() * interval '365 days', (i * 7) % 1000000 + 1, i % 100 + 1, i % 100 + 1, false FROM generate_series(1, 300000) i;
+INSERT INTO contact SELECT i, now() - random() * interval '365 days', (i * 11) % 1000000 + 1, i % 300000 + 1, i % 100 + 1, false FROM generate_series(1, 300000) i;
+INSERT INTO location SELECT 1000000 + i, i % 100 + 1 FROM generate_series(1, 10000) i;
+INSERT INTO events SELECT i, 1000000 + i, false FROM generate_series(1, 10000) i;
+INSERT INTO eventparticipant SELECT i, now() - random() * interval '365 days', (i * 13) % 1000000 + 1, i % 10000 + 1, false FROM generate_series(1, 200000) i;
+INSERT INTO immunization SELECT i, now() - random() * interval '365 days', (i * 17) % 1000000 + 1, i % 100 + 1, false FROM generate_series(1, 200000) i;
+INSERT INTO travelentry SELECT i, now() - random() * interval '365 days', (i * 19) % 1000000 + 1, i % 100 + 1, false FROM generate_series(1, 100000) i;
+
+-- the indexes of sormas_schema.sql the queries can use
+CREATE INDEX ON location (district_id);
+CREATE INDEX ON person (changedate);
+CREATE INDEX ON cases (person_id);
+CREATE INDEX ON cases (district_id);
+CREATE INDEX ON cases (changedate);
+CREATE INDEX ON contact (person_id);
+CREATE INDEX ON contact (district_id);
+CREATE INDEX ON eventparticipant (person_id);
+CREATE INDEX ON immunization (person_id);
+CREATE INDEX ON travelentry (person_id);
+ANALYZE;
+
+-- before: one query per source, the ids are merged in Java
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.id FROM person p JOIN location l ON l.id = p.address_id
+WHERE l.district_id = 1 AND p.changedate > now() - interval '1 day';
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT DISTINCT p.id FROM cases c JOIN person p ON p.id = c.person_id
+WHERE NOT c.deleted AND (c.district_id = 1 OR c.responsibledistrict_id = 1)
+AND (p.changedate > now() - interval '1 day' OR c.changedate > now() - interval '1 day');
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT DISTINCT p.id FROM contact ct JOIN person p ON p.id = ct.person_id LEFT JOIN cases c ON c.id = ct.caze_id
+WHERE NOT ct.deleted AND (ct.district_id = 1 OR c.district_id = 1 OR c.responsibledistrict_id = 1)
+AND (p.changedate > now() - interval '1 day' OR ct.changedate > now() - interval '1 day');
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT DISTINCT p.id FROM eventparticipant ep JOIN person p ON p.id = ep.person_id
+JOIN events e ON e.id = ep.event_id JOIN location l ON l.id = e.location_id
+WHERE NOT ep.deleted AND NOT e.deleted AND l.district_id = 1
+AND (p.changedate > now() - interval '1 day' OR ep.changedate > now() - interval '1 day');
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT DISTINCT p.id FROM immunization i JOIN person p ON p.id = i.person_id
+WHERE NOT i.deleted AND i.responsibledistrict_id = 1
+AND (p.changedate > now() - interval '1 day' OR i.changedate > now() - interval '1 day');
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT DISTINCT p.id FROM travelentry t JOIN person p ON p.id = t.person_id
+WHERE NOT t.deleted AND t.responsibledistrict_id = 1
+AND (p.changedate > now() - interval '1 day' OR t.changedate > now() - interval '1 day');
+
+-- after: one query with an EXISTS subquery per associated entity
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.* FROM person p JOIN location a ON a.id = p.address_id
+WHERE (a.district_id = 1 AND p.changedate > now() - interval '1 day')
+OR EXISTS (SELECT c.id FROM cases c WHERE c.person_id = p.id AND NOT c.deleted AND (c.district_id = 1 OR c.responsibledistrict_id = 1)
+	AND (p.changedate > now() - interval '1 day' OR c.changedate > now() - interval '1 day'))
+OR EXISTS (SELECT ct.id FROM contact ct LEFT JOIN cases c ON c.id = ct.caze_id WHERE ct.person_id = p.id AND NOT ct.deleted
+	AND (ct.district_id = 1 OR c.district_id = 1 OR c.responsibledistrict_id = 1)
+	AND (p.changedate > now() - interval '1 day' OR ct.changedate > now() - interval '1 day'))
+OR EXISTS (SELECT ep.id FROM eventparticipant ep JOIN events e ON e.id = ep.event_id JOIN location l ON l.id = e.location_id
+	WHERE ep.person_id = p.id AND NOT ep.deleted AND NOT e.deleted AND l.district_id = 1
+	AND (p.changedate > now() - interval '1 day' OR ep.changedate > now() - interval '1 day'))
+OR EXISTS (SELECT i.id FROM immunization i WHERE i.person_id = p.id AND NOT i.deleted AND i.responsibledistrict_id = 1
+	AND (p.changedate > now() - interval '1 day' OR i.changedate > now() - interval '1 day'))
+OR EXISTS (SELECT t.id FROM travelentry t WHERE t.person_id = p.id AND NOT t.deleted AND t.responsibledistrict_id = 1
+	AND (p.changedate > now() - interval '1 day' OR t.changedate > now() - interval '1 day'))
+ORDER BY p.changedate;
+
+DROP SCHEMA person_sync_benchmark CASCADE;
@@ -62,6 +62,12 @@ public class CaseResource extends EntityDtoResource {
 		return FacadeProvider.getCaseFacade().getAllActiveCasesAfter(new Date(since));
 	}
 
+	@GET
+	@Path("/all/{since}/{batchSize}")
+	public Response getAllCases(@PathParam("since") long since, @PathParam("batchSize") int batchSize) {
+		return streamAllAfter(new Date(since), batchSize, FacadeProvider.getCaseFacade()::getAllActiveCasesAfter);
+	}
+
 	@POST
 	@Path("/query")
 	public List<CaseDataDto> getByUuids(List<String> uuids) {
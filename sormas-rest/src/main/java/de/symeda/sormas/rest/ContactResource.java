@@ -65,6 +65,12 @@ public class ContactResource extends EntityDtoResource {
 		return FacadeProvider.getContactFacade().getAllActiveContactsAfter(new Date(since));
 	}
 
+	@GET
+	@Path("/all/{since}/{batchSize}")
+	public Response getAllContacts(@PathParam("since") long since, @PathParam("batchSize") int batchSize) {
+		return streamAllAfter(new Date(since), batchSize, FacadeProvider.getContactFacade()::getAllActiveContactsAfter);
+	}
+
 	@POST
 	@Path("/query")
 	public List<ContactDto> getByUuids(List<String> uuids) {
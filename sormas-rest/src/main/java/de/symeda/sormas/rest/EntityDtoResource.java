@@ -1,12 +1,31 @@
 package de.symeda.sormas.rest;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
 import java.text.DateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.function.Function;
 
 import javax.ejb.EJB;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
 
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,35 +36,109 @@ import de.symeda.sormas.api.utils.OutdatedEntityException;
 
 public abstract class EntityDtoResource {
 
+	/**
+	 * Number of pushed DTOs that are saved in one transaction.
+	 */
+	protected static final int PUSH_CHUNK_SIZE = 50;
+
+	/**
+	 * Header the mobile app identifies a pushed chunk with, see {@link PushReplayCache}.
+	 */
+	public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+	private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 128;
+
+	private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
 	@EJB
 	private TransactionWrapper transactionWrapper;
+	@EJB
+	private PushReplayCache pushReplayCache;
+
+	@Context
+	private HttpHeaders httpHeaders;
+	@Context
+	private UriInfo uriInfo;
+	@Context
+	private SecurityContext securityContext;
+	@Context
+	private Providers providers;
 
+	/**
+	 * Saves the pushed DTOs in chunks of {@link #PUSH_CHUNK_SIZE}, each in its own transaction.
+	 * When a chunk fails, it is split up and saved again until the failing DTOs are isolated,
+	 * so every DTO still gets its own {@link PushResult}. The backend sends notifications and syncs shares only once a
+	 * transaction has been committed, so DTOs that are saved again after their chunk has been rolled back do not trigger
+	 * them twice.
+	 * <p>
+	 * Requests with an {@link #IDEMPOTENCY_KEY_HEADER} get the results of an earlier request of the same user with the same
+	 * key, if there was one.
+	 */
 	protected <T extends Object> List<PushResult> savePushedDto(List<T> dtos, Function<T, T> saveEntityDto) {
 
+		String idempotencyKey = httpHeaders != null ? httpHeaders.getHeaderString(IDEMPOTENCY_KEY_HEADER) : null;
+		if (StringUtils.isBlank(idempotencyKey)
+			|| idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH
+			|| securityContext == null
+			|| securityContext.getUserPrincipal() == null) {
+			return saveAllPushedDtos(dtos, saveEntityDto);
+		}
+
+		List<String> key = Arrays.asList(securityContext.getUserPrincipal().getName(), uriInfo.getPath(), idempotencyKey);
+		return pushReplayCache.push(key, dtos, d -> saveAllPushedDtos(d, saveEntityDto));
+	}
+
+	private <T extends Object> List<PushResult> saveAllPushedDtos(List<T> dtos, Function<T, T> saveEntityDto) {
+
 		List<PushResult> results = new ArrayList<>(dtos.size());
-		for (T dto : dtos) {
-			PushResult result;
-			try {
-				dto = transactionWrapper.execute(saveEntityDto, dto);
-				result = PushResult.OK;
-			} catch (Exception e) {
-				String errorMessage = createErrorMessage(dto);
-				errorMessage += e.getMessage();
-				if (e instanceof OutdatedEntityException || ExceptionUtils.getRootCause(e) instanceof OutdatedEntityException) {
-					logger.warn(errorMessage, e);
-					result = PushResult.TOO_OLD;
-				} else {
-					logger.error(errorMessage, e);
-					result = PushResult.ERROR;
-				}
-			}
-			results.add(result);
+		for (List<T> chunk : ListUtils.partition(dtos, PUSH_CHUNK_SIZE)) {
+			results.addAll(savePushedDtoChunk(chunk, saveEntityDto));
 		}
 		return results;
 	}
 
+	private <T extends Object> List<PushResult> savePushedDtoChunk(List<T> chunk, Function<T, T> saveEntityDto) {
+
+		if (chunk.size() == 1) {
+			return Collections.singletonList(savePushedSingleDto(chunk.get(0), saveEntityDto));
+		}
+
+		try {
+			transactionWrapper.executeAll(saveEntityDto, chunk);
+			return Collections.nCopies(chunk.size(), PushResult.OK);
+		} catch (Exception e) {
+			logger.debug("Saving a chunk of {} pushed DTOs failed, splitting it up: {}", chunk.size(), e.getMessage());
+		}
+
+		int middle = chunk.size() / 2;
+		List<PushResult> results = new ArrayList<>(chunk.size());
+		results.addAll(savePushedDtoChunk(chunk.subList(0, middle), saveEntityDto));
+		results.addAll(savePushedDtoChunk(chunk.subList(middle, chunk.size()), saveEntityDto));
+		return results;
+	}
+
+	private <T extends Object> PushResult savePushedSingleDto(T dto, Function<T, T> saveEntityDto) {
+
+		PushResult result;
+		try {
+			transactionWrapper.execute(saveEntityDto, dto);
+			result = PushResult.OK;
+		} catch (Exception e) {
+			String errorMessage = createErrorMessage(dto);
+			errorMessage += e.getMessage();
+			if (e instanceof OutdatedEntityException || ExceptionUtils.getRootCause(e) instanceof OutdatedEntityException) {
+				logger.warn(errorMessage, e);
+				result = PushResult.TOO_OLD;
+			} else {
+				logger.error(errorMessage, e);
+				result = PushResult.ERROR;
+			}
+		}
+		return result;
+	}
+
 	protected <T extends Object> String createErrorMessage(T dto) {
 
 		final EntityDto entityDto = (EntityDto) dto;
@@ -56,4 +149,68 @@ public abstract class EntityDtoResource {
 				+ DateFormat.getDateTimeInstance().format(entityDto.getChangeDate()) + "\n";
 		}
 	}
+
+	/**
+	 * Streams all DTOs changed after {@code since} as one JSON array. The DTOs are loaded in keyset paginated batches
+	 * (change date + uuid of the last DTO of the previous batch) and written to the response right away, so the heap usage
+	 * does not depend on the number of DTOs the user has access to.
+	 * <p>
+	 * Each DTO is written by the JSON provider configured for the application, so that it is serialized the same way as
+	 * the DTOs of the non-streamed resources.
+	 */
+	protected <T extends EntityDto> Response streamAllAfter(Date since, int batchSize, SyncBatchLoader<T> batchLoader) {
+
+		if (batchSize <= 0) {
+			return Response.status(Response.Status.BAD_REQUEST).entity("batchSize has to be positive").build();
+		}
+
+		StreamingOutput output = outputStream -> {
+			MultivaluedMap<String, Object> jsonHeaders = new MultivaluedHashMap<>();
+			outputStream.write('[');
+
+			boolean first = true;
+			Date lastChangeDate = null;
+			String lastUuid = null;
+			List<T> batch;
+			do {
+				batch = batchLoader.load(since, batchSize, lastChangeDate, lastUuid);
+				for (T dto : batch) {
+					if (!first) {
+						outputStream.write(',');
+					}
+					first = false;
+					writeJson(dto, jsonHeaders, outputStream);
+				}
+				outputStream.flush();
+
+				if (!batch.isEmpty()) {
+					T lastDto = batch.get(batch.size() - 1);
+					lastChangeDate = lastDto.getChangeDate();
+					lastUuid = lastDto.getUuid();
+				}
+			}
+			while (batch.size() == batchSize);
+
+			outputStream.write(']');
+		};
+
+		return Response.ok(output, MediaType.APPLICATION_JSON_TYPE.withCharset("UTF-8")).build();
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> void writeJson(T dto, MultivaluedMap<String, Object> jsonHeaders, OutputStream outputStream) throws IOException {
+
+		Class<T> type = (Class<T>) dto.getClass();
+		MessageBodyWriter<T> writer = providers.getMessageBodyWriter(type, type, NO_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE);
+		if (writer == null) {
+			throw new IllegalStateException("No JSON writer for " + type.getName());
+		}
+		writer.writeTo(dto, type, type, NO_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE, jsonHeaders, outputStream);
+	}
+
+	@FunctionalInterface
+	protected interface SyncBatchLoader<T> {
+
+		List<T> load(Date since, Integer batchSize, Date lastChangeDate, String lastUuid);
+	}
 }
@@ -0,0 +1,169 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.rest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import javax.ejb.LocalBean;
+import javax.ejb.Lock;
+import javax.ejb.LockType;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.ws.rs.ServiceUnavailableException;
+
+import de.symeda.sormas.api.PushResult;
+
+/**
+ * Keeps the results of pushes sent with an idempotency key for some time. When the response to a push gets lost, the
+ * mobile app pushes the same chunk again with the same key, and gets the results of the first push instead of having
+ * the entities saved a second time, which would fail because their change dates are outdated by then.
+ * <p>
+ * A push with the same key as a push that is still running waits for its results. Entities that could not be saved
+ * the first time are saved again, all others keep their result.
+ * <p>
+ * The cache does not run in a transaction of its own, so that each push is saved in the transactions of the facades
+ * and a push waiting for a concurrent one does not hold a transaction open.
+ */
+@Singleton
+@LocalBean
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class PushReplayCache {
+
+	static final long TIME_TO_LIVE_MILLIS = 60 * 60 * 1000L;
+	static final int MAX_ENTRIES = 10000;
+	private static final long REPLAY_TIMEOUT_SECONDS = 5 * 60L;
+
+	/** Pushes that are still running are never evicted, so that their replays wait for them */
+	private final TtlCache<List<String>, CompletableFuture<List<PushResult>>> entries;
+
+	public PushReplayCache() {
+		this(System::currentTimeMillis);
+	}
+
+	PushReplayCache(LongSupplier clock) {
+		this.entries = new TtlCache<>(TIME_TO_LIVE_MILLIS, MAX_ENTRIES, clock, CompletableFuture::isDone);
+	}
+
+	/**
+	 * @param key
+	 *            Identifies the push, has to contain the user, so that the results of one user are never returned to another.
+	 * @param pusher
+	 *            Saves the given DTOs and returns one result per DTO.
+	 */
+	@Lock(LockType.READ)
+	public <T> List<PushResult> push(List<String> key, List<T> dtos, Function<List<T>, List<PushResult>> pusher) {
+
+		CompletableFuture<List<PushResult>> newEntry = new CompletableFuture<>();
+		CompletableFuture<List<PushResult>> entry = entries.putIfAbsent(key, newEntry);
+
+		List<PushResult> results;
+		if (entry == null) {
+			results = pushAndComplete(key, newEntry, dtos, pusher);
+		} else {
+			List<PushResult> previousResults = await(entry);
+			if (previousResults == null || previousResults.size() != dtos.size()) {
+				// the previous push failed as a whole or was no push of the same DTOs
+				results = pusher.apply(dtos);
+			} else {
+				results = pushFailed(dtos, previousResults, pusher);
+				if (!results.equals(previousResults)) {
+					entries.replace(key, entry, CompletableFuture.completedFuture(results));
+				}
+			}
+		}
+
+		return results;
+	}
+
+	@Lock(LockType.READ)
+	public void invalidate() {
+		entries.clear();
+	}
+
+	int size() {
+		return entries.size();
+	}
+
+	private <T> List<PushResult> pushAndComplete(
+		List<String> key,
+		CompletableFuture<List<PushResult>> entry,
+		List<T> dtos,
+		Function<List<T>, List<PushResult>> pusher) {
+
+		try {
+			List<PushResult> results = pusher.apply(dtos);
+			entry.complete(results);
+			return results;
+		} catch (RuntimeException e) {
+			entries.remove(key, entry);
+			entry.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	/**
+	 * @return The results of the previous push, or {@code null} if it failed.
+	 */
+	private static List<PushResult> await(CompletableFuture<List<PushResult>> entry) {
+
+		try {
+			return entry.get(REPLAY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		} catch (ExecutionException e) {
+			return null;
+		} catch (TimeoutException e) {
+			throw new ServiceUnavailableException("A push with the same idempotency key is still running");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ServiceUnavailableException("Interrupted while waiting for a push with the same idempotency key");
+		}
+	}
+
+	private static <T> List<PushResult> pushFailed(
+		List<T> dtos,
+		List<PushResult> previousResults,
+		Function<List<T>, List<PushResult>> pusher) {
+
+		List<T> failedDtos = new ArrayList<>();
+		for (int i = 0; i < dtos.size(); i++) {
+			if (previousResults.get(i) != PushResult.OK) {
+				failedDtos.add(dtos.get(i));
+			}
+		}
+
+		if (failedDtos.isEmpty()) {
+			return previousResults;
+		}
+
+		List<PushResult> failedResults = pusher.apply(failedDtos);
+		List<PushResult> results = new ArrayList<>(previousResults);
+		int failedIndex = 0;
+		for (int i = 0; i < results.size(); i++) {
+			if (results.get(i) != PushResult.OK) {
+				results.set(i, failedResults.get(failedIndex++));
+			}
+		}
+
+		return results;
+	}
+}
@@ -33,7 +33,9 @@ import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.License;
 import org.apache.commons.collections4.SetUtils;
 import org.glassfish.jersey.jackson.JacksonFeature;
+import org.glassfish.jersey.message.GZipEncoder;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.filter.EncodingFilter;
 import org.glassfish.jersey.server.filter.RolesAllowedDynamicFeature;
 
 import de.symeda.sormas.rest.swagger.SwaggerConfig;
@@ -54,6 +56,8 @@ public class RestConfig extends ResourceConfig {
 		// as described in https://jersey.github.io/documentation/latest/security.html
 		register(RolesAllowedDynamicFeature.class);
 		register(JacksonFeature.class);
+		// the app accepts gzip, which shrinks the large sync responses like the infrastructure data considerably
+		EncodingFilter.enableFor(this, GZipEncoder.class);
 
 		SwaggerConfig.init();
 
@@ -1,9 +1,13 @@
 package de.symeda.sormas.rest;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 
+import javax.annotation.Resource;
 import javax.annotation.security.PermitAll;
 import javax.ejb.LocalBean;
+import javax.ejb.SessionContext;
 import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
@@ -23,6 +27,9 @@ import javax.ejb.TransactionAttributeType;
 @PermitAll
 public class TransactionWrapper {
 
+	@Resource
+	private SessionContext sessionContext;
+
 	/**
 	 * Calls the passed function in a new JTA transaction.
 	 * 
@@ -37,4 +44,30 @@ public class TransactionWrapper {
 
 		return function.apply(data);
 	}
+
+	/**
+	 * Calls the passed function for each of the passed data in one new JTA transaction.
+	 * If the function fails for any of the data, the whole transaction is rolled back.
+	 * 
+	 * @param function
+	 *            The business logic to be executed.
+	 * @param data
+	 *            The data to be processed.
+	 * @return The return values of the processing defined by {@code function}, in the order of {@code data}.
+	 */
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public <T, R> List<R> executeAll(Function<T, R> function, List<T> data) {
+
+		List<R> results = new ArrayList<>(data.size());
+		try {
+			for (T entry : data) {
+				results.add(function.apply(entry));
+			}
+		} catch (RuntimeException e) {
+			// application exceptions would otherwise not necessarily roll back the already processed data
+			sessionContext.setRollbackOnly();
+			throw e;
+		}
+		return results;
+	}
 }
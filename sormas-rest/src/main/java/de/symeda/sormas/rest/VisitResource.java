@@ -30,6 +30,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 
 import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.PushResult;
@@ -66,6 +67,12 @@ public class VisitResource extends EntityDtoResource {
 		return FacadeProvider.getVisitFacade().getAllActiveVisitsAfter(new Date(since));
 	}
 
+	@GET
+	@Path("/all/{since}/{batchSize}")
+	public Response getAllVisits(@PathParam("since") long since, @PathParam("batchSize") int batchSize) {
+		return streamAllAfter(new Date(since), batchSize, FacadeProvider.getVisitFacade()::getAllActiveVisitsAfter);
+	}
+
 	@POST
 	@Path("/query")
 	public List<VisitDto> getByUuids(List<String> uuids) {
@@ -0,0 +1,159 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import de.symeda.sormas.api.EntityDto;
+import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.utils.OutdatedEntityException;
+
+public class EntityDtoResourceTest {
+
+	private static final int FAILING_DTO = 7;
+	private static final int OUTDATED_DTO = 60;
+
+	@InjectMocks
+	private TestResource resource;
+
+	@Mock
+	private TransactionWrapper transactionWrapper;
+
+	/** DTOs of the committed transactions, in the order they have been saved */
+	private List<Integer> committedDtos;
+	/** Size of each transaction, committed or rolled back */
+	private List<Integer> transactionSizes;
+
+	@Before
+	@SuppressWarnings("unchecked")
+	public void init() {
+
+		MockitoAnnotations.initMocks(this);
+		committedDtos = new ArrayList<>();
+		transactionSizes = new ArrayList<>();
+
+		// a transaction either commits all of its DTOs or none of them
+		when(transactionWrapper.executeAll(any(), anyList())).thenAnswer(invocation -> {
+			Function<TestDto, TestDto> function = invocation.getArgument(0);
+			List<TestDto> data = invocation.getArgument(1);
+			return executeInTransaction(function, data);
+		});
+		when(transactionWrapper.execute(any(), any())).thenAnswer(invocation -> {
+			Function<TestDto, TestDto> function = invocation.getArgument(0);
+			TestDto data = invocation.getArgument(1);
+			return executeInTransaction(function, Collections.singletonList(data)).get(0);
+		});
+	}
+
+	@Test
+	public void testSavePushedDtoInChunks() {
+
+		List<TestDto> dtos = createDtos(120);
+		List<PushResult> results = resource.savePushedDto(dtos, this::save);
+
+		assertEquals(Collections.nCopies(120, PushResult.OK), results);
+		assertEquals(getNumbers(dtos), committedDtos);
+		assertEquals(Arrays.asList(EntityDtoResource.PUSH_CHUNK_SIZE, EntityDtoResource.PUSH_CHUNK_SIZE, 20), transactionSizes);
+	}
+
+	@Test
+	public void testSavePushedDtoIsolatesFailingDtos() {
+
+		List<TestDto> dtos = createDtos(120);
+		dtos.get(FAILING_DTO).failing = true;
+		dtos.get(OUTDATED_DTO).outdated = true;
+
+		List<PushResult> results = resource.savePushedDto(dtos, this::save);
+
+		// every DTO keeps its own result
+		List<PushResult> expectedResults = new ArrayList<>(Collections.nCopies(120, PushResult.OK));
+		expectedResults.set(FAILING_DTO, PushResult.ERROR);
+		expectedResults.set(OUTDATED_DTO, PushResult.TOO_OLD);
+		assertEquals(expectedResults, results);
+
+		// the failing chunks are rolled back, so each other DTO is committed exactly once
+		List<Integer> expectedCommittedDtos = getNumbers(dtos);
+		expectedCommittedDtos.remove(Integer.valueOf(FAILING_DTO));
+		expectedCommittedDtos.remove(Integer.valueOf(OUTDATED_DTO));
+		assertEquals(expectedCommittedDtos, committedDtos.stream().sorted().collect(Collectors.toList()));
+
+		// the chunk without failing DTOs is saved in one transaction
+		assertEquals(Integer.valueOf(20), transactionSizes.get(transactionSizes.size() - 1));
+	}
+
+	private List<TestDto> executeInTransaction(Function<TestDto, TestDto> function, List<TestDto> data) {
+
+		transactionSizes.add(data.size());
+		List<TestDto> results = new ArrayList<>();
+		for (TestDto dto : data) {
+			results.add(function.apply(dto));
+		}
+		// only reached if no DTO failed, otherwise the transaction is rolled back
+		results.forEach(dto -> committedDtos.add(dto.number));
+		return results;
+	}
+
+	private TestDto save(TestDto dto) {
+
+		if (dto.failing) {
+			throw new IllegalArgumentException("Failed to save " + dto.number);
+		}
+		if (dto.outdated) {
+			throw new OutdatedEntityException(dto.getUuid(), TestDto.class);
+		}
+		return dto;
+	}
+
+	private static List<TestDto> createDtos(int count) {
+		return IntStream.range(0, count).mapToObj(TestDto::new).collect(Collectors.toList());
+	}
+
+	private static List<Integer> getNumbers(List<TestDto> dtos) {
+		return dtos.stream().map(dto -> dto.number).collect(Collectors.toList());
+	}
+
+	private static class TestResource extends EntityDtoResource {
+	}
+
+	private static class TestDto extends EntityDto {
+
+		private final int number;
+		private boolean failing;
+		private boolean outdated;
+
+		private TestDto(int number) {
+			this.number = number;
+			setUuid("DTO-" + number);
+		}
+	}
+}
@@ -0,0 +1,217 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.symeda.sormas.api.PushResult;
+
+public class PushReplayCacheTest {
+
+	private static final List<String> KEY = Arrays.asList("user", "key");
+
+	private AtomicLong now;
+	private PushReplayCache cache;
+	private List<List<String>> pushedDtos;
+
+	@Before
+	public void init() {
+		now = new AtomicLong(1000L);
+		cache = new PushReplayCache(now::get);
+		pushedDtos = Collections.synchronizedList(new ArrayList<>());
+	}
+
+	@Test
+	public void testReplayReturnsPreviousResults() {
+
+		List<String> dtos = Arrays.asList("a", "b");
+		List<PushResult> results = cache.push(KEY, dtos, pusher(PushResult.OK, PushResult.TOO_OLD));
+		assertEquals(Arrays.asList(PushResult.OK, PushResult.TOO_OLD), results);
+
+		// TOO_OLD is pushed again, OK is not
+		results = cache.push(KEY, dtos, pusher(PushResult.TOO_OLD));
+		assertEquals(Arrays.asList(PushResult.OK, PushResult.TOO_OLD), results);
+		assertEquals(Arrays.asList(Arrays.asList("a", "b"), Collections.singletonList("b")), pushedDtos);
+
+		// the results of another key are not replayed
+		cache.push(Arrays.asList("otherUser", "key"), dtos, pusher(PushResult.OK, PushResult.OK));
+		assertEquals(3, pushedDtos.size());
+	}
+
+	@Test
+	public void testReplayMergesResultsOfFailedDtos() {
+
+		List<String> dtos = Arrays.asList("a", "b", "c");
+		cache.push(KEY, dtos, pusher(PushResult.ERROR, PushResult.OK, PushResult.TOO_OLD));
+
+		List<PushResult> results = cache.push(KEY, dtos, pusher(PushResult.OK, PushResult.ERROR));
+		assertEquals(Arrays.asList(PushResult.OK, PushResult.OK, PushResult.ERROR), results);
+		assertEquals(Arrays.asList("a", "c"), pushedDtos.get(1));
+
+		// the merged results are kept for the next replay
+		results = cache.push(KEY, dtos, pusher(PushResult.OK));
+		assertEquals(Arrays.asList(PushResult.OK, PushResult.OK, PushResult.OK), results);
+		assertEquals(Collections.singletonList("c"), pushedDtos.get(2));
+
+		results = cache.push(KEY, dtos, pusher());
+		assertEquals(Arrays.asList(PushResult.OK, PushResult.OK, PushResult.OK), results);
+		assertEquals(3, pushedDtos.size());
+	}
+
+	@Test
+	public void testReplayOfOtherDtosPushesAll() {
+
+		cache.push(KEY, Arrays.asList("a", "b"), pusher(PushResult.OK, PushResult.OK));
+
+		List<PushResult> results = cache.push(KEY, Arrays.asList("a", "b", "c"), pusher(PushResult.OK, PushResult.OK, PushResult.OK));
+		assertEquals(Arrays.asList(PushResult.OK, PushResult.OK, PushResult.OK), results);
+		assertEquals(Arrays.asList("a", "b", "c"), pushedDtos.get(1));
+	}
+
+	@Test
+	public void testFailedPushIsNotReplayed() {
+
+		List<String> dtos = Arrays.asList("a", "b");
+		try {
+			cache.push(KEY, dtos, d -> {
+				throw new IllegalStateException("push failed");
+			});
+			fail("Exception of the push has not been rethrown");
+		} catch (IllegalStateException e) {
+			assertEquals("push failed", e.getMessage());
+		}
+		assertEquals(0, cache.size());
+
+		List<PushResult> results = cache.push(KEY, dtos, pusher(PushResult.OK, PushResult.OK));
+		assertEquals(Arrays.asList(PushResult.OK, PushResult.OK), results);
+		assertEquals(Collections.singletonList(dtos), pushedDtos);
+	}
+
+	@Test
+	public void testReplayWaitsForRunningPush() throws Exception {
+
+		List<String> dtos = Arrays.asList("a", "b");
+		CountDownLatch pushStarted = new CountDownLatch(1);
+		CountDownLatch pushReleased = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<List<PushResult>> firstPush = executor.submit(() -> cache.push(KEY, dtos, d -> {
+				pushStarted.countDown();
+				await(pushReleased);
+				return pusher(PushResult.OK, PushResult.OK).apply(d);
+			}));
+			assertTrue(pushStarted.await(10, TimeUnit.SECONDS));
+
+			Future<List<PushResult>> replay = executor.submit(() -> cache.push(KEY, dtos, pusher(PushResult.ERROR, PushResult.ERROR)));
+			Thread.sleep(100);
+			assertEquals(0, pushedDtos.size());
+
+			pushReleased.countDown();
+			assertEquals(Arrays.asList(PushResult.OK, PushResult.OK), firstPush.get(10, TimeUnit.SECONDS));
+			assertEquals(Arrays.asList(PushResult.OK, PushResult.OK), replay.get(10, TimeUnit.SECONDS));
+			assertEquals(Collections.singletonList(dtos), pushedDtos);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testExpiredResultsAreNotReplayed() {
+
+		List<String> dtos = Collections.singletonList("a");
+		cache.push(KEY, dtos, pusher(PushResult.OK));
+
+		now.addAndGet(PushReplayCache.TIME_TO_LIVE_MILLIS);
+		cache.push(KEY, dtos, pusher(PushResult.OK));
+		assertEquals(1, pushedDtos.size());
+
+		now.incrementAndGet();
+		cache.push(KEY, dtos, pusher(PushResult.OK));
+		assertEquals(2, pushedDtos.size());
+	}
+
+	@Test
+	public void testFullCacheEvictsExpiredEntriesFirst() {
+
+		List<String> dtos = Collections.singletonList("a");
+		for (int i = 0; i < PushReplayCache.MAX_ENTRIES - 1; i++) {
+			cache.push(Arrays.asList("user", "key" + i), dtos, d -> Collections.singletonList(PushResult.OK));
+		}
+		now.addAndGet(PushReplayCache.TIME_TO_LIVE_MILLIS / 2);
+		cache.push(KEY, dtos, pusher(PushResult.OK));
+		assertEquals(PushReplayCache.MAX_ENTRIES, cache.size());
+
+		now.addAndGet(PushReplayCache.TIME_TO_LIVE_MILLIS / 2 + 1);
+		cache.push(Arrays.asList("user", "newKey"), dtos, d -> Collections.singletonList(PushResult.OK));
+		assertEquals(2, cache.size());
+
+		// the entry that has not expired yet is still replayed
+		cache.push(KEY, dtos, pusher(PushResult.OK));
+		assertEquals(1, pushedDtos.size());
+	}
+
+	@Test
+	public void testFullCacheEvictsCompletedEntries() {
+
+		List<String> dtos = Collections.singletonList("a");
+		for (int i = 0; i < PushReplayCache.MAX_ENTRIES; i++) {
+			cache.push(Arrays.asList("user", "key" + i), dtos, d -> Collections.singletonList(PushResult.OK));
+		}
+		assertEquals(PushReplayCache.MAX_ENTRIES, cache.size());
+
+		cache.push(KEY, dtos, pusher(PushResult.OK));
+		assertEquals(1, cache.size());
+	}
+
+	/**
+	 * @return A pusher that records the pushed DTOs and returns the given results.
+	 */
+	private Function<List<String>, List<PushResult>> pusher(PushResult... results) {
+
+		return dtos -> {
+			assertEquals(results.length, dtos.size());
+			pushedDtos.add(new ArrayList<>(dtos));
+			return Arrays.asList(results);
+		};
+	}
+
+	private static void await(CountDownLatch latch) {
+
+		try {
+			assertTrue(latch.await(10, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
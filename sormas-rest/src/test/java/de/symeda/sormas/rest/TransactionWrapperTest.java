@@ -0,0 +1,78 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2021 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.ejb.SessionContext;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class TransactionWrapperTest {
+
+	@InjectMocks
+	private TransactionWrapper transactionWrapper;
+
+	@Mock
+	private SessionContext sessionContext;
+
+	@Before
+	public void init() {
+		MockitoAnnotations.initMocks(this);
+	}
+
+	@Test
+	public void testExecuteAllReturnsResultsInOrder() {
+
+		List<Integer> results = transactionWrapper.executeAll(String::length, Arrays.asList("a", "bbb", "cc"));
+
+		assertEquals(Arrays.asList(1, 3, 2), results);
+		verify(sessionContext, never()).setRollbackOnly();
+	}
+
+	@Test
+	public void testExecuteAllRollsBackOnPartialFailure() {
+
+		List<String> processed = new ArrayList<>();
+		try {
+			transactionWrapper.executeAll(s -> {
+				if (s.equals("fail")) {
+					throw new IllegalArgumentException("Failed to process " + s);
+				}
+				processed.add(s);
+				return s;
+			}, Arrays.asList("a", "b", "fail", "c"));
+			fail("The exception of the function has not been rethrown");
+		} catch (IllegalArgumentException e) {
+			assertEquals("Failed to process fail", e.getMessage());
+		}
+
+		// the data processed before the failure is rolled back with the whole transaction
+		assertEquals(Arrays.asList("a", "b"), processed);
+		verify(sessionContext).setRollbackOnly();
+	}
+}
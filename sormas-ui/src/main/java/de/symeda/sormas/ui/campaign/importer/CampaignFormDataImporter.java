@@ -174,7 +174,7 @@ public class CampaignFormDataImporter extends DataImporter {
 			final String propertyPath = entryHeaderPath[i];
 			if (formDataDtoFields.contains(propertyPath)) {
 				try {
-					PropertyDescriptor propertyDescriptor = new PropertyDescriptor(propertyPath, campaignFormData.getClass());
+					PropertyDescriptor propertyDescriptor = getPropertyDescriptor(propertyPath, campaignFormData.getClass());
 					Class<?> propertyType = propertyDescriptor.getPropertyType();
 					if (!executeDefaultInvoke(
 						propertyDescriptor,
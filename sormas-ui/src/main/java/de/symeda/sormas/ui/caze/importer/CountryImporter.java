@@ -40,6 +40,14 @@ public class CountryImporter extends InfrastructureImporter {
 		super(inputFile, currentUser, InfrastructureType.COUNTRY, allowOverwrite, csvSeparator);
 	}
 
+	/**
+	 * Countries are also unique by their ISO codes, which can't be covered by a single ordering key.
+	 */
+	@Override
+	protected boolean isParallelImportSupported() {
+		return false;
+	}
+
 	@Override
 	protected ImportLineResult importDataFromCsvLine(
 		String[] values,
@@ -94,9 +102,9 @@ public class CountryImporter extends InfrastructureImporter {
 
 			try {
 				if (i != entityPropertyPath.length - 1) {
-					currentElement = new PropertyDescriptor(headerPathElementName, currentElement.getClass()).getReadMethod().invoke(currentElement);
+					currentElement = getPropertyDescriptor(headerPathElementName, currentElement.getClass()).getReadMethod().invoke(currentElement);
 				} else {
-					PropertyDescriptor pd = new PropertyDescriptor(headerPathElementName, currentElement.getClass());
+					PropertyDescriptor pd = getPropertyDescriptor(headerPathElementName, currentElement.getClass());
 					Class<?> propertyType = pd.getPropertyType();
 					if (!executeDefaultInvoke(pd, currentElement, value, entityPropertyPath)) {
 						throw new UnsupportedOperationException(
@@ -296,7 +296,7 @@ public class ContactImporter extends DataImporter {
 
 			try {
 				if (i != entryHeaderPath.length - 1) {
-					currentElement = new PropertyDescriptor(headerPathElementName, currentElement.getClass()).getReadMethod().invoke(currentElement);
+					currentElement = getPropertyDescriptor(headerPathElementName, currentElement.getClass()).getReadMethod().invoke(currentElement);
 					// Set the current element to the created person
 					if (currentElement instanceof PersonReferenceDto) {
 						currentElement = person;
@@ -309,7 +309,7 @@ public class ContactImporter extends DataImporter {
 						person.setBirthdateYYYY(birthDateDto.getDateOfBirthYYYY());
 					}
 				} else {
-					PropertyDescriptor pd = new PropertyDescriptor(headerPathElementName, currentElement.getClass());
+					PropertyDescriptor pd = getPropertyDescriptor(headerPathElementName, currentElement.getClass());
 					Class<?> propertyType = pd.getPropertyType();
 
 					// Execute the default invokes specified in the data importer; if none of those were triggered, execute additional invokes
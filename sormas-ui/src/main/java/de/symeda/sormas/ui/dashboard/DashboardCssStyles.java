@@ -28,6 +28,4 @@ public final class DashboardCssStyles {
 	public static final String HIGHLIGHTED_STATISTICS_COMPONENT = "highlighted-statistics-component";
 	public static final String MAP_CONTAINER = "map-container";
 	public static final String MAP_COMPONENT = "map-component";
-	public static final String MAP_OVERLAY = "map-overlay";
-	public static final String MAP_OVERLAY_BACKGROUND = "map-overlay-background";
 }
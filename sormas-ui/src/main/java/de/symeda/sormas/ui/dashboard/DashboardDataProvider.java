@@ -30,9 +30,8 @@ import org.apache.commons.lang3.time.DateUtils;
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.caze.CaseClassification;
-import de.symeda.sormas.api.caze.CaseReferenceDefinition;
 import de.symeda.sormas.api.caze.NewCaseDateType;
-import de.symeda.sormas.api.dashboard.DashboardCaseDto;
+import de.symeda.sormas.api.dashboard.DashboardCaseStatisticDto;
 import de.symeda.sormas.api.dashboard.DashboardContactDto;
 import de.symeda.sormas.api.dashboard.DashboardCriteria;
 import de.symeda.sormas.api.dashboard.DashboardEventDto;
@@ -67,8 +66,7 @@ public class DashboardDataProvider {
 	private List<DashboardContactDto> previousContacts = new ArrayList<>();
 
 	// disease specific
-	private List<DashboardCaseDto> cases = new ArrayList<>();
-	private List<DashboardCaseDto> previousCases = new ArrayList<>();
+	private DashboardCaseStatisticDto caseStatistic = new DashboardCaseStatisticDto(0, 0, 0, 0, 0, 0);
 	private Map<CaseClassification, Integer> casesCountByClassification = new HashMap<>();
 	private Long outbreakDistrictCount = 0L;
 	private String lastReportedDistrict = "";
@@ -84,6 +82,7 @@ public class DashboardDataProvider {
 	private Long casesPlacedInQuarantineCount = 0L;
 	private Long contactsConvertedToCaseCount = 0L;
 	private Long caseWithReferenceDefinitionFulfilledCount = 0L;
+	private Long contactsResultingInCasesCount = 0L;
 
 	public void refreshData() {
 
@@ -110,20 +109,6 @@ public class DashboardDataProvider {
 		setContactsPlacedInQuarantineCount(dashboardContactsPlacedInQuarantineCount);
 	}
 
-	private void refreshDataForQuarantinedCases() {
-
-		List<DashboardQuarantineDataDto> casesInQuarantineDtos = getCases().stream()
-			.map(DashboardCaseDto::getDashboardQuarantineDataDto)
-			.filter(quarantineData(fromDate, toDate))
-			.collect(Collectors.toList());
-
-		setCasesInQuarantineCount((long) casesInQuarantineDtos.size());
-
-		Long dashboardCasesPlacedInQuarantineCount = getPlacedInQuarantine(casesInQuarantineDtos);
-
-		setCasesPlacedInQuarantineCount(dashboardCasesPlacedInQuarantineCount);
-	}
-
 	private Predicate<DashboardQuarantineDataDto> quarantineData(Date fromDate, Date toDate) {
 		return p -> {
 			Date quarantineFrom = p.getQuarantineFrom();
@@ -170,12 +155,6 @@ public class DashboardDataProvider {
 		setContactsConvertedToCaseCount(FacadeProvider.getDashboardFacade().countCasesConvertedFromContacts(dashboardCriteria));
 	}
 
-	private void refreshDataForCasesWithReferenceDefinitionFulfilled() {
-		List<DashboardCaseDto> casesWithReferenceDefinitionFulfilled =
-			getCases().stream().filter(cases -> cases.getCaseReferenceDefinition() == CaseReferenceDefinition.FULFILLED).collect(Collectors.toList());
-		setCaseWithReferenceDefinitionFulfilledCount(Long.valueOf(casesWithReferenceDefinitionFulfilled.size()));
-	}
-
 	private void refreshDataForSelectedDisease() {
 
 		// Update the entities lists according to the filters
@@ -196,14 +175,13 @@ public class DashboardDataProvider {
 				.disease(disease)
 				.newCaseDateType(newCaseDateType)
 				.dateBetween(fromDate, toDate);
-			setCases(FacadeProvider.getDashboardFacade().getCases(dashboardCriteria));
+			setCaseStatistic(FacadeProvider.getDashboardFacade().getCaseStatistic(dashboardCriteria, previousFromDate, previousToDate));
 			setLastReportedDistrict(FacadeProvider.getDashboardFacade().getLastReportedDistrictName(dashboardCriteria));
 
-			dashboardCriteria.dateBetween(previousFromDate, previousToDate);
-			setPreviousCases(FacadeProvider.getDashboardFacade().getCases(dashboardCriteria));
-
-			if (getDashboardType() != DashboardType.CONTACTS) {
-				setTestResultCountByResultType(FacadeProvider.getDashboardFacade().getTestResultCountByResultType(getCases()));
+			if (getDashboardType() == DashboardType.CONTACTS) {
+				setContactsResultingInCasesCount(FacadeProvider.getDashboardFacade().countContactsResultingInCases(dashboardCriteria));
+			} else {
+				setTestResultCountByResultType(FacadeProvider.getDashboardFacade().getTestResultCountByResultType(dashboardCriteria));
 			}
 
 			dashboardCriteria.dateBetween(fromDate, toDate).includeNotACaseClassification(true);
@@ -225,25 +203,18 @@ public class DashboardDataProvider {
 				.getOutbreakDistrictCount(
 					new OutbreakCriteria().region(region).district(district).disease(disease).reportedBetween(fromDate, toDate)));
 
-		refreshDataForQuarantinedCases();
+		setCasesInQuarantineCount(caseStatistic.getCasesInQuarantineCount());
+		setCasesPlacedInQuarantineCount(caseStatistic.getCasesPlacedInQuarantineCount());
+		setCaseWithReferenceDefinitionFulfilledCount(caseStatistic.getCaseWithReferenceDefinitionFulfilledCount());
 		refreshDataForConvertedContactsToCase();
-		refreshDataForCasesWithReferenceDefinitionFulfilled();
-	}
-
-	public List<DashboardCaseDto> getCases() {
-		return cases;
-	}
-
-	public void setCases(List<DashboardCaseDto> cases) {
-		this.cases = cases;
 	}
 
-	public List<DashboardCaseDto> getPreviousCases() {
-		return previousCases;
+	public DashboardCaseStatisticDto getCaseStatistic() {
+		return caseStatistic;
 	}
 
-	public void setPreviousCases(List<DashboardCaseDto> previousCases) {
-		this.previousCases = previousCases;
+	public void setCaseStatistic(DashboardCaseStatisticDto caseStatistic) {
+		this.caseStatistic = caseStatistic;
 	}
 
 	public Map<CaseClassification, Integer> getCasesCountByClassification() {
@@ -458,4 +429,12 @@ public class DashboardDataProvider {
 	public void setCaseWithReferenceDefinitionFulfilledCount(Long caseWithReferenceDefinitionFulfilledCount) {
 		this.caseWithReferenceDefinitionFulfilledCount = caseWithReferenceDefinitionFulfilledCount;
 	}
+
+	public Long getContactsResultingInCasesCount() {
+		return contactsResultingInCasesCount;
+	}
+
+	public void setContactsResultingInCasesCount(Long contactsResultingInCasesCount) {
+		this.contactsResultingInCasesCount = contactsResultingInCasesCount;
+	}
 }
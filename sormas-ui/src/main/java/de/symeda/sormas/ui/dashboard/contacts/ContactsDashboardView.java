@@ -277,14 +277,11 @@ public class ContactsDashboardView extends AbstractDashboardView {
 		maxLabel.setValue(I18nProperties.getString(Strings.max) + ": " + maxContactCount);
 		avgLabel.setValue(I18nProperties.getString(Strings.average) + ": " + avgContactCount);
 
-		List<String> caseUuids = dashboardDataProvider.getCases().stream().map(dto -> dto.getUuid()).collect(Collectors.toList());
-		int nonSourceCases = 0;
-		if (!caseUuids.isEmpty()) {
-			nonSourceCases = FacadeProvider.getContactFacade().getNonSourceCaseCountForDashboard(caseUuids);
-		}
+		long caseCount = dashboardDataProvider.getCaseStatistic().getCaseCount();
+		long nonSourceCases = dashboardDataProvider.getContactsResultingInCasesCount();
 
-		int newSourceCases = caseUuids.size() - nonSourceCases;
-		int newSourceCasesPercentage = newSourceCases == 0 ? 0 : (int) ((newSourceCases * 100.0f) / caseUuids.size());
+		long newSourceCases = caseCount - nonSourceCases;
+		int newSourceCasesPercentage = newSourceCases == 0 ? 0 : (int) ((newSourceCases * 100.0f) / caseCount);
 
 		sourceCasesLabel.setValue(newSourceCases + " (" + newSourceCasesPercentage + " %)");
 	}
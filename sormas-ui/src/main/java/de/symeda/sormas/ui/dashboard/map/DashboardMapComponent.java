@@ -58,6 +58,8 @@ import de.symeda.sormas.api.caze.MapCaseDto;
 import de.symeda.sormas.api.contact.ContactClassification;
 import de.symeda.sormas.api.contact.MapContactDto;
 import de.symeda.sormas.api.dashboard.DashboardEventDto;
+import de.symeda.sormas.api.dashboard.MapCaseDisplayMode;
+import de.symeda.sormas.api.dashboard.MapClusterDto;
 import de.symeda.sormas.api.event.EventStatus;
 import de.symeda.sormas.api.infrastructure.facility.FacilityDto;
 import de.symeda.sormas.api.infrastructure.facility.FacilityReferenceDto;
@@ -100,9 +102,6 @@ public class DashboardMapComponent extends VerticalLayout {
 	// Layouts and components
 	private final DashboardDataProvider dashboardDataProvider;
 	private final LeafletMap map;
-	private final CssLayout overlayBackground;
-	private final VerticalLayout overlayLayout;
-	private final Label overlayMessageLabel;
 	private PopupButton legendDropdown;
 
 	// Layers
@@ -115,6 +114,7 @@ public class DashboardMapComponent extends VerticalLayout {
 	private boolean showRegions;
 	private boolean hideOtherCountries;
 	private boolean showCurrentEpiSituation;
+	private boolean showClusters;
 
 	// Entities
 	private final HashMap<FacilityReferenceDto, List<MapCaseDto>> casesByFacility = new HashMap<>();
@@ -124,7 +124,9 @@ public class DashboardMapComponent extends VerticalLayout {
 
 	// Map data
 	private final List<FacilityReferenceDto> markerCaseFacilities = new ArrayList<FacilityReferenceDto>();
+	private final List<MapClusterDto<CaseClassification>> markerCaseClusters = new ArrayList<>();
 	private final List<MapContactDto> markerContacts = new ArrayList<MapContactDto>();
+	private final List<MapClusterDto<ContactClassification>> markerContactClusters = new ArrayList<>();
 	private final List<DashboardEventDto> markerEvents = new ArrayList<DashboardEventDto>();
 	private final List<RegionReferenceDto> polygonRegions = new ArrayList<RegionReferenceDto>();
 	private final List<DistrictReferenceDto> polygonDistricts = new ArrayList<DistrictReferenceDto>();
@@ -148,6 +150,11 @@ public class DashboardMapComponent extends VerticalLayout {
 		map = new LeafletMap();
 		map.setSizeFull();
 		map.addMarkerClickListener(event -> onMarkerClicked(event.getGroupId(), event.getMarkerIndex()));
+		map.addViewChangeListener(event -> {
+			if (showClusters) {
+				loadMapClusters(dashboardDataProvider.getFromDate(), dashboardDataProvider.getToDate());
+			}
+		});
 
 		{
 
@@ -209,35 +216,13 @@ public class DashboardMapComponent extends VerticalLayout {
 		map.addStyleName(DashboardCssStyles.MAP_COMPONENT);
 		mapLayout.addComponent(map);
 
-		overlayBackground = new CssLayout();
-		overlayBackground.setStyleName(DashboardCssStyles.MAP_OVERLAY_BACKGROUND);
-		overlayBackground.setVisible(false);
-		mapLayout.addComponent(overlayBackground);
-
-		overlayMessageLabel = new Label();
-		overlayMessageLabel.addStyleNames(CssStyles.ALIGN_CENTER, CssStyles.LABEL_WHITE, CssStyles.LABEL_WHITE_SPACE_NORMAL);
-
-		Button button = ButtonHelper.createButton(Captions.showPlacesOnMap, (e) -> {
-			refreshMap(true);
-		});
-
-		overlayLayout = new VerticalLayout(overlayMessageLabel, button);
-		overlayLayout.setStyleName(DashboardCssStyles.MAP_OVERLAY);
-		overlayLayout.setHeightFull();
-		overlayLayout.setComponentAlignment(overlayMessageLabel, Alignment.MIDDLE_CENTER);
-		overlayLayout.setExpandRatio(overlayMessageLabel, 0);
-		overlayLayout.setComponentAlignment(button, Alignment.MIDDLE_CENTER);
-		overlayLayout.setExpandRatio(button, 0);
-		overlayLayout.setVisible(false);
-		mapLayout.addComponent(overlayLayout);
-
 		addComponent(mapLayout);
 		setExpandRatio(mapLayout, 1);
 
 		addComponent(createFooter());
 	}
 
-	private void refreshMap(boolean forced) {
+	public void refreshMap() {
 		clearRegionShapes();
 		clearCaseMarkers();
 		clearContactMarkers();
@@ -255,34 +240,11 @@ public class DashboardMapComponent extends VerticalLayout {
 			showRegionsShapes(caseMeasure, fromDate, toDate, dashboardDataProvider.getDisease());
 		}
 
+		// above the marker limit, cases and contacts are aggregated by the server for the visible part of the map
 		int maxDisplayCount = FacadeProvider.getConfigFacade().getDashboardMapMarkerLimit();
-		Long count = 0L;
-		if (!forced && maxDisplayCount >= 0) {
-			count = getMarkerCount(fromDate, toDate, maxDisplayCount);
-		}
+		showClusters = maxDisplayCount >= 0 && getMarkerCount(fromDate, toDate, maxDisplayCount) > maxDisplayCount;
 
-		if (!forced && maxDisplayCount >= 0 && count > maxDisplayCount) {
-			showMapOverlay(maxDisplayCount);
-		} else {
-			hideMapOverlay();
-
-			loadMapData(fromDate, toDate);
-		}
-	}
-
-	public void refreshMap() {
-		refreshMap(false);
-	}
-
-	private void showMapOverlay(int maxCount) {
-		overlayBackground.setVisible(true);
-		overlayLayout.setVisible(true);
-		overlayMessageLabel.setValue(String.format(I18nProperties.getString(Strings.warningDashboardMapTooManyMarkers), maxCount));
-	}
-
-	private void hideMapOverlay() {
-		overlayBackground.setVisible(false);
-		overlayLayout.setVisible(false);
+		loadMapData(fromDate, toDate);
 	}
 
 	private Long getMarkerCount(Date fromDate, Date toDate, int maxCount) {
@@ -319,26 +281,65 @@ public class DashboardMapComponent extends VerticalLayout {
 		DistrictReferenceDto district = dashboardDataProvider.getDistrict();
 		Disease disease = dashboardDataProvider.getDisease();
 
+		if (showClusters) {
+			loadMapClusters(fromDate, toDate);
+		} else {
+			if (showCases) {
+				showCaseMarkers(
+					FacadeProvider.getCaseFacade()
+						.getCasesForMap(
+							region,
+							district,
+							disease,
+							fromDate,
+							toDate,
+							showCurrentEpiSituation ? null : dashboardDataProvider.getNewCaseDateType()));
+			}
+			if (showContacts) {
+				showContactMarkers(FacadeProvider.getContactFacade().getContactsForMap(region, district, disease, fromDate, toDate));
+			}
+		}
+		if (showEvents) {
+			showEventMarkers(dashboardDataProvider.getEvents());
+		}
+
+		// Re-create the map key layout to only show the keys for the selected layers
+		legendDropdown.setContent(createLegend());
+	}
+
+	private void loadMapClusters(Date fromDate, Date toDate) {
+		RegionReferenceDto region = dashboardDataProvider.getRegion();
+		DistrictReferenceDto district = dashboardDataProvider.getDistrict();
+		Disease disease = dashboardDataProvider.getDisease();
+
 		if (showCases) {
-			showCaseMarkers(
+			showCaseClusters(
 				FacadeProvider.getCaseFacade()
-					.getCasesForMap(
+					.getCaseClustersForMap(
 						region,
 						district,
 						disease,
 						fromDate,
 						toDate,
-						showCurrentEpiSituation ? null : dashboardDataProvider.getNewCaseDateType()));
+						showCurrentEpiSituation ? null : dashboardDataProvider.getNewCaseDateType(),
+						mapCaseDisplayMode,
+						map.getViewZoom(),
+						map.getViewSouthWest(),
+						map.getViewNorthEast()));
 		}
 		if (showContacts) {
-			showContactMarkers(FacadeProvider.getContactFacade().getContactsForMap(region, district, disease, fromDate, toDate));
-		}
-		if (showEvents) {
-			showEventMarkers(dashboardDataProvider.getEvents());
+			showContactClusters(
+				FacadeProvider.getContactFacade()
+					.getContactClustersForMap(
+						region,
+						district,
+						disease,
+						fromDate,
+						toDate,
+						map.getViewZoom(),
+						map.getViewSouthWest(),
+						map.getViewNorthEast()));
 		}
-
-		// Re-create the map key layout to only show the keys for the selected layers
-		legendDropdown.setContent(createLegend());
 	}
 
 	public List<CaseDataDto> getCasesForFacility(FacilityReferenceDto facility) {
@@ -426,7 +427,7 @@ public class DashboardMapComponent extends VerticalLayout {
 				caseClassificationOptions.setValue(caseClassificationOption);
 				caseClassificationOptions.addValueChangeListener(event -> {
 					caseClassificationOption = (MapCaseClassificationOption) event.getProperty().getValue();
-					refreshMap(true);
+					refreshMap();
 				});
 
 				// Optiongroup to select what property the coordinates should be based on
@@ -436,7 +437,7 @@ public class DashboardMapComponent extends VerticalLayout {
 				mapCaseDisplayModeSelect.setValue(mapCaseDisplayMode);
 				mapCaseDisplayModeSelect.addValueChangeListener(event -> {
 					mapCaseDisplayMode = (MapCaseDisplayMode) event.getProperty().getValue();
-					refreshMap(true);
+					refreshMap();
 				});
 
 				HorizontalLayout showCasesLayout = new HorizontalLayout();
@@ -452,7 +453,7 @@ public class DashboardMapComponent extends VerticalLayout {
 						mapCaseDisplayModeSelect.setEnabled(showCases);
 						mapCaseDisplayModeSelect.setValue(mapCaseDisplayMode);
 						caseClassificationOptions.setEnabled(showCases);
-						refreshMap(true);
+						refreshMap();
 					});
 					showCasesLayout.addComponent(showCasesCheckBox);
 
@@ -486,7 +487,7 @@ public class DashboardMapComponent extends VerticalLayout {
 					showConfirmedContactsCheckBox.setValue(true);
 					showUnconfirmedContactsCheckBox.setEnabled(showContacts);
 					showUnconfirmedContactsCheckBox.setValue(true);
-					refreshMap(true);
+					refreshMap();
 				});
 				layersLayout.addComponent(showContactsCheckBox);
 
@@ -494,7 +495,7 @@ public class DashboardMapComponent extends VerticalLayout {
 				showConfirmedContactsCheckBox.setValue(showConfirmedContacts);
 				showConfirmedContactsCheckBox.addValueChangeListener(e -> {
 					showConfirmedContacts = (boolean) e.getProperty().getValue();
-					refreshMap(true);
+					refreshMap();
 				});
 				layersLayout.addComponent(showConfirmedContactsCheckBox);
 
@@ -503,7 +504,7 @@ public class DashboardMapComponent extends VerticalLayout {
 				showUnconfirmedContactsCheckBox.setValue(showUnconfirmedContacts);
 				showUnconfirmedContactsCheckBox.addValueChangeListener(e -> {
 					showUnconfirmedContacts = (boolean) e.getProperty().getValue();
-					refreshMap(true);
+					refreshMap();
 				});
 				layersLayout.addComponent(showUnconfirmedContactsCheckBox);
 
@@ -517,7 +518,7 @@ public class DashboardMapComponent extends VerticalLayout {
 				showEventsCheckBox.setValue(showEvents);
 				showEventsCheckBox.addValueChangeListener(e -> {
 					showEvents = (boolean) e.getProperty().getValue();
-					refreshMap(true);
+					refreshMap();
 				});
 				layersLayout.addComponent(showEventsCheckBox);
 
@@ -530,7 +531,7 @@ public class DashboardMapComponent extends VerticalLayout {
 					regionMapVisualizationSelect.setValue(caseMeasure);
 					regionMapVisualizationSelect.addValueChangeListener(event -> {
 						caseMeasure = (CaseMeasure) event.getProperty().getValue();
-						refreshMap(true);
+						refreshMap();
 					});
 
 					HorizontalLayout showRegionsLayout = new HorizontalLayout();
@@ -545,7 +546,7 @@ public class DashboardMapComponent extends VerticalLayout {
 							showRegions = (boolean) e.getProperty().getValue();
 							regionMapVisualizationSelect.setEnabled(showRegions);
 							regionMapVisualizationSelect.setValue(caseMeasure);
-							refreshMap(true);
+							refreshMap();
 						});
 						showRegionsLayout.addComponent(showRegionsCheckBox);
 
@@ -567,7 +568,7 @@ public class DashboardMapComponent extends VerticalLayout {
 				hideOtherCountriesCheckBox.setValue(hideOtherCountries);
 				hideOtherCountriesCheckBox.addValueChangeListener(e -> {
 					hideOtherCountries = (boolean) e.getProperty().getValue();
-					refreshMap(true);
+					refreshMap();
 				});
 				CssStyles.style(hideOtherCountriesCheckBox, CssStyles.VSPACE_3);
 				layersLayout.addComponent(hideOtherCountriesCheckBox);
@@ -578,7 +579,7 @@ public class DashboardMapComponent extends VerticalLayout {
 				showCurrentEpiSituationCB.setValue(false);
 				showCurrentEpiSituationCB.addValueChangeListener(e -> {
 					showCurrentEpiSituation = (boolean) e.getProperty().getValue();
-					refreshMap(true);
+					refreshMap();
 				});
 				layersLayout.addComponent(showCurrentEpiSituationCB);
 			}
@@ -995,6 +996,7 @@ public class DashboardMapComponent extends VerticalLayout {
 
 		map.removeGroup(CASES_GROUP_ID);
 		markerCaseFacilities.clear();
+		markerCaseClusters.clear();
 		casesByFacility.clear();
 		mapCaseDtos.clear();
 		mapAndFacilityCases.clear();
@@ -1110,9 +1112,48 @@ public class DashboardMapComponent extends VerticalLayout {
 		}
 	}
 
+	private void showCaseClusters(List<MapClusterDto<CaseClassification>> clusters) {
+
+		clearCaseMarkers();
+
+		List<LeafletMarker> caseMarkers = new ArrayList<LeafletMarker>();
+
+		for (MapClusterDto<CaseClassification> cluster : clusters) {
+			long confirmedCount = cluster.getClassificationCount(CaseClassification.CONFIRMED);
+			long count = caseClassificationOption == MapCaseClassificationOption.CONFIRMED_CASES_ONLY ? confirmedCount : cluster.getCount();
+			if (count == 0) {
+				continue;
+			}
+
+			// colorize the icon by the "strongest" classification type (order as in enum)
+			MarkerIcon icon;
+			if (confirmedCount > 0
+				|| cluster.getClassificationCount(CaseClassification.CONFIRMED_NO_SYMPTOMS) > 0
+				|| cluster.getClassificationCount(CaseClassification.CONFIRMED_UNKNOWN_SYMPTOMS) > 0) {
+				icon = MarkerIcon.CASE_CONFIRMED;
+			} else if (cluster.getClassificationCount(CaseClassification.PROBABLE) > 0) {
+				icon = MarkerIcon.CASE_PROBABLE;
+			} else if (cluster.getClassificationCount(CaseClassification.SUSPECT) > 0) {
+				icon = MarkerIcon.CASE_SUSPECT;
+			} else {
+				icon = MarkerIcon.CASE_UNCLASSIFIED;
+			}
+
+			LeafletMarker marker = new LeafletMarker();
+			marker.setLatLon(cluster.getLatitude(), cluster.getLongitude());
+			marker.setIcon(icon);
+			marker.setMarkerCount((int) count);
+			markerCaseClusters.add(cluster);
+			caseMarkers.add(marker);
+		}
+
+		map.addMarkerGroup(CASES_GROUP_ID, caseMarkers);
+	}
+
 	private void clearContactMarkers() {
 		map.removeGroup(CONTACTS_GROUP_ID);
 		markerContacts.clear();
+		markerContactClusters.clear();
 		mapContactDtos.clear();
 	}
 
@@ -1183,6 +1224,40 @@ public class DashboardMapComponent extends VerticalLayout {
 		map.addMarkerGroup(CONTACTS_GROUP_ID, contactMarkers);
 	}
 
+	private void showContactClusters(List<MapClusterDto<ContactClassification>> clusters) {
+
+		clearContactMarkers();
+
+		List<LeafletMarker> contactMarkers = new ArrayList<LeafletMarker>();
+
+		for (MapClusterDto<ContactClassification> cluster : clusters) {
+			long unconfirmedCount = cluster.getClassificationCount(ContactClassification.UNCONFIRMED);
+			long confirmedCount = cluster.getClassificationCount(ContactClassification.CONFIRMED);
+			long count = (showUnconfirmedContacts ? unconfirmedCount : 0) + (showConfirmedContacts ? cluster.getCount() - unconfirmedCount : 0);
+			if (count == 0) {
+				continue;
+			}
+
+			MarkerIcon icon;
+			if (showConfirmedContacts && confirmedCount > 0) {
+				icon = MarkerIcon.CONTACT_LONG_OVERDUE;
+			} else if (showUnconfirmedContacts && unconfirmedCount > 0) {
+				icon = MarkerIcon.CONTACT_OVERDUE;
+			} else {
+				icon = MarkerIcon.CONTACT_OK;
+			}
+
+			LeafletMarker marker = new LeafletMarker();
+			marker.setLatLon(cluster.getLatitude(), cluster.getLongitude());
+			marker.setIcon(icon);
+			marker.setMarkerCount((int) count);
+			markerContactClusters.add(cluster);
+			contactMarkers.add(marker);
+		}
+
+		map.addMarkerGroup(CONTACTS_GROUP_ID, contactMarkers);
+	}
+
 	private void clearEventMarkers() {
 		map.removeGroup(EVENTS_GROUP_ID);
 		markerEvents.clear();
@@ -1237,7 +1312,9 @@ public class DashboardMapComponent extends VerticalLayout {
 
 		switch (groupId) {
 		case CASES_GROUP_ID:
-			if (markerIndex < markerCaseFacilities.size()) {
+			if (showClusters) {
+				onClusterClicked(markerCaseClusters.get(markerIndex), uuid -> ControllerProvider.getCaseController().navigateToCase(uuid, true));
+			} else if (markerIndex < markerCaseFacilities.size()) {
 				FacilityReferenceDto facility = markerCaseFacilities.get(markerIndex);
 				VerticalLayout layout = new VerticalLayout();
 				Window window = VaadinUiUtil.showPopupWindow(layout);
@@ -1254,8 +1331,14 @@ public class DashboardMapComponent extends VerticalLayout {
 			}
 			break;
 		case CONTACTS_GROUP_ID:
-			MapContactDto contact = markerContacts.get(markerIndex);
-			ControllerProvider.getContactController().navigateToData(contact.getUuid(), true);
+			if (showClusters) {
+				onClusterClicked(
+					markerContactClusters.get(markerIndex),
+					uuid -> ControllerProvider.getContactController().navigateToData(uuid, true));
+			} else {
+				MapContactDto contact = markerContacts.get(markerIndex);
+				ControllerProvider.getContactController().navigateToData(contact.getUuid(), true);
+			}
 			break;
 		case EVENTS_GROUP_ID:
 			DashboardEventDto event = markerEvents.get(markerIndex);
@@ -1263,4 +1346,14 @@ public class DashboardMapComponent extends VerticalLayout {
 			break;
 		}
 	}
+
+	private void onClusterClicked(MapClusterDto<?> cluster, Consumer<String> navigateToEntity) {
+
+		if (cluster.getUuid() != null) {
+			navigateToEntity.accept(cluster.getUuid());
+		} else {
+			map.setCenter(new GeoLatLon(cluster.getLatitude(), cluster.getLongitude()));
+			map.setZoom(map.getViewZoom() + 2);
+		}
+	}
 }
@@ -60,7 +60,7 @@ public class DiseaseSummaryComponent extends DashboardStatisticsSubComponent {
 	}
 
 	public void update(DashboardDataProvider dashboardDataProvider) {
-		fatalitiesSummaryElementComponent.update(dashboardDataProvider.getCases(), dashboardDataProvider.getPreviousCases());
+		fatalitiesSummaryElementComponent.update(dashboardDataProvider.getCaseStatistic());
 
 		String district = dashboardDataProvider.getLastReportedDistrict();
 		lastReportedDistrict.updateTotalLabel(DataHelper.isNullOrEmpty(district) ? I18nProperties.getString(Strings.none).toUpperCase() : district);
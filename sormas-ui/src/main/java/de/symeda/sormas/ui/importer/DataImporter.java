@@ -3,6 +3,7 @@ package de.symeda.sormas.ui.importer;
 import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
@@ -21,7 +22,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -30,7 +38,6 @@ import java.util.stream.Collectors;
 import javax.validation.ConstraintViolation;
 import javax.validation.Validation;
 import javax.validation.Validator;
-import javax.validation.ValidatorFactory;
 
 import org.apache.commons.io.input.BOMInputStream;
 import org.apache.commons.lang3.StringUtils;
@@ -85,13 +92,25 @@ import de.symeda.sormas.ui.utils.VaadinUiUtil;
  * These are the steps performed by the data importer (sub classes might add additional logic):
  * 1) Read the CSV file from the passed file path and open an error report file
  * 2) Read the header row(s) from the CSV and build a list of properties based on its columns
- * 3) Insert every line of data into the object using a callback
+ * 3) Insert every line of data into the object using a callback; importers that support it import several lines concurrently
  * 4) Present the result of the import and, if errors occurred, an error report file to the user
  */
 public abstract class DataImporter {
 
 	protected static final String ERROR_COLUMN_NAME = I18nProperties.getCaption(Captions.importErrorDescription);
 
+	/**
+	 * Number of lines per worker that may be read ahead of the lines currently being imported in parallel imports.
+	 */
+	private static final int QUEUED_LINES_PER_WORKER = 10;
+
+	private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+	/**
+	 * Property descriptors by bean class and property name; looking them up by introspection for every cell is expensive.
+	 */
+	private static final Map<Class<?>, Map<String, PropertyDescriptor>> PROPERTY_DESCRIPTORS = new ConcurrentHashMap<>();
+
 	protected final Logger logger = LoggerFactory.getLogger(getClass());
 
 	/**
@@ -116,11 +135,15 @@ public abstract class DataImporter {
 	/**
 	 * Whether the import should be canceled after the current line.
 	 */
-	private boolean cancelAfterCurrent;
+	private volatile boolean cancelAfterCurrent;
 	/**
 	 * Whether or not the current import has resulted in at least one error.
 	 */
-	private boolean hasImportError;
+	private volatile boolean hasImportError;
+	/**
+	 * Maximum number of lines that are imported concurrently, if supported by the importer.
+	 */
+	private int importParallelism = 1;
 	/**
 	 * CSV separator used in the file
 	 */
@@ -128,6 +151,10 @@ public abstract class DataImporter {
 
 	protected UserDto currentUser;
 	private CSVWriter errorReportCsvWriter;
+	/**
+	 * Writes the error report lines, so that the import does not have to wait for the file system.
+	 */
+	private ExecutorService errorReportExecutor;
 
 	private final EnumCaptionCache enumCaptionCache;
 
@@ -158,6 +185,8 @@ public abstract class DataImporter {
 
 		ImportProgressLayout progressLayout = this.getImportProgressLayout(currentUI, duplicatesPossible);
 
+		importParallelism = FacadeProvider.getConfigFacade().getImportParallelism();
+
 		importedLineCallback = progressLayout::updateProgress;
 
 		Window window = VaadinUiUtil.createPopupWindow();
@@ -243,7 +272,8 @@ public abstract class DataImporter {
 		long t0 = System.currentTimeMillis();
 
 		try (CSVReader csvReader = getCSVReader(inputFile)) {
-			errorReportCsvWriter = CSVUtils.createCSVWriter(createErrorReportWriter(), this.csvSeparator);
+			errorReportCsvWriter = CSVUtils.createCSVWriter(new BufferedWriter(createErrorReportWriter()), this.csvSeparator);
+			errorReportExecutor = Executors.newSingleThreadExecutor();
 
 			// Build dictionary of entity headers
 			String[] entityClasses;
@@ -270,19 +300,11 @@ public abstract class DataImporter {
 			errorReportCsvWriter.writeNext(columnNames);
 
 			// Read and import all lines from the import file
-			String[] nextLine = readNextValidLine(csvReader);
-			int lineCounter = 0;
-			while (nextLine != null) {
-				ImportLineResult lineResult = importDataFromCsvLine(nextLine, entityClasses, entityProperties, entityPropertyPaths, lineCounter == 0);
-				logger.debug("runImport - line {}", lineCounter);
-				if (importedLineCallback != null) {
-					importedLineCallback.accept(lineResult);
-				}
-				if (cancelAfterCurrent) {
-					break;
-				}
-				nextLine = readNextValidLine(csvReader);
-				lineCounter++;
+			int lineCounter;
+			if (importParallelism > 1 && isParallelImportSupported()) {
+				lineCounter = importLinesInParallel(csvReader, entityClasses, entityProperties, entityPropertyPaths);
+			} else {
+				lineCounter = importLines(csvReader, entityClasses, entityProperties, entityPropertyPaths);
 			}
 
 			if (logger.isDebugEnabled()) {
@@ -303,16 +325,144 @@ public abstract class DataImporter {
 				return ImportResultStatus.COMPLETED;
 			}
 		} finally {
+			if (errorReportExecutor != null) {
+				errorReportExecutor.shutdown();
+				errorReportExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+			}
 			if (errorReportCsvWriter != null) {
 				errorReportCsvWriter.close();
 			}
 		}
 	}
 
+	private int importLines(CSVReader csvReader, String[] entityClasses, String[] entityProperties, String[][] entityPropertyPaths)
+		throws IOException, InvalidColumnException, InterruptedException, CsvValidationException {
+
+		String[] nextLine = readNextValidLine(csvReader);
+		int lineCounter = 0;
+		while (nextLine != null) {
+			ImportLineResult lineResult = importDataFromCsvLine(nextLine, entityClasses, entityProperties, entityPropertyPaths, lineCounter == 0);
+			logger.debug("runImport - line {}", lineCounter);
+			if (importedLineCallback != null) {
+				importedLineCallback.accept(lineResult);
+			}
+			if (cancelAfterCurrent) {
+				break;
+			}
+			nextLine = readNextValidLine(csvReader);
+			lineCounter++;
+		}
+
+		return lineCounter;
+	}
+
+	/**
+	 * Imports the first line on the calling thread and distributes the remaining lines to a bounded number of workers.
+	 * Lines with the same {@link #getLineOrderingKey(String[], String[]) ordering key} are imported by the same worker
+	 * in the order of the import file.
+	 */
+	private int importLinesInParallel(CSVReader csvReader, String[] entityClasses, String[] entityProperties, String[][] entityPropertyPaths)
+		throws IOException, InvalidColumnException, InterruptedException, CsvValidationException {
+
+		String[] nextLine = readNextValidLine(csvReader);
+		if (nextLine == null) {
+			return 0;
+		}
+
+		ImportLineResult firstLineResult = importDataFromCsvLine(nextLine, entityClasses, entityProperties, entityPropertyPaths, true);
+		if (importedLineCallback != null) {
+			importedLineCallback.accept(firstLineResult);
+		}
+		int lineCounter = 1;
+
+		Semaphore queuedLines = new Semaphore(importParallelism * QUEUED_LINES_PER_WORKER);
+		AtomicReference<Exception> workerException = new AtomicReference<>();
+		ExecutorService[] workers = new ExecutorService[importParallelism];
+		for (int i = 0; i < importParallelism; i++) {
+			workers[i] = Executors.newSingleThreadExecutor();
+		}
+
+		try {
+			nextLine = readNextValidLine(csvReader);
+			while (nextLine != null && !cancelAfterCurrent && workerException.get() == null) {
+				String[] line = nextLine;
+				queuedLines.acquire();
+				int worker = Math.floorMod(getLineOrderingKey(line, entityProperties).hashCode(), importParallelism);
+				workers[worker].execute(() -> {
+					try {
+						if (!cancelAfterCurrent && workerException.get() == null) {
+							I18nProperties.setUserLanguage(currentUser.getLanguage());
+							FacadeProvider.getI18nFacade().setUserLanguage(currentUser.getLanguage());
+
+							ImportLineResult lineResult = importDataFromCsvLine(line, entityClasses, entityProperties, entityPropertyPaths, false);
+							if (importedLineCallback != null) {
+								importedLineCallback.accept(lineResult);
+							}
+						}
+					} catch (Exception e) {
+						workerException.compareAndSet(null, e);
+					} finally {
+						queuedLines.release();
+					}
+				});
+
+				nextLine = readNextValidLine(csvReader);
+				lineCounter++;
+			}
+		} finally {
+			for (ExecutorService worker : workers) {
+				worker.shutdown();
+			}
+			for (ExecutorService worker : workers) {
+				worker.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+			}
+		}
+
+		Exception exception = workerException.get();
+		if (exception instanceof IOException) {
+			throw (IOException) exception;
+		} else if (exception instanceof InvalidColumnException) {
+			throw (InvalidColumnException) exception;
+		} else if (exception instanceof InterruptedException) {
+			throw (InterruptedException) exception;
+		} else if (exception instanceof RuntimeException) {
+			throw (RuntimeException) exception;
+		} else if (exception != null) {
+			throw new RuntimeException(exception);
+		}
+
+		return lineCounter;
+	}
+
+	/**
+	 * Whether the lines of the import file can be imported concurrently. Must only be enabled if the import of
+	 * a line does not depend on user interaction and lines only affect each other as described by
+	 * {@link #getLineOrderingKey(String[], String[])}.
+	 */
+	protected boolean isParallelImportSupported() {
+		return false;
+	}
+
+	/**
+	 * Lines with the same key are imported one after another in parallel imports, e.g. because they might be
+	 * duplicates of each other.
+	 */
+	protected String getLineOrderingKey(String[] values, String[] entityProperties) {
+		return "";
+	}
+
 	public void cancelImport() {
 		cancelAfterCurrent = true;
 	}
 
+	/**
+	 * Overrides the parallelism otherwise read from the configuration when the import is started, e.g. for tests
+	 * calling {@link #runImport()} directly.
+	 */
+	void setImportParallelism(int importParallelism) {
+		this.importParallelism = importParallelism;
+	}
+
 	protected Writer createErrorReportWriter() throws IOException {
 		File errorReportFile = new File(errorReportFilePath);
 		if (errorReportFile.exists()) {
@@ -633,7 +783,7 @@ public abstract class DataImporter {
 		} else {
 			typeProperty = propertyName + "Type";
 		}
-		PropertyDescriptor pd = new PropertyDescriptor(typeProperty, currentElement.getClass());
+		PropertyDescriptor pd = getPropertyDescriptor(typeProperty, currentElement.getClass());
 		return (FacilityType) pd.getReadMethod().invoke(currentElement);
 	}
 
@@ -642,7 +792,21 @@ public abstract class DataImporter {
 		List<String> errorLineAsList = new ArrayList<>();
 		errorLineAsList.add(message);
 		errorLineAsList.addAll(Arrays.asList(errorLine));
-		errorReportCsvWriter.writeNext(errorLineAsList.toArray(new String[errorLineAsList.size()]));
+		String[] errorReportLine = errorLineAsList.toArray(new String[errorLineAsList.size()]);
+		errorReportExecutor.execute(() -> errorReportCsvWriter.writeNext(errorReportLine));
+	}
+
+	/**
+	 * Returns the cached property descriptor of the given bean class.
+	 */
+	protected static PropertyDescriptor getPropertyDescriptor(String propertyName, Class<?> beanClass) throws IntrospectionException {
+		Map<String, PropertyDescriptor> propertyDescriptors = PROPERTY_DESCRIPTORS.computeIfAbsent(beanClass, c -> new ConcurrentHashMap<>());
+		PropertyDescriptor propertyDescriptor = propertyDescriptors.get(propertyName);
+		if (propertyDescriptor == null) {
+			propertyDescriptor = new PropertyDescriptor(propertyName, beanClass);
+			propertyDescriptors.put(propertyName, propertyDescriptor);
+		}
+		return propertyDescriptor;
 	}
 
 	protected String buildEntityProperty(String[] entityPropertyPath) {
@@ -680,10 +844,7 @@ public abstract class DataImporter {
 	}
 
 	protected <T> ImportLineResultDto<T> validateConstraints(T object) {
-		ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
-		Validator validator = factory.getValidator();
-
-		Set<ConstraintViolation<T>> constraintViolations = validator.validate(object);
+		Set<ConstraintViolation<T>> constraintViolations = VALIDATOR.validate(object);
 		if (constraintViolations.size() > 0) {
 			return ImportLineResultDto.errorResult(
 				ConstrainValidationHelper.getPropertyErrors(constraintViolations)
@@ -17,6 +17,7 @@ package de.symeda.sormas.ui.importer;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import de.symeda.sormas.api.Language;
 import de.symeda.sormas.api.i18n.I18nProperties;
@@ -29,7 +30,7 @@ public class EnumCaptionCache {
 		this.language = language;
 	}
 
-	private final Map<Class<Enum>, Map<Enum, String>> enumCaptions = new HashMap<>();
+	private final Map<Class<Enum>, Map<Enum, String>> enumCaptions = new ConcurrentHashMap<>();
 
 	public Enum getEnumByCaption(Class<Enum> enumType, String caption) {
 		if (!enumCaptions.containsKey(enumType)) {
@@ -49,6 +49,24 @@ public class InfrastructureImporter extends DataImporter {
 		this.allowOverwrite = allowOverwrite;
 	}
 
+	@Override
+	protected boolean isParallelImportSupported() {
+		return true;
+	}
+
+	/**
+	 * Infrastructure data with the same name is imported sequentially, because it might be a duplicate.
+	 */
+	@Override
+	protected String getLineOrderingKey(String[] values, String[] entityProperties) {
+		for (int i = 0; i < entityProperties.length && i < values.length; i++) {
+			if (RegionDto.NAME.equalsIgnoreCase(entityProperties[i]) || SubcontinentDto.DEFAULT_NAME.equalsIgnoreCase(entityProperties[i])) {
+				return StringUtils.trimToEmpty(values[i]).toLowerCase();
+			}
+		}
+		return "";
+	}
+
 	@Override
 	protected ImportLineResult importDataFromCsvLine(
 		String[] values,
@@ -162,9 +180,9 @@ public class InfrastructureImporter extends DataImporter {
 
 			try {
 				if (i != entityPropertyPath.length - 1) {
-					currentElement = new PropertyDescriptor(headerPathElementName, currentElement.getClass()).getReadMethod().invoke(currentElement);
+					currentElement = getPropertyDescriptor(headerPathElementName, currentElement.getClass()).getReadMethod().invoke(currentElement);
 				} else {
-					PropertyDescriptor pd = new PropertyDescriptor(headerPathElementName, currentElement.getClass());
+					PropertyDescriptor pd = getPropertyDescriptor(headerPathElementName, currentElement.getClass());
 					Class<?> propertyType = pd.getPropertyType();
 
 					// Execute the default invokes specified in the data importer; if none of those were triggered, execute additional invokes
@@ -8,6 +8,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 
+import org.apache.commons.lang3.StringUtils;
+
 import de.symeda.sormas.api.AgeGroup;
 import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.i18n.I18nProperties;
@@ -50,6 +52,27 @@ public class PopulationDataImporter extends DataImporter {
 		this.collectionDate = collectionDate;
 	}
 
+	@Override
+	protected boolean isParallelImportSupported() {
+		return true;
+	}
+
+	/**
+	 * Lines for the same region, district and community are imported sequentially, because they update the same population data.
+	 */
+	@Override
+	protected String getLineOrderingKey(String[] values, String[] entityProperties) {
+		StringBuilder key = new StringBuilder();
+		for (int i = 0; i < entityProperties.length && i < values.length; i++) {
+			if (PopulationDataDto.REGION.equalsIgnoreCase(entityProperties[i])
+				|| PopulationDataDto.DISTRICT.equalsIgnoreCase(entityProperties[i])
+				|| PopulationDataDto.COMMUNITY.equalsIgnoreCase(entityProperties[i])) {
+				key.append(StringUtils.trimToEmpty(values[i]).toLowerCase()).append('|');
+			}
+		}
+		return key.toString();
+	}
+
 	@Override
 	protected ImportLineResult importDataFromCsvLine(
 		String[] values,
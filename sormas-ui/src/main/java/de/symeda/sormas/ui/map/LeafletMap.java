@@ -65,6 +65,10 @@ public class LeafletMap extends AbstractJavaScriptComponent {
 
 	private int mapId = nextMapId();
 
+	private Integer viewZoom;
+	private GeoLatLon viewSouthWest;
+	private GeoLatLon viewNorthEast;
+
 	/**
 	 * Creates the chart object.
 	 */
@@ -84,6 +88,16 @@ public class LeafletMap extends AbstractJavaScriptComponent {
 				LeafletMap.this.fireEvent(new MarkerClickEvent(LeafletMap.this, groupId, markerIndex));
 			}
 		});
+		addFunction("onViewChange", new JavaScriptFunction() {
+
+			@Override
+			public void call(JsonArray arguments) {
+				viewZoom = (int) arguments.getNumber(0);
+				viewSouthWest = new GeoLatLon(arguments.getNumber(1), arguments.getNumber(2));
+				viewNorthEast = new GeoLatLon(arguments.getNumber(3), arguments.getNumber(4));
+				LeafletMap.this.fireEvent(new ViewChangeEvent(LeafletMap.this));
+			}
+		});
 		// credit where credit's due
 		String attribution = FacadeProvider.getGeoShapeProvider().loadShapefileAttributions();
 		this.addShapefileAttribution(attribution);
@@ -116,6 +130,30 @@ public class LeafletMap extends AbstractJavaScriptComponent {
 		return getState().getZoom();
 	}
 
+	/**
+	 * @return The zoom level currently shown in the browser, which differs from {@link #getZoom()} when the user zoomed
+	 *         the map.
+	 */
+	public int getViewZoom() {
+		return viewZoom != null ? viewZoom : getZoom();
+	}
+
+	/**
+	 * @return The south west corner of the part of the map currently shown in the browser, or {@code null} if it is not
+	 *         known yet.
+	 */
+	public GeoLatLon getViewSouthWest() {
+		return viewSouthWest;
+	}
+
+	/**
+	 * @return The north east corner of the part of the map currently shown in the browser, or {@code null} if it is not
+	 *         known yet.
+	 */
+	public GeoLatLon getViewNorthEast() {
+		return viewNorthEast;
+	}
+
 	public void setCenter(GeoLatLon coordinates) {
 		getState().setCenterLatitude(coordinates.getLat());
 		getState().setCenterLongitude(coordinates.getLon());
@@ -153,6 +191,13 @@ public class LeafletMap extends AbstractJavaScriptComponent {
 		addListener(MarkerClickEvent.class, listener, MarkerClickListener.MARKER_CLICK_METHOD);
 	}
 
+	/**
+	 * The listener is called whenever the user moved or zoomed the map.
+	 */
+	public void addViewChangeListener(ViewChangeListener listener) {
+		addListener(ViewChangeEvent.class, listener, ViewChangeListener.VIEW_CHANGE_METHOD);
+	}
+
 	/**
 	 * Append the give attribution to the Leaflet attribution list.
 	 * See https://leafletjs.com/reference-1.7.1.html#control-attribution
@@ -191,4 +236,20 @@ public class LeafletMap extends AbstractJavaScriptComponent {
 			return markerIndex;
 		}
 	}
+
+	public interface ViewChangeListener extends Serializable {
+
+		Method VIEW_CHANGE_METHOD = ReflectTools.findMethod(ViewChangeListener.class, "viewChange", ViewChangeEvent.class);
+
+		void viewChange(ViewChangeEvent event);
+	}
+
+	public static class ViewChangeEvent extends EventObject {
+
+		private static final long serialVersionUID = 4207497437183394413L;
+
+		public ViewChangeEvent(LeafletMap map) {
+			super(map);
+		}
+	}
 }
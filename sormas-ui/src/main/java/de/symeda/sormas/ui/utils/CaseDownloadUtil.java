@@ -42,11 +42,19 @@ public class CaseDownloadUtil {
 		CaseExportType exportType,
 		ExportConfigurationDto exportConfiguration) {
 
-		return DownloadUtil.createCsvExportStreamResource(
+		return DownloadUtil.createKeysetPaginatedCsvExportStreamResource(
 			CaseExportDto.class,
 			exportType,
-			(Integer start, Integer max) -> FacadeProvider.getCaseFacade()
-				.getExportList(criteria, selectedRows.get(), exportType, start, max, exportConfiguration, I18nProperties.getUserLanguage()),
+			(CaseExportDto lastRow, Integer max) -> FacadeProvider.getCaseFacade()
+				.getExportListAfter(
+					criteria,
+					selectedRows.get(),
+					exportType,
+					lastRow != null ? lastRow.getReportDate() : null,
+					lastRow != null ? lastRow.getId() : null,
+					max,
+					exportConfiguration,
+					I18nProperties.getUserLanguage()),
 			CaseDownloadUtil::captionProvider,
 			ExportEntityName.CASES,
 			exportConfiguration);
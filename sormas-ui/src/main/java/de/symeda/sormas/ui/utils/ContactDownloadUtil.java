@@ -40,11 +40,18 @@ public class ContactDownloadUtil {
 		ContactCriteria contactCriteria,
 		Supplier<Collection<String>> selectedRows,
 		ExportConfigurationDto exportConfiguration) {
-		return DownloadUtil.createCsvExportStreamResource(
+		return DownloadUtil.createKeysetPaginatedCsvExportStreamResource(
 			ContactExportDto.class,
 			null,
-			(Integer start, Integer max) -> FacadeProvider.getContactFacade()
-				.getExportList(contactCriteria, selectedRows.get(), start, max, exportConfiguration, I18nProperties.getUserLanguage()),
+			(ContactExportDto lastRow, Integer max) -> FacadeProvider.getContactFacade()
+				.getExportListAfter(
+					contactCriteria,
+					selectedRows.get(),
+					lastRow != null ? lastRow.getReportDate() : null,
+					lastRow != null ? lastRow.getId() : null,
+					max,
+					exportConfiguration,
+					I18nProperties.getUserLanguage()),
 			ContactDownloadUtil::captionProvider,
 			ExportEntityName.CONTACTS,
 			exportConfiguration);
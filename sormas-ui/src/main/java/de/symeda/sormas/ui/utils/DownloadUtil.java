@@ -38,6 +38,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -52,10 +53,13 @@ import org.slf4j.LoggerFactory;
 
 import com.opencsv.CSVWriter;
 import com.vaadin.server.ClassResource;
+import com.vaadin.server.DownloadStream;
 import com.vaadin.server.FileDownloader;
 import com.vaadin.server.Page;
 import com.vaadin.server.StreamResource;
 import com.vaadin.server.StreamResource.StreamSource;
+import com.vaadin.server.VaadinRequest;
+import com.vaadin.server.VaadinResponse;
 import com.vaadin.server.VaadinSession;
 import com.vaadin.shared.ui.ContentMode;
 import com.vaadin.ui.AbstractComponent;
@@ -474,12 +478,61 @@ public final class DownloadUtil {
 		}
 	}
 
+	/**
+	 * When downloaded with a {@link FileDownloader}, the content is written directly to the response instead of being
+	 * buffered completely like with {@link DelayedInputStream}. This keeps the memory usage flat for large exports.
+	 * The {@link StreamSource} is still available, e.g. to add the content to a zip.
+	 */
+	public static class DirectStreamResource extends StreamResource {
+
+		private final OutputStreamConsumer osConsumer;
+		private final Consumer<IOException> exceptionHandler;
+
+		public DirectStreamResource(OutputStreamConsumer osConsumer, Consumer<IOException> exceptionHandler, String filename) {
+			super(() -> new DelayedInputStream(osConsumer, exceptionHandler), filename);
+			this.osConsumer = osConsumer;
+			this.exceptionHandler = exceptionHandler;
+		}
+
+		@Override
+		public DownloadStream getStream() {
+
+			DownloadStream downloadStream = new DownloadStream(null, getMIMEType(), getFilename()) {
+
+				@Override
+				public void writeResponse(VaadinRequest request, VaadinResponse response) throws IOException {
+
+					response.setContentType(getContentType());
+					response.setCacheTime(getCacheTime());
+					Iterator<String> parameterNames = getParameterNames();
+					while (parameterNames != null && parameterNames.hasNext()) {
+						String parameterName = parameterNames.next();
+						response.setHeader(parameterName, getParameter(parameterName));
+					}
+					if (getParameter(CONTENT_DISPOSITION) == null) {
+						response.setHeader(CONTENT_DISPOSITION, "attachment; filename=\"" + getFileName() + "\"");
+					}
+
+					try (OutputStream out = response.getOutputStream()) {
+						osConsumer.writeTo(out);
+					} catch (IOException e) {
+						exceptionHandler.accept(e);
+						throw e;
+					}
+				}
+			};
+			downloadStream.setBufferSize(getBufferSize());
+			downloadStream.setCacheTime(getCacheTime());
+			return downloadStream;
+		}
+	}
+
 	public static StreamResource createVisitsExportStreamResource(
 		ContactCriteria contactCriteria,
 		Supplier<Set<String>> selectedRows,
 		ExportEntityName entityName) {
 		String exportFileName = createFileNameWithCurrentDate(entityName, ".csv");
-		StreamResource extendedStreamResource = new StreamResource(() -> new DelayedInputStream((out) -> {
+		StreamResource extendedStreamResource = new DirectStreamResource((out) -> {
 			try (CSVWriter writer = CSVUtils
 				.createCSVWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8.name()), FacadeProvider.getConfigFacade().getCsvSeparator())) {
 
@@ -508,9 +561,8 @@ public final class DownloadUtil {
 				writer.writeNext(columnNames.toArray(new String[columnNames.size()]));
 				writer.writeNext(dayColumns.toArray(new String[columnNames.size()]));
 
-				int startIndex = 0;
 				List<VisitSummaryExportDto> exportRows = FacadeProvider.getContactFacade()
-					.getVisitSummaryExportList(contactCriteria, selectedRows.get(), 0, DETAILED_EXPORT_STEP_SIZE, I18nProperties.getUserLanguage());
+					.getVisitSummaryExportListAfter(contactCriteria, selectedRows.get(), null, DETAILED_EXPORT_STEP_SIZE, I18nProperties.getUserLanguage());
 				while (!exportRows.isEmpty()) {
 
 					for (VisitSummaryExportDto exportRow : exportRows) {
@@ -528,29 +580,17 @@ public final class DownloadUtil {
 					}
 
 					writer.flush();
-					startIndex += DETAILED_EXPORT_STEP_SIZE;
+					Long lastContactId = exportRows.get(exportRows.size() - 1).getContactId();
 					exportRows = FacadeProvider.getContactFacade()
-						.getVisitSummaryExportList(
+						.getVisitSummaryExportListAfter(
 							contactCriteria,
 							selectedRows.get(),
-							startIndex,
+							lastContactId,
 							DETAILED_EXPORT_STEP_SIZE,
 							I18nProperties.getUserLanguage());
 				}
 			}
-		},
-			e -> {
-				// TODO This currently requires the user to click the "Export" button again or reload the page
-				//  as the UI
-				// is not automatically updated; this should be changed once Vaadin push is enabled (see #516)
-				VaadinSession.getCurrent()
-					.access(
-						() -> new Notification(
-							I18nProperties.getString(Strings.headingExportFailed),
-							I18nProperties.getString(Strings.messageExportFailed),
-							Type.ERROR_MESSAGE,
-							false).show(Page.getCurrent()));
-			}), exportFileName);
+		}, DownloadUtil::showExportFailedNotification, exportFileName);
 		extendedStreamResource.setMIMEType("text/csv");
 		extendedStreamResource.setCacheTime(0);
 		return extendedStreamResource;
@@ -564,41 +604,76 @@ public final class DownloadUtil {
 		ExportEntityName entityName,
 		ExportConfigurationDto exportConfiguration) {
 
+		return createCsvExportStreamResource(
+			(out) -> CsvStreamUtils.writeCsvContentToStream(
+				exportRowClass,
+				exportRowsSupplier,
+				propertyIdCaptionFunction,
+				exportConfiguration,
+				(o) -> exportType == null || hasExportTarget(exportType, (Method) o),
+				FacadeProvider.getConfigFacade(),
+				out),
+			entityName);
+	}
+
+	/**
+	 * Variant of {@link #createCsvExportStreamResource(Class, Enum, CsvStreamUtils.SupplierBiFunction, CsvStreamUtils.SupplierBiFunction, ExportEntityName, ExportConfigurationDto)}
+	 * for facades that support keyset pagination.
+	 * 
+	 * @param exportRowsSupplier
+	 *            Supplies the rows following the given last row of the previous batch ({@code null} for the first batch)
+	 */
+	public static <T> StreamResource createKeysetPaginatedCsvExportStreamResource(
+		Class<T> exportRowClass,
+		Enum<?> exportType,
+		CsvStreamUtils.SupplierBiFunction<T, Integer, List<T>> exportRowsSupplier,
+		CsvStreamUtils.SupplierBiFunction<String, Class<?>, String> propertyIdCaptionFunction,
+		ExportEntityName entityName,
+		ExportConfigurationDto exportConfiguration) {
+
+		return createCsvExportStreamResource(
+			(out) -> CsvStreamUtils.writeKeysetPaginatedCsvContentToStream(
+				exportRowClass,
+				exportRowsSupplier,
+				propertyIdCaptionFunction,
+				exportConfiguration,
+				(o) -> exportType == null || hasExportTarget(exportType, (Method) o),
+				FacadeProvider.getConfigFacade(),
+				out),
+			entityName);
+	}
+
+	private static StreamResource createCsvExportStreamResource(OutputStreamConsumer csvWriter, ExportEntityName entityName) {
+
 		String exportFileName = createFileNameWithCurrentDate(entityName, ".csv");
-		StreamResource extendedStreamResource = new StreamResource(() -> new DelayedInputStream((out) -> {
+		StreamResource extendedStreamResource = new DirectStreamResource((out) -> {
 			try {
-				CsvStreamUtils.writeCsvContentToStream(
-					exportRowClass,
-					exportRowsSupplier,
-					propertyIdCaptionFunction,
-					exportConfiguration,
-					(o) -> exportType == null || hasExportTarget(exportType, (Method) o),
-					FacadeProvider.getConfigFacade(),
-					out);
+				csvWriter.writeTo(out);
 			} catch (Exception e) {
 				LoggerFactory.getLogger(DownloadUtil.class).error(e.getMessage(), e);
 
 				throw e;
 			}
 
-		},
-			e -> {
-				// TODO This currently requires the user to click the "Export" button again or reload the page
-				//  as the UI
-				// is not automatically updated; this should be changed once Vaadin push is enabled (see #516)
-				VaadinSession.getCurrent()
-					.access(
-						() -> new Notification(
-							I18nProperties.getString(Strings.headingExportFailed),
-							I18nProperties.getString(Strings.messageExportFailed),
-							Type.ERROR_MESSAGE,
-							false).show(Page.getCurrent()));
-			}), exportFileName);
+		}, DownloadUtil::showExportFailedNotification, exportFileName);
 		extendedStreamResource.setMIMEType("text/csv");
 		extendedStreamResource.setCacheTime(0);
 		return extendedStreamResource;
 	}
 
+	private static void showExportFailedNotification(IOException e) {
+		// TODO This currently requires the user to click the "Export" button again or reload the page
+		//  as the UI
+		// is not automatically updated; this should be changed once Vaadin push is enabled (see #516)
+		VaadinSession.getCurrent()
+			.access(
+				() -> new Notification(
+					I18nProperties.getString(Strings.headingExportFailed),
+					I18nProperties.getString(Strings.messageExportFailed),
+					Type.ERROR_MESSAGE,
+					false).show(Page.getCurrent()));
+	}
+
 	@SuppressWarnings("rawtypes")
 	private static boolean hasExportTarget(Enum<?> exportType, Method m) {
 
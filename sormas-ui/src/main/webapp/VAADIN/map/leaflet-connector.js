@@ -61,6 +61,12 @@ window.de_symeda_sormas_ui_map_LeafletMap = function () {
 //		exportOnly: true,
 //	}).addTo(map);
 	
+	// let the server know which part of the map is shown, e.g. to load the markers for it
+	map.on('moveend', function() {
+		var bounds = map.getBounds();
+		connector.onViewChange(map.getZoom(), bounds.getSouth(), bounds.getWest(), bounds.getNorth(), bounds.getEast());
+	});
+
 	// update the map whenever the vaadin element is resized
 	this.addResizeListener(this.getElement(), function(o,b) {
 		map.invalidateSize(true);
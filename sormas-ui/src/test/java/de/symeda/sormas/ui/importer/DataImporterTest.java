@@ -0,0 +1,296 @@
+package de.symeda.sormas.ui.importer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvException;
+import com.opencsv.exceptions.CsvValidationException;
+
+import de.symeda.sormas.api.importexport.InvalidColumnException;
+import de.symeda.sormas.api.importexport.ValueSeparator;
+import de.symeda.sormas.api.infrastructure.InfrastructureType;
+import de.symeda.sormas.api.user.UserDto;
+import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.ui.AbstractBeanTest;
+import de.symeda.sormas.ui.TestDataCreator;
+import de.symeda.sormas.ui.TestDataCreator.RDCF;
+
+// Using Silent Runner to ignore unnecessary stubbing exception
+// which is a side effect of extending AbstractBeanTest
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class DataImporterTest extends AbstractBeanTest {
+
+	private static final int LINE_COUNT = 200;
+	private static final int KEY_COUNT = 10;
+
+	@Test
+	public void testParallelImportKeepsLineOrderPerKey()
+		throws IOException, InvalidColumnException, InterruptedException, CsvValidationException {
+
+		RecordingImporter importer = new RecordingImporter(createCsvFile(), createUser(), -1);
+		importer.setImportParallelism(4);
+		assertEquals(ImportResultStatus.COMPLETED_WITH_ERRORS, importer.runImport());
+
+		assertEquals(KEY_COUNT, importer.importedNumbers.size());
+		for (int key = 0; key < KEY_COUNT; key++) {
+			// lines with the same key are imported in the order of the file
+			assertEquals(getNumbers(key), importer.importedNumbers.get("key" + key));
+			// by the same worker
+			assertThat(importer.importThreads.get("key" + key), hasSize(1));
+		}
+	}
+
+	@Test
+	public void testParallelImportWritesErrorReport()
+		throws IOException, InvalidColumnException, InterruptedException, CsvException {
+
+		RecordingImporter importer = new RecordingImporter(createCsvFile(), createUser(), -1);
+		importer.setImportParallelism(4);
+		assertEquals(ImportResultStatus.COMPLETED_WITH_ERRORS, importer.runImport());
+
+		List<String[]> errorReport;
+		try (CSVReader csvReader = new CSVReader(new StringReader(importer.errorReport.toString()))) {
+			errorReport = csvReader.readAll();
+		}
+		assertThat(Arrays.asList(errorReport.get(0)), contains(DataImporter.ERROR_COLUMN_NAME, "key", "number"));
+		assertThat(
+			errorReport.subList(1, errorReport.size()).stream().map(Arrays::asList).collect(Collectors.toList()),
+			containsInAnyOrder(
+				IntStream.range(0, LINE_COUNT)
+					.filter(RecordingImporter::isErroneous)
+					.mapToObj(number -> Arrays.asList("Erroneous line " + number, "key" + number % KEY_COUNT, String.valueOf(number)))
+					.toArray()));
+	}
+
+	@Test
+	public void testParallelImportResultsEqualSequentialImport()
+		throws IOException, InvalidColumnException, InterruptedException, CsvValidationException {
+
+		File csvFile = createCsvFile();
+		UserDto user = createUser();
+
+		RecordingImporter sequentialImporter = new RecordingImporter(csvFile, user, -1);
+		ImportResultStatus sequentialResult = sequentialImporter.runImport();
+
+		RecordingImporter parallelImporter = new RecordingImporter(csvFile, user, -1);
+		parallelImporter.setImportParallelism(3);
+		assertEquals(sequentialResult, parallelImporter.runImport());
+		assertEquals(sequentialImporter.importedNumbers, parallelImporter.importedNumbers);
+		assertEquals(getSortedLines(sequentialImporter.errorReport), getSortedLines(parallelImporter.errorReport));
+	}
+
+	@Test
+	public void testParallelImportRethrowsWorkerException()
+		throws IOException, InvalidColumnException, InterruptedException, CsvValidationException {
+
+		RecordingImporter importer = new RecordingImporter(createCsvFile(), createUser(), 50);
+		importer.setImportParallelism(4);
+		try {
+			importer.runImport();
+			fail("Exception of the worker has not been rethrown");
+		} catch (IllegalStateException e) {
+			assertEquals("Failing line 50", e.getMessage());
+		}
+	}
+
+	@Test
+	public void testInfrastructureLineOrderingKey() throws IOException {
+
+		InfrastructureImporter importer =
+			new InfrastructureImporter(createCsvFile(), createUser(), InfrastructureType.DISTRICT, ValueSeparator.COMMA) {
+
+				@Override
+				protected Path getErrorReportFolderPath() {
+					return Paths.get(System.getProperty("java.io.tmpdir"));
+				}
+			};
+
+		String[] entityProperties = new String[] {
+			"region",
+			"name",
+			"epidCode" };
+		// lines with the same name are imported one after another, because they might be duplicates
+		assertEquals(
+			importer.getLineOrderingKey(new String[] {
+				"Region 1",
+				"District",
+				"A" }, entityProperties),
+			importer.getLineOrderingKey(new String[] {
+				"Region 2",
+				" district ",
+				"B" }, entityProperties));
+		assertEquals("", importer.getLineOrderingKey(new String[] {
+			"Region" }, new String[] {
+				"region" }));
+	}
+
+	@Test
+	public void testPopulationDataLineOrderingKey() throws IOException {
+
+		PopulationDataImporter importer = new PopulationDataImporter(createCsvFile(), createUser(), null, ValueSeparator.COMMA) {
+
+			@Override
+			protected Path getErrorReportFolderPath() {
+				return Paths.get(System.getProperty("java.io.tmpdir"));
+			}
+		};
+
+		String[] entityProperties = new String[] {
+			"region",
+			"district",
+			"community",
+			"TOTAL_AGE_0_4" };
+		// lines of the same jurisdiction are imported one after another, because they update the same population data
+		assertEquals(
+			importer.getLineOrderingKey(new String[] {
+				"Region",
+				"District",
+				"",
+				"10" }, entityProperties),
+			importer.getLineOrderingKey(new String[] {
+				"region ",
+				"DISTRICT",
+				"",
+				"20" }, entityProperties));
+		assertNotEquals(
+			importer.getLineOrderingKey(new String[] {
+				"Region",
+				"District",
+				"",
+				"10" }, entityProperties),
+			importer.getLineOrderingKey(new String[] {
+				"Region",
+				"Other district",
+				"",
+				"10" }, entityProperties));
+	}
+
+	private UserDto createUser() {
+
+		RDCF rdcf = new TestDataCreator().createRDCF("Default Region", "Default District", "Default Community", "Default Facility");
+		return creator.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Default", "User", UserRole.ADMIN);
+	}
+
+	/**
+	 * @return A CSV file with the columns key and number, in which each line has one of {@link #KEY_COUNT} keys.
+	 */
+	private static File createCsvFile() throws IOException {
+
+		File csvFile = File.createTempFile("sormas_data_import_test", ".csv");
+		csvFile.deleteOnExit();
+
+		List<String> lines = new ArrayList<>();
+		lines.add("key,number");
+		for (int number = 0; number < LINE_COUNT; number++) {
+			lines.add("key" + number % KEY_COUNT + "," + number);
+		}
+		Files.write(csvFile.toPath(), lines, StandardCharsets.UTF_8);
+
+		return csvFile;
+	}
+
+	private static List<String> getSortedLines(StringWriter writer) {
+		return Arrays.stream(writer.toString().split("\\R")).sorted().collect(Collectors.toList());
+	}
+
+	private static List<Integer> getNumbers(int key) {
+		return IntStream.range(0, LINE_COUNT).filter(number -> number % KEY_COUNT == key).boxed().collect(Collectors.toList());
+	}
+
+	/**
+	 * Records the imported lines by key. Every seventh line is reported as an error.
+	 */
+	private static class RecordingImporter extends DataImporter {
+
+		private final Map<String, List<Integer>> importedNumbers = new ConcurrentHashMap<>();
+		private final Map<String, Set<String>> importThreads = new ConcurrentHashMap<>();
+		private final StringWriter errorReport = new StringWriter();
+		private final int failingNumber;
+
+		private RecordingImporter(File inputFile, UserDto currentUser, int failingNumber) throws IOException {
+			super(inputFile, false, currentUser, ValueSeparator.COMMA);
+			this.failingNumber = failingNumber;
+		}
+
+		private static boolean isErroneous(int number) {
+			return number % 7 == 0;
+		}
+
+		@Override
+		protected boolean isParallelImportSupported() {
+			return true;
+		}
+
+		@Override
+		protected String getLineOrderingKey(String[] values, String[] entityProperties) {
+			return values[0];
+		}
+
+		@Override
+		protected ImportLineResult importDataFromCsvLine(
+			String[] values,
+			String[] entityClasses,
+			String[] entityProperties,
+			String[][] entityPropertyPaths,
+			boolean firstLine)
+			throws IOException {
+
+			int number = Integer.parseInt(values[1]);
+			if (number == failingNumber) {
+				throw new IllegalStateException("Failing line " + number);
+			}
+
+			importedNumbers.computeIfAbsent(values[0], k -> Collections.synchronizedList(new ArrayList<>())).add(number);
+			if (!firstLine) {
+				// the first line is imported by the calling thread
+				importThreads.computeIfAbsent(values[0], k -> ConcurrentHashMap.newKeySet()).add(Thread.currentThread().getName());
+			}
+
+			if (isErroneous(number)) {
+				writeImportError(values, "Erroneous line " + number);
+				return ImportLineResult.ERROR;
+			}
+
+			return ImportLineResult.SUCCESS;
+		}
+
+		@Override
+		protected Writer createErrorReportWriter() {
+			return errorReport;
+		}
+
+		@Override
+		protected Path getErrorReportFolderPath() {
+			return Paths.get(System.getProperty("java.io.tmpdir"));
+		}
+	}
+}